@@ -147,6 +147,14 @@ public interface AIoHandler extends WriteController
 	public boolean deleteFile(AWritableFile file);
 	
 	public void truncate(AWritableFile file, long newSize);
+	
+	/**
+	 * Forces all bytes written to the passed file so far to be written to the underlying storage device.
+	 * Implementations that have no notion of such a synchronization step may treat this as a no-op.
+	 * 
+	 * @param file the file to be flushed.
+	 */
+	public void flush(AWritableFile file);
 
 	public XGettingEnum<String> listItems(ADirectory parent);
 	
@@ -291,6 +299,11 @@ public interface AIoHandler extends WriteController
 		
 		protected abstract void specificTruncateFile(W file, long newSize);
 		
+		protected void specificFlush(final W file)
+		{
+			// no-op by default, to be overridden by implementations that buffer or cache written bytes.
+		}
+		
 		protected long copyGeneric(
 			final AReadableFile source,
 			final AWritableFile target
@@ -1164,6 +1177,19 @@ public interface AIoHandler extends WriteController
 			}
 		}
 		
+		@Override
+		public void flush(final AWritableFile file)
+		{
+			this.validateHandledWritableFile(file);
+			
+			synchronized(file.actual())
+			{
+				this.validateIsWritable();
+				
+				this.specificFlush(this.typeWritableFile.cast(file));
+			}
+		}
+		
 	}
 	
 }
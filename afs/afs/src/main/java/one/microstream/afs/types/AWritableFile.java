@@ -157,5 +157,11 @@ public interface AWritableFile extends AReadableFile
 		// synchronization handled by IoHandler.
 		this.actual().fileSystem().ioHandler().truncate(this, newSize);
 	}
+	
+	public default void flush()
+	{
+		// synchronization handled by IoHandler.
+		this.actual().fileSystem().ioHandler().flush(this);
+	}
 					
 }
@@ -0,0 +1,1326 @@
+package one.microstream.afs.blobstore.types;
+
+/*-
+ * #%L
+ * microstream-afs-blobstore
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.checkArrayRange;
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import one.microstream.afs.exceptions.AfsExceptionConsistency;
+
+/**
+ * Connector decorator which transparently compresses the content of selected files, by default the storage's
+ * data files (see {@link Defaults#defaultFileSelector()}).
+ * <p>
+ * Written bytes are split into blocks of at most {@link #blockSize()} bytes, every block is stored as a frame
+ * consisting of its uncompressed and its stored length (two ints) followed by the deflated bytes. Blocks which
+ * do not get smaller by compressing them are stored as they are.
+ * All offsets and lengths of this connector's methods refer to the uncompressed content, so the compression is
+ * invisible to the file system and the storage using it. Reading a range of bytes only fetches and inflates the
+ * frames covering it, located by a per-file block offset table.
+ * <p>
+ * Trailing bytes of a write which don't fill a block of at least {@link #minimumFrameSize()} bytes are not
+ * compressed right away but appended as they are to a tail file next to the compressed file, so small writes don't
+ * end up as many small, badly compressed frames. Once the tail reaches the minimum frame size, it is written as a
+ * frame and the tail file is deleted. Every written byte is persisted before the write returns, the tail file
+ * records the uncompressed position it starts at, so a tail which has already been framed is recognized as stale.
+ * <p>
+ * The block offset table of a file is persisted as an index file next to it, consisting of the frames' headers.
+ * It is appended in batches, so when a file is accessed for the first time, only the frames written after the
+ * last index update have to be scanned.
+ * <p>
+ * Index and tail files are hidden from the file system. The decorated files must not be modified by other means
+ * while this connector is in use.
+ * <p>
+ * Note that compressed files cannot be read without this decorator and vice versa, so it has to be used for the
+ * whole life time of a storage. Only file systems based on a {@link BlobStoreConnector} can be decorated, the
+ * NIO and SQL file systems have no such connector and are not covered.
+ * <pre>
+ * BlobStoreFileSystem fileSystem = BlobStoreFileSystem.New(
+ * 	BlobStoreConnectorCompressing.New(
+ * 		S3Connector.Caching(client)
+ * 	)
+ * );
+ * </pre>
+ */
+public interface BlobStoreConnectorCompressing extends BlobStoreConnector
+{
+	public BlobStoreConnector delegate();
+	
+	public int blockSize();
+	
+	public int minimumFrameSize();
+	
+	public int compressionLevel();
+	
+	public boolean isCompressed(BlobStorePath file);
+	
+	
+	
+	public interface Defaults
+	{
+		/**
+		 * The suffix of the storage's data files, see the storage's file name provider.
+		 * 
+		 * @return the default data file suffix.
+		 */
+		public static String defaultDataFileSuffix()
+		{
+			return ".dat";
+		}
+		
+		/**
+		 * The suffix appended to a compressed file's name to get the name of its block index file.
+		 * 
+		 * @return the index file suffix.
+		 */
+		public static String defaultIndexFileSuffix()
+		{
+			return ".index";
+		}
+		
+		/**
+		 * The suffix appended to a compressed file's name to get the name of its tail file.
+		 * 
+		 * @return the tail file suffix.
+		 */
+		public static String defaultTailFileSuffix()
+		{
+			return ".tail";
+		}
+		
+		/**
+		 * Selects the storage's data files. Transactions log and other files are small and rewritten or scanned as
+		 * a whole, so compressing them would only cost time.
+		 * 
+		 * @return the default file selector.
+		 */
+		public static Predicate<BlobStorePath> defaultFileSelector()
+		{
+			return file -> file.identifier().endsWith(defaultDataFileSuffix());
+		}
+		
+		/**
+		 * Small enough to keep random-access loads of single entities cheap, large enough for a good compression
+		 * ratio and a small block offset table.
+		 * 
+		 * @return the default block size in bytes.
+		 */
+		public static int defaultBlockSize()
+		{
+			return 64 * 1024; // 64 KiB
+		}
+		
+		/**
+		 * Smaller frames hardly compress and each one costs a header and an index entry.
+		 * Bytes written in between are held back in the file's tail.
+		 * 
+		 * @return the default minimum frame size in bytes.
+		 */
+		public static int defaultMinimumFrameSize()
+		{
+			return 16 * 1024; // 16 KiB
+		}
+		
+		public static int defaultCompressionLevel()
+		{
+			return Deflater.BEST_SPEED;
+		}
+		
+	}
+	
+	
+	/**
+	 * Pseudo-constructor method which creates a new {@link BlobStoreConnectorCompressing} which compresses the
+	 * storage's data files with the default settings.
+	 *
+	 * @param delegate the actual connector
+	 * @return a new {@link BlobStoreConnectorCompressing}
+	 */
+	public static BlobStoreConnectorCompressing New(
+		final BlobStoreConnector delegate
+	)
+	{
+		return New(
+			delegate                            ,
+			Defaults.defaultFileSelector()      ,
+			Defaults.defaultBlockSize()         ,
+			Defaults.defaultMinimumFrameSize()  ,
+			Defaults.defaultCompressionLevel()
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method which creates a new {@link BlobStoreConnectorCompressing}
+	 * with the default minimum frame size, limited to the passed block size.
+	 *
+	 * @param delegate the actual connector
+	 * @param fileSelector selects the files to be compressed
+	 * @param blockSize the maximum uncompressed length of a compressed block
+	 * @param compressionLevel the deflater's compression level, see {@link Deflater#setLevel(int)}
+	 * @return a new {@link BlobStoreConnectorCompressing}
+	 */
+	public static BlobStoreConnectorCompressing New(
+		final BlobStoreConnector               delegate        ,
+		final Predicate<? super BlobStorePath> fileSelector    ,
+		final int                              blockSize       ,
+		final int                              compressionLevel
+	)
+	{
+		return New(
+			delegate                                                ,
+			fileSelector                                            ,
+			blockSize                                               ,
+			Math.min(Defaults.defaultMinimumFrameSize(), blockSize) ,
+			compressionLevel
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method which creates a new {@link BlobStoreConnectorCompressing}.
+	 *
+	 * @param delegate the actual connector
+	 * @param fileSelector selects the files to be compressed
+	 * @param blockSize the maximum uncompressed length of a compressed block
+	 * @param minimumFrameSize the uncompressed length below which trailing bytes are held back in a tail file
+	 * @param compressionLevel the deflater's compression level, see {@link Deflater#setLevel(int)}
+	 * @return a new {@link BlobStoreConnectorCompressing}
+	 */
+	public static BlobStoreConnectorCompressing New(
+		final BlobStoreConnector               delegate        ,
+		final Predicate<? super BlobStorePath> fileSelector    ,
+		final int                              blockSize       ,
+		final int                              minimumFrameSize,
+		final int                              compressionLevel
+	)
+	{
+		if(compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+		}
+		if(positive(minimumFrameSize) > positive(blockSize))
+		{
+			throw new IllegalArgumentException(
+				"Minimum frame size " + minimumFrameSize + " exceeds block size " + blockSize
+			);
+		}
+		
+		return new BlobStoreConnectorCompressing.Default(
+			notNull(delegate)    ,
+			notNull(fileSelector),
+			blockSize            ,
+			minimumFrameSize     ,
+			compressionLevel
+		);
+	}
+	
+	
+	public final class Default implements BlobStoreConnectorCompressing
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// uncompressed length and stored length
+		static final int FRAME_HEADER_LENGTH = Integer.BYTES + Integer.BYTES;
+		
+		// upper bound for the bytes fetched from the delegate at once when scanning or reading frames
+		static final int READ_BATCH_LENGTH = 4 * 1024 * 1024;
+		
+		// number of unindexed frames which triggers appending them to the index file
+		static final int INDEX_BATCH_FRAME_COUNT = 64;
+		
+		// uncompressed start position of the tail
+		static final int TAIL_HEADER_LENGTH = Long.BYTES;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final BlobStoreConnector               delegate        ;
+		private final Predicate<? super BlobStorePath> fileSelector    ;
+		private final int                              blockSize       ;
+		private final int                              minimumFrameSize;
+		private final int                              compressionLevel;
+		private final Map<String, BlockTable>          blockTables     ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(
+			final BlobStoreConnector               delegate        ,
+			final Predicate<? super BlobStorePath> fileSelector    ,
+			final int                              blockSize       ,
+			final int                              minimumFrameSize,
+			final int                              compressionLevel
+		)
+		{
+			super();
+			this.delegate         = delegate        ;
+			this.fileSelector     = fileSelector    ;
+			this.blockSize        = blockSize       ;
+			this.minimumFrameSize = minimumFrameSize;
+			this.compressionLevel = compressionLevel;
+			this.blockTables      = new HashMap<>() ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final BlobStoreConnector delegate()
+		{
+			return this.delegate;
+		}
+		
+		@Override
+		public final int blockSize()
+		{
+			return this.blockSize;
+		}
+		
+		@Override
+		public final int minimumFrameSize()
+		{
+			return this.minimumFrameSize;
+		}
+		
+		@Override
+		public final int compressionLevel()
+		{
+			return this.compressionLevel;
+		}
+		
+		@Override
+		public final boolean isCompressed(final BlobStorePath file)
+		{
+			return this.fileSelector.test(file);
+		}
+		
+		static BlobStorePath indexFile(final BlobStorePath file)
+		{
+			return siblingFile(file, Defaults.defaultIndexFileSuffix());
+		}
+		
+		static BlobStorePath tailFile(final BlobStorePath file)
+		{
+			return siblingFile(file, Defaults.defaultTailFileSuffix());
+		}
+		
+		private static BlobStorePath siblingFile(final BlobStorePath file, final String suffix)
+		{
+			final String[] pathElements = file.pathElements().clone();
+			pathElements[pathElements.length - 1] += suffix;
+			
+			return BlobStorePath.New(pathElements);
+		}
+		
+		/**
+		 * @return the name of the compressed file the passed file belongs to, or {@code null} if it is none of its
+		 *         index or tail files.
+		 */
+		private String compressedFileName(final BlobStorePath directory, final String fileName)
+		{
+			final String suffix = fileName.endsWith(Defaults.defaultIndexFileSuffix())
+				? Defaults.defaultIndexFileSuffix()
+				: fileName.endsWith(Defaults.defaultTailFileSuffix())
+					? Defaults.defaultTailFileSuffix()
+					: null
+			;
+			if(suffix == null)
+			{
+				return null;
+			}
+			
+			final String[] pathElements = Arrays.copyOf(
+				directory.pathElements(),
+				directory.pathElements().length + 1
+			);
+			pathElements[pathElements.length - 1] = fileName.substring(0, fileName.length() - suffix.length());
+			
+			return this.isCompressed(BlobStorePath.New(pathElements))
+				? pathElements[pathElements.length - 1]
+				: null
+			;
+		}
+		
+		private BlockTable blockTable(final BlobStorePath file)
+		{
+			synchronized(this.blockTables)
+			{
+				BlockTable blockTable = this.blockTables.get(file.fullQualifiedName());
+				if(blockTable == null)
+				{
+					this.blockTables.put(file.fullQualifiedName(), blockTable = new BlockTable(file, this.blockSize));
+				}
+				return blockTable;
+			}
+		}
+		
+		private BlockTable lookupBlockTable(final BlobStorePath file)
+		{
+			synchronized(this.blockTables)
+			{
+				return this.blockTables.get(file.fullQualifiedName());
+			}
+		}
+		
+		private BlockTable removeBlockTable(final BlobStorePath file)
+		{
+			synchronized(this.blockTables)
+			{
+				return this.blockTables.remove(file.fullQualifiedName());
+			}
+		}
+		
+		private BlockTable ensureLoaded(final BlockTable blockTable)
+		{
+			// must be called while holding the block table's lock
+			if(!blockTable.loaded)
+			{
+				final long physicalLength = this.delegate.fileSize(blockTable.file);
+				this.readIndex(blockTable, physicalLength);
+				this.scan(blockTable, physicalLength);
+				this.readTail(blockTable);
+				blockTable.loaded = true;
+			}
+			return blockTable;
+		}
+		
+		private static boolean isValidFrame(
+			final int  length        ,
+			final int  storedLength  ,
+			final long position      ,
+			final long physicalLength
+		)
+		{
+			return length > 0 && storedLength > 0 && storedLength <= length
+				&& position + FRAME_HEADER_LENGTH + storedLength <= physicalLength
+			;
+		}
+		
+		private void readIndex(final BlockTable blockTable, final long physicalLength)
+		{
+			final BlobStorePath indexFile   = indexFile(blockTable.file);
+			final long          indexLength = this.delegate.fileSize(indexFile);
+			if(indexLength == 0L)
+			{
+				return;
+			}
+			
+			// an index which doesn't match the file (e.g. after an interrupted truncation) is rebuilt by scanning.
+			if(indexLength % FRAME_HEADER_LENGTH != 0 || indexLength / FRAME_HEADER_LENGTH > Integer.MAX_VALUE)
+			{
+				this.discardIndex(blockTable);
+				return;
+			}
+			
+			final ByteBuffer headers = this.delegate.readData(indexFile, 0L, indexLength);
+			while(headers.remaining() >= FRAME_HEADER_LENGTH)
+			{
+				final int length       = headers.getInt();
+				final int storedLength = headers.getInt();
+				if(!isValidFrame(length, storedLength, blockTable.physicalLength, physicalLength))
+				{
+					this.discardIndex(blockTable);
+					return;
+				}
+				blockTable.add(length, FRAME_HEADER_LENGTH + storedLength);
+			}
+			
+			// the header of the last indexed frame is checked against the actual file as a cheap staleness test.
+			final int        last   = blockTable.count - 1;
+			final ByteBuffer header = this.delegate.readData(
+				blockTable.file,
+				blockTable.physicalStarts[last],
+				FRAME_HEADER_LENGTH
+			);
+			if(header.remaining() < FRAME_HEADER_LENGTH
+			|| header.getInt() != blockTable.length - blockTable.starts[last]
+			|| header.getInt() != blockTable.physicalLength - blockTable.physicalStarts[last] - FRAME_HEADER_LENGTH
+			)
+			{
+				this.discardIndex(blockTable);
+				return;
+			}
+			
+			blockTable.indexedCount = blockTable.count;
+		}
+		
+		private void discardIndex(final BlockTable blockTable)
+		{
+			blockTable.truncate(0);
+			blockTable.indexedCount = 0;
+			this.delegate.deleteFile(indexFile(blockTable.file));
+		}
+		
+		private void scan(final BlockTable blockTable, final long physicalLength)
+		{
+			final BlobStorePath file = blockTable.file;
+			
+			// only the frames not covered by the index are scanned
+			long position = blockTable.physicalLength;
+			while(position < physicalLength)
+			{
+				final ByteBuffer window = this.delegate.readData(
+					file,
+					position,
+					Math.min(READ_BATCH_LENGTH, physicalLength - position)
+				);
+				if(window.remaining() < FRAME_HEADER_LENGTH)
+				{
+					throw new AfsExceptionConsistency(
+						"Incomplete block header at position " + position + " of " + file.fullQualifiedName()
+					);
+				}
+				
+				// every frame whose header lies in the window is registered, the next window starts after the last one
+				while(window.remaining() >= FRAME_HEADER_LENGTH)
+				{
+					final int length       = window.getInt();
+					final int storedLength = window.getInt();
+					if(!isValidFrame(length, storedLength, position, physicalLength))
+					{
+						throw new AfsExceptionConsistency(
+							"Invalid block header at position " + position + " of " + file.fullQualifiedName()
+							+ " (length " + length + ", stored length " + storedLength + ")."
+						);
+					}
+					
+					blockTable.add(length, FRAME_HEADER_LENGTH + storedLength);
+					position += FRAME_HEADER_LENGTH + storedLength;
+					
+					if(storedLength >= window.remaining())
+					{
+						break;
+					}
+					window.position(window.position() + storedLength);
+				}
+			}
+		}
+		
+		private void writeIndex(final BlockTable blockTable)
+		{
+			if(blockTable.indexedCount == blockTable.count)
+			{
+				return;
+			}
+			
+			final ByteBuffer headers = ByteBuffer.allocate(
+				(blockTable.count - blockTable.indexedCount) * FRAME_HEADER_LENGTH
+			);
+			for(int i = blockTable.indexedCount; i < blockTable.count; i++)
+			{
+				headers.putInt((int)(blockTable.end(i) - blockTable.starts[i]));
+				headers.putInt((int)(blockTable.physicalEnd(i) - blockTable.physicalStarts[i]) - FRAME_HEADER_LENGTH);
+			}
+			headers.flip();
+			
+			this.delegate.writeData(indexFile(blockTable.file), Arrays.asList(headers));
+			blockTable.indexedCount = blockTable.count;
+		}
+		
+		private void writeFrames(final BlockTable blockTable, final List<ByteBuffer> frames)
+		{
+			if(frames.isEmpty())
+			{
+				return;
+			}
+			
+			this.delegate.writeData(blockTable.file, frames);
+			for(final ByteBuffer frame : frames)
+			{
+				blockTable.add(frame.getInt(0), frame.limit());
+			}
+			
+			if(blockTable.count - blockTable.indexedCount >= INDEX_BATCH_FRAME_COUNT)
+			{
+				this.writeIndex(blockTable);
+			}
+		}
+		
+		private void readTail(final BlockTable blockTable)
+		{
+			final BlobStorePath tailFile   = tailFile(blockTable.file);
+			final long          tailLength = this.delegate.fileSize(tailFile);
+			if(tailLength == 0L)
+			{
+				return;
+			}
+			
+			if(tailLength < TAIL_HEADER_LENGTH || tailLength - TAIL_HEADER_LENGTH >= blockTable.tail.length)
+			{
+				throw new AfsExceptionConsistency(
+					"Invalid tail length " + tailLength + " of " + blockTable.file.fullQualifiedName()
+				);
+			}
+			
+			final ByteBuffer tail = this.delegate.readData(tailFile, 0L, tailLength);
+			// a tail starting anywhere else has already been written as a frame or was cut off by a truncation.
+			if(tail.getLong() != blockTable.length)
+			{
+				this.delegate.deleteFile(tailFile);
+				return;
+			}
+			
+			blockTable.tailLength = tail.remaining();
+			tail.get(blockTable.tail, 0, blockTable.tailLength);
+		}
+		
+		private void appendTail(final BlockTable blockTable, final byte[] bytes, final int offset, final int length)
+		{
+			final ByteBuffer buffer;
+			if(blockTable.tailLength == 0)
+			{
+				buffer = ByteBuffer.allocate(TAIL_HEADER_LENGTH + length);
+				buffer.putLong(blockTable.length);
+			}
+			else
+			{
+				buffer = ByteBuffer.allocate(length);
+			}
+			buffer.put(bytes, offset, length);
+			buffer.flip();
+			
+			this.delegate.writeData(tailFile(blockTable.file), Arrays.asList(buffer));
+		}
+		
+		private void deleteTail(final BlockTable blockTable)
+		{
+			this.delegate.deleteFile(tailFile(blockTable.file));
+			blockTable.tailLength = 0;
+		}
+		
+		private void writeTailFrame(final BlockTable blockTable, final int length)
+		{
+			// the frame is written before the tail file is deleted, which becomes stale by that.
+			if(length > 0)
+			{
+				final Deflater deflater = new Deflater(this.compressionLevel, true);
+				try
+				{
+					this.writeFrames(
+						blockTable,
+						Arrays.asList(this.createFrame(blockTable.tail, length, deflater))
+					);
+				}
+				finally
+				{
+					deflater.end();
+				}
+			}
+			this.deleteTail(blockTable);
+		}
+		
+		@Override
+		public long fileSize(final BlobStorePath file)
+		{
+			if(!this.isCompressed(file))
+			{
+				return this.delegate.fileSize(file);
+			}
+			
+			final BlockTable blockTable = this.blockTable(file);
+			synchronized(blockTable)
+			{
+				return this.ensureLoaded(blockTable).totalLength();
+			}
+		}
+		
+		@Override
+		public boolean directoryExists(final BlobStorePath directory)
+		{
+			return this.delegate.directoryExists(directory);
+		}
+		
+		@Override
+		public boolean fileExists(final BlobStorePath file)
+		{
+			// a new file may consist of a tail only
+			return this.delegate.fileExists(file)
+				|| this.isCompressed(file) && this.delegate.fileExists(tailFile(file))
+			;
+		}
+		
+		@Override
+		public void visitChildren(final BlobStorePath directory, final BlobStorePathVisitor visitor)
+		{
+			/*
+			 * Index and tail files are an implementation detail of this connector and hidden from the file system.
+			 * A tail file stands for its compressed file, which doesn't exist yet if all of its bytes are in the tail.
+			 */
+			final Set<String> fileNames = new LinkedHashSet<>();
+			this.delegate.visitChildren(directory, new BlobStorePathVisitor()
+			{
+				@Override
+				public void visitDirectory(final BlobStorePath parent, final String directoryName)
+				{
+					visitor.visitDirectory(parent, directoryName);
+				}
+				
+				@Override
+				public void visitFile(final BlobStorePath parent, final String fileName)
+				{
+					final String compressedFileName = Default.this.compressedFileName(parent, fileName);
+					if(compressedFileName == null)
+					{
+						fileNames.add(fileName);
+					}
+					else if(fileName.endsWith(Defaults.defaultTailFileSuffix()))
+					{
+						fileNames.add(compressedFileName);
+					}
+				}
+			});
+			
+			for(final String fileName : fileNames)
+			{
+				visitor.visitFile(directory, fileName);
+			}
+		}
+		
+		@Override
+		public boolean isEmpty(final BlobStorePath directory)
+		{
+			return this.delegate.isEmpty(directory);
+		}
+		
+		@Override
+		public boolean createDirectory(final BlobStorePath directory)
+		{
+			return this.delegate.createDirectory(directory);
+		}
+		
+		@Override
+		public boolean createFile(final BlobStorePath file)
+		{
+			return this.delegate.createFile(file);
+		}
+		
+		@Override
+		public boolean deleteFile(final BlobStorePath file)
+		{
+			if(!this.isCompressed(file))
+			{
+				return this.delegate.deleteFile(file);
+			}
+			
+			final BlockTable blockTable = this.blockTable(file);
+			synchronized(blockTable)
+			{
+				final boolean deletedTail = this.delegate.deleteFile(tailFile(file));
+				final boolean deleted     = this.delegate.deleteFile(file);
+				this.delegate.deleteFile(indexFile(file));
+				this.removeBlockTable(file);
+				
+				return deleted || deletedTail;
+			}
+		}
+		
+		@Override
+		public ByteBuffer readData(
+			final BlobStorePath file  ,
+			final long          offset,
+			final long          length
+		)
+		{
+			if(!this.isCompressed(file))
+			{
+				return this.delegate.readData(file, offset, length);
+			}
+			
+			final BlockTable blockTable = this.blockTable(file);
+			synchronized(blockTable)
+			{
+				final long end = this.readEnd(this.ensureLoaded(blockTable), offset, length);
+				
+				final ByteBuffer buffer = ByteBuffer.allocateDirect(checkArrayRange(end - offset));
+				this.read(blockTable, buffer, offset, end);
+				buffer.flip();
+				
+				return buffer;
+			}
+		}
+		
+		@Override
+		public long readData(
+			final BlobStorePath file        ,
+			final ByteBuffer    targetBuffer,
+			final long          offset      ,
+			final long          length
+		)
+		{
+			if(!this.isCompressed(file))
+			{
+				return this.delegate.readData(file, targetBuffer, offset, length);
+			}
+			
+			final BlockTable blockTable = this.blockTable(file);
+			synchronized(blockTable)
+			{
+				final long end = this.readEnd(this.ensureLoaded(blockTable), offset, length);
+				if(targetBuffer.remaining() < end - offset)
+				{
+					throw new IllegalArgumentException(
+						"Provided target buffer has not enough space remaining to load the content: "
+						+ targetBuffer.remaining() + " < " + (end - offset)
+					);
+				}
+				
+				return this.read(blockTable, targetBuffer, offset, end);
+			}
+		}
+		
+		private long readEnd(final BlockTable blockTable, final long offset, final long length)
+		{
+			// same semantics as the actual connectors: a length of 0 reads nothing, a negative length reads all.
+			final long totalLength = blockTable.totalLength();
+			if(length == 0L || offset >= totalLength)
+			{
+				return offset;
+			}
+			
+			return length < 0L
+				? totalLength
+				: Math.min(offset + length, totalLength)
+			;
+		}
+		
+		private long read(
+			final BlockTable blockTable  ,
+			final ByteBuffer targetBuffer,
+			final long       start       ,
+			final long       end
+		)
+		{
+			if(start >= end)
+			{
+				return 0L;
+			}
+			
+			this.readBlocks(blockTable, targetBuffer, start, Math.min(end, blockTable.length));
+			
+			// the tail follows the written frames
+			if(end > blockTable.length)
+			{
+				final long from = Math.max(start, blockTable.length);
+				targetBuffer.put(blockTable.tail, (int)(from - blockTable.length), (int)(end - from));
+			}
+			
+			return end - start;
+		}
+		
+		private void readBlocks(
+			final BlockTable blockTable  ,
+			final ByteBuffer targetBuffer,
+			final long       start       ,
+			final long       end
+		)
+		{
+			if(start >= end)
+			{
+				return;
+			}
+			
+			final BlobStorePath file      = blockTable.file;
+			final int           lastIndex = blockTable.indexOf(end - 1);
+			
+			final Inflater inflater = new Inflater(true);
+			try
+			{
+				// consecutive frames are fetched in batches to keep the number of requests to the delegate low
+				for(int first = blockTable.indexOf(start), last; first <= lastIndex; first = last + 1)
+				{
+					last = first;
+					while(last < lastIndex
+						&& blockTable.physicalEnd(last + 1) - blockTable.physicalStarts[first] <= READ_BATCH_LENGTH
+					)
+					{
+						last++;
+					}
+					
+					final ByteBuffer frames = this.delegate.readData(
+						file,
+						blockTable.physicalStarts[first],
+						blockTable.physicalEnd(last) - blockTable.physicalStarts[first]
+					);
+					
+					for(int i = first; i <= last; i++)
+					{
+						final byte[] block      = this.readBlock(frames, inflater, file);
+						final long   blockStart = blockTable.starts[i];
+						final int    from       = (int)(Math.max(start, blockStart) - blockStart);
+						final int    to         = (int)(Math.min(end, blockStart + block.length) - blockStart);
+						targetBuffer.put(block, from, to - from);
+					}
+				}
+			}
+			finally
+			{
+				inflater.end();
+			}
+		}
+		
+		private byte[] readBlock(final ByteBuffer frames, final Inflater inflater, final BlobStorePath file)
+		{
+			final int    length       = frames.getInt();
+			final int    storedLength = frames.getInt();
+			final byte[] stored       = new byte[storedLength];
+			frames.get(stored);
+			
+			if(storedLength == length)
+			{
+				// incompressible block, stored as it is.
+				return stored;
+			}
+			
+			final byte[] block = new byte[length];
+			inflater.reset();
+			inflater.setInput(stored);
+			try
+			{
+				int inflated = 0;
+				while(inflated < length)
+				{
+					final int count = inflater.inflate(block, inflated, length - inflated);
+					if(count == 0 && (inflater.needsInput() || inflater.needsDictionary() || inflater.finished()))
+					{
+						throw new AfsExceptionConsistency(
+							"Truncated compressed block in " + file.fullQualifiedName()
+							+ " (" + inflated + " of " + length + " bytes)."
+						);
+					}
+					inflated += count;
+				}
+			}
+			catch(final DataFormatException e)
+			{
+				throw new AfsExceptionConsistency("Corrupt compressed block in " + file.fullQualifiedName(), e);
+			}
+			
+			return block;
+		}
+		
+		@Override
+		public long writeData(
+			final BlobStorePath                  file         ,
+			final Iterable<? extends ByteBuffer> sourceBuffers
+		)
+		{
+			if(!this.isCompressed(file))
+			{
+				return this.delegate.writeData(file, sourceBuffers);
+			}
+			
+			final BlockTable blockTable = this.blockTable(file);
+			synchronized(blockTable)
+			{
+				this.ensureLoaded(blockTable);
+				
+				// the block is filled up starting with the tail
+				final byte[]           block       = blockTable.tail;
+				final int              tailLength  = blockTable.tailLength;
+				      int              blockLength = tailLength;
+				      long             written     = 0L;
+				final List<ByteBuffer> frames      = new ArrayList<>();
+				final Deflater         deflater    = new Deflater(this.compressionLevel, true);
+				try
+				{
+					for(final ByteBuffer source : sourceBuffers)
+					{
+						while(source.hasRemaining())
+						{
+							final int count = Math.min(source.remaining(), block.length - blockLength);
+							source.get(block, blockLength, count);
+							written += count;
+							if((blockLength += count) == block.length)
+							{
+								frames.add(this.createFrame(block, blockLength, deflater));
+								blockLength = 0;
+							}
+						}
+					}
+					if(blockLength >= this.minimumFrameSize)
+					{
+						frames.add(this.createFrame(block, blockLength, deflater));
+						blockLength = 0;
+					}
+				}
+				finally
+				{
+					deflater.end();
+				}
+				
+				if(frames.isEmpty())
+				{
+					// too few bytes for a frame, the written ones are appended to the tail.
+					if(blockLength > tailLength)
+					{
+						this.appendTail(blockTable, block, tailLength, blockLength - tailLength);
+						blockTable.tailLength = blockLength;
+					}
+					return written;
+				}
+				
+				/*
+				 * The frames contain the tail, which becomes stale by writing them. The remaining bytes are written to
+				 * a new tail. Until then, the file is at least as long as before the write.
+				 */
+				this.writeFrames(blockTable, frames);
+				if(tailLength > 0)
+				{
+					this.deleteTail(blockTable);
+				}
+				blockTable.tailLength = 0;
+				if(blockLength > 0)
+				{
+					this.appendTail(blockTable, block, 0, blockLength);
+					blockTable.tailLength = blockLength;
+				}
+				
+				return written;
+			}
+		}
+		
+		private ByteBuffer createFrame(final byte[] block, final int length, final Deflater deflater)
+		{
+			final byte[] compressed = new byte[length];
+			deflater.reset();
+			deflater.setInput(block, 0, length);
+			deflater.finish();
+			
+			int compressedLength = 0;
+			while(!deflater.finished() && compressedLength < length)
+			{
+				compressedLength += deflater.deflate(compressed, compressedLength, length - compressedLength);
+			}
+			
+			// blocks which do not shrink are stored as they are, recognizable by equal lengths.
+			final boolean isCompressed = deflater.finished() && compressedLength < length;
+			final int     storedLength = isCompressed ? compressedLength : length;
+			
+			final ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_LENGTH + storedLength);
+			frame.putInt(length);
+			frame.putInt(storedLength);
+			frame.put(isCompressed ? compressed : block, 0, storedLength);
+			frame.flip();
+			
+			return frame;
+		}
+		
+		@Override
+		public void moveFile(
+			final BlobStorePath sourceFile,
+			final BlobStorePath targetFile
+		)
+		{
+			final boolean isSourceCompressed = this.isCompressed(sourceFile);
+			if(isSourceCompressed != this.isCompressed(targetFile))
+			{
+				// e.g. a data file moved to a differently named rescue file: the content has to be converted.
+				this.copyFile(sourceFile, targetFile, 0, -1);
+				this.deleteFile(sourceFile);
+				return;
+			}
+			
+			if(!isSourceCompressed)
+			{
+				this.delegate.moveFile(sourceFile, targetFile);
+				return;
+			}
+			
+			final BlockTable blockTable = this.blockTable(sourceFile);
+			synchronized(blockTable)
+			{
+				// the moved file is complete and fully indexed, the target's table is loaded from the moved index.
+				this.ensureLoaded(blockTable);
+				if(blockTable.tailLength > 0)
+				{
+					this.writeTailFrame(blockTable, blockTable.tailLength);
+				}
+				this.writeIndex(blockTable);
+				
+				this.delegate.moveFile(sourceFile, targetFile);
+				this.delegate.deleteFile(indexFile(targetFile));
+				if(blockTable.count > 0)
+				{
+					this.delegate.moveFile(indexFile(sourceFile), indexFile(targetFile));
+				}
+				
+				this.removeBlockTable(sourceFile);
+				this.removeBlockTable(targetFile);
+			}
+		}
+		
+		@Override
+		public long copyFile(
+			final BlobStorePath sourceFile,
+			final BlobStorePath targetFile,
+			final long          offset    ,
+			final long          length
+		)
+		{
+			if(!this.isCompressed(sourceFile) && !this.isCompressed(targetFile))
+			{
+				return this.delegate.copyFile(sourceFile, targetFile, offset, length);
+			}
+			
+			/*
+			 * Copied ranges (e.g. entities transferred by the storage's file cleanup) hardly ever match block
+			 * boundaries, so the frames can't be copied as they are but have to be recompressed.
+			 */
+			final ByteBuffer buffer = this.readData(sourceFile, offset, length);
+			return this.writeData(targetFile, Arrays.asList(buffer));
+		}
+		
+		@Override
+		public void truncateFile(
+			final BlobStorePath file     ,
+			final long          newLength
+		)
+		{
+			if(!this.isCompressed(file))
+			{
+				this.delegate.truncateFile(file, newLength);
+				return;
+			}
+			
+			final BlockTable blockTable = this.blockTable(file);
+			synchronized(blockTable)
+			{
+				this.ensureLoaded(blockTable);
+				if(newLength > blockTable.totalLength())
+				{
+					throw new IllegalArgumentException("new length > file length");
+				}
+				if(newLength >= blockTable.length)
+				{
+					// only the tail is cut, its remaining bytes are written as a frame to never shorten the file more.
+					this.writeTailFrame(blockTable, (int)(newLength - blockTable.length));
+					return;
+				}
+				if(blockTable.tailLength > 0)
+				{
+					this.deleteTail(blockTable);
+				}
+				
+				final int  index      = blockTable.indexOf(newLength);
+				final long blockStart = blockTable.starts[index];
+				
+				// the remaining head of a cut block is rewritten as a block of its own.
+				ByteBuffer head = null;
+				if(blockStart < newLength)
+				{
+					head = ByteBuffer.allocate((int)(newLength - blockStart));
+					this.readBlocks(blockTable, head, blockStart, newLength);
+					head.flip();
+				}
+				
+				/*
+				 * The index is cut before the file, so an interruption leaves an index covering less than the file,
+				 * which is completed by scanning. An index covering more would be discarded entirely.
+				 */
+				final boolean isIndexCut = blockTable.indexedCount > index;
+				blockTable.truncate(index);
+				if(isIndexCut)
+				{
+					this.delegate.deleteFile(indexFile(file));
+					blockTable.indexedCount = 0;
+					this.writeIndex(blockTable);
+				}
+				
+				// a new length of 0 deletes the file, which the delegate handles as well.
+				this.delegate.truncateFile(file, blockTable.physicalLength);
+				
+				if(head != null)
+				{
+					// written right away, since these bytes have already been written before.
+					final Deflater deflater = new Deflater(this.compressionLevel, true);
+					try
+					{
+						final byte[] headBytes = new byte[head.remaining()];
+						head.get(headBytes);
+						this.writeFrames(blockTable, Arrays.asList(this.createFrame(headBytes, headBytes.length, deflater)));
+					}
+					finally
+					{
+						deflater.end();
+					}
+				}
+			}
+		}
+		
+		@Override
+		public void close()
+		{
+			synchronized(this.blockTables)
+			{
+				for(final BlockTable blockTable : this.blockTables.values())
+				{
+					synchronized(blockTable)
+					{
+						if(blockTable.loaded)
+						{
+							this.writeIndex(blockTable);
+						}
+					}
+				}
+				this.blockTables.clear();
+			}
+			this.delegate.close();
+		}
+		
+	}
+	
+	
+	/**
+	 * Block offset table of a compressed file: the uncompressed and the physical start position of every frame,
+	 * plus the bytes of the tail.
+	 */
+	static final class BlockTable
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final BlobStorePath file                         ;
+		final byte[]        tail                         ;
+		      int           tailLength                   ;
+		      long[]        starts         = new long[16];
+		      long[]        physicalStarts = new long[16];
+		      int           count                        ;
+		      int           indexedCount                 ;
+		      long          length                       ;
+		      long          physicalLength               ;
+		      boolean       loaded                       ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		BlockTable(final BlobStorePath file, final int blockSize)
+		{
+			super();
+			this.file = file                 ;
+			this.tail = new byte[blockSize]  ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		final long totalLength()
+		{
+			return this.length + this.tailLength;
+		}
+		
+		final void add(final int blockLength, final int frameLength)
+		{
+			if(this.count == this.starts.length)
+			{
+				this.starts         = Arrays.copyOf(this.starts        , this.count * 2);
+				this.physicalStarts = Arrays.copyOf(this.physicalStarts, this.count * 2);
+			}
+			this.starts        [this.count] = this.length        ;
+			this.physicalStarts[this.count] = this.physicalLength;
+			this.count++;
+			
+			this.length         += blockLength;
+			this.physicalLength += frameLength;
+		}
+		
+		final void truncate(final int blockCount)
+		{
+			if(blockCount < this.count)
+			{
+				this.length         = this.starts        [blockCount];
+				this.physicalLength = this.physicalStarts[blockCount];
+				this.count          = blockCount;
+				this.indexedCount   = Math.min(this.indexedCount, blockCount);
+			}
+		}
+		
+		final long end(final int index)
+		{
+			return index + 1 < this.count
+				? this.starts[index + 1]
+				: this.length
+			;
+		}
+		
+		final long physicalEnd(final int index)
+		{
+			return index + 1 < this.count
+				? this.physicalStarts[index + 1]
+				: this.physicalLength
+			;
+		}
+		
+		/**
+		 * @return the index of the block containing the passed uncompressed position.
+		 */
+		final int indexOf(final long position)
+		{
+			// binary search for the last block starting at or before the position
+			int low = 0, high = this.count - 1;
+			while(low < high)
+			{
+				final int middle = low + high + 1 >>> 1;
+				if(this.starts[middle] <= position)
+				{
+					low = middle;
+				}
+				else
+				{
+					high = middle - 1;
+				}
+			}
+			return low;
+		}
+		
+	}
+	
+}
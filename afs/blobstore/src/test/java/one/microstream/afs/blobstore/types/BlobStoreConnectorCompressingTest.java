@@ -0,0 +1,340 @@
+package one.microstream.afs.blobstore.types;
+
+/*-
+ * #%L
+ * microstream-afs-blobstore
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Writes files through a {@link BlobStoreConnectorCompressing} into an in-memory blob store and reads them back,
+ * also with fresh connectors which have to restore the block tables from the index, the frames and the tail.
+ * <p>
+ * Every write to the in-memory store creates a new blob, so reads of the uncompressed content span frames, tails
+ * and blobs at arbitrary positions.
+ */
+public class BlobStoreConnectorCompressingTest
+{
+	static final int BLOCK_SIZE         = 1024;
+	static final int MINIMUM_FRAME_SIZE =  256;
+	static final int WRITE_COUNT        =  200;
+	static final int READ_COUNT         = 1000;
+	
+	static final BlobStorePath DATA_FILE  = BlobStorePath.New("container", "channel_0", "channel_0_1.dat");
+	static final BlobStorePath OTHER_FILE = BlobStorePath.New("container", "channel_0", "transactions_0.sft");
+	
+	final MemoryConnector store = new MemoryConnector();
+	
+	BlobStoreConnectorCompressing connector()
+	{
+		return BlobStoreConnectorCompressing.New(
+			this.store                                                  ,
+			BlobStoreConnectorCompressing.Defaults.defaultFileSelector(),
+			BLOCK_SIZE                                                  ,
+			MINIMUM_FRAME_SIZE                                          ,
+			Deflater.BEST_SPEED
+		);
+	}
+	
+	/**
+	 * Mostly compressible content with some incompressible stretches, which are stored as they are.
+	 */
+	static byte[] content(final Random random, final int length)
+	{
+		final byte[] content = new byte[length];
+		if(random.nextInt(4) == 0)
+		{
+			random.nextBytes(content);
+			return content;
+		}
+		for(int i = 0; i < length; i++)
+		{
+			content[i] = (byte)('a' + (i / 7 + random.nextInt(3)) % 26);
+		}
+		
+		return content;
+	}
+	
+	/**
+	 * Writes chunks of varying sizes: smaller than the minimum frame size (tail only), spanning blocks
+	 * and larger than several blocks.
+	 */
+	static byte[] write(final BlobStoreConnector connector, final BlobStorePath file, final Random random)
+	{
+		final long                  start   = connector.fileSize(file);
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+		for(int i = 0; i < WRITE_COUNT; i++)
+		{
+			final int    length  = random.nextInt(4) == 0 ? random.nextInt(4 * BLOCK_SIZE) : random.nextInt(200) + 1;
+			final byte[] content = content(random, length);
+			final long   count   = connector.writeData(file, Arrays.asList(ByteBuffer.wrap(content)));
+			Assertions.assertEquals(length, count);
+			written.write(content, 0, length);
+			Assertions.assertEquals(start + written.size(), connector.fileSize(file));
+		}
+		
+		return written.toByteArray();
+	}
+	
+	static byte[] bytes(final ByteBuffer buffer)
+	{
+		final byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		
+		return bytes;
+	}
+	
+	static void assertContent(final byte[] expected, final BlobStoreConnector connector, final BlobStorePath file)
+	{
+		Assertions.assertEquals(expected.length, connector.fileSize(file));
+		Assertions.assertArrayEquals(expected, bytes(connector.readData(file, 0, -1)));
+	}
+	
+	@Test
+	void roundTrip()
+	{
+		final Random random = new Random(1);
+		
+		final BlobStoreConnectorCompressing connector = this.connector();
+		final byte[] written = write(connector, DATA_FILE, random);
+		assertContent(written, connector, DATA_FILE);
+		
+		// the stored frames are smaller than the written content
+		Assertions.assertTrue(this.store.fileSize(DATA_FILE) < written.length);
+		
+		// a fresh connector restores the file from its index, the frames written after it and the tail
+		assertContent(written, this.connector(), DATA_FILE);
+		
+		// files which are not selected are passed through as they are
+		final byte[] other = content(random, 3 * BLOCK_SIZE);
+		connector.writeData(OTHER_FILE, Arrays.asList(ByteBuffer.wrap(other)));
+		Assertions.assertArrayEquals(other, bytes(this.store.readData(OTHER_FILE, 0, -1)));
+		assertContent(other, this.connector(), OTHER_FILE);
+	}
+	
+	@Test
+	void partialReads()
+	{
+		final Random random = new Random(2);
+		
+		final byte[] written = write(this.connector(), DATA_FILE, random);
+		Assertions.assertTrue(this.store.blobCount(DATA_FILE) > 1);
+		
+		final BlobStoreConnectorCompressing connector = this.connector();
+		for(int i = 0; i < READ_COUNT; i++)
+		{
+			final int offset = random.nextInt(written.length);
+			final int length = random.nextInt(4 * BLOCK_SIZE) + 1;
+			final int end    = Math.min(offset + length, written.length);
+			
+			final byte[] expected = Arrays.copyOfRange(written, offset, end);
+			Assertions.assertArrayEquals(expected, bytes(connector.readData(DATA_FILE, offset, length)));
+			
+			final ByteBuffer target = ByteBuffer.allocate(length);
+			Assertions.assertEquals(expected.length, connector.readData(DATA_FILE, target, offset, length));
+			target.flip();
+			Assertions.assertArrayEquals(expected, bytes(target));
+		}
+		
+		// reads beyond the end deliver nothing
+		Assertions.assertEquals(0, connector.readData(DATA_FILE, written.length, 10).remaining());
+		Assertions.assertEquals(0, connector.readData(DATA_FILE, 0, 0).remaining());
+	}
+	
+	@Test
+	void sizeReporting()
+	{
+		final Random random = new Random(3);
+		
+		// a few bytes are only held in the tail, but make up the file nonetheless
+		final BlobStoreConnectorCompressing connector = this.connector();
+		final byte[] small = content(random, MINIMUM_FRAME_SIZE / 2);
+		connector.writeData(DATA_FILE, Arrays.asList(ByteBuffer.wrap(small)));
+		Assertions.assertFalse(this.store.fileExists(DATA_FILE));
+		Assertions.assertTrue(connector.fileExists(DATA_FILE));
+		Assertions.assertEquals(small.length, connector.fileSize(DATA_FILE));
+		Assertions.assertEquals(small.length, this.connector().fileSize(DATA_FILE));
+		
+		final byte[] written = write(connector, DATA_FILE, random);
+		final int    length  = small.length + written.length;
+		Assertions.assertEquals(length, connector.fileSize(DATA_FILE));
+		Assertions.assertEquals(length, this.connector().fileSize(DATA_FILE));
+		
+		// index and tail files are hidden, only the compressed file is visible
+		final List<String> fileNames = new ArrayList<>();
+		connector.visitChildren(DATA_FILE.parentPath(), new BlobStorePathVisitor()
+		{
+			@Override
+			public void visitDirectory(final BlobStorePath parent, final String directoryName)
+			{
+				// no directories
+			}
+			
+			@Override
+			public void visitFile(final BlobStorePath parent, final String fileName)
+			{
+				fileNames.add(fileName);
+			}
+		});
+		Assertions.assertEquals(Arrays.asList(DATA_FILE.identifier()), fileNames);
+		
+		// truncation within a block and within the tail
+		final long[] newLengths = {length - 1, length - MINIMUM_FRAME_SIZE, length / 2, BLOCK_SIZE + 1, 1};
+		for(final long newLength : newLengths)
+		{
+			connector.truncateFile(DATA_FILE, newLength);
+			Assertions.assertEquals(newLength, connector.fileSize(DATA_FILE));
+			Assertions.assertEquals(newLength, this.connector().fileSize(DATA_FILE));
+			Assertions.assertArrayEquals(
+				Arrays.copyOf(small.length >= newLength ? small : concat(small, written), (int)newLength),
+				bytes(this.connector().readData(DATA_FILE, 0, -1))
+			);
+		}
+		
+		Assertions.assertTrue(connector.deleteFile(DATA_FILE));
+		Assertions.assertFalse(connector.fileExists(DATA_FILE));
+		Assertions.assertEquals(0, connector.fileSize(DATA_FILE));
+		Assertions.assertTrue(this.store.isEmpty(DATA_FILE.parentPath()));
+	}
+	
+	static byte[] concat(final byte[] first, final byte[] second)
+	{
+		final byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, bytes, first.length, second.length);
+		
+		return bytes;
+	}
+	
+	
+	
+	/**
+	 * Blob store in memory, every write creates a new blob.
+	 */
+	static final class MemoryConnector extends BlobStoreConnector.Abstract<MemoryConnector.Blob>
+	{
+		static final class Blob
+		{
+			final String key ;
+			final byte[] data;
+			
+			Blob(final String key, final byte[] data)
+			{
+				super();
+				this.key  = key ;
+				this.data = data;
+			}
+			
+			String key()
+			{
+				return this.key;
+			}
+			
+		}
+		
+		private final Map<String, Blob> blobs = new TreeMap<>();
+		
+		MemoryConnector()
+		{
+			super(Blob::key, blob -> blob.data.length, false);
+		}
+		
+		synchronized int blobCount(final BlobStorePath file)
+		{
+			return (int)this.blobs(file).count();
+		}
+		
+		@Override
+		protected synchronized Stream<Blob> blobs(final BlobStorePath file)
+		{
+			final String regex = blobKeyRegex(toBlobKeyPrefixWithContainer(file));
+			
+			return new ArrayList<>(this.blobs.values()).stream()
+				.filter(blob -> blob.key.matches(regex))
+				.sorted(this.blobComparator())
+			;
+		}
+		
+		@Override
+		protected synchronized Stream<String> childKeys(final BlobStorePath directory)
+		{
+			final String regex = childKeysRegexWithContainer(directory);
+			
+			return new ArrayList<>(this.blobs.keySet()).stream()
+				.filter(key -> key.matches(regex))
+			;
+		}
+		
+		@Override
+		protected synchronized boolean internalDeleteBlobs(final BlobStorePath file, final List<? extends Blob> blobs)
+		{
+			blobs.forEach(blob -> this.blobs.remove(blob.key));
+			
+			return true;
+		}
+		
+		@Override
+		protected void internalReadBlobData(
+			final BlobStorePath file        ,
+			final Blob          blob        ,
+			final ByteBuffer    targetBuffer,
+			final long          offset      ,
+			final long          length
+		)
+		{
+			targetBuffer.put(blob.data, (int)offset, (int)length);
+		}
+		
+		@Override
+		protected synchronized long internalWriteData(
+			final BlobStorePath                  file         ,
+			final Iterable<? extends ByteBuffer> sourceBuffers
+		)
+		{
+			final ByteArrayOutputStream data = new ByteArrayOutputStream();
+			for(final ByteBuffer buffer : sourceBuffers)
+			{
+				final byte[] bytes = bytes(buffer);
+				data.write(bytes, 0, bytes.length);
+			}
+			if(data.size() == 0)
+			{
+				return 0;
+			}
+			
+			final String key = toBlobKeyWithContainer(file, this.nextBlobNumber(file));
+			this.blobs.put(key, new Blob(key, data.toByteArray()));
+			
+			return data.size();
+		}
+		
+	}
+	
+}
@@ -24,6 +24,8 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
@@ -33,6 +35,7 @@ import one.microstream.afs.types.AFile;
 import one.microstream.chars.XChars;
 import one.microstream.exceptions.IORuntimeException;
 import one.microstream.io.XIO;
+import one.microstream.memory.XMemory;
 
 public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 {
@@ -58,6 +61,31 @@ public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 	
 	public boolean closeChannel() throws IORuntimeException;
 	
+	/**
+	 * Copies the specified range of the file's content from a memory mapping of the file into the passed buffer,
+	 * starting at its current position. If the range cannot be mapped (e.g. because it exceeds the file's size
+	 * or the maximum mappable length), nothing is copied and {@literal false} is returned.<br>
+	 * The mapping is created lazily, replaced if the file has grown beyond it and released when the file's
+	 * channel is closed or the file is truncated. Since the data is always copied while holding the file's
+	 * mutex, no reference to the mapping ever escapes and a released mapping can never be accessed.
+	 * 
+	 * @param targetBuffer the buffer to copy the file's content into.
+	 * @param position the position in the file where the range starts.
+	 * @param length the length of the range.
+	 * 
+	 * @return whether the range has been copied from the mapping.
+	 * 
+	 * @throws IORuntimeException if mapping the file failed.
+	 */
+	public boolean readMapped(ByteBuffer targetBuffer, long position, long length) throws IORuntimeException;
+	
+	/**
+	 * Releases the file's memory mapping, if any. This must happen before the file is truncated, as accessing a
+	 * mapping beyond the end of the file causes a bus error and some operating systems (e.g. Windows) do not allow
+	 * truncating a mapped file at all.
+	 */
+	public void unmap();
+	
 	
 	
 	
@@ -67,8 +95,9 @@ public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 		// instance fields //
 		////////////////////
 
-        Path        path       ;
-        FileChannel fileChannel;
+        Path             path        ;
+        FileChannel      fileChannel ;
+        MappedByteBuffer mappedBuffer;
         
         
         
@@ -311,10 +340,80 @@ public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 		
 		private void ensureClearedFileChannelField(final Throwable cause)
 		{
+			this.unmap();
+			
 			final FileChannel fc = this.fileChannel;
 			this.fileChannel = null;
 			XIO.unchecked.close(fc, cause);
 		}
+		
+		@Override
+		public boolean readMapped(
+			final ByteBuffer targetBuffer,
+			final long       position    ,
+			final long       length
+		)
+			throws IORuntimeException
+		{
+			synchronized(this.mutex())
+			{
+				final long bound = position + length;
+				if(position < 0 || length < 0 || bound > Integer.MAX_VALUE || targetBuffer.remaining() < length)
+				{
+					return false;
+				}
+				
+				if((this.mappedBuffer == null || bound > this.mappedBuffer.capacity()) && !this.map(bound))
+				{
+					return false;
+				}
+				
+				final ByteBuffer range = this.mappedBuffer.duplicate();
+				range.limit((int)bound).position((int)position);
+				targetBuffer.put(range);
+				
+				return true;
+			}
+		}
+		
+		private boolean map(final long requiredLength) throws IORuntimeException
+		{
+			final FileChannel fileChannel = this.ensureOpenChannel();
+			try
+			{
+				// the whole current file content is mapped to minimize remapping for growing files.
+				final long fileSize = fileChannel.size();
+				if(fileSize < requiredLength || fileSize > Integer.MAX_VALUE)
+				{
+					return false;
+				}
+				
+				this.unmap();
+				this.mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+				
+				return true;
+			}
+			catch(final IOException e)
+			{
+				throw new IORuntimeException(e);
+			}
+		}
+		
+		@Override
+		public void unmap()
+		{
+			synchronized(this.mutex())
+			{
+				final MappedByteBuffer mappedBuffer = this.mappedBuffer;
+				this.mappedBuffer = null;
+				
+				/*
+				 * Safe since the mapping is only ever accessed while holding the mutex (see #readMapped).
+				 * If the deallocator cannot unmap it explicitly, the mapping is released by the JVM's GC.
+				 */
+				XMemory.deallocateDirectByteBuffer(mappedBuffer);
+			}
+		}
 				
 		@Override
 		public boolean reopenChannel(final OpenOption... options) throws IORuntimeException
@@ -28,6 +28,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import one.microstream.X;
 import one.microstream.afs.types.ADirectory;
 import one.microstream.afs.types.AFile;
 import one.microstream.afs.types.AIoHandler;
@@ -59,15 +60,15 @@ public interface NioIoHandler extends AIoHandler
 	
 	public static NioIoHandler New(final WriteController writeController)
 	{
-		return new NioIoHandler.Default(
-			notNull(writeController),
+		return New(
+			writeController,
 			NioPathResolver.New()
 		);
 	}
 	
 	public static NioIoHandler New(final NioPathResolver pathResolver)
 	{
-		return new NioIoHandler.Default(
+		return New(
 			WriteController.Enabled(),
 			pathResolver
 		);
@@ -77,10 +78,35 @@ public interface NioIoHandler extends AIoHandler
 		final WriteController writeController,
 		final NioPathResolver pathResolver
 	)
+	{
+		return New(writeController, pathResolver, false);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link NioIoHandler} instance that serves positioned
+	 * reads from memory mappings of the read files instead of reading via their {@link java.nio.channels.FileChannel}.
+	 * <p>
+	 * The data is copied from the mapping into the target buffer, which spares the read system call per read
+	 * operation. No views on a mapping are ever handed out, so mappings can safely be released when a file is
+	 * closed, truncated or has grown beyond its mapping.
+	 * 
+	 * @return a new {@link NioIoHandler} instance using memory mapped reading.
+	 */
+	public static NioIoHandler NewMappedReading()
+	{
+		return New(WriteController.Enabled(), NioPathResolver.New(), true);
+	}
+	
+	public static NioIoHandler New(
+		final WriteController writeController,
+		final NioPathResolver pathResolver   ,
+		final boolean         mappedReading
+	)
 	{
 		return new NioIoHandler.Default(
 			notNull(writeController),
-			notNull(pathResolver)
+			notNull(pathResolver)   ,
+			mappedReading
 		);
 	}
 	
@@ -92,7 +118,8 @@ public interface NioIoHandler extends AIoHandler
 		// instance fields //
 		////////////////////
 		
-		private final NioPathResolver pathResolver;
+		private final NioPathResolver pathResolver ;
+		private final boolean         mappedReading;
 
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -101,7 +128,9 @@ public interface NioIoHandler extends AIoHandler
 		
 		Default(
 			final WriteController writeController,
-			final NioPathResolver pathResolver)
+			final NioPathResolver pathResolver   ,
+			final boolean         mappedReading
+		)
 		{
 			super(
 				writeController,
@@ -112,7 +141,8 @@ public interface NioIoHandler extends AIoHandler
 				NioWritableFile.class
 			);
 			
-			this.pathResolver = pathResolver;
+			this.pathResolver  = pathResolver ;
+			this.mappedReading = mappedReading;
 		}
 		
 		
@@ -339,6 +369,9 @@ public interface NioIoHandler extends AIoHandler
 		{
 			// ensure file is opened for writing
 			this.openWriting(targetFile);
+			
+			// a mapping beyond the new end of the file may neither remain nor prevent the truncation.
+			targetFile.unmap();
 
 			try
 			{
@@ -349,6 +382,25 @@ public interface NioIoHandler extends AIoHandler
 				throw new IORuntimeException(e);
 			}
 		}
+		
+		@Override
+		protected void specificFlush(final NioWritableFile file)
+		{
+			// a file that is not opened cannot have pending written bytes via this handler.
+			if(!file.isChannelOpen())
+			{
+				return;
+			}
+
+			try
+			{
+				file.fileChannel().force(false);
+			}
+			catch (final IOException e)
+			{
+				throw new IORuntimeException(e);
+			}
+		}
 
 		@Override
 		protected boolean specificDeleteFile(final NioWritableFile file)
@@ -399,6 +451,16 @@ public interface NioIoHandler extends AIoHandler
 			final long            length
 		)
 		{
+			if(this.mappedReading)
+			{
+				final ByteBuffer buffer = ByteBuffer.allocateDirect(X.checkArrayRange(length));
+				if(sourceFile.readMapped(buffer, position, length))
+				{
+					buffer.flip();
+					return buffer;
+				}
+			}
+			
 			try
 			{
 				return XIO.read(sourceFile.ensureOpenChannel(), position, length);
@@ -432,6 +494,12 @@ public interface NioIoHandler extends AIoHandler
 			final long            position
 		)
 		{
+			final long length = targetBuffer.remaining();
+			if(this.mappedReading && this.readMapped(sourceFile, targetBuffer, position, length))
+			{
+				return length;
+			}
+			
 			try
 			{
 				return XIO.read(sourceFile.ensureOpenChannel(), targetBuffer, position);
@@ -450,6 +518,11 @@ public interface NioIoHandler extends AIoHandler
 			final long            length
 		)
 		{
+			if(this.mappedReading && this.readMapped(sourceFile, targetBuffer, position, length))
+			{
+				return length;
+			}
+			
 			try
 			{
 				return XIO.read(sourceFile.ensureOpenChannel(), targetBuffer, position, length);
@@ -459,6 +532,24 @@ public interface NioIoHandler extends AIoHandler
 				throw new IORuntimeException(e);
 			}
 		}
+		
+		private boolean readMapped(
+			final NioReadableFile sourceFile  ,
+			final ByteBuffer      targetBuffer,
+			final long            position    ,
+			final long            length
+		)
+		{
+			if(targetBuffer.remaining() < length)
+			{
+				// let the channel reading logic report the problem
+				return false;
+			}
+			
+			targetBuffer.limit(targetBuffer.position() + (int)length);
+			
+			return sourceFile.readMapped(targetBuffer, position, length);
+		}
 
 		@Override
 		protected long specificReadBytes(
@@ -240,9 +240,10 @@ public interface Set_long extends OptimizableCollection, Composition, _longItera
 		@Override
 		public final boolean contains(final long element)
 		{
-			if(element != 0L)
+			final long[] chain;
+			if(element != 0L && (chain = this.hashSlots[hash(element, this.hashRange)]) != null)
 			{
-				for(final long e : this.hashSlots[hash(element, this.hashRange)])
+				for(final long e : chain)
 				{
 					if(e == element)
 					{
@@ -500,37 +500,61 @@ public interface Lazy<T> extends Referencing<T>
 		/////////////////////
 
 		@Override
-		public final synchronized T get()
+		public final T get()
 		{
-			// no need to "load" a persisted null value (id == 0) or a not yet persisted null value (id < 0)
-			if(this.subject == null && Swizzling.isProperId(this.objectId))
+			final long            objectId;
+			final ObjectSwizzling loader  ;
+			synchronized(this)
 			{
-				this.load();
+				// no need to "load" a persisted null value (id == 0) or a not yet persisted null value (id < 0)
+				if(this.subject != null || !Swizzling.isProperId(this.objectId))
+				{
+					this.touch();
+					return this.subject;
+				}
+				objectId = this.objectId;
+				loader   = this.loader  ;
 			}
 			
-			/* There are 3 possible cases at this point:
-			 * 1.) subject is not null because it has been set via the normal constructor directly and is simply returned
-			 * 2.) subject was lazily null but has been successfully thread-safely loaded, set and can now be returned
-			 * 3.) subject was null in the first place (one way or another) and null gets returned.
+			/*
+			 * Loading waits for the storage, so it must not be done while holding the monitor, as that would
+			 * pin a virtual thread to its carrier thread. Concurrent loads of the same subject yield the same
+			 * instance (registered by the loader), so it does not matter which one sets it.
 			 */
-			this.touch();
+			final T loaded = this.load(objectId, loader);
 			
-			return this.subject;
+			synchronized(this)
+			{
+				/* There are 3 possible cases at this point:
+				 * 1.) subject is not null because it has been loaded concurrently and is simply returned
+				 * 2.) subject was lazily null and gets the just loaded instance, which can now be returned
+				 * 3.) the loaded subject is null (one way or another) and null gets returned.
+				 */
+				if(this.subject == null)
+				{
+					this.subject = loaded;
+				}
+				this.touch();
+				
+				return this.subject;
+			}
 		}
 
 		@SuppressWarnings("unchecked") // safety of cast guaranteed by logic
-		private synchronized void load()
+		private T load(final long objectId, final ObjectSwizzling loader)
 		{
-			logger.debug("Lazy loading {}", this.objectId);
+			logger.debug("Lazy loading {}", objectId);
 			
 			// this context doesn't have to do anything on an exception inside the get(), just pass it along
-			this.subject = (T)this.loader.getObject(this.objectId);
+			final T subject = (T)loader.getObject(objectId);
 			
 			logger.debug(
 				"Lazy loaded {}: {}",
-				this.objectId,
-				LazyArg(() -> systemString(this.subject))
+				objectId,
+				LazyArg(() -> systemString(subject))
 			);
+			
+			return subject;
 		}
 
 		final synchronized boolean clearIfTimedout(final long millisecondThreshold)
@@ -0,0 +1,176 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * Shared setup logic for the benchmarks: a typical entity graph and storages in NIO temp directories,
+ * so that every trial starts from the same, reproducible state.
+ */
+public final class BenchmarkStorage
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static Path createDirectory()
+	{
+		try
+		{
+			return Files.createTempDirectory("microstream-jmh");
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	public static EmbeddedStorageManager start(final Object root, final Path directory)
+	{
+		return EmbeddedStorage.start(root, directory);
+	}
+	
+	public static void shutdown(final EmbeddedStorageManager storage, final Path directory)
+	{
+		if(storage != null)
+		{
+			storage.shutdown();
+		}
+		if(directory != null)
+		{
+			deleteDirectory(directory);
+		}
+	}
+	
+	public static void deleteDirectory(final Path directory)
+	{
+		try(Stream<Path> paths = Files.walk(directory))
+		{
+			paths.sorted(Comparator.reverseOrder()).forEach(path ->
+			{
+				try
+				{
+					Files.delete(path);
+				}
+				catch(final IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Creates a list of {@link Item}s, each with a few primitive fields, a {@link String}, a primitive array
+	 * and a reference to a shared {@link Category}. This resembles a typical business entity graph.
+	 * 
+	 * @param count the number of items to create.
+	 * 
+	 * @return a list of the created items.
+	 */
+	public static List<Item> createItems(final int count)
+	{
+		final Category[] categories = new Category[16];
+		for(int i = 0; i < categories.length; i++)
+		{
+			categories[i] = new Category("Category " + i);
+		}
+		
+		final List<Item> items = new ArrayList<>(count);
+		for(int i = 0; i < count; i++)
+		{
+			items.add(new Item(i, "Item " + i, i * 0.5, new int[]{i, i + 1, i + 2, i + 3}, categories[i & 15]));
+		}
+		
+		return items;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// entity types //
+	/////////////////
+	
+	public static final class Category
+	{
+		final String name;
+		
+		Category(final String name)
+		{
+			super();
+			this.name = name;
+		}
+		
+	}
+	
+	public static final class Item
+	{
+		final long     id      ;
+		final String   name    ;
+		final double   price   ;
+		final int[]    values  ;
+		final Category category;
+		
+		Item(final long id, final String name, final double price, final int[] values, final Category category)
+		{
+			super();
+			this.id       = id      ;
+			this.name     = name    ;
+			this.price    = price   ;
+			this.values   = values  ;
+			this.category = category;
+		}
+		
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 *
+	 * @throws UnsupportedOperationException when called
+	 */
+	private BenchmarkStorage()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+	
+}
@@ -0,0 +1,92 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import one.microstream.benchmarks.jmh.BenchmarkStorage.Item;
+import one.microstream.persistence.types.PersistenceManager;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * Deserialization by a {@code BinaryLoader}: explicitly requested object ids are always read from the storage
+ * and built, i.e. their already existing instances are updated from the loaded data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryLoaderBenchmark
+{
+	@Param({"100", "10000"})
+	int itemCount;
+	
+	Path                   directory;
+	EmbeddedStorageManager storage  ;
+	long[]                 objectIds;
+	
+	@Setup
+	public void setup()
+	{
+		final List<Item> items = BenchmarkStorage.createItems(this.itemCount);
+		this.directory = BenchmarkStorage.createDirectory();
+		this.storage   = BenchmarkStorage.start(items, this.directory);
+		this.storage.storeRoot();
+		
+		final PersistenceManager<?> persistenceManager = this.storage.persistenceManager();
+		this.objectIds = new long[items.size()];
+		for(int i = 0; i < this.objectIds.length; i++)
+		{
+			this.objectIds[i] = persistenceManager.lookupObjectId(items.get(i));
+		}
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		BenchmarkStorage.shutdown(this.storage, this.directory);
+	}
+	
+	@Benchmark
+	public void load(final Blackhole blackhole)
+	{
+		this.storage.persistenceManager().createLoader().collect(blackhole::consume, this.objectIds);
+	}
+	
+}
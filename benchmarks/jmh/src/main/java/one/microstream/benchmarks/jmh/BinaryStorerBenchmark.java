@@ -0,0 +1,101 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.benchmarks.jmh.BenchmarkStorage.Item;
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * Serialization of a typical entity graph by a {@code BinaryStorer}: once without writing (pure registration and
+ * serialization) and once including the commit to the storage.
+ * Eager storers are used, so every operation serializes the whole graph regardless of it being stored before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryStorerBenchmark
+{
+	@Param({"100", "10000"})
+	int itemCount;
+	
+	Path                   directory;
+	EmbeddedStorageManager storage  ;
+	List<Item>             items    ;
+	
+	@Setup
+	public void setup()
+	{
+		this.items     = BenchmarkStorage.createItems(this.itemCount);
+		this.directory = BenchmarkStorage.createDirectory();
+		this.storage   = BenchmarkStorage.start(this.items, this.directory);
+		this.storage.storeRoot();
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		BenchmarkStorage.shutdown(this.storage, this.directory);
+	}
+	
+	@Benchmark
+	public long serialize()
+	{
+		final Storer storer = this.storage.createEagerStorer();
+		storer.store(this.items);
+		final long size = storer.size();
+		
+		// discard the serialized data instead of committing it
+		storer.clear();
+		
+		return size;
+	}
+	
+	@Benchmark
+	public Object storeAndCommit()
+	{
+		final Storer storer = this.storage.createEagerStorer();
+		storer.store(this.items);
+		
+		return storer.commit();
+	}
+	
+}
@@ -0,0 +1,200 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import one.microstream.collections.BulkList;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.HashEnum;
+
+/**
+ * The base collections used throughout the persistence layer compared to their JDK equivalents:
+ * {@link EqHashTable} to {@link HashMap}, {@link BulkList} to {@link ArrayList} and {@link HashEnum} to
+ * {@link HashSet}. Every operation handles all {@code size} elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionsBenchmark
+{
+	@Param({"1000", "100000"})
+	int size;
+	
+	Object[]                    keys       ;
+	EqHashTable<Object, Object> eqHashTable;
+	HashMap<Object, Object>     hashMap    ;
+	BulkList<Object>            bulkList   ;
+	ArrayList<Object>           arrayList  ;
+	HashEnum<Object>            hashEnum   ;
+	HashSet<Object>             hashSet    ;
+	
+	@Setup
+	public void setup()
+	{
+		this.keys = new Object[this.size];
+		for(int i = 0; i < this.size; i++)
+		{
+			this.keys[i] = "Key " + i;
+		}
+		
+		this.eqHashTable = this.fillEqHashTable();
+		this.hashMap     = this.fillHashMap()    ;
+		this.bulkList    = this.fillBulkList()   ;
+		this.arrayList   = this.fillArrayList()  ;
+		this.hashEnum    = this.fillHashEnum()   ;
+		this.hashSet     = this.fillHashSet()    ;
+	}
+	
+	@Benchmark
+	public EqHashTable<Object, Object> fillEqHashTable()
+	{
+		final EqHashTable<Object, Object> table = EqHashTable.New();
+		for(final Object key : this.keys)
+		{
+			table.put(key, key);
+		}
+		return table;
+	}
+	
+	@Benchmark
+	public HashMap<Object, Object> fillHashMap()
+	{
+		final HashMap<Object, Object> map = new HashMap<>();
+		for(final Object key : this.keys)
+		{
+			map.put(key, key);
+		}
+		return map;
+	}
+	
+	@Benchmark
+	public void getEqHashTable(final Blackhole blackhole)
+	{
+		for(final Object key : this.keys)
+		{
+			blackhole.consume(this.eqHashTable.get(key));
+		}
+	}
+	
+	@Benchmark
+	public void getHashMap(final Blackhole blackhole)
+	{
+		for(final Object key : this.keys)
+		{
+			blackhole.consume(this.hashMap.get(key));
+		}
+	}
+	
+	@Benchmark
+	public BulkList<Object> fillBulkList()
+	{
+		final BulkList<Object> list = BulkList.New();
+		for(final Object key : this.keys)
+		{
+			list.add(key);
+		}
+		return list;
+	}
+	
+	@Benchmark
+	public ArrayList<Object> fillArrayList()
+	{
+		final ArrayList<Object> list = new ArrayList<>();
+		for(final Object key : this.keys)
+		{
+			list.add(key);
+		}
+		return list;
+	}
+	
+	@Benchmark
+	public void iterateBulkList(final Blackhole blackhole)
+	{
+		this.bulkList.iterate(blackhole::consume);
+	}
+	
+	@Benchmark
+	public void iterateArrayList(final Blackhole blackhole)
+	{
+		this.arrayList.forEach(blackhole::consume);
+	}
+	
+	@Benchmark
+	public HashEnum<Object> fillHashEnum()
+	{
+		final HashEnum<Object> set = HashEnum.New();
+		for(final Object key : this.keys)
+		{
+			set.add(key);
+		}
+		return set;
+	}
+	
+	@Benchmark
+	public HashSet<Object> fillHashSet()
+	{
+		final HashSet<Object> set = new HashSet<>();
+		for(final Object key : this.keys)
+		{
+			set.add(key);
+		}
+		return set;
+	}
+	
+	@Benchmark
+	public void containsHashEnum(final Blackhole blackhole)
+	{
+		for(final Object key : this.keys)
+		{
+			blackhole.consume(this.hashEnum.contains(key));
+		}
+	}
+	
+	@Benchmark
+	public void containsHashSet(final Blackhole blackhole)
+	{
+		for(final Object key : this.keys)
+		{
+			blackhole.consume(this.hashSet.contains(key));
+		}
+	}
+	
+}
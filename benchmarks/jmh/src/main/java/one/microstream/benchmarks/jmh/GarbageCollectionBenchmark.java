@@ -0,0 +1,118 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * Full storage garbage collection (marking and sweeping) of a synthetic tree graph.
+ * Before every invocation, a single node is stored to invalidate the previous marking,
+ * so every invocation has to mark the complete graph again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GarbageCollectionBenchmark
+{
+	@Param({"10000", "100000"})
+	int nodeCount;
+	
+	Path                   directory;
+	EmbeddedStorageManager storage  ;
+	Node                   root     ;
+	
+	@Setup
+	public void setup()
+	{
+		this.root      = Node.createTree(this.nodeCount, 8);
+		this.directory = BenchmarkStorage.createDirectory();
+		this.storage   = BenchmarkStorage.start(this.root, this.directory);
+		this.storage.storeRoot();
+	}
+	
+	@Setup(Level.Invocation)
+	public void touch()
+	{
+		this.root.value++;
+		this.storage.store(this.root);
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		BenchmarkStorage.shutdown(this.storage, this.directory);
+	}
+	
+	@Benchmark
+	public void fullGarbageCollection()
+	{
+		this.storage.issueFullGarbageCollection();
+	}
+	
+	
+	
+	static final class Node
+	{
+		final Node[] children;
+		      long   value   ;
+		
+		Node(final int childCount)
+		{
+			super();
+			this.children = new Node[childCount];
+		}
+		
+		static Node createTree(final int nodeCount, final int fanOut)
+		{
+			// breadth-first construction: every created node becomes the child of the oldest incomplete node
+			final Node[] nodes = new Node[nodeCount];
+			nodes[0] = new Node(fanOut);
+			for(int i = 1; i < nodeCount; i++)
+			{
+				nodes[(i - 1) / fanOut].children[(i - 1) % fanOut] = nodes[i] = new Node(fanOut);
+			}
+			
+			return nodes[0];
+		}
+		
+	}
+	
+}
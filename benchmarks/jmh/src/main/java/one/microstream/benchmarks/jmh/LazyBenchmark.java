@@ -0,0 +1,97 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * {@link Lazy#clear()} / {@link Lazy#get()} round trips on stored lazy references.
+ * <p>
+ * Note that a cleared subject is still weakly registered in the object registry. {@link Lazy#get()} only requests
+ * its data from the storage once the JVM's garbage collector has collected it, otherwise the registered instance
+ * is resolved. So this mostly measures the lazy reference's own overhead, the loading itself is covered by
+ * {@link BinaryLoaderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyBenchmark
+{
+	@Param({"16", "4096"})
+	int payloadLength;
+	
+	Path                   directory;
+	EmbeddedStorageManager storage  ;
+	List<Lazy<long[]>>     lazies   ;
+	int                    index    ;
+	
+	@Setup
+	public void setup()
+	{
+		this.lazies = new ArrayList<>();
+		for(int i = 0; i < 1024; i++)
+		{
+			this.lazies.add(Lazy.Reference(new long[this.payloadLength]));
+		}
+		
+		this.directory = BenchmarkStorage.createDirectory();
+		this.storage   = BenchmarkStorage.start(this.lazies, this.directory);
+		this.storage.storeRoot();
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		BenchmarkStorage.shutdown(this.storage, this.directory);
+	}
+	
+	@Benchmark
+	public long[] clearAndGet()
+	{
+		final Lazy<long[]> lazy = this.lazies.get(this.index++ & 1023);
+		lazy.clear();
+		
+		return lazy.get();
+	}
+	
+}
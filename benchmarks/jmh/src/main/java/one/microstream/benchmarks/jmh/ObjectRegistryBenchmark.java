@@ -0,0 +1,146 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+
+/**
+ * Registration and lookups in the default {@link PersistenceObjectRegistry} by several threads at once.
+ * <p>
+ * Registration uses a fresh registry per iteration. Once all pooled instances have been registered, further
+ * registrations only perform the "already registered" check, which is the common case for storers as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ObjectRegistryBenchmark
+{
+	static final int POOL_SIZE = 1 << 20;
+	
+	static final long FIRST_OBJECT_ID = Persistence.defaultStartObjectId() + 1;
+	
+	@State(Scope.Benchmark)
+	public static class Pool
+	{
+		final Object[] instances = new Object[POOL_SIZE];
+		
+		@Setup
+		public void setup()
+		{
+			for(int i = 0; i < POOL_SIZE; i++)
+			{
+				this.instances[i] = new Object();
+			}
+		}
+		
+	}
+	
+	@State(Scope.Benchmark)
+	public static class EmptyRegistry
+	{
+		PersistenceObjectRegistry registry;
+		
+		@Setup(Level.Iteration)
+		public void setup()
+		{
+			this.registry = PersistenceObjectRegistry.New();
+		}
+		
+	}
+	
+	@State(Scope.Benchmark)
+	public static class FilledRegistry
+	{
+		PersistenceObjectRegistry registry;
+		
+		@Setup
+		public void setup(final Pool pool)
+		{
+			this.registry = PersistenceObjectRegistry.New();
+			for(int i = 0; i < POOL_SIZE; i++)
+			{
+				this.registry.registerObject(FIRST_OBJECT_ID + i, pool.instances[i]);
+			}
+		}
+		
+	}
+	
+	@State(Scope.Thread)
+	public static class Cursor
+	{
+		static final AtomicInteger THREAD_OFFSETS = new AtomicInteger();
+		
+		int index;
+		
+		@Setup
+		public void setup()
+		{
+			// spread the threads over the pool so they don't work on the same hash slots in lockstep
+			this.index = THREAD_OFFSETS.getAndAdd(POOL_SIZE / 16);
+		}
+		
+		final int next()
+		{
+			return this.index++ & POOL_SIZE - 1;
+		}
+		
+	}
+	
+	@Benchmark
+	public boolean registerObject(final EmptyRegistry registry, final Pool pool, final Cursor cursor)
+	{
+		final int i = cursor.next();
+		return registry.registry.registerObject(FIRST_OBJECT_ID + i, pool.instances[i]);
+	}
+	
+	@Benchmark
+	public Object lookupObject(final FilledRegistry registry, final Cursor cursor)
+	{
+		return registry.registry.lookupObject(FIRST_OBJECT_ID + cursor.next());
+	}
+	
+	@Benchmark
+	public long lookupObjectId(final FilledRegistry registry, final Pool pool, final Cursor cursor)
+	{
+		return registry.registry.lookupObjectId(pool.instances[cursor.next()]);
+	}
+	
+}
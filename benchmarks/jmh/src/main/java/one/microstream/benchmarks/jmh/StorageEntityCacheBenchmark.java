@@ -0,0 +1,154 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.benchmarks.jmh.BenchmarkStorage.Item;
+import one.microstream.persistence.types.PersistenceManager;
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageEntity;
+import one.microstream.storage.types.StorageEntityCache;
+
+/**
+ * Entity lookups by object id in the {@link StorageEntityCache} of a channel, for registered object ids (hits)
+ * and for object ids that have never been assigned (misses).
+ * <p>
+ * The entity cache is internal to its channel, so it is taken from the running single channel storage
+ * reflectively once per trial. The storage is idle while measuring, so its channel thread does not modify
+ * the cache's hash table concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageEntityCacheBenchmark
+{
+	@Param({"1000", "100000"})
+	int itemCount;
+	
+	Path                       directory    ;
+	EmbeddedStorageManager     storage      ;
+	StorageEntityCache.Default entityCache  ;
+	long[]                     hitObjectIds ;
+	long[]                     missObjectIds;
+	int                        index        ;
+	
+	@Setup
+	public void setup() throws ReflectiveOperationException
+	{
+		final List<Item> items = BenchmarkStorage.createItems(this.itemCount);
+		this.directory = BenchmarkStorage.createDirectory();
+		
+		// a single channel holds all entities, so every object id is looked up in the same cache
+		final EmbeddedStorageFoundation<?> foundation = EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.directory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(1))
+				.createConfiguration()
+		);
+		this.storage = foundation.start(items);
+		this.storage.storeRoot();
+		this.entityCache = entityCache(foundation.getConnectionFoundation().getStorageSystem());
+		
+		final PersistenceManager<?> persistenceManager = this.storage.persistenceManager();
+		this.hitObjectIds  = new long[items.size()];
+		this.missObjectIds = new long[items.size()];
+		
+		for(int i = 0; i < this.hitObjectIds.length; i++)
+		{
+			this.hitObjectIds[i] = persistenceManager.lookupObjectId(items.get(i));
+		}
+		
+		// ids above the current one have never been assigned, but are spread over the same hash slots
+		final long currentObjectId = persistenceManager.currentObjectId();
+		for(int i = 0; i < this.missObjectIds.length; i++)
+		{
+			this.missObjectIds[i] = currentObjectId + 1 + i;
+		}
+	}
+	
+	static StorageEntityCache.Default entityCache(final Object storageSystem) throws ReflectiveOperationException
+	{
+		final Object channelKeepers = field(storageSystem, "channelKeepers");
+		final Object channel        = field(Array.get(channelKeepers, 0), "channel");
+		
+		return (StorageEntityCache.Default)field(channel, "entityCache");
+	}
+	
+	static Object field(final Object instance, final String name) throws ReflectiveOperationException
+	{
+		final Field field = instance.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		
+		return field.get(instance);
+	}
+	
+	@TearDown
+	public void tearDown()
+	{
+		BenchmarkStorage.shutdown(this.storage, this.directory);
+	}
+	
+	final int next()
+	{
+		final int i = this.index;
+		this.index = i + 1 == this.hitObjectIds.length ? 0 : i + 1;
+		
+		return i;
+	}
+	
+	@Benchmark
+	public StorageEntity getEntryHit()
+	{
+		return this.entityCache.getEntry(this.hitObjectIds[this.next()]);
+	}
+	
+	@Benchmark
+	public StorageEntity getEntryMiss()
+	{
+		return this.entityCache.getEntry(this.missObjectIds[this.next()]);
+	}
+	
+}
@@ -0,0 +1,477 @@
+package one.microstream.benchmarks.workload;
+
+/*-
+ * #%L
+ * microstream-benchmarks-workload
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import one.microstream.benchmarks.workload.WorkloadRoot.Customer;
+import one.microstream.benchmarks.workload.WorkloadRoot.Order;
+import one.microstream.benchmarks.workload.WorkloadRoot.Partition;
+import one.microstream.chars.VarString;
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * YCSB-style end-to-end benchmark of the embedded storage: a configurable mix of inserts, updates, lazy loads
+ * and deletes is executed by multiple client threads on a {@link WorkloadRoot} graph. After a warmup phase,
+ * the latencies of all operations are recorded in HdrHistograms and reported as percentiles, followed by the
+ * storage's own metrics.
+ * <p>
+ * Usage: {@code java -jar workload-benchmark.jar [key=value ...]}, see {@link WorkloadConfiguration} for the keys.
+ * An explicitly configured directory must be empty or not exist yet, otherwise a temporary directory is used and
+ * deleted afterwards.
+ */
+public final class WorkloadBenchmark
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static void main(final String... args) throws InterruptedException
+	{
+		final WorkloadConfiguration configuration = WorkloadConfiguration.parse(args);
+		System.out.println(configuration);
+		
+		new WorkloadBenchmark(configuration).run(System.out);
+	}
+	
+	
+	
+	public enum Operation
+	{
+		INSERT,
+		UPDATE,
+		READ  ,
+		DELETE;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final WorkloadConfiguration        configuration;
+	private final Operation[]                  mix          ;
+	private final EnumMap<Operation, Recorder> recorders    ;
+	private final AtomicLong                   nextId       ;
+	
+	private WorkloadRoot           root   ;
+	private EmbeddedStorageManager storage;
+	
+	private volatile boolean   running;
+	private volatile Throwable failure;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	WorkloadBenchmark(final WorkloadConfiguration configuration)
+	{
+		super();
+		this.configuration = configuration;
+		this.mix           = createMix(configuration);
+		this.recorders     = new EnumMap<>(Operation.class);
+		this.nextId        = new AtomicLong();
+		
+		for(final Operation operation : Operation.values())
+		{
+			this.recorders.put(operation, new Recorder(3));
+		}
+	}
+	
+	private static Operation[] createMix(final WorkloadConfiguration configuration)
+	{
+		// one slot per weight unit, so selecting an operation is a single random array access
+		final int[] weights = {
+			configuration.insertWeight(),
+			configuration.updateWeight(),
+			configuration.readWeight()  ,
+			configuration.deleteWeight()
+		};
+		
+		int slotCount = 0;
+		for(final int weight : weights)
+		{
+			slotCount += Math.max(weight, 0);
+		}
+		
+		final Operation[] mix = new Operation[slotCount];
+		for(int o = 0, i = 0; o < weights.length; o++)
+		{
+			for(int w = 0; w < weights[o]; w++)
+			{
+				mix[i++] = Operation.values()[o];
+			}
+		}
+		
+		return mix;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public void run(final PrintStream out) throws InterruptedException
+	{
+		final Path configuredDirectory = this.configuration.directory();
+		final Path directory           = configuredDirectory != null
+			? validateEmpty(configuredDirectory)
+			: createTempDirectory()
+		;
+		try
+		{
+			this.root    = new WorkloadRoot(this.configuration.partitionCount());
+			this.storage = EmbeddedStorage.Foundation(this.configuration.storageConfiguration(directory))
+				.start(this.root)
+			;
+			
+			this.loadInitialRecords(out);
+			this.runClients(out);
+			
+			out.println(this.storage.metrics().snapshot());
+		}
+		finally
+		{
+			if(this.storage != null)
+			{
+				this.storage.shutdown();
+			}
+			if(configuredDirectory == null)
+			{
+				deleteDirectory(directory);
+			}
+		}
+	}
+	
+	private void loadInitialRecords(final PrintStream out)
+	{
+		final long startNs = System.nanoTime();
+		
+		final int recordCount = this.configuration.recordCount();
+		for(int i = 0; i < recordCount; i++)
+		{
+			final long id = this.nextId.getAndIncrement();
+			this.root.partition(id).customers.put(id, this.createCustomer(id));
+		}
+		
+		// the partitions themselves are already stored, so storing the root would not store their changed maps.
+		// storing a map only writes its modified segments, so this is done once per partition, not per record.
+		for(final Partition partition : this.root.partitions)
+		{
+			this.storage.store(partition.customers);
+		}
+		
+		out.println(
+			"Loaded " + recordCount + " records in "
+			+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs) + " ms"
+		);
+	}
+	
+	private void runClients(final PrintStream out) throws InterruptedException
+	{
+		final Thread[] clients = new Thread[this.configuration.threadCount()];
+		
+		this.running = true;
+		for(int i = 0; i < clients.length; i++)
+		{
+			(clients[i] = new Thread(this::runClient, "WorkloadClient-" + i)).start();
+		}
+		
+		out.println("Warming up for " + this.configuration.warmupSeconds() + " s");
+		TimeUnit.SECONDS.sleep(this.configuration.warmupSeconds());
+		this.recorders.values().forEach(Recorder::reset);
+		
+		out.println("Measuring for " + this.configuration.durationSeconds() + " s");
+		final long startNs = System.nanoTime();
+		TimeUnit.SECONDS.sleep(this.configuration.durationSeconds());
+		
+		this.running = false;
+		for(final Thread client : clients)
+		{
+			client.join();
+		}
+		final long durationNs = System.nanoTime() - startNs;
+		
+		if(this.failure != null)
+		{
+			throw new RuntimeException("Workload client failed", this.failure);
+		}
+		
+		out.println(this.report(durationNs));
+	}
+	
+	private void runClient()
+	{
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		try
+		{
+			while(this.running)
+			{
+				final Operation operation = this.mix[random.nextInt(this.mix.length)];
+				
+				final long startNs = System.nanoTime();
+				this.execute(operation, random);
+				this.recorders.get(operation).recordValue(System.nanoTime() - startNs);
+			}
+		}
+		catch(final Throwable t)
+		{
+			// stop all clients, the measurement is meaningless anyway
+			this.failure = t;
+			this.running = false;
+		}
+	}
+	
+	private void execute(final Operation operation, final ThreadLocalRandom random)
+	{
+		switch(operation)
+		{
+			case INSERT:
+			{
+				this.insert();
+				break;
+			}
+			case UPDATE:
+			{
+				this.update(random.nextLong(this.nextId.get()));
+				break;
+			}
+			case READ:
+			{
+				this.read(random.nextLong(this.nextId.get()));
+				break;
+			}
+			case DELETE:
+			{
+				this.delete(random.nextLong(this.nextId.get()));
+				break;
+			}
+			default:
+			{
+				throw new IllegalStateException(operation.name());
+			}
+		}
+	}
+	
+	private Customer createCustomer(final long id)
+	{
+		return new Customer(id, this.configuration.ordersPerRecord(), this.configuration.payloadLength());
+	}
+	
+	private void insert()
+	{
+		final long      id        = this.nextId.getAndIncrement();
+		final Customer  customer  = this.createCustomer(id);
+		final Partition partition = this.root.partition(id);
+		synchronized(partition)
+		{
+			partition.customers.put(id, customer);
+			
+			// only writes the new customer and the map's segment containing it, see WorkloadRoot.
+			this.storage.store(partition.customers);
+		}
+	}
+	
+	private void update(final long id)
+	{
+		final Partition partition = this.root.partition(id);
+		synchronized(partition)
+		{
+			final Customer customer = partition.customers.get(id);
+			if(customer == null)
+			{
+				// deleted meanwhile, counts as a (cheap) operation like a miss would in any database.
+				return;
+			}
+			customer.points++;
+			customer.name = "Customer " + id + " (" + customer.points + ")";
+			this.storage.store(customer);
+		}
+	}
+	
+	private long read(final long id)
+	{
+		final Partition partition = this.root.partition(id);
+		final Customer  customer;
+		synchronized(partition)
+		{
+			customer = partition.customers.get(id);
+		}
+		if(customer == null)
+		{
+			return 0;
+		}
+		
+		long sum = 0;
+		for(final Order order : customer.orders.get())
+		{
+			sum += order.number;
+		}
+		
+		/*
+		 * Releasing the orders afterwards makes them collectable, so a later read of the same customer loads them
+		 * from the storage again like an application working on more data than fits in its heap.
+		 * Clearing right before get() would not: the still registered instance would simply be resolved.
+		 */
+		customer.orders.clear();
+		
+		return sum;
+	}
+	
+	private void delete(final long id)
+	{
+		final Partition partition = this.root.partition(id);
+		synchronized(partition)
+		{
+			if(partition.customers.remove(id) != null)
+			{
+				this.storage.store(partition.customers);
+			}
+		}
+	}
+	
+	private String report(final long durationNs)
+	{
+		final double seconds = durationNs / 1_000_000_000.0;
+		final VarString vs = VarString.New()
+			.padRight("Operation", 10, ' ')
+			.padLeft("Count"   , 12, ' ')
+			.padLeft("Ops/s"   , 12, ' ')
+			.padLeft("Mean us" , 12, ' ')
+			.padLeft("p50 us"  , 12, ' ')
+			.padLeft("p90 us"  , 12, ' ')
+			.padLeft("p99 us"  , 12, ' ')
+			.padLeft("p99.9 us", 12, ' ')
+			.padLeft("Max us"  , 12, ' ')
+			.lf()
+		;
+		
+		final Histogram total = new Histogram(3);
+		for(final Operation operation : Operation.values())
+		{
+			final Histogram histogram = this.recorders.get(operation).getIntervalHistogram();
+			total.add(histogram);
+			assembleRow(vs, operation.name(), histogram, seconds);
+		}
+		assembleRow(vs, "TOTAL", total, seconds);
+		
+		return vs.toString();
+	}
+	
+	private static void assembleRow(
+		final VarString vs       ,
+		final String    name     ,
+		final Histogram histogram,
+		final double    seconds
+	)
+	{
+		vs
+		.padRight(name, 10, ' ')
+		.padLeft(Long.toString(histogram.getTotalCount()), 12, ' ')
+		.padLeft(format(histogram.getTotalCount() / seconds), 12, ' ')
+		.padLeft(format(histogram.getMean() / 1_000), 12, ' ')
+		.padLeft(format(histogram.getValueAtPercentile(50.0) / 1_000.0), 12, ' ')
+		.padLeft(format(histogram.getValueAtPercentile(90.0) / 1_000.0), 12, ' ')
+		.padLeft(format(histogram.getValueAtPercentile(99.0) / 1_000.0), 12, ' ')
+		.padLeft(format(histogram.getValueAtPercentile(99.9) / 1_000.0), 12, ' ')
+		.padLeft(format(histogram.getMaxValue() / 1_000.0), 12, ' ')
+		.lf();
+	}
+	
+	private static String format(final double value)
+	{
+		return String.format("%.1f", value);
+	}
+	
+	private static Path validateEmpty(final Path directory)
+	{
+		if(!Files.exists(directory))
+		{
+			return directory;
+		}
+		
+		try(Stream<Path> entries = Files.list(directory))
+		{
+			if(entries.findAny().isPresent())
+			{
+				throw new IllegalArgumentException("Storage directory must be empty: " + directory);
+			}
+			return directory;
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static Path createTempDirectory()
+	{
+		try
+		{
+			return Files.createTempDirectory("microstream-workload");
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static void deleteDirectory(final Path directory)
+	{
+		try(Stream<Path> paths = Files.walk(directory))
+		{
+			paths.sorted(Comparator.reverseOrder()).forEach(path ->
+			{
+				try
+				{
+					Files.delete(path);
+				}
+				catch(final IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+}
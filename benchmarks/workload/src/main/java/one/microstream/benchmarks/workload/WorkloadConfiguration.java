@@ -0,0 +1,263 @@
+package one.microstream.benchmarks.workload;
+
+/*-
+ * #%L
+ * microstream-benchmarks-workload
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import one.microstream.chars.VarString;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageConfiguration;
+import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageEntityCacheSegmentedEvaluator;
+import one.microstream.storage.types.StorageHousekeepingController;
+
+/**
+ * Settings of a workload run, parsed from {@code key=value} command line arguments. Every setting has a default,
+ * see {@link #DEFAULTS} for all keys.
+ */
+public final class WorkloadConfiguration
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	static final Map<String, String> DEFAULTS = defaults();
+	
+	private static Map<String, String> defaults()
+	{
+		final Map<String, String> defaults = new LinkedHashMap<>();
+		
+		// storage
+		defaults.put("directory"            , "");
+		defaults.put("channels"             , String.valueOf(1));
+		defaults.put("cacheEvaluator"       , "default");
+		defaults.put("cacheTimeoutMs"       , String.valueOf(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs()));
+		defaults.put("cacheThreshold"       , String.valueOf(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold()));
+		defaults.put("housekeepingInterval" , String.valueOf(StorageHousekeepingController.Defaults.defaultHousekeepingIntervalMs()));
+		defaults.put("housekeepingBudget"   , String.valueOf(StorageHousekeepingController.Defaults.defaultHousekeepingTimeBudgetNs()));
+		
+		// data
+		defaults.put("records"              , String.valueOf(100_000));
+		defaults.put("partitions"           , String.valueOf(256));
+		defaults.put("ordersPerRecord"      , String.valueOf(8));
+		defaults.put("payloadLength"        , String.valueOf(64));
+		
+		// operation mix (relative weights)
+		defaults.put("insert"               , String.valueOf(10));
+		defaults.put("update"               , String.valueOf(30));
+		defaults.put("read"                 , String.valueOf(55));
+		defaults.put("delete"               , String.valueOf(5));
+		
+		// run
+		defaults.put("threads"              , String.valueOf(4));
+		defaults.put("warmupSeconds"        , String.valueOf(10));
+		defaults.put("durationSeconds"      , String.valueOf(30));
+		
+		return defaults;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static WorkloadConfiguration parse(final String... arguments)
+	{
+		final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+		for(final String argument : arguments)
+		{
+			final int separator = argument.indexOf('=');
+			if(separator < 0 || !DEFAULTS.containsKey(argument.substring(0, separator)))
+			{
+				throw new IllegalArgumentException(
+					"Invalid argument \"" + argument + "\", expected key=value with a key of " + DEFAULTS.keySet()
+				);
+			}
+			values.put(argument.substring(0, separator), argument.substring(separator + 1));
+		}
+		
+		return new WorkloadConfiguration(values);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final Map<String, String> values;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	WorkloadConfiguration(final Map<String, String> values)
+	{
+		super();
+		this.values = values;
+		
+		if(this.insertWeight() + this.updateWeight() + this.readWeight() + this.deleteWeight() <= 0)
+		{
+			throw new IllegalArgumentException("At least one operation must have a positive weight.");
+		}
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	private int intValue(final String key)
+	{
+		return Integer.parseInt(this.values.get(key));
+	}
+	
+	private long longValue(final String key)
+	{
+		return Long.parseLong(this.values.get(key));
+	}
+	
+	/**
+	 * @return the storage directory or {@literal null} if a temporary directory shall be used.
+	 */
+	public Path directory()
+	{
+		final String directory = this.values.get("directory");
+		return directory.isEmpty()
+			? null
+			: Paths.get(directory)
+		;
+	}
+	
+	public int channelCount()
+	{
+		return this.intValue("channels");
+	}
+	
+	public StorageEntityCacheEvaluator cacheEvaluator()
+	{
+		final String type = this.values.get("cacheEvaluator");
+		switch(type)
+		{
+			case "default":
+				return Storage.EntityCacheEvaluator(this.longValue("cacheTimeoutMs"), this.longValue("cacheThreshold"));
+			case "segmented":
+				return StorageEntityCacheSegmentedEvaluator.New(
+					this.longValue("cacheThreshold"),
+					StorageEntityCacheSegmentedEvaluator.Defaults.defaultProtectedAccessCount(),
+					this.longValue("cacheTimeoutMs")
+				);
+			default:
+				throw new IllegalArgumentException("Unknown cache evaluator \"" + type + "\", expected default or segmented");
+		}
+	}
+	
+	public StorageHousekeepingController housekeepingController()
+	{
+		return Storage.HousekeepingController(
+			this.longValue("housekeepingInterval"),
+			this.longValue("housekeepingBudget")
+		);
+	}
+	
+	public StorageConfiguration.Builder<?> storageConfiguration(final Path directory)
+	{
+		return Storage.ConfigurationBuilder()
+			.setStorageFileProvider   (Storage.FileProvider(directory))
+			.setChannelCountProvider  (Storage.ChannelCountProvider(this.channelCount()))
+			.setEntityCacheEvaluator  (this.cacheEvaluator())
+			.setHousekeepingController(this.housekeepingController())
+		;
+	}
+	
+	public int recordCount()
+	{
+		return this.intValue("records");
+	}
+	
+	public int partitionCount()
+	{
+		return this.intValue("partitions");
+	}
+	
+	public int ordersPerRecord()
+	{
+		return this.intValue("ordersPerRecord");
+	}
+	
+	public int payloadLength()
+	{
+		return this.intValue("payloadLength");
+	}
+	
+	public int insertWeight()
+	{
+		return this.intValue("insert");
+	}
+	
+	public int updateWeight()
+	{
+		return this.intValue("update");
+	}
+	
+	public int readWeight()
+	{
+		return this.intValue("read");
+	}
+	
+	public int deleteWeight()
+	{
+		return this.intValue("delete");
+	}
+	
+	public int threadCount()
+	{
+		return this.intValue("threads");
+	}
+	
+	public long warmupSeconds()
+	{
+		return this.longValue("warmupSeconds");
+	}
+	
+	public long durationSeconds()
+	{
+		return this.longValue("durationSeconds");
+	}
+	
+	@Override
+	public String toString()
+	{
+		final VarString vs = VarString.New();
+		this.values.forEach((key, value) ->
+			vs.padRight(key, 22, ' ').add(": ").add(value).lf()
+		);
+		return vs.toString();
+	}
+	
+}
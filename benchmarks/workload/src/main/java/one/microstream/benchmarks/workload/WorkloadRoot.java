@@ -0,0 +1,114 @@
+package one.microstream.benchmarks.workload;
+
+/*-
+ * #%L
+ * microstream-benchmarks-workload
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import one.microstream.collections.lazy.LazyHashMap;
+import one.microstream.reference.Lazy;
+
+/**
+ * The object graph of the workload: records (customers) are distributed over partitions by their id and kept in
+ * a {@link LazyHashMap} per partition, while the records' orders are only referenced lazily. Storing a partition's
+ * map after an insert or delete only writes the map's segment table and the one modified segment, not all of the
+ * partition's entries. This follows the usual recommendations for structuring larger graphs.
+ */
+public final class WorkloadRoot
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	final Partition[] partitions;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	WorkloadRoot(final int partitionCount)
+	{
+		super();
+		this.partitions = new Partition[partitionCount];
+		for(int i = 0; i < partitionCount; i++)
+		{
+			this.partitions[i] = new Partition();
+		}
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	final Partition partition(final long id)
+	{
+		return this.partitions[(int)(id % this.partitions.length)];
+	}
+	
+	
+	
+	static final class Partition
+	{
+		final LazyHashMap<Long, Customer> customers = new LazyHashMap<>();
+	}
+	
+	static final class Customer
+	{
+		final long              id    ;
+		      String            name  ;
+		      long              points;
+		final Lazy<List<Order>> orders;
+		
+		Customer(final long id, final int orderCount, final int payloadLength)
+		{
+			super();
+			this.id   = id;
+			this.name = "Customer " + id;
+			
+			final List<Order> orders = new ArrayList<>(orderCount);
+			for(int i = 0; i < orderCount; i++)
+			{
+				orders.add(new Order(i, new byte[payloadLength]));
+			}
+			this.orders = Lazy.Reference(orders);
+		}
+		
+	}
+	
+	static final class Order
+	{
+		final long   number ;
+		final byte[] payload;
+		
+		Order(final long number, final byte[] payload)
+		{
+			super();
+			this.number  = number ;
+			this.payload = payload;
+		}
+		
+	}
+	
+}
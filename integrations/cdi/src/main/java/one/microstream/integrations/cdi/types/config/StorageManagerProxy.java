@@ -3,6 +3,7 @@ package one.microstream.integrations.cdi.types.config;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import javax.enterprise.inject.spi.CDI;
 
@@ -41,12 +42,15 @@ import one.microstream.storage.embedded.configuration.types.EmbeddedStorageConfi
 import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
 import one.microstream.storage.embedded.types.EmbeddedStorageManager;
 import one.microstream.storage.types.Database;
+import one.microstream.storage.types.StorageBackupManifest;
 import one.microstream.storage.types.StorageConfiguration;
 import one.microstream.storage.types.StorageConnection;
 import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageEntityData;
 import one.microstream.storage.types.StorageEntityTypeExportFileProvider;
 import one.microstream.storage.types.StorageEntityTypeExportStatistics;
 import one.microstream.storage.types.StorageEntityTypeHandler;
+import one.microstream.storage.types.StorageIncrementalBackup;
 import one.microstream.storage.types.StorageLiveFileProvider;
 import one.microstream.storage.types.StorageManager;
 import one.microstream.storage.types.StorageRawFileStatistics;
@@ -246,6 +250,12 @@ public class StorageManagerProxy implements StorageManager
         this.getStorageManager().issueFullBackup(targetFileProvider, typeDictionaryExporter);
     }
 
+    @Override
+    public StorageBackupManifest issueIncrementalBackup(final StorageIncrementalBackup backup)
+    {
+        return this.getStorageManager().issueIncrementalBackup(backup);
+    }
+
     @Override
     public StorageRawFileStatistics createStorageStatistics()
     {
@@ -264,6 +274,18 @@ public class StorageManagerProxy implements StorageManager
         return this.getStorageManager().exportTypes(exportFileProvider, isExportType);
     }
 
+    @Override
+    public long[] scanTypeEntities(final long typeId, final Predicate<? super StorageEntityData> predicate, final ToLongFunction<? super StorageEntityData> projection)
+    {
+        return this.getStorageManager().scanTypeEntities(typeId, predicate, projection);
+    }
+
+    @Override
+    public long[] followStorage()
+    {
+        return this.getStorageManager().followStorage();
+    }
+
     @Override
     public void importFiles(final XGettingEnum<AFile> importFiles)
     {
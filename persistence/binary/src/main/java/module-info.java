@@ -42,5 +42,6 @@ module microstream.persistence.binary
 	
 	requires transitive microstream.persistence;
 	requires java.sql;
+	requires static jdk.jfr; // for BinaryEvents
 	requires microstream.base; // for type handlers
 }
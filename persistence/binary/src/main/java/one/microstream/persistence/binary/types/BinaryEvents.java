@@ -0,0 +1,204 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import one.microstream.reflect.XReflect;
+
+/**
+ * JDK Flight Recorder events for the phases of {@link BinaryStorer} and {@link BinaryLoader}.
+ * <p>
+ * The events are only created if the {@code jdk.jfr} module is present at runtime (it is not on Android, for
+ * example). Recording them is nearly free when no recording is active, as {@link Event#shouldCommit()} then
+ * immediately returns {@literal false}.
+ * <p>
+ * {@code jdk.jfr} is an optional module dependency. Applications on the module path have to resolve it themselves,
+ * e.g. via {@code --add-modules jdk.jfr}. Without it, the {@code begin} methods return {@literal null} and callers
+ * must not touch the event, so the event classes are never loaded.
+ */
+public final class BinaryEvents
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	static final String CATEGORY_MICROSTREAM = "MicroStream";
+	static final String CATEGORY_PERSISTENCE = "Persistence";
+	
+	private static final boolean AVAILABLE = isJfrAvailable();
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static boolean isAvailable()
+	{
+		return AVAILABLE;
+	}
+	
+	private static boolean isJfrAvailable()
+	{
+		// jdk.jfr is an optional module dependency, so it must be present and readable to be used.
+		final Class<?> eventType = XReflect.tryResolveType("jdk.jfr.Event", BinaryEvents.class.getClassLoader());
+		
+		return eventType != null && BinaryEvents.class.getModule().canRead(eventType.getModule());
+	}
+	
+	static Store beginStore()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final Store event = new Store();
+		event.begin();
+		
+		return event;
+	}
+	
+	static Commit beginCommit()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final Commit event = new Commit();
+		event.begin();
+		
+		return event;
+	}
+	
+	static Read beginRead()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final Read event = new Read();
+		event.begin();
+		
+		return event;
+	}
+	
+	static Build beginBuild()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final Build event = new Build();
+		event.begin();
+		
+		return event;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// events //
+	///////////
+	
+	@Name("one.microstream.persistence.Store")
+	@Label("Store")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_PERSISTENCE})
+	@Description("Registering and serializing an explicitly stored instance and its newly required references")
+	public static final class Store extends Event
+	{
+		@Label("Root Type")
+		public Class<?> rootType;
+		
+		@Label("Entity Count")
+		@Description("Number of entities added to the storer by this store")
+		public long entityCount;
+	}
+	
+	@Name("one.microstream.persistence.Commit")
+	@Label("Commit")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_PERSISTENCE})
+	@Description("Writing the serialized entities of a storer to its target and merging them into the object registry")
+	public static final class Commit extends Event
+	{
+		@Label("Entity Count")
+		public long entityCount;
+		
+		@Label("Bytes")
+		@DataAmount
+		public long byteCount;
+		
+		@Label("Asynchronous")
+		@Description("Whether the commit was issued via commitAsync, its duration then spans until completion")
+		public boolean asynchronous;
+	}
+	
+	@Name("one.microstream.persistence.LoadRead")
+	@Label("Load Read")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_PERSISTENCE})
+	@Description("One round of reading entity data from the source and creating build items from it")
+	public static final class Read extends Event
+	{
+		@Label("Requested Object Ids")
+		public long objectIdCount;
+		
+		@Label("Entity Count")
+		@Description("Number of build items created from the read data")
+		public long entityCount;
+	}
+	
+	@Name("one.microstream.persistence.LoadBuild")
+	@Label("Load Build")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_PERSISTENCE})
+	@Description("Creating, initializing and completing the instances of all loaded entities")
+	public static final class Build extends Event
+	{
+		@Label("Entity Count")
+		public long entityCount;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 *
+	 * @throws UnsupportedOperationException when called
+	 */
+	private BinaryEvents()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+	
+}
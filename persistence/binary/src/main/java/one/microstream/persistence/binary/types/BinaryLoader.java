@@ -34,6 +34,7 @@ import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerSingleton;
 import one.microstream.persistence.exceptions.PersistenceExceptionTypeHandlerConsistencyUnhandledTypeId;
+import one.microstream.persistence.types.PersistenceIdSet;
 import one.microstream.persistence.types.PersistenceLoadHandler;
 import one.microstream.persistence.types.PersistenceLoader;
 import one.microstream.persistence.types.PersistenceObjectRegistry;
@@ -226,6 +227,11 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		
 		private void createBuildItem(final BinaryLoadItem loadItem)
 		{
+			if(this.isUnrequestedKnownItem(loadItem.getBuildItemObjectId()))
+			{
+				return;
+			}
+			
 			loadItem.handler = this.lookupTypeHandler(loadItem.getBuildItemTypeId());
 			if((loadItem.existingInstance = this.objectRegistry.lookupObject(loadItem.getBuildItemObjectId())) == null)
 			{
@@ -329,10 +335,20 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			}
 			
 			// this makes the locally created instance the "officially existing" instance for the registry's context.
-			return entry.existingInstance = this.objectRegistry.optionalRegisterObject(
+			entry.existingInstance = this.objectRegistry.optionalRegisterObject(
 				entry.getBuildItemObjectId(),
 				entry.createdInstance
 			);
+			if(entry.existingInstance != entry.createdInstance)
+			{
+				/*
+				 * The instance has been loaded and built by another loader while this one was reading.
+				 * It is already complete and may not be updated again, so the item becomes a skip item.
+				 */
+				entry.handler = null;
+			}
+			
+			return entry.existingInstance;
 		}
 
 		protected void loadReferences(final BinaryLoadItem entry)
@@ -409,8 +425,16 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 
 		private void build()
 		{
+			final BinaryEvents.Build event = BinaryEvents.beginBuild();
+			
 			this.buildInstances();
 			this.completeInstances();
+			
+			if(event != null && event.shouldCommit())
+			{
+				event.entityCount = this.buildItemsSize;
+				event.commit();
+			}
 		}
 
 		private void buildInstances()
@@ -473,7 +497,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 					{
 						entry.handler.initializeState(entry, effectiveInstance, this);
 					}
-					else
+					else if(entry.hasData())
 					{
 						entry.handler.updateState(entry, effectiveInstance, this);
 					}
@@ -626,6 +650,22 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			return false;
 		}
 		
+		/*
+		 * A source may provide more entities than requested (e.g. a storage prefetching referenced entities).
+		 * Such additional data must neither create a second build item for the same object id nor update
+		 * the state of an instance that already exists in the registry, since only requested entities
+		 * may be (re)built. If no object ids have been requested at all (initial read), all data is requested.
+		 */
+		private boolean isUnrequestedKnownItem(final long objectId)
+		{
+			if(this.loadItems.isEmpty() || this.loadItems.containsLoadItem(objectId))
+			{
+				return false;
+			}
+			
+			return this.lookupLoadItem(objectId) != null || this.objectRegistry.lookupObject(objectId) != null;
+		}
+		
 		private boolean isUnrequiredReferenceEager(final long objectId)
 		{
 			// spare pointless null reference roundtrips
@@ -725,7 +765,15 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 	
 		private void readLoadOnce()
 		{
-			this.addChunks(this.sourceSupplier.source().read());
+			final BinaryEvents.Read event     = BinaryEvents.beginRead();
+			final int               sizeStart = this.buildItemsSize;
+			
+			final XGettingCollection<? extends Binary> chunks = this.sourceSupplier.source().read();
+			synchronized(this.objectRegistry)
+			{
+				this.addChunks(chunks);
+			}
+			this.commitReadEvent(event, 0, sizeStart);
 
 			/* the processing of the initial read might have resulted in reference oids that have to be loaded
 			 * (e.g. the initial read returns a root instance). So call the standard loading method at this point.
@@ -784,17 +832,65 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			 * Is that correct?
 			 */
 
+			/*
+			 * Reading waits for the source (e.g. the storage's channel threads), so it is done without holding
+			 * the object registry's monitor. Otherwise, every other loader and storer would be blocked meanwhile and
+			 * a waiting virtual thread would be pinned to its carrier thread.
+			 * Only the processing of the read data, which looks up and creates instances, requires the monitor.
+			 */
 			final PersistenceSource<Binary> source = this.sourceSupplier.source();
 			while(!this.loadItems.isEmpty())
 			{
-				this.addChunks(source.readByObjectIds(this.loadItems.getObjectIdSets()));
+				final BinaryEvents.Read  event     = BinaryEvents.beginRead();
+				final int                sizeStart = this.buildItemsSize;
+				final PersistenceIdSet[] oidSets   = this.loadItems.getObjectIdSets();
+				
+				final XGettingCollection<? extends Binary> chunks = source.readByObjectIds(oidSets);
+				synchronized(this.objectRegistry)
+				{
+					this.addChunks(chunks);
+				}
+				this.commitReadEvent(event, oidSets, sizeStart);
 			}
 		}
+		
+		private void commitReadEvent(
+			final BinaryEvents.Read  event    ,
+			final PersistenceIdSet[] oidSets  ,
+			final int                sizeStart
+		)
+		{
+			if(event == null || !event.shouldCommit())
+			{
+				return;
+			}
+			
+			long objectIdCount = 0;
+			for(final PersistenceIdSet oidSet : oidSets)
+			{
+				objectIdCount += oidSet.size();
+			}
+			this.commitReadEvent(event, objectIdCount, sizeStart);
+		}
+		
+		private void commitReadEvent(
+			final BinaryEvents.Read event        ,
+			final long              objectIdCount,
+			final int               sizeStart
+		)
+		{
+			if(event == null || !event.shouldCommit())
+			{
+				return;
+			}
+			
+			event.objectIdCount = objectIdCount;
+			event.entityCount   = this.buildItemsSize - sizeStart;
+			event.commit();
+		}
 
 		protected void addChunks(final XGettingCollection<? extends Binary> chunks)
 		{
-			this.loadItems.clear();
-			
 			// remember last buildItem that already has its references registered for later iteration
 			final BinaryLoadItem referenceHandlingBaseItem = this.buildItemsTail;
 
@@ -819,6 +915,9 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 				// iterate over all entity data parts in the chunk, creating build items for each one.
 				chunk.iterateEntityData(this);
 			}
+			
+			// the requested object ids are required until all data has been processed to recognize unrequested data.
+			this.loadItems.clear();
 
 			/*
 			 * Handle all references of all newly created build items (loaded entities/instances).
@@ -838,9 +937,9 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		@Override
 		public final Object get()
 		{
+			this.readLoadOnce();
 			synchronized(this.objectRegistry)
 			{
-				this.readLoadOnce();
 				this.build();
 				final Object instance = this.internalGetFirst();
 				this.clearBuildItems();
@@ -855,7 +954,10 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			synchronized(this.objectRegistry)
 			{
 				this.requireReference(objectId);
-				this.readLoadOidData();
+			}
+			this.readLoadOidData();
+			synchronized(this.objectRegistry)
+			{
 				this.build();
 				final Object instance = this.getBuildInstance(objectId);
 				this.clearBuildItems();
@@ -873,7 +975,10 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 				{
 					this.requireReference(objectIds[i]);
 				}
-				this.readLoadOidData();
+			}
+			this.readLoadOidData();
+			synchronized(this.objectRegistry)
+			{
 				this.build();
 				this.populate(collector, objectIds);
 				this.clearBuildItems();
@@ -27,6 +27,8 @@ import static one.microstream.persistence.types.PersistenceLogging.STORER_CONTEX
 import static one.microstream.util.logging.Logging.LazyArg;
 import static one.microstream.util.logging.Logging.LazyArgInContext;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 
 import one.microstream.hashing.XHashing;
@@ -423,6 +425,9 @@ public interface BinaryStorer extends PersistenceStorer
 				return rootOid;
 			}
 			
+			final BinaryEvents.Store event     = BinaryEvents.beginStore();
+			final long               sizeStart = event == null ? 0 : this.size();
+			
 			// initial registration. After that, storing adds via recursion the graph and processing items iteratively.
 			rootOid = this.registerGuaranteed(notNull(root));
 
@@ -432,6 +437,13 @@ public interface BinaryStorer extends PersistenceStorer
 				// locks internally. May not lock the whole loop or other storers can't look up concurrently.
 				this.storeItem(item);
 			}
+			
+			if(event != null && event.shouldCommit())
+			{
+				event.rootType    = root.getClass();
+				event.entityCount = this.size() - sizeStart;
+				event.commit();
+			}
 
 			return rootOid;
 		}
@@ -507,16 +519,12 @@ public interface BinaryStorer extends PersistenceStorer
 			// isEmpty locks internally
 			if(!this.isEmpty())
 			{
+				final BinaryEvents.Commit event = BinaryEvents.beginCommit();
+				
 				// must validate here, too, in case the WriteController disabled writing during the storer's existence.
 				this.target.validateIsStoringEnabled();
 				
-				final Binary writeData;
-				synchronized(this.head)
-				{
-					this.typeManager.checkForPendingRootInstances();
-					this.typeManager.checkForPendingRootsStoring(this);
-					writeData = this.synchComplete();
-				}
+				final Binary writeData = this.completeWriteData();
 				
 				// very costly IO-operation does not need to occupy the lock
 				this.target.write(writeData);
@@ -526,6 +534,7 @@ public interface BinaryStorer extends PersistenceStorer
 					this.typeManager.clearStorePendingRoots();
 					this.objectManager.mergeEntries(this);
 				}
+				this.commitEvent(event, false);
 			}
 			this.clear();
 			
@@ -535,6 +544,89 @@ public interface BinaryStorer extends PersistenceStorer
 			return null;
 		}
 		
+		@Override
+		public final CompletableFuture<Object> commitAsync()
+		{
+			logger.debug(
+				"Committing {} object(s) asynchronously",
+				LazyArg(this::size)   // use lazy here, #size() locks
+			);
+			
+			// isEmpty locks internally
+			if(this.isEmpty())
+			{
+				this.clear();
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			final BinaryEvents.Commit event = BinaryEvents.beginCommit();
+			
+			// must validate here, too, in case the WriteController disabled writing during the storer's existence.
+			this.target.validateIsStoringEnabled();
+			
+			final Binary writeData = this.completeWriteData();
+			
+			// the storer's state is only merged and cleared after the data has actually been written
+			return this.target.writeAsync(writeData).thenApply(written ->
+			{
+				this.mergeWrittenEntries();
+				this.commitEvent(event, true);
+				this.clear();
+				
+				logger.debug("Asynchronous commit finished successfully");
+				
+				// not used (yet?)
+				return null;
+			});
+		}
+		
+		private void commitEvent(final BinaryEvents.Commit event, final boolean asynchronous)
+		{
+			if(event == null || !event.shouldCommit())
+			{
+				return;
+			}
+			
+			synchronized(this.head)
+			{
+				long byteCount = 0;
+				for(final ChunksBuffer chunk : this.chunks)
+				{
+					byteCount += chunk.totalLength();
+				}
+				event.entityCount = this.itemCount;
+				event.byteCount   = byteCount     ;
+			}
+			event.asynchronous = asynchronous;
+			event.commit();
+		}
+		
+		private Binary completeWriteData()
+		{
+			synchronized(this.head)
+			{
+				this.typeManager.checkForPendingRootInstances();
+				this.typeManager.checkForPendingRootsStoring(this);
+				return this.synchComplete();
+			}
+		}
+		
+		private void mergeWrittenEntries()
+		{
+			synchronized(this.head)
+			{
+				this.typeManager.clearStorePendingRoots();
+			}
+			
+			/*
+			 * Only for the asynchronous commit, whose merge runs in whatever thread completes the write:
+			 * the object manager locks its registry before iterating this storer's entries (which locks the head),
+			 * so merging outside of the head lock cannot block a pool thread against a concurrent storer.
+			 * The synchronous commit keeps merging under the head lock as before.
+			 */
+			this.objectManager.mergeEntries(this);
+		}
+		
 		public final long lookupOid(final Object object)
 		{
 			synchronized(this.head)
@@ -24,6 +24,8 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteOrder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 import one.microstream.X;
@@ -153,8 +155,10 @@ ByteOrderTargeting<PersistenceManager<D>>
 		 * Iterating the object graph and committing (i.e. I/O-flushing the collected
 		 * bytes) is handled by different locks since the iteration is the concurrent-
 		 * critical part but committing takes the vast majority of time (costly I/O).
+		 * An explicit lock is used instead of a monitor since the committing waits for the storage, which
+		 * would pin waiting virtual threads to their carrier threads.
 		 */
-		private final Object storeMutex = new Object();
+		private final ReentrantLock storeLock = new ReentrantLock();
 
 
 
@@ -299,11 +303,16 @@ ByteOrderTargeting<PersistenceManager<D>>
 			final long objectId;
 			final PersistenceStorer persister = this.createStorer();
 			
-			synchronized(this.storeMutex)
+			this.storeLock.lock();
+			try
 			{
 				objectId = persister.store(object);
 				persister.commit();
 			}
+			finally
+			{
+				this.storeLock.unlock();
+			}
 
 			return objectId;
 		}
@@ -314,11 +323,16 @@ ByteOrderTargeting<PersistenceManager<D>>
 			final long[] objectIds;
 			final PersistenceStorer persister = this.createStorer();
 			
-			synchronized(this.storeMutex)
+			this.storeLock.lock();
+			try
 			{
 				objectIds = persister.storeAll(instances);
 				persister.commit();
 			}
+			finally
+			{
+				this.storeLock.unlock();
+			}
 
 			return objectIds;
 		}
@@ -328,11 +342,59 @@ ByteOrderTargeting<PersistenceManager<D>>
 		{
 			final PersistenceStorer persister = this.createStorer();
 			
-			synchronized(this.storeMutex)
+			this.storeLock.lock();
+			try
 			{
 				persister.storeAll(instances);
 				persister.commit();
 			}
+			finally
+			{
+				this.storeLock.unlock();
+			}
+		}
+		
+		@Override
+		public final CompletableFuture<Long> storeAsync(final Object object)
+		{
+			final long objectId;
+			final CompletableFuture<Object> commit;
+			final PersistenceStorer persister = this.createStorer();
+			
+			// the lock only covers collecting and handing over the data, not the persisting itself.
+			this.storeLock.lock();
+			try
+			{
+				objectId = persister.store(object);
+				commit   = persister.commitAsync();
+			}
+			finally
+			{
+				this.storeLock.unlock();
+			}
+
+			return commit.thenApply(status -> objectId);
+		}
+		
+		@Override
+		public final CompletableFuture<long[]> storeAllAsync(final Object... instances)
+		{
+			final long[] objectIds;
+			final CompletableFuture<Object> commit;
+			final PersistenceStorer persister = this.createStorer();
+			
+			this.storeLock.lock();
+			try
+			{
+				objectIds = persister.storeAll(instances);
+				commit    = persister.commitAsync();
+			}
+			finally
+			{
+				this.storeLock.unlock();
+			}
+
+			return commit.thenApply(status -> objectIds);
 		}
 		
 		@Override
@@ -20,6 +20,7 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A type defining that an action to store an object graph can be performed.
@@ -73,4 +74,32 @@ public interface PersistenceStoring
 	 */
 	public void storeAll(Iterable<?> instances);
 	
+	/**
+	 * Asynchronous variant of {@link #store(Object)}: the passed instance's graph is collected on the calling
+	 * thread, but the returned future is completed only after the collected data has been persisted, allowing the
+	 * caller to continue instead of waiting for the persisting to be completed.
+	 * <p>
+	 * The default implementation stores synchronously and returns an already completed future.
+	 * 
+	 * @param instance the root instance of the subgraph of required instances to be stored.
+	 * @return a future completed with the object id representing the passed instance.
+	 * 
+	 * @see Storer#commitAsync()
+	 */
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		return CompletableFuture.completedFuture(this.store(instance));
+	}
+	
+	/**
+	 * Asynchronous variant of {@link #storeAll(Object...)}, see {@link #storeAsync(Object)}.
+	 * 
+	 * @param instances multiple root instances of the subgraphs of required instances to be stored.
+	 * @return a future completed with an array containing the object ids representing the passed instances.
+	 */
+	public default CompletableFuture<long[]> storeAllAsync(final Object... instances)
+	{
+		return CompletableFuture.completedFuture(this.storeAll(instances));
+	}
+	
 }
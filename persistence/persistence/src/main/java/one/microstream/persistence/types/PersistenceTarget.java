@@ -20,12 +20,34 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
 
 public interface PersistenceTarget<D> extends PersistenceWriteController
 {
 	public void write(D data) throws PersistenceExceptionTransfer;
 	
+	/**
+	 * Writes the passed data without waiting for the writing to be completed, if supported by the target.
+	 * The returned future is completed when the data has been written or exceptionally if writing failed.
+	 * Problems that occur before the data could be handed over for writing are thrown directly.
+	 * <p>
+	 * The default implementation writes synchronously and returns an already completed future.
+	 * 
+	 * @param data the data to be written.
+	 * 
+	 * @return a future representing the completion of the writing.
+	 * 
+	 * @throws PersistenceExceptionTransfer if the data could not be handed over for writing.
+	 */
+	public default CompletableFuture<Void> writeAsync(final D data) throws PersistenceExceptionTransfer
+	{
+		this.write(data);
+		
+		return CompletableFuture.completedFuture(null);
+	}
+	
 	/**
 	 * Prepare to write to this target. E.g. open a defined file.
 	 * 
@@ -20,6 +20,8 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A type extending the simple {@link PersistenceStoring} to enable stateful store handling.
  * This can be used to do what is generally called "transactions": preprocess data to be stored and then store
@@ -42,6 +44,23 @@ public interface Storer extends PersistenceStoring
 	 */
 	public Object commit();
 
+	/**
+	 * Ends the data collection process like {@link #commit()}, but does not wait for the collected data to be
+	 * persisted. Instead, the returned future is completed with the status information returned by
+	 * {@link #commit()} once the data has been persisted, or exceptionally if persisting failed.
+	 * <p>
+	 * The collected data is complete when this method returns, so the collected instances may be changed again
+	 * right away. The {@link Storer} itself, however, may not be used again until the returned future is completed.
+	 * <p>
+	 * The default implementation commits synchronously and returns an already completed future.
+	 *
+	 * @return a future representing the completion of the commit.
+	 */
+	public default CompletableFuture<Object> commitAsync()
+	{
+		return CompletableFuture.completedFuture(this.commit());
+	}
+
 	/**
 	 * Clears all internal state regarding collected data and/or registered skips.
 	 */
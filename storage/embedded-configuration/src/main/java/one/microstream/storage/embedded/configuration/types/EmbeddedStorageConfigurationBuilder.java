@@ -24,13 +24,19 @@ import static one.microstream.X.notNull;
 
 import java.io.File;
 import java.time.Duration;
+import java.util.Locale;
 
 import one.microstream.collections.types.XGettingCollection;
 import one.microstream.configuration.types.ByteSize;
 import one.microstream.configuration.types.Configuration;
 import one.microstream.configuration.types.ConfigurationValueMapperProvider;
 import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
+import one.microstream.storage.types.StorageDurabilityPolicy;
 import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageGroupCommitSetup;
+import one.microstream.storage.types.StorageEntityCacheSegmentedEvaluator;
+import one.microstream.storage.types.StorageHousekeepingControllerAdaptive;
+import one.microstream.storage.types.StorageIoThrottle;
 import one.microstream.typing.KeyValue;
 
 /**
@@ -208,6 +214,31 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setHousekeepingTimeBudget(Duration housekeepingTimeBudget);
 
+	/**
+	 * Flag defining whether the housekeeping time budgets are adapted to the observed load of the storage and
+	 * the amount of pending housekeeping work. If enabled, the
+	 * {@link #setHousekeepingTimeBudget(Duration) time budget} is the budget under full load and the
+	 * {@link #setHousekeepingMaximumTimeBudget(Duration) maximum time budget} is the budget for an idle storage
+	 * with a lot of pending work. Default is false.
+	 * See {@link StorageHousekeepingControllerAdaptive}.
+	 *
+	 * @param housekeepingAdaptive the new adaptive flag
+	 * @return this
+	 *
+	 * @see #setHousekeepingMaximumTimeBudget(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setHousekeepingAdaptive(boolean housekeepingAdaptive);
+
+	/**
+	 * Upper bound of the time budget for adaptive housekeeping. Default is 500 milliseconds.
+	 *
+	 * @param housekeepingMaximumTimeBudget the new maximum time budget
+	 * @return this
+	 *
+	 * @see #setHousekeepingAdaptive(boolean)
+	 */
+	public EmbeddedStorageConfigurationBuilder setHousekeepingMaximumTimeBudget(Duration housekeepingMaximumTimeBudget);
+
 
 	/**
 	 * Abstract threshold value for the lifetime of entities in the cache. See
@@ -234,6 +265,18 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setEntityCacheTimeout(Duration entityCacheTimeout);
 
+	/**
+	 * Cache size per channel above which entities that have not been used repeatedly are removed from the cache.
+	 * If set, a frequency-aware {@link StorageEntityCacheSegmentedEvaluator} is used instead of the threshold
+	 * based default evaluator, and the entity cache threshold is ignored. Not set by default.
+	 *
+	 * @param entityCacheBudget the new cache budget per channel
+	 * @return this
+	 *
+	 * @see #setEntityCacheTimeout(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setEntityCacheBudget(ByteSize entityCacheBudget);
+
 	/**
 	 * Minimum file size for a data file to avoid cleaning it up. Default is 1 MiB.
 	 *
@@ -276,6 +319,96 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setDataFileCleanupHeadFile(boolean dataFileCleanupHeadFile);
 
+	/**
+	 * Defines when written data is synchronized with the underlying storage device:
+	 * on every commit ({@code commit}), at most every {@link #setDurabilitySyncInterval(Duration) sync interval}
+	 * ({@code periodic}) or whenever the operating system decides to ({@code system}). Default is {@code system}.
+	 * See {@link StorageDurabilityPolicy}.
+	 *
+	 * @param durabilityPolicy the new durability mode
+	 * @return this
+	 *
+	 * @see #setDurabilitySyncInterval(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setDurabilityPolicy(StorageDurabilityPolicy.Mode durabilityPolicy);
+
+	/**
+	 * Interval for the periodic durability policy. Written data is synchronized with the underlying
+	 * storage device at most this long after it has been written. Default is one second.
+	 *
+	 * @param durabilitySyncInterval the new sync interval
+	 * @return this
+	 *
+	 * @see Duration
+	 * @see #setDurabilityPolicy(StorageDurabilityPolicy.Mode)
+	 */
+	public EmbeddedStorageConfigurationBuilder setDurabilitySyncInterval(Duration durabilitySyncInterval);
+
+	/**
+	 * Maximum number of bytes per second read and written by background I/O, namely the file cleanup,
+	 * the continuous backup and exports. Storing and loading are never throttled. Default is 0 (unlimited).
+	 * See {@link StorageIoThrottle}.
+	 *
+	 * @param ioThrottleBytesPerSecond the new byte limit
+	 * @return this
+	 *
+	 * @see ByteSize
+	 */
+	public EmbeddedStorageConfigurationBuilder setIoThrottleBytesPerSecond(ByteSize ioThrottleBytesPerSecond);
+
+	/**
+	 * Maximum number of background I/O operations per second, see {@link #setIoThrottleBytesPerSecond(ByteSize)}.
+	 * Default is 0 (unlimited).
+	 *
+	 * @param ioThrottleOperationsPerSecond the new operation limit
+	 * @return this
+	 */
+	public EmbeddedStorageConfigurationBuilder setIoThrottleOperationsPerSecond(long ioThrottleOperationsPerSecond);
+
+	/**
+	 * Flag defining whether concurrent store requests are merged into groups that are written with a single
+	 * write and a single transactions entry per channel. Default is false.
+	 * See {@link StorageGroupCommitSetup}.
+	 *
+	 * @param groupCommit the new group commit flag
+	 * @return this
+	 *
+	 * @see #setGroupCommitCollectingWindow(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setGroupCommit(boolean groupCommit);
+
+	/**
+	 * Maximum number of store requests merged into one group. Default is 256.
+	 *
+	 * @param groupCommitMaximumStoreCount the new maximum store count
+	 * @return this
+	 *
+	 * @see #setGroupCommit(boolean)
+	 */
+	public EmbeddedStorageConfigurationBuilder setGroupCommitMaximumStoreCount(int groupCommitMaximumStoreCount);
+
+	/**
+	 * Maximum total length of all stores of a group. Default is 16 MiB.
+	 *
+	 * @param groupCommitMaximumLength the new maximum length
+	 * @return this
+	 *
+	 * @see #setGroupCommit(boolean)
+	 */
+	public EmbeddedStorageConfigurationBuilder setGroupCommitMaximumLength(ByteSize groupCommitMaximumLength);
+
+	/**
+	 * Time a group is held back from processing to collect further stores, unless it is full before.
+	 * The channels keep on doing their housekeeping in the meantime. Default is 0, which only groups stores
+	 * that arrive while the channels are busy anyway.
+	 *
+	 * @param groupCommitCollectingWindow the new collecting window
+	 * @return this
+	 *
+	 * @see #setGroupCommit(boolean)
+	 */
+	public EmbeddedStorageConfigurationBuilder setGroupCommitCollectingWindow(Duration groupCommitCollectingWindow);
+
 	/**
 	 * Creates an {@link EmbeddedStorageFoundation} based on the settings of this builder.
 	 *
@@ -514,6 +647,22 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(HOUSEKEEPING_TIME_BUDGET, housekeepingTimeBudget.toString());
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setHousekeepingAdaptive(
+			final boolean housekeepingAdaptive
+		)
+		{
+			return this.set(HOUSEKEEPING_ADAPTIVE, Boolean.toString(housekeepingAdaptive));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setHousekeepingMaximumTimeBudget(
+			final Duration housekeepingMaximumTimeBudget
+		)
+		{
+			return this.set(HOUSEKEEPING_MAXIMUM_TIME_BUDGET, housekeepingMaximumTimeBudget.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setEntityCacheThreshold(
 			final long entityCacheThreshold
@@ -530,6 +679,14 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(ENTITY_CACHE_TIMEOUT, entityCacheTimeout.toString());
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setEntityCacheBudget(
+			final ByteSize entityCacheBudget
+		)
+		{
+			return this.set(ENTITY_CACHE_BUDGET, entityCacheBudget.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setDataFileMinimumSize(
 			final ByteSize dataFileMinimumSize
@@ -562,6 +719,70 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(DATA_FILE_CLEANUP_HEAD_FILE, Boolean.toString(dataFileCleanupHeadFile));
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDurabilityPolicy(
+			final StorageDurabilityPolicy.Mode durabilityPolicy
+		)
+		{
+			return this.set(DURABILITY_POLICY, durabilityPolicy.name().toLowerCase(Locale.ROOT));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDurabilitySyncInterval(
+			final Duration durabilitySyncInterval
+		)
+		{
+			return this.set(DURABILITY_SYNC_INTERVAL, durabilitySyncInterval.toString());
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setIoThrottleBytesPerSecond(
+			final ByteSize ioThrottleBytesPerSecond
+		)
+		{
+			return this.set(IO_THROTTLE_BYTES_PER_SECOND, ioThrottleBytesPerSecond.toString());
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setIoThrottleOperationsPerSecond(
+			final long ioThrottleOperationsPerSecond
+		)
+		{
+			return this.set(IO_THROTTLE_OPERATIONS_PER_SECOND, Long.toString(ioThrottleOperationsPerSecond));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setGroupCommit(
+			final boolean groupCommit
+		)
+		{
+			return this.set(GROUP_COMMIT, Boolean.toString(groupCommit));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setGroupCommitMaximumStoreCount(
+			final int groupCommitMaximumStoreCount
+		)
+		{
+			return this.set(GROUP_COMMIT_MAXIMUM_STORE_COUNT, Integer.toString(groupCommitMaximumStoreCount));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setGroupCommitMaximumLength(
+			final ByteSize groupCommitMaximumLength
+		)
+		{
+			return this.set(GROUP_COMMIT_MAXIMUM_LENGTH, groupCommitMaximumLength.toString());
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setGroupCommitCollectingWindow(
+			final Duration groupCommitCollectingWindow
+		)
+		{
+			return this.set(GROUP_COMMIT_COLLECTING_WINDOW, groupCommitCollectingWindow.toString());
+		}
+
 	}
 
 }
@@ -107,6 +107,16 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String HOUSEKEEPING_TIME_BUDGET      = "housekeeping-time-budget";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setHousekeepingAdaptive(boolean)
+	 */
+	public final static String HOUSEKEEPING_ADAPTIVE         = "housekeeping-adaptive";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setHousekeepingMaximumTimeBudget(java.time.Duration)
+	 */
+	public final static String HOUSEKEEPING_MAXIMUM_TIME_BUDGET = "housekeeping-maximum-time-budget";
+
 	/**
 	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheThreshold(long)
 	 */
@@ -117,6 +127,11 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String ENTITY_CACHE_TIMEOUT          = "entity-cache-timeout";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheBudget(one.microstream.configuration.types.ByteSize)
+	 */
+	public final static String ENTITY_CACHE_BUDGET           = "entity-cache-budget";
+
 	/**
 	 * @see EmbeddedStorageConfigurationBuilder#setDataFileMinimumSize(one.microstream.configuration.types.ByteSize)
 	 */
@@ -137,4 +152,44 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String DATA_FILE_CLEANUP_HEAD_FILE   = "data-file-cleanup-head-file";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDurabilityPolicy(one.microstream.storage.types.StorageDurabilityPolicy.Mode)
+	 */
+	public final static String DURABILITY_POLICY             = "durability-policy";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDurabilitySyncInterval(java.time.Duration)
+	 */
+	public final static String DURABILITY_SYNC_INTERVAL      = "durability-sync-interval";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setIoThrottleBytesPerSecond(one.microstream.configuration.types.ByteSize)
+	 */
+	public final static String IO_THROTTLE_BYTES_PER_SECOND  = "io-throttle-bytes-per-second";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setIoThrottleOperationsPerSecond(long)
+	 */
+	public final static String IO_THROTTLE_OPERATIONS_PER_SECOND = "io-throttle-operations-per-second";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setGroupCommit(boolean)
+	 */
+	public final static String GROUP_COMMIT                  = "group-commit";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setGroupCommitMaximumStoreCount(int)
+	 */
+	public final static String GROUP_COMMIT_MAXIMUM_STORE_COUNT = "group-commit-maximum-store-count";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setGroupCommitMaximumLength(one.microstream.configuration.types.ByteSize)
+	 */
+	public final static String GROUP_COMMIT_MAXIMUM_LENGTH   = "group-commit-maximum-length";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setGroupCommitCollectingWindow(java.time.Duration)
+	 */
+	public final static String GROUP_COMMIT_COLLECTING_WINDOW = "group-commit-collecting-window";
+
 }
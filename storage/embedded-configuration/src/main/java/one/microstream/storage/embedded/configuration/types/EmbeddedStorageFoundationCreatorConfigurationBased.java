@@ -24,6 +24,8 @@ import static one.microstream.X.notNull;
 
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import one.microstream.afs.nio.types.NioFileSystem;
@@ -40,9 +42,14 @@ import one.microstream.storage.types.Storage;
 import one.microstream.storage.types.StorageChannelCountProvider;
 import one.microstream.storage.types.StorageConfiguration;
 import one.microstream.storage.types.StorageDataFileEvaluator;
+import one.microstream.storage.types.StorageDurabilityPolicy;
 import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageEntityCacheSegmentedEvaluator;
 import one.microstream.storage.types.StorageFileNameProvider;
+import one.microstream.storage.types.StorageGroupCommitSetup;
 import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageHousekeepingControllerAdaptive;
+import one.microstream.storage.types.StorageIoThrottle;
 import one.microstream.storage.types.StorageLiveFileProvider;
 
 /**
@@ -112,6 +119,8 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 				.setHousekeepingController(this.createHousekeepingController())
 				.setDataFileEvaluator     (this.createDataFileEvaluator()     )
 				.setEntityCacheEvaluator  (this.createEntityCacheEvaluator()  )
+				.setDurabilityPolicy      (this.createDurabilityPolicy()      )
+				.setIoThrottle            (this.createIoThrottle()            )
 			;
 
 			this.configuration.opt(BACKUP_DIRECTORY)
@@ -131,7 +140,8 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 
 			return EmbeddedStorage.Foundation(
 				configBuilder.createConfiguration()
-			);
+			)
+			.setGroupCommitSetup(this.createGroupCommitSetup());
 		}
 		
 		private AFileSystem createFileSystem(
@@ -216,13 +226,29 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 
 		private StorageHousekeepingController createHousekeepingController()
 		{
+			final long housekeepingIntervalMs = this.configuration.opt(HOUSEKEEPING_INTERVAL, Duration.class)
+				.map(Duration::toMillis)
+				.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingIntervalMs())
+			;
+			final long housekeepingTimeBudgetNs = this.configuration.opt(HOUSEKEEPING_TIME_BUDGET, Duration.class)
+				.map(Duration::toNanos)
+				.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingTimeBudgetNs())
+			;
+			
+			if(this.configuration.optBoolean(HOUSEKEEPING_ADAPTIVE).orElse(false))
+			{
+				return Storage.HousekeepingControllerAdaptive(
+					housekeepingIntervalMs  ,
+					housekeepingTimeBudgetNs,
+					this.configuration.opt(HOUSEKEEPING_MAXIMUM_TIME_BUDGET, Duration.class)
+						.map(Duration::toNanos)
+						.orElse(StorageHousekeepingControllerAdaptive.Defaults.defaultMaximumTimeBudgetNs())
+				);
+			}
+			
 			return Storage.HousekeepingController(
-				this.configuration.opt(HOUSEKEEPING_INTERVAL, Duration.class)
-					.map(Duration::toMillis)
-					.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingIntervalMs()),
-				this.configuration.opt(HOUSEKEEPING_TIME_BUDGET, Duration.class)
-					.map(Duration::toNanos)
-					.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingTimeBudgetNs())
+				housekeepingIntervalMs  ,
+				housekeepingTimeBudgetNs
 			);
 		}
 
@@ -244,15 +270,71 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 
 		private StorageEntityCacheEvaluator createEntityCacheEvaluator()
 		{
+			final long timeoutMs = this.configuration.opt(ENTITY_CACHE_TIMEOUT, Duration.class)
+				.map(Duration::toMillis)
+				.orElse(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs())
+			;
+			
+			// an explicit cache budget switches to the frequency-aware evaluator.
+			final Optional<ByteSize> cacheBudget = this.configuration.opt(ENTITY_CACHE_BUDGET, ByteSize.class);
+			if(cacheBudget.isPresent())
+			{
+				return StorageEntityCacheSegmentedEvaluator.New(
+					cacheBudget.get().bytes(),
+					StorageEntityCacheSegmentedEvaluator.Defaults.defaultProtectedAccessCount(),
+					timeoutMs
+				);
+			}
+			
 			return Storage.EntityCacheEvaluator(
-				this.configuration.opt(ENTITY_CACHE_TIMEOUT, Duration.class)
-					.map(Duration::toMillis)
-					.orElse(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs()),
+				timeoutMs,
 				this.configuration.optLong(ENTITY_CACHE_THRESHOLD)
 					.orElse(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold())
 			);
 		}
 		
+		private StorageDurabilityPolicy createDurabilityPolicy()
+		{
+			return StorageDurabilityPolicy.New(
+				this.configuration.opt(DURABILITY_POLICY)
+					.map(mode -> StorageDurabilityPolicy.Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)))
+					.orElse(StorageDurabilityPolicy.Defaults.defaultMode()),
+				this.configuration.opt(DURABILITY_SYNC_INTERVAL, Duration.class)
+					.map(Duration::toMillis)
+					.orElse(StorageDurabilityPolicy.Defaults.defaultSyncIntervalMs())
+			);
+		}
+		
+		private StorageGroupCommitSetup createGroupCommitSetup()
+		{
+			if(!this.configuration.optBoolean(GROUP_COMMIT).orElse(false))
+			{
+				return null;
+			}
+			
+			return StorageGroupCommitSetup.New(
+				this.configuration.optInteger(GROUP_COMMIT_MAXIMUM_STORE_COUNT)
+					.orElse(StorageGroupCommitSetup.Defaults.defaultMaximumStoreCount()),
+				this.configuration.opt(GROUP_COMMIT_MAXIMUM_LENGTH, ByteSize.class)
+					.map(ByteSize::bytes)
+					.orElse(StorageGroupCommitSetup.Defaults.defaultMaximumLength()),
+				this.configuration.opt(GROUP_COMMIT_COLLECTING_WINDOW, Duration.class)
+					.map(Duration::toNanos)
+					.orElse(StorageGroupCommitSetup.Defaults.defaultCollectingWindowNs())
+			);
+		}
+		
+		private StorageIoThrottle createIoThrottle()
+		{
+			return StorageIoThrottle.New(
+				this.configuration.opt(IO_THROTTLE_BYTES_PER_SECOND, ByteSize.class)
+					.map(ByteSize::bytes)
+					.orElse(0L),
+				this.configuration.optLong(IO_THROTTLE_OPERATIONS_PER_SECOND)
+					.orElse(0L)
+			);
+		}
+		
 		private String createDirectoryPath(
 			final String path
 		)
@@ -22,6 +22,9 @@ package one.microstream.storage.embedded.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
 import one.microstream.persistence.types.PersistenceTarget;
@@ -32,6 +35,9 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 {
 	@Override
 	public void write(Binary data) throws PersistenceExceptionTransfer;
+	
+	@Override
+	public CompletableFuture<Void> writeAsync(Binary data) throws PersistenceExceptionTransfer;
 
 
 	
@@ -91,6 +97,35 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 			}
 		}
 		
+		@Override
+		public final CompletableFuture<Void> writeAsync(final Binary data) throws PersistenceExceptionTransfer
+		{
+			final CompletableFuture<Void> completion;
+			try
+			{
+				this.writeController.validateIsWritable();
+				completion = this.requestAcceptor.storeDataAsync(data);
+			}
+			catch(final Exception e)
+			{
+				throw new PersistenceExceptionTransfer(e);
+			}
+			
+			// same exception type as for synchronous writing, wrapped as required for futures.
+			return completion.exceptionally(e ->
+			{
+				throw new CompletionException(new PersistenceExceptionTransfer(unwrapCompletionException(e)));
+			});
+		}
+		
+		private static Throwable unwrapCompletionException(final Throwable e)
+		{
+			return e instanceof CompletionException && e.getCause() != null
+				? e.getCause()
+				: e
+			;
+		}
+		
 		@Override
 		public final void validateIsWritable()
 		{
@@ -0,0 +1,331 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * MicroStream Embedded Storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+import one.microstream.collections.BulkList;
+import one.microstream.collections.EqHashEnum;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceManager;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.persistence.types.PersistenceTypeDefinition;
+import one.microstream.persistence.types.PersistenceTypeDictionary;
+import one.microstream.storage.types.StorageFollowerSetup;
+import one.microstream.util.logging.Logging;
+
+/**
+ * Periodically follows the storage of another process, see {@link StorageFollowerSetup}.
+ * <p>
+ * Each cycle registers the type definitions the followed process has added to the type dictionary, applies the
+ * followed process' completed stores via {@link EmbeddedStorageManager#followStorage()} and updates all instances
+ * that are already registered for the stored object ids in place with their new state. Instances that have not
+ * been loaded yet simply get loaded with the new state once they are required.
+ * <p>
+ * A follow cycle runs under the follower's write lock. Application threads reading followed instances (including
+ * loading them) must do so under the follower's read lock, see {@link #read(Supplier)} and {@link #readLock()}.
+ * Otherwise, they may see an instance while it is updated or a mixture of states of different stores.
+ */
+public interface EmbeddedStorageFollower
+{
+	public void start();
+	
+	public void stop();
+	
+	public boolean isRunning();
+	
+	/**
+	 * Returns the lock that has to be held while reading followed instances. Follow cycles wait for all holders
+	 * to release it, so it should only be held briefly.
+	 * 
+	 * @return the follower's read lock.
+	 */
+	public Lock readLock();
+	
+	/**
+	 * Executes the passed logic while holding the {@link #readLock()}, so it sees a consistent state of
+	 * the followed instances.
+	 * 
+	 * @param <R> the logic's result type.
+	 * @param logic the logic reading followed instances.
+	 * @return the logic's result.
+	 */
+	public default <R> R read(final Supplier<R> logic)
+	{
+		final Lock readLock = this.readLock();
+		readLock.lock();
+		try
+		{
+			return logic.get();
+		}
+		finally
+		{
+			readLock.unlock();
+		}
+	}
+	
+	
+	
+	public static EmbeddedStorageFollower New(
+		final EmbeddedStorageManager                 storageManager      ,
+		final EmbeddedStorageConnectionFoundation<?> connectionFoundation,
+		final StorageFollowerSetup                   followerSetup
+	)
+	{
+		return new EmbeddedStorageFollower.Default(
+			notNull(storageManager)      ,
+			notNull(connectionFoundation),
+			notNull(followerSetup)
+		);
+	}
+
+	public final class Default implements EmbeddedStorageFollower, Runnable
+	{
+		private final static Logger logger = Logging.getLogger(Default.class);
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final EmbeddedStorageManager                 storageManager      ;
+		private final EmbeddedStorageConnectionFoundation<?> connectionFoundation;
+		private final StorageFollowerSetup                   followerSetup       ;
+		private final ReentrantReadWriteLock                 lock                ;
+		
+		private Thread thread              ;
+		private String typeDictionaryString;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final EmbeddedStorageManager                 storageManager      ,
+			final EmbeddedStorageConnectionFoundation<?> connectionFoundation,
+			final StorageFollowerSetup                   followerSetup
+		)
+		{
+			super();
+			this.storageManager       = storageManager      ;
+			this.connectionFoundation = connectionFoundation;
+			this.followerSetup        = followerSetup       ;
+			this.lock                 = new ReentrantReadWriteLock();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized void start()
+		{
+			if(this.thread != null)
+			{
+				return;
+			}
+			
+			this.thread = new Thread(this, "MicroStream-" + EmbeddedStorageFollower.class.getSimpleName());
+			this.thread.setDaemon(true);
+			this.thread.start();
+		}
+		
+		@Override
+		public final void stop()
+		{
+			final Thread thread;
+			synchronized(this)
+			{
+				if((thread = this.thread) == null)
+				{
+					return;
+				}
+				this.thread = null;
+			}
+			
+			thread.interrupt();
+			try
+			{
+				thread.join();
+			}
+			catch(final InterruptedException e)
+			{
+				// restore the interruption for the calling context, the follower thread terminates anyway.
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		@Override
+		public final synchronized boolean isRunning()
+		{
+			return this.thread != null;
+		}
+		
+		@Override
+		public final Lock readLock()
+		{
+			return this.lock.readLock();
+		}
+		
+		@Override
+		public final void run()
+		{
+			logger.info("Following storage every {} ms", this.followerSetup.followIntervalMs());
+			
+			while(this.isRunning())
+			{
+				try
+				{
+					Thread.sleep(this.followerSetup.followIntervalMs());
+				}
+				catch(final InterruptedException e)
+				{
+					break;
+				}
+				
+				try
+				{
+					this.follow();
+				}
+				catch(final Exception e)
+				{
+					if(!this.isRunning())
+					{
+						break;
+					}
+					// the followed process might be in the middle of a write. Retried in the next cycle.
+					logger.error("Exception occurred while following storage", e);
+				}
+			}
+		}
+		
+		/**
+		 * Performs one follow cycle.
+		 * 
+		 * @return the number of updated, already registered instances.
+		 */
+		public final int follow()
+		{
+			// applying the stores and updating the instances must not interleave with reading them.
+			this.lock.writeLock().lock();
+			try
+			{
+				this.refreshTypeDictionary();
+				
+				final long[] changedObjectIds = this.storageManager.followStorage();
+				if(changedObjectIds == null || changedObjectIds.length == 0)
+				{
+					return 0;
+				}
+				
+				return this.refreshInstances(changedObjectIds);
+			}
+			finally
+			{
+				this.lock.writeLock().unlock();
+			}
+		}
+		
+		private void refreshTypeDictionary()
+		{
+			final String typeDictionaryString = this.connectionFoundation.getTypeDictionaryLoader().loadTypeDictionary();
+			if(typeDictionaryString == null || typeDictionaryString.equals(this.typeDictionaryString))
+			{
+				return;
+			}
+			
+			final PersistenceTypeDictionary loadedTypeDictionary = this.connectionFoundation
+				.getTypeDictionaryCompiler()
+				.compileTypeDictionary(typeDictionaryString)
+			;
+			final PersistenceTypeDictionary typeDictionary = this.connectionFoundation
+				.getTypeDictionaryManager()
+				.provideTypeDictionary()
+			;
+			
+			final BulkList<PersistenceTypeDefinition> newTypeDefinitions = BulkList.New();
+			final EqHashEnum<Long>                    newTypeIds         = EqHashEnum.New();
+			for(final PersistenceTypeDefinition typeDefinition : loadedTypeDictionary.allTypeDefinitions().values())
+			{
+				if(typeDictionary.lookupTypeById(typeDefinition.typeId()) == null)
+				{
+					newTypeDefinitions.add(typeDefinition);
+					newTypeIds.add(typeDefinition.typeId());
+				}
+			}
+			
+			if(!newTypeDefinitions.isEmpty())
+			{
+				logger.debug("Registering {} followed type definitions", newTypeDefinitions.size());
+				
+				// registered directly, the dictionary file is owned by the followed process.
+				typeDictionary.registerTypeDefinitions(newTypeDefinitions);
+				this.connectionFoundation.getTypeHandlerManager().ensureTypeHandlersByTypeIds(newTypeIds);
+			}
+			
+			this.typeDictionaryString = typeDictionaryString;
+		}
+		
+		private int refreshInstances(final long[] changedObjectIds)
+		{
+			final PersistenceManager<Binary> persistenceManager = this.storageManager.persistenceManager();
+			final PersistenceObjectRegistry  objectRegistry     = persistenceManager.objectRegistry();
+			
+			int count = 0;
+			final long[] registeredObjectIds = new long[changedObjectIds.length];
+			for(final long objectId : changedObjectIds)
+			{
+				if(objectRegistry.lookupObject(objectId) != null)
+				{
+					registeredObjectIds[count++] = objectId;
+				}
+			}
+			if(count == 0)
+			{
+				return 0;
+			}
+			
+			// loading explicitly required object ids updates their already registered instances.
+			persistenceManager.createLoader().collect(
+				instance ->
+				{
+					// no-op, only the update is relevant
+				},
+				Arrays.copyOf(registeredObjectIds, count)
+			);
+			
+			return count;
+		}
+
+	}
+
+}
@@ -25,6 +25,7 @@ import static one.microstream.X.notNull;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import org.slf4j.Logger;
 
@@ -47,16 +48,21 @@ import one.microstream.reference.LazyReferenceManager;
 import one.microstream.reference.Swizzling;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
 import one.microstream.storage.types.Database;
+import one.microstream.storage.types.StorageBackupManifest;
 import one.microstream.storage.types.StorageConfiguration;
 import one.microstream.storage.types.StorageConnection;
 import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageEntityData;
 import one.microstream.storage.types.StorageEntityTypeExportFileProvider;
 import one.microstream.storage.types.StorageEntityTypeExportStatistics;
 import one.microstream.storage.types.StorageEntityTypeHandler;
+import one.microstream.storage.types.StorageFollowerSetup;
 import one.microstream.storage.types.StorageIdAnalysis;
+import one.microstream.storage.types.StorageIncrementalBackup;
 import one.microstream.storage.types.StorageKillable;
 import one.microstream.storage.types.StorageLiveFileProvider;
 import one.microstream.storage.types.StorageManager;
+import one.microstream.storage.types.StorageMetrics;
 import one.microstream.storage.types.StorageRawFileStatistics;
 import one.microstream.storage.types.StorageSystem;
 import one.microstream.storage.types.StorageTypeDictionary;
@@ -75,6 +81,24 @@ public interface EmbeddedStorageManager extends StorageManager
 {
 	@Override
 	public EmbeddedStorageManager start();
+	
+	/**
+	 * Returns the metrics collected by the storage's channels, e.g. store and load latencies, read and written
+	 * bytes and garbage collection durations. A consistent view is created by {@link StorageMetrics#snapshot()},
+	 * the metrics can be exposed via JMX with {@link StorageMetrics#registerMBean(String)}.
+	 * 
+	 * @return the storage's metrics.
+	 */
+	public StorageMetrics metrics();
+	
+	/**
+	 * Returns the follower that keeps this storage manager up to date with the storage of another process, if
+	 * a {@link StorageFollowerSetup} is configured and the storage manager is running.
+	 * Followed instances must only be read under the follower's read lock, see {@link EmbeddedStorageFollower}.
+	 * 
+	 * @return the follower or <code>null</code> if this storage manager does not follow another storage.
+	 */
+	public EmbeddedStorageFollower follower();
 
 	
 	
@@ -109,7 +133,8 @@ public interface EmbeddedStorageManager extends StorageManager
 		private final EmbeddedStorageConnectionFoundation<?> connectionFoundation;
 		private final PersistenceRootsProvider<?>            rootsProvider       ;
 				
-		private StorageConnection singletonConnection;
+		private StorageConnection       singletonConnection;
+		private EmbeddedStorageFollower follower           ;
 
 
 
@@ -253,6 +278,8 @@ public interface EmbeddedStorageManager extends StorageManager
 				
 				// this depends on completed initialization
 				this.ensureActiveLazyReferenceManager(lazyReferenceManager, lazyReferenceManagerIsRunning);
+				
+				this.ensureFollowing();
 			}
 			catch(final Throwable t)
 			{
@@ -378,6 +405,13 @@ public interface EmbeddedStorageManager extends StorageManager
 					}
 				}
 				
+				if(this.configuration.followerSetup().isEnabled())
+				{
+					// the followed process owns the storage, so the follower only uses the synchronized roots locally.
+					logger.debug("Skipping storing of root objects and constants for the storage follower");
+					return;
+				}
+				
 				logger.debug("Storing required root objects and constants");
 				
 				// any other case than a perfectly synchronous loaded roots instance needs to store
@@ -391,9 +425,42 @@ public interface EmbeddedStorageManager extends StorageManager
 			}
 		}
 		
+		private synchronized void ensureFollowing()
+		{
+			if(!this.configuration.followerSetup().isEnabled() || this.follower != null)
+			{
+				return;
+			}
+			
+			this.follower = EmbeddedStorageFollower.New(
+				this,
+				this.connectionFoundation,
+				this.configuration.followerSetup()
+			);
+			this.follower.start();
+		}
+		
+		@Override
+		public final synchronized EmbeddedStorageFollower follower()
+		{
+			return this.follower;
+		}
+		
+		private synchronized void stopFollowing()
+		{
+			if(this.follower == null)
+			{
+				return;
+			}
+			
+			this.follower.stop();
+			this.follower = null;
+		}
+		
 		@Override
 		public final boolean shutdown()
 		{
+			this.stopFollowing();
 			LazyReferenceManager.get().removeController(this);
 			return this.storageSystem.shutdown();
 		}
@@ -458,6 +525,12 @@ public interface EmbeddedStorageManager extends StorageManager
 			return this.storageSystem.initializationTime();
 		}
 		
+		@Override
+		public final StorageMetrics metrics()
+		{
+			return this.storageSystem.metrics();
+		}
+		
 		@Override
 		public final long operationModeTime()
 		{
@@ -524,6 +597,12 @@ public interface EmbeddedStorageManager extends StorageManager
 			this.singletonConnection().issueFullBackup(targetFileProvider, typeDictionaryExporter);
 		}
 		
+		@Override
+		public final StorageBackupManifest issueIncrementalBackup(final StorageIncrementalBackup backup)
+		{
+			return this.singletonConnection().issueIncrementalBackup(backup);
+		}
+		
 		@Override
 		public final StorageRawFileStatistics createStorageStatistics()
 		{
@@ -548,6 +627,22 @@ public interface EmbeddedStorageManager extends StorageManager
 			return this.singletonConnection().exportTypes(exportFileProvider, isExportType);
 		}
 
+		@Override
+		public final long[] scanTypeEntities(
+			final long                                      typeId    ,
+			final Predicate<? super StorageEntityData>      predicate ,
+			final ToLongFunction<? super StorageEntityData> projection
+		)
+		{
+			return this.singletonConnection().scanTypeEntities(typeId, predicate, projection);
+		}
+
+		@Override
+		public final long[] followStorage()
+		{
+			return this.singletonConnection().followStorage();
+		}
+
 		@Override
 		public final void importFiles(final XGettingEnum<AFile> importFiles)
 		{
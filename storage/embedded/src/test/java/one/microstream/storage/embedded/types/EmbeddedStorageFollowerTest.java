@@ -0,0 +1,242 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.afs.types.WriteController;
+import one.microstream.storage.types.Databases;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageCheckpointSetup;
+import one.microstream.storage.types.StorageDataFileEvaluator;
+import one.microstream.storage.types.StorageFollowerSetup;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageWriteController;
+
+/**
+ * Follows a storage that is written by another storage manager, which takes the place of the other process.
+ */
+public class EmbeddedStorageFollowerTest
+{
+	static final int  CHANNEL_COUNT      = 2     ;
+	static final long FOLLOW_INTERVAL_MS = 20    ;
+	static final long TIMEOUT_MS         = 30_000;
+	
+	@TempDir
+	Path storageDirectory;
+	
+	@TempDir
+	Path deletionDirectory;
+	
+	EmbeddedStorageFoundation<?> leaderFoundation(final StorageCheckpointSetup checkpointSetup)
+	{
+		final NioFileSystem fileSystem = NioFileSystem.New();
+		
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProviderBuilder(fileSystem)
+					.setDirectory(fileSystem.ensureDirectory(this.storageDirectory))
+					// the follower might still read retired files, see StorageFollowerSetup.
+					.setDeletionDirectory(fileSystem.ensureDirectory(this.deletionDirectory))
+					.createFileProvider()
+				)
+				.setChannelCountProvider(StorageChannelCountProvider.New(CHANNEL_COUNT))
+				.setHousekeepingController(StorageHousekeepingController.New(10, 10_000_000))
+				/*
+				 * The head file is never dissolved, so the frequent housekeeping does not delete data files
+				 * that the follower still needs (see the limitation in StorageFollowerSetup).
+				 */
+				.setDataFileEvaluator(StorageDataFileEvaluator.New(
+					StorageDataFileEvaluator.Defaults.defaultFileMinimumSize(),
+					StorageDataFileEvaluator.Defaults.defaultFileMaximumSize(),
+					StorageDataFileEvaluator.Defaults.defaultMinimumUseRatio(),
+					false
+				))
+				.createConfiguration()
+		)
+		.setCheckpointSetup(checkpointSetup)
+		.setDataBaseName("leader")
+		;
+	}
+	
+	EmbeddedStorageManager startFollower()
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(CHANNEL_COUNT))
+				.setFollowerSetup(StorageFollowerSetup.New(FOLLOW_INTERVAL_MS))
+				.createConfiguration()
+		)
+		.setWriteController(StorageWriteController.Wrap(WriteController.Disabled()))
+		// the leader is registered for the same directory in this process.
+		.setDatabases(Databases.New())
+		.setDataBaseName("follower")
+		.start()
+		;
+	}
+	
+	static void store(final EmbeddedStorageManager leader, final List<String> root, final int from, final int to)
+	{
+		for(int i = from; i < to; i++)
+		{
+			root.add("entry " + i);
+			leader.store(root);
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	static void awaitFollowed(final EmbeddedStorageManager follower, final int size) throws InterruptedException
+	{
+		final List<String> root = (List<String>)follower.root();
+		
+		final Supplier<List<String>> copy = () -> new ArrayList<>(root);
+		final long timeoutBound = System.currentTimeMillis() + TIMEOUT_MS;
+		List<String> followed;
+		while((followed = follower.follower().read(copy)).size() < size)
+		{
+			Assertions.assertTrue(
+				System.currentTimeMillis() < timeoutBound,
+				"Follower did not follow in time: " + followed.size() + " of " + size + " entries."
+			);
+			Thread.sleep(FOLLOW_INTERVAL_MS);
+		}
+		
+		Assertions.assertEquals(size, followed.size());
+		for(int i = 0; i < size; i++)
+		{
+			Assertions.assertEquals("entry " + i, followed.get(i));
+		}
+	}
+	
+	@Test
+	void tailing() throws Exception
+	{
+		final List<String>           root   = new ArrayList<>();
+		final EmbeddedStorageManager leader = this.leaderFoundation(StorageCheckpointSetup.Disabled()).start(root);
+		try
+		{
+			store(leader, root, 0, 10);
+			
+			final EmbeddedStorageManager follower = this.startFollower();
+			try
+			{
+				awaitFollowed(follower, 10);
+				
+				// stores written while following are applied to the already loaded root in place
+				store(leader, root, 10, 200);
+				awaitFollowed(follower, 200);
+			}
+			finally
+			{
+				follower.shutdown();
+			}
+		}
+		finally
+		{
+			leader.shutdown();
+		}
+	}
+	
+	@Test
+	void transactionsFileRoll() throws Exception
+	{
+		final List<String>           root   = new ArrayList<>();
+		final EmbeddedStorageManager leader = this.leaderFoundation(StorageCheckpointSetup.New(60_000, 1024)).start(root);
+		try
+		{
+			store(leader, root, 0, 10);
+			
+			final EmbeddedStorageManager follower = this.startFollower();
+			try
+			{
+				awaitFollowed(follower, 10);
+				
+				for(int i = 10; i < 400; i += 10)
+				{
+					store(leader, root, i, i + 10);
+					awaitFollowed(follower, i + 10);
+				}
+			}
+			finally
+			{
+				follower.shutdown();
+			}
+		}
+		finally
+		{
+			leader.shutdown();
+		}
+		
+		// retired transactions files are moved to the deletion directory
+		try(final Stream<Path> files = Files.walk(this.deletionDirectory))
+		{
+			Assertions.assertTrue(
+				files.anyMatch(file -> file.getFileName().toString().startsWith("transactions_")),
+				"Transactions file has not been rolled."
+			);
+		}
+	}
+	
+	@Test
+	void leaderRestart() throws Exception
+	{
+		final List<String>           root   = new ArrayList<>();
+		final EmbeddedStorageManager leader = this.leaderFoundation(StorageCheckpointSetup.Disabled()).start(root);
+		store(leader, root, 0, 50);
+		
+		final EmbeddedStorageManager follower = this.startFollower();
+		try
+		{
+			awaitFollowed(follower, 50);
+			leader.shutdown();
+			
+			final EmbeddedStorageManager restartedLeader = this.leaderFoundation(StorageCheckpointSetup.Disabled()).start();
+			try
+			{
+				@SuppressWarnings("unchecked")
+				final List<String> restartedRoot = (List<String>)restartedLeader.root();
+				store(restartedLeader, restartedRoot, 50, 100);
+				awaitFollowed(follower, 100);
+			}
+			finally
+			{
+				restartedLeader.shutdown();
+			}
+		}
+		finally
+		{
+			follower.shutdown();
+		}
+	}
+	
+}
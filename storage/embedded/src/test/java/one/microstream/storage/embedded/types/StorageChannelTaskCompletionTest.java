@@ -0,0 +1,140 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import one.microstream.storage.types.StorageChannel;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageChannelTask;
+import one.microstream.storage.types.StorageOperationController;
+
+/**
+ * Completes a {@link StorageChannelTask} the way the channel threads do and checks its completion future,
+ * especially that dependent actions run by the completing thread do not hold the task's lock.
+ */
+public class StorageChannelTaskCompletionTest
+{
+	static final int  CHANNEL_COUNT   = 2;
+	static final long TIMEOUT_SECONDS = 5;
+	
+	static final class Task extends StorageChannelTask.Abstract<Void>
+	{
+		Task()
+		{
+			super(1, CHANNEL_COUNT, StorageOperationController.New(null, StorageChannelCountProvider.New(CHANNEL_COUNT)));
+		}
+		
+		@Override
+		protected Void internalProcessBy(final StorageChannel channel)
+		{
+			return null;
+		}
+		
+		@Override
+		protected void complete(final StorageChannel channel, final Void value)
+		{
+			// nothing to complete
+		}
+		
+	}
+	
+	/**
+	 * Queries the passed task from another thread, which blocks as long as a thread holds the task's lock.
+	 */
+	static boolean isCompleteFromOtherThread(final StorageChannelTask task) throws Exception
+	{
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			final Future<Boolean> isComplete = executor.submit(task::isComplete);
+			
+			return isComplete.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	void dependentActionOfCompletingChannel() throws Exception
+	{
+		final Task                    task       = new Task();
+		final CompletableFuture<Void> completion = task.completion();
+		final CompletableFuture<Void> dependent  = completion.thenRun(() ->
+		{
+			try
+			{
+				Assertions.assertTrue(isCompleteFromOtherThread(task));
+			}
+			catch(final Exception e)
+			{
+				throw new AssertionError("Task is locked by its dependent action.", e);
+			}
+		});
+		
+		task.incrementCompletionProgress();
+		Assertions.assertFalse(completion.isDone());
+		
+		// the last channel completes the future and runs the dependent action
+		task.incrementCompletionProgress();
+		Assertions.assertTrue(completion.isDone());
+		dependent.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+	
+	@Test
+	void completedTask() throws Exception
+	{
+		final Task task = new Task();
+		task.incrementCompletionProgress();
+		task.incrementCompletionProgress();
+		
+		// a future requested after the completion is completed right away, and the same future is returned again
+		final CompletableFuture<Void> completion = task.completion();
+		Assertions.assertTrue(completion.isDone());
+		Assertions.assertSame(completion, task.completion());
+		completion.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+	
+	@Test
+	void problem()
+	{
+		final Task task = new Task();
+		final CompletableFuture<Void> completion = task.completion();
+		
+		task.addProblem(0, new RuntimeException("Failed on purpose."));
+		task.incrementCompletionProgress();
+		task.incrementCompletionProgress();
+		
+		Assertions.assertTrue(completion.isCompletedExceptionally());
+		Assertions.assertThrows(ExecutionException.class, completion::get);
+	}
+	
+}
@@ -0,0 +1,122 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageEntityCacheAllocator;
+import one.microstream.storage.types.StorageRawFileStatistics;
+
+/**
+ * Loads a batch of entities whose data exceeds the entity cache memory limit many times over.
+ * <p>
+ * The cache may exceed its limit while a task relies on the data it has cached, so the whole batch must arrive
+ * intact. Afterwards, the channel has to reduce the exceeded cache memory between tasks.
+ */
+public class StorageEntityCacheMemoryLimitTest
+{
+	static final int  ITEM_COUNT     = 2_000          ;
+	static final int  ITEM_LENGTH    = 1_024          ;
+	static final int  SLAB_SIZE      = 16 * 1_024     ;
+	static final long MAXIMUM_MEMORY = 16 * SLAB_SIZE ;
+	static final long TIMEOUT_MS     = 10_000         ;
+	
+	@TempDir
+	Path storageDirectory;
+	
+	EmbeddedStorageManager start()
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(1))
+				.createConfiguration()
+			)
+			.setEntityCacheAllocatorCreator(StorageEntityCacheAllocator.CreatorArena(SLAB_SIZE, MAXIMUM_MEMORY))
+			.start()
+		;
+	}
+	
+	static byte[] item(final int number)
+	{
+		final byte[] item = new byte[ITEM_LENGTH];
+		Arrays.fill(item, (byte)number);
+		item[0] = (byte)(number >>> 8);
+		
+		return item;
+	}
+	
+	static long cacheReservedMemory(final EmbeddedStorageManager storage)
+	{
+		final StorageRawFileStatistics statistics = storage.createStorageStatistics();
+		
+		return statistics.channelStatistics().values().iterator().next().cacheReservedMemory();
+	}
+	
+	@Test
+	void loadBatchExceedingCacheMemory() throws Exception
+	{
+		final List<byte[]> items = new ArrayList<>(ITEM_COUNT);
+		for(int i = 0; i < ITEM_COUNT; i++)
+		{
+			items.add(item(i));
+		}
+		Assertions.assertTrue((long)ITEM_COUNT * ITEM_LENGTH > 4 * MAXIMUM_MEMORY);
+		
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			storage.setRoot(items);
+			storage.storeRoot();
+		}
+		
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			// the whole list is loaded as one batch on startup
+			@SuppressWarnings("unchecked")
+			final List<byte[]> loaded = (List<byte[]>)storage.root();
+			
+			Assertions.assertEquals(ITEM_COUNT, loaded.size());
+			for(int i = 0; i < ITEM_COUNT; i++)
+			{
+				Assertions.assertArrayEquals(item(i), loaded.get(i), "Item " + i);
+			}
+			
+			// reduction happens in the channel's housekeeping between tasks
+			final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+			while(cacheReservedMemory(storage) > MAXIMUM_MEMORY && System.currentTimeMillis() < deadline)
+			{
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+			Assertions.assertTrue(cacheReservedMemory(storage) <= MAXIMUM_MEMORY);
+		}
+	}
+	
+}
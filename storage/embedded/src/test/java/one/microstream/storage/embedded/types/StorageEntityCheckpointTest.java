@@ -0,0 +1,268 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageCheckpointSetup;
+import one.microstream.storage.types.StorageEntity;
+import one.microstream.storage.types.StorageEntityCacheEvaluator;
+
+/**
+ * Restarts a storage with entity checkpoints and checks which data is read from the data files on startup.
+ * <p>
+ * Only entities read from the data files are offered for initial caching, entities restored from a checkpoint are not.
+ * So the number of offered entities tells if a checkpoint has been used and how much data has been read after it.
+ */
+public class StorageEntityCheckpointTest
+{
+	static final int ITEM_COUNT   = 1_000;
+	static final int VALUE_BASE   = 1_000;
+	static final int UPDATE_BASE  = 5_000;
+	static final int UPDATE_COUNT = 10   ;
+	
+	@TempDir
+	Path storageDirectory;
+	
+	// entities read from the data files on the last startup
+	final AtomicLong readEntityCount = new AtomicLong();
+	
+	static final class Item
+	{
+		int value;
+		
+		Item(final int value)
+		{
+			super();
+			this.value = value;
+		}
+		
+	}
+	
+	EmbeddedStorageManager start(final StorageCheckpointSetup checkpointSetup)
+	{
+		final StorageEntityCacheEvaluator evaluator = StorageEntityCacheEvaluator.New();
+		this.readEntityCount.set(0);
+		
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(1))
+				.setEntityCacheEvaluator(new StorageEntityCacheEvaluator()
+				{
+					@Override
+					public boolean clearEntityCache(
+						final long          totalCacheSize,
+						final long          evaluationTime,
+						final StorageEntity entity
+					)
+					{
+						return evaluator.clearEntityCache(totalCacheSize, evaluationTime, entity);
+					}
+					
+					@Override
+					public boolean initiallyCacheEntity(
+						final long          totalCacheSize,
+						final long          evaluationTime,
+						final StorageEntity entity
+					)
+					{
+						StorageEntityCheckpointTest.this.readEntityCount.incrementAndGet();
+						return false;
+					}
+				})
+				.createConfiguration()
+			)
+			.setCheckpointSetup(checkpointSetup)
+			.start()
+		;
+	}
+	
+	EmbeddedStorageManager start()
+	{
+		// checkpoints are only written on shutdown, to have them at defined points
+		return this.start(StorageCheckpointSetup.New(0));
+	}
+	
+	Path checkpointFile()
+	{
+		return this.channelFile("checkpoint");
+	}
+	
+	Path checkpointTempFile()
+	{
+		return this.channelFile("checkpoint_temp");
+	}
+	
+	Path channelFile(final String type)
+	{
+		return this.storageDirectory.resolve("channel_0").resolve("transactions_0." + type);
+	}
+	
+	void storeItems()
+	{
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			final List<Item> items = new ArrayList<>(ITEM_COUNT);
+			for(int i = 0; i < ITEM_COUNT; i++)
+			{
+				items.add(new Item(VALUE_BASE + i));
+			}
+			storage.setRoot(items);
+			storage.storeRoot();
+		}
+		Assertions.assertTrue(Files.exists(this.checkpointFile()));
+		Assertions.assertFalse(Files.exists(this.checkpointTempFile()));
+	}
+	
+	@SuppressWarnings("unchecked")
+	static void assertItems(final EmbeddedStorageManager storage, final int updateCount)
+	{
+		final List<Item> items = (List<Item>)storage.root();
+		Assertions.assertEquals(ITEM_COUNT, items.size());
+		for(int i = 0; i < ITEM_COUNT; i++)
+		{
+			Assertions.assertEquals(i < updateCount ? UPDATE_BASE + i : VALUE_BASE + i, items.get(i).value);
+		}
+	}
+	
+	long fullScanEntityCount()
+	{
+		try(final EmbeddedStorageManager storage = this.start(StorageCheckpointSetup.Disabled()))
+		{
+			return this.readEntityCount.get();
+		}
+	}
+	
+	@Test
+	void validCheckpoint()
+	{
+		this.storeItems();
+		Assertions.assertTrue(this.fullScanEntityCount() > ITEM_COUNT);
+		
+		// nothing has been written after the shutdown checkpoint
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			Assertions.assertEquals(0, this.readEntityCount.get());
+			assertItems(storage, 0);
+		}
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	void staleCheckpoint()
+	{
+		this.storeItems();
+		
+		// without checkpoints, the transactions log grows beyond the existing checkpoint
+		try(final EmbeddedStorageManager storage = this.start(StorageCheckpointSetup.Disabled()))
+		{
+			final List<Item> items = (List<Item>)storage.root();
+			for(int i = 0; i < UPDATE_COUNT; i++)
+			{
+				items.get(i).value = UPDATE_BASE + i;
+				storage.store(items.get(i));
+			}
+		}
+		
+		// only the data written after the checkpoint is read, and its newer versions take precedence
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			Assertions.assertEquals(UPDATE_COUNT, this.readEntityCount.get());
+			assertItems(storage, UPDATE_COUNT);
+		}
+		
+		// the checkpoint written on the last shutdown includes the updates
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			Assertions.assertEquals(0, this.readEntityCount.get());
+			assertItems(storage, UPDATE_COUNT);
+		}
+	}
+	
+	@Test
+	void corruptChecksum() throws IOException
+	{
+		this.storeItems();
+		final long fullScanEntityCount = this.fullScanEntityCount();
+		
+		// a flipped bit in the first entity record (its object id) does not match the checksum anymore
+		try(final RandomAccessFile file = new RandomAccessFile(this.checkpointFile().toFile(), "rw"))
+		{
+			final int firstByte = file.read();
+			file.seek(0);
+			file.write(firstByte ^ 1);
+		}
+		
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			Assertions.assertEquals(fullScanEntityCount, this.readEntityCount.get());
+			assertItems(storage, 0);
+		}
+	}
+	
+	@Test
+	void leftoverTempFile() throws IOException
+	{
+		this.storeItems();
+		final long fullScanEntityCount = this.fullScanEntityCount();
+		final byte[] checkpoint = Files.readAllBytes(this.checkpointFile());
+		
+		// a torn temporary file of an aborted checkpoint is ignored in favor of the previous checkpoint
+		Files.write(this.checkpointTempFile(), Arrays.copyOf(checkpoint, checkpoint.length / 2));
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			Assertions.assertEquals(0, this.readEntityCount.get());
+			assertItems(storage, 0);
+		}
+		
+		// a complete temporary file remains if the process died after deleting the previous checkpoint
+		Files.delete(this.checkpointFile());
+		Files.write(this.checkpointTempFile(), checkpoint);
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			Assertions.assertEquals(0, this.readEntityCount.get());
+			assertItems(storage, 0);
+		}
+		
+		// without any checkpoint, all data files are read
+		Files.delete(this.checkpointTempFile());
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			Assertions.assertEquals(fullScanEntityCount, this.readEntityCount.get());
+			assertItems(storage, 0);
+		}
+	}
+	
+}
@@ -0,0 +1,311 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.exceptions.StorageExceptionIoWriting;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageFileWriter;
+import one.microstream.storage.types.StorageGroupCommitSetup;
+import one.microstream.storage.types.StorageLiveDataFile;
+import one.microstream.storage.types.StorageRequestTaskStoreEntities;
+import one.microstream.storage.types.StorageTask;
+import one.microstream.storage.types.StorageTaskBroker;
+
+/**
+ * Stores from many threads at the same time with group commit and checks how the stores are merged into groups,
+ * when a group is sealed and that every store gets its own result or error.
+ */
+public class StorageGroupCommitTest
+{
+	static final int  THREAD_COUNT    = 16    ;
+	static final int  CHANNEL_COUNT   = 4     ;
+	static final long WINDOW_MS       = 1_000 ;
+	static final long LONG_WINDOW_MS  = 30_000;
+	static final long TIMEOUT_SECONDS = 60    ;
+	static final int  VALUE_BASE      = 1_000 ;
+	static final int  FAILED_BASE     = 2_000 ;
+	
+	@TempDir
+	Path storageDirectory;
+	
+	// the broker of the running storage, to follow the task chain
+	StorageTaskBroker taskBroker;
+	
+	// makes every store write fail while set
+	volatile boolean failStores;
+	
+	static final class Holder
+	{
+		// no references, since concurrent storers registering new objects can deadlock in the object manager
+		int value;
+	}
+	
+	static Stream<Arguments> lockFree()
+	{
+		return Stream.of(
+			Arguments.of("default"  , false),
+			Arguments.of("lock-free", true )
+		);
+	}
+	
+	static StorageGroupCommitSetup setup(final int maximumStoreCount, final long windowMs)
+	{
+		return StorageGroupCommitSetup.New(
+			maximumStoreCount,
+			StorageGroupCommitSetup.Defaults.defaultMaximumLength(),
+			TimeUnit.MILLISECONDS.toNanos(windowMs)
+		);
+	}
+	
+	EmbeddedStorageManager start(final boolean lockFree, final StorageGroupCommitSetup setup)
+	{
+		final EmbeddedStorageFoundation<?> foundation = EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(CHANNEL_COUNT))
+				.createConfiguration()
+		)
+		.setWriterProvider(() -> new StorageFileWriter()
+		{
+			@Override
+			public long writeStore(final StorageLiveDataFile targetFile, final Iterable<? extends ByteBuffer> buffers)
+			{
+				if(StorageGroupCommitTest.this.failStores)
+				{
+					throw new StorageExceptionIoWriting("Store failed on purpose.");
+				}
+				return this.write(targetFile, buffers);
+			}
+		});
+		
+		// the foundation property configures the default broker, the lock-free one is configured explicitly
+		final StorageTaskBroker.Creator creator = lockFree
+			? new StorageTaskBroker.Creator.LockFree(setup)
+			: foundation.setGroupCommitSetup(setup).getTaskBrokerCreator()
+		;
+		
+		return foundation
+			.setTaskBrokerCreator((storageSystem, taskCreator) ->
+				this.taskBroker = creator.createTaskBroker(storageSystem, taskCreator)
+			)
+			.start()
+		;
+	}
+	
+	static List<Holder> holders(final EmbeddedStorageManager storage)
+	{
+		final List<Holder> holders = new ArrayList<>(THREAD_COUNT);
+		for(int i = 0; i < THREAD_COUNT; i++)
+		{
+			holders.add(new Holder());
+		}
+		storage.setRoot(holders);
+		storage.storeRoot();
+		
+		return holders;
+	}
+	
+	static List<Future<?>> storeConcurrently(
+		final EmbeddedStorageManager storage,
+		final List<Holder>           holders,
+		final int                    base
+	)
+		throws Exception
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool(holders.size());
+		final CountDownLatch  start    = new CountDownLatch(1);
+		final List<Future<?>> futures  = new ArrayList<>(holders.size());
+		for(int i = 0; i < holders.size(); i++)
+		{
+			final Holder holder = holders.get(i);
+			final int    value  = base + i;
+			futures.add(executor.submit(() ->
+			{
+				// all threads start at once to have their stores grouped
+				start.await();
+				holder.value = value;
+				
+				// an own storer per thread, since storage.store(...) serializes the commits of all threads
+				final Storer storer = storage.createStorer();
+				storer.store(holder);
+				storer.commit();
+				return null;
+			}));
+		}
+		start.countDown();
+		executor.shutdown();
+		Assertions.assertTrue(
+			executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS),
+			"Threads did not complete in time."
+		);
+		
+		return futures;
+	}
+	
+	static List<StorageRequestTaskStoreEntities.Grouped> groups(final StorageTask first)
+	{
+		final List<StorageRequestTaskStoreEntities.Grouped> groups = new ArrayList<>();
+		for(StorageTask task = first.next(); task != null; task = task.next())
+		{
+			if(task instanceof StorageRequestTaskStoreEntities.Grouped)
+			{
+				groups.add((StorageRequestTaskStoreEntities.Grouped)task);
+			}
+		}
+		
+		return groups;
+	}
+	
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("lockFree")
+	void grouping(final String name, final boolean lockFree) throws Exception
+	{
+		try(final EmbeddedStorageManager storage = this.start(lockFree, setup(THREAD_COUNT, WINDOW_MS)))
+		{
+			final List<Holder> holders = holders(storage);
+			final StorageTask  first   = this.taskBroker.currentTask();
+			
+			for(final Future<?> future : storeConcurrently(storage, holders, VALUE_BASE))
+			{
+				future.get();
+			}
+			
+			// all stores arrived within the collecting window, so they have been written as one group
+			final List<StorageRequestTaskStoreEntities.Grouped> groups = groups(first);
+			Assertions.assertEquals(1, groups.size());
+			Assertions.assertEquals(THREAD_COUNT, groups.get(0).storeCount());
+		}
+		
+		try(final EmbeddedStorageManager storage = this.start(lockFree, setup(THREAD_COUNT, WINDOW_MS)))
+		{
+			@SuppressWarnings("unchecked")
+			final List<Holder> holders = (List<Holder>)storage.root();
+			for(int i = 0; i < THREAD_COUNT; i++)
+			{
+				Assertions.assertEquals(VALUE_BASE + i, holders.get(i).value);
+			}
+		}
+	}
+	
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("lockFree")
+	void sealing(final String name, final boolean lockFree) throws Exception
+	{
+		final int maximumStoreCount = THREAD_COUNT / 4;
+		
+		try(final EmbeddedStorageManager storage = this.start(lockFree, setup(maximumStoreCount, 0)))
+		{
+			final List<Holder> holders = holders(storage);
+			final StorageTask  first   = this.taskBroker.currentTask();
+			
+			// without a collecting window, a group that has been processed is sealed for subsequent stores
+			for(final Holder holder : holders.subList(0, 2))
+			{
+				holder.value = -1;
+				storage.store(holder);
+			}
+			
+			final List<StorageRequestTaskStoreEntities.Grouped> groups = groups(first);
+			Assertions.assertEquals(2, groups.size());
+			for(final StorageRequestTaskStoreEntities.Grouped group : groups)
+			{
+				Assertions.assertEquals(1, group.storeCount());
+			}
+		}
+		
+		try(final EmbeddedStorageManager storage = this.start(lockFree, setup(maximumStoreCount, LONG_WINDOW_MS)))
+		{
+			@SuppressWarnings("unchecked")
+			final List<Holder> holders = (List<Holder>)storage.root();
+			final StorageTask  first   = this.taskBroker.currentTask();
+			
+			// full groups are sealed and released without waiting for the collecting window
+			final long startMs = System.currentTimeMillis();
+			for(final Future<?> future : storeConcurrently(storage, holders, VALUE_BASE))
+			{
+				future.get();
+			}
+			Assertions.assertTrue(System.currentTimeMillis() - startMs < LONG_WINDOW_MS, "Full group was held back.");
+			
+			final List<StorageRequestTaskStoreEntities.Grouped> groups = groups(first);
+			Assertions.assertEquals(THREAD_COUNT / maximumStoreCount, groups.size());
+			for(final StorageRequestTaskStoreEntities.Grouped group : groups)
+			{
+				Assertions.assertEquals(maximumStoreCount, group.storeCount());
+			}
+		}
+	}
+	
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("lockFree")
+	void failingGroup(final String name, final boolean lockFree) throws Exception
+	{
+		try(final EmbeddedStorageManager storage = this.start(lockFree, setup(THREAD_COUNT, WINDOW_MS)))
+		{
+			final List<Holder> holders = holders(storage);
+			
+			// the stores of a group fail together, but every caller gets the error for its own store
+			this.failStores = true;
+			for(final Future<?> future : storeConcurrently(storage, holders, FAILED_BASE))
+			{
+				final Throwable cause = Assertions.assertThrows(Exception.class, future::get).getCause();
+				Assertions.assertNotNull(cause);
+			}
+			
+			// the failed group has been rolled back, later groups are not affected
+			this.failStores = false;
+			for(final Future<?> future : storeConcurrently(storage, holders, VALUE_BASE))
+			{
+				future.get();
+			}
+		}
+		
+		try(final EmbeddedStorageManager storage = this.start(lockFree, setup(THREAD_COUNT, WINDOW_MS)))
+		{
+			@SuppressWarnings("unchecked")
+			final List<Holder> holders = (List<Holder>)storage.root();
+			for(int i = 0; i < THREAD_COUNT; i++)
+			{
+				Assertions.assertEquals(VALUE_BASE + i, holders.get(i).value);
+			}
+		}
+	}
+	
+}
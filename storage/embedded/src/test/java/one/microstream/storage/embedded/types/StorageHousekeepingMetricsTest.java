@@ -0,0 +1,142 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageHousekeepingControllerAdaptive;
+import one.microstream.storage.types.StorageMetrics;
+import one.microstream.storage.types.StorageMetricsMXBean;
+
+/**
+ * Checks that the time budgets of the housekeeping controller and, for an adaptive controller, the observations
+ * of the channels are published via the storage's metrics and their MXBean.
+ */
+public class StorageHousekeepingMetricsTest
+{
+	static final long INTERVAL_MS       = 10              ;
+	static final long MINIMUM_BUDGET_NS = 1_000_000       ;
+	static final long MAXIMUM_BUDGET_NS = 5_000_000       ;
+	static final int  ITEM_COUNT        = 1_000           ;
+	static final long OBSERVATION_MS    = 20 * INTERVAL_MS;
+	
+	@TempDir
+	Path storageDirectory;
+	
+	EmbeddedStorageManager start(final StorageHousekeepingController housekeepingController)
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(1))
+				.setHousekeepingController(housekeepingController)
+				.createConfiguration()
+			)
+			.start()
+		;
+	}
+	
+	@Test
+	void fixedBudgets()
+	{
+		final StorageHousekeepingController controller = Storage.HousekeepingController(INTERVAL_MS, MINIMUM_BUDGET_NS);
+		Assertions.assertFalse(controller.isAdaptive());
+		
+		try(final EmbeddedStorageManager storage = this.start(controller))
+		{
+			final StorageMetrics.Snapshot snapshot = storage.metrics().snapshot();
+			Assertions.assertEquals(INTERVAL_MS     , snapshot.housekeepingIntervalMs());
+			Assertions.assertEquals(MINIMUM_BUDGET_NS, snapshot.housekeepingTimeBudgetNs());
+			Assertions.assertEquals(MINIMUM_BUDGET_NS, snapshot.garbageCollectionTimeBudgetNs());
+			Assertions.assertEquals(MINIMUM_BUDGET_NS, snapshot.liveCheckTimeBudgetNs());
+			Assertions.assertEquals(MINIMUM_BUDGET_NS, snapshot.fileCheckTimeBudgetNs());
+			
+			// a controller which does not adapt does not get any observations
+			Assertions.assertEquals(0.0, snapshot.busyRatio());
+			Assertions.assertEquals(0  , snapshot.pendingTaskCount());
+			
+			final StorageMetricsMXBean mxBean = new StorageMetricsMXBean.Default(storage.metrics());
+			Assertions.assertEquals(INTERVAL_MS     , mxBean.getHousekeepingIntervalMs());
+			Assertions.assertEquals(MINIMUM_BUDGET_NS, mxBean.getHousekeepingTimeBudgetNs());
+			Assertions.assertEquals(MINIMUM_BUDGET_NS, mxBean.getFileCheckTimeBudgetNs());
+		}
+	}
+	
+	@Test
+	void adaptiveBudgets() throws InterruptedException
+	{
+		final StorageHousekeepingControllerAdaptive controller = Storage.HousekeepingControllerAdaptive(
+			INTERVAL_MS      ,
+			MINIMUM_BUDGET_NS,
+			MAXIMUM_BUDGET_NS
+		);
+		Assertions.assertTrue(controller.isAdaptive());
+		
+		final StorageMetrics metrics;
+		try(final EmbeddedStorageManager storage = this.start(controller))
+		{
+			final List<Object> items = new ArrayList<>();
+			for(int i = 0; i < ITEM_COUNT; i++)
+			{
+				items.add(new Object[]{i});
+			}
+			storage.setRoot(items);
+			storage.storeRoot();
+			
+			// most of the entities become garbage
+			items.clear();
+			storage.storeRoot();
+			storage.issueFullGarbageCollection();
+			
+			// the channel observes its state once per housekeeping interval
+			Thread.sleep(OBSERVATION_MS);
+			metrics = storage.metrics();
+		}
+		
+		// after the shutdown, the published values are the last decisions of the controller and their inputs
+		final StorageMetrics.Snapshot snapshot = metrics.snapshot();
+		Assertions.assertEquals(INTERVAL_MS                               , snapshot.housekeepingIntervalMs());
+		Assertions.assertEquals(controller.housekeepingTimeBudgetNs()     , snapshot.housekeepingTimeBudgetNs());
+		Assertions.assertEquals(controller.garbageCollectionTimeBudgetNs(), snapshot.garbageCollectionTimeBudgetNs());
+		Assertions.assertEquals(controller.liveCheckTimeBudgetNs()        , snapshot.liveCheckTimeBudgetNs());
+		Assertions.assertEquals(controller.fileCheckTimeBudgetNs()        , snapshot.fileCheckTimeBudgetNs());
+		Assertions.assertEquals(controller.observedPendingTaskCount()     , snapshot.pendingTaskCount());
+		Assertions.assertEquals(controller.observedGarbageRatio()         , snapshot.garbageRatio());
+		Assertions.assertEquals(controller.observedFileFragmentation()    , snapshot.fileFragmentation());
+		Assertions.assertTrue(snapshot.busyRatio() >= 0.0 && snapshot.busyRatio() <= 1.0);
+		Assertions.assertTrue(snapshot.housekeepingTimeBudgetNs() >= MINIMUM_BUDGET_NS);
+		Assertions.assertTrue(snapshot.housekeepingTimeBudgetNs() <= MAXIMUM_BUDGET_NS);
+		
+		final StorageMetricsMXBean mxBean = new StorageMetricsMXBean.Default(metrics);
+		Assertions.assertEquals(controller.garbageCollectionTimeBudgetNs(), mxBean.getGarbageCollectionTimeBudgetNs());
+		Assertions.assertEquals(controller.observedFileFragmentation()   , mxBean.getFileFragmentation());
+	}
+	
+}
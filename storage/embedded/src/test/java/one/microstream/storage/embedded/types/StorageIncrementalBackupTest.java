@@ -0,0 +1,250 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.afs.types.ADirectory;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageBackupManifest;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageIncrementalBackup;
+import one.microstream.storage.types.StorageIoThrottle;
+
+/**
+ * Takes incremental backups of a storage and checks which files of the previous snapshot are reused and how many
+ * bytes are accounted to the I/O throttle for it.
+ */
+public class StorageIncrementalBackupTest
+{
+	static final int ITEM_COUNT  = 200      ;
+	static final int ITEM_LENGTH = 1_024    ;
+	static final int COMPARISON  = StorageIncrementalBackup.Defaults.defaultComparisonLength();
+	
+	static final String DATA_FILE         = "channel_0/channel_0_1.dat"   ;
+	static final String TRANSACTIONS_FILE = "channel_0/transactions_0.sft";
+	
+	@TempDir
+	Path storageDirectory;
+	
+	@TempDir
+	Path backupDirectory;
+	
+	final NioFileSystem fileSystem = NioFileSystem.New();
+	
+	// bytes accounted by the backup's copier threads, the housekeeping accounts its own I/O as well.
+	final AtomicLong backupBytes = new AtomicLong();
+	
+	EmbeddedStorageManager start()
+	{
+		final StorageIoThrottle throttle = StorageIoThrottle.New();
+		
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(1))
+				.setIoThrottle(new StorageIoThrottle()
+				{
+					@Override
+					public boolean isAvailable()
+					{
+						return throttle.isAvailable();
+					}
+					
+					@Override
+					public void consume(final long byteCount)
+					{
+						StorageIncrementalBackupTest.this.count(byteCount);
+						throttle.consume(byteCount);
+					}
+					
+					@Override
+					public void acquire(final long byteCount)
+					{
+						StorageIncrementalBackupTest.this.count(byteCount);
+						throttle.acquire(byteCount);
+					}
+					
+					@Override
+					public long bytesPerSecond()
+					{
+						return throttle.bytesPerSecond();
+					}
+					
+					@Override
+					public long operationsPerSecond()
+					{
+						return throttle.operationsPerSecond();
+					}
+					
+					@Override
+					public StorageIoThrottle setBytesPerSecond(final long bytesPerSecond)
+					{
+						return throttle.setBytesPerSecond(bytesPerSecond);
+					}
+					
+					@Override
+					public StorageIoThrottle setOperationsPerSecond(final long operationsPerSecond)
+					{
+						return throttle.setOperationsPerSecond(operationsPerSecond);
+					}
+				})
+				.createConfiguration()
+			)
+			.start()
+		;
+	}
+	
+	void count(final long byteCount)
+	{
+		if(Thread.currentThread().getName().contains(StorageIncrementalBackup.class.getSimpleName()))
+		{
+			this.backupBytes.addAndGet(byteCount);
+		}
+	}
+	
+	ADirectory snapshot(final int number)
+	{
+		return this.fileSystem.ensureDirectory(this.backupDirectory.resolve("snapshot" + number));
+	}
+	
+	Path snapshotFile(final int number, final String path)
+	{
+		return this.backupDirectory.resolve("snapshot" + number).resolve(path);
+	}
+	
+	StorageBackupManifest backup(final EmbeddedStorageManager storage, final int number)
+	{
+		this.backupBytes.set(0);
+		final StorageBackupManifest manifest = storage.issueIncrementalBackup(
+			this.snapshot(number),
+			number == 1 ? null : this.snapshot(number - 1)
+		);
+		StorageIncrementalBackup.verify(this.snapshot(number));
+		
+		return manifest;
+	}
+	
+	static long length(final StorageBackupManifest manifest, final String path)
+	{
+		return manifest.lookup(path).length();
+	}
+	
+	void assertSameContent(final String path, final int number) throws IOException
+	{
+		Assertions.assertArrayEquals(
+			Files.readAllBytes(this.storageDirectory.resolve(path)),
+			Files.readAllBytes(this.snapshotFile(number, path))
+		);
+	}
+	
+	static void addItems(final EmbeddedStorageManager storage, final List<byte[]> items)
+	{
+		for(int i = 0; i < ITEM_COUNT; i++)
+		{
+			final byte[] item = new byte[ITEM_LENGTH];
+			item[0] = (byte)items.size();
+			items.add(item);
+		}
+		storage.storeRoot();
+	}
+	
+	@Test
+	void reuseSnapshotFiles() throws IOException
+	{
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			final List<byte[]> items = new ArrayList<>();
+			storage.setRoot(items);
+			addItems(storage, items);
+			
+			// first snapshot: every file is copied once
+			final StorageBackupManifest first = this.backup(storage, 1);
+			Assertions.assertTrue(length(first, DATA_FILE) > COMPARISON);
+			Assertions.assertEquals(
+				length(first, DATA_FILE) + length(first, TRANSACTIONS_FILE),
+				this.backupBytes.get()
+			);
+			
+			// unchanged data file: hard-linked, only its last bytes are compared to the live file
+			final StorageBackupManifest second = this.backup(storage, 2);
+			Assertions.assertTrue(Files.isSameFile(this.snapshotFile(1, DATA_FILE), this.snapshotFile(2, DATA_FILE)));
+			Assertions.assertEquals(
+				2L * COMPARISON + length(second, TRANSACTIONS_FILE),
+				this.backupBytes.get()
+			);
+			
+			// grown data file: the old part is copied from the previous snapshot, the new one from the live file
+			addItems(storage, items);
+			final StorageBackupManifest third = this.backup(storage, 3);
+			Assertions.assertFalse(Files.isSameFile(this.snapshotFile(2, DATA_FILE), this.snapshotFile(3, DATA_FILE)));
+			Assertions.assertTrue(length(third, DATA_FILE) > length(second, DATA_FILE));
+			this.assertSameContent(DATA_FILE, 3);
+			Assertions.assertEquals(
+				2L * COMPARISON + length(third, DATA_FILE) + length(third, TRANSACTIONS_FILE),
+				this.backupBytes.get()
+			);
+		}
+	}
+	
+	@Test
+	void rejectChangedSnapshotFile() throws IOException
+	{
+		try(final EmbeddedStorageManager storage = this.start())
+		{
+			final List<byte[]> items = new ArrayList<>();
+			storage.setRoot(items);
+			addItems(storage, items);
+			final StorageBackupManifest first = this.backup(storage, 1);
+			
+			// a difference within the compared last bytes, e.g. after the live storage has been replaced
+			final long position = length(first, DATA_FILE) - COMPARISON + 1;
+			try(final RandomAccessFile file = new RandomAccessFile(this.snapshotFile(1, DATA_FILE).toFile(), "rw"))
+			{
+				file.seek(position);
+				final int value = file.read();
+				file.seek(position);
+				file.write(value ^ 1);
+			}
+			
+			// the file is copied completely from the live storage instead of being reused
+			final StorageBackupManifest second = this.backup(storage, 2);
+			Assertions.assertFalse(Files.isSameFile(this.snapshotFile(1, DATA_FILE), this.snapshotFile(2, DATA_FILE)));
+			this.assertSameContent(DATA_FILE, 2);
+			Assertions.assertEquals(
+				2L * COMPARISON + length(second, DATA_FILE) + length(second, TRANSACTIONS_FILE),
+				this.backupBytes.get()
+			);
+		}
+	}
+	
+}
@@ -0,0 +1,150 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import one.microstream.storage.types.StorageIoThrottle;
+
+/**
+ * Checks the token buckets of the default {@link StorageIoThrottle}: the initial burst, the refill, the capped
+ * debt of large operations and the pacing of chunked acquisitions.
+ */
+public class StorageIoThrottleTest
+{
+	static final long BYTES_PER_SECOND      = 100_000;
+	static final long OPERATIONS_PER_SECOND = 10     ;
+	static final long CHUNK_SIZE            = 10_000 ;
+	
+	static long elapsedMs(final Runnable action)
+	{
+		final long start = System.nanoTime();
+		action.run();
+		
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+	
+	@Test
+	void unlimited()
+	{
+		final StorageIoThrottle throttle = StorageIoThrottle.New();
+		throttle.consume(Long.MAX_VALUE / 2);
+		Assertions.assertTrue(throttle.isAvailable());
+		Assertions.assertTrue(elapsedMs(() -> throttle.acquire(Long.MAX_VALUE / 2)) < 100);
+	}
+	
+	@Test
+	void burstAndRefill() throws InterruptedException
+	{
+		// one second's worth of capacity is available right away
+		final StorageIoThrottle throttle = StorageIoThrottle.New(BYTES_PER_SECOND, 0);
+		throttle.consume(BYTES_PER_SECOND - 1);
+		Assertions.assertTrue(throttle.isAvailable());
+		
+		// an operation may exceed the remaining capacity, the excess is paid off first
+		throttle.consume(CHUNK_SIZE);
+		Assertions.assertFalse(throttle.isAvailable());
+		
+		// the used capacity is refilled over time
+		Thread.sleep(200);
+		Assertions.assertTrue(throttle.isAvailable());
+	}
+	
+	@Test
+	void operations()
+	{
+		final StorageIoThrottle throttle = StorageIoThrottle.New(0, OPERATIONS_PER_SECOND);
+		for(int i = 0; i < OPERATIONS_PER_SECOND; i++)
+		{
+			Assertions.assertTrue(throttle.isAvailable());
+			throttle.consume(Long.MAX_VALUE / 2);
+		}
+		throttle.consume(1);
+		Assertions.assertFalse(throttle.isAvailable());
+	}
+	
+	@Test
+	void cappedDebt()
+	{
+		// a huge operation accounted after the fact is paid off within about one second, not a thousand
+		final StorageIoThrottle throttle = StorageIoThrottle.New(BYTES_PER_SECOND, 0);
+		throttle.consume(BYTES_PER_SECOND);
+		throttle.consume(1_000 * BYTES_PER_SECOND);
+		Assertions.assertFalse(throttle.isAvailable());
+		
+		final long elapsedMs = elapsedMs(() -> throttle.acquire(1));
+		Assertions.assertTrue(elapsedMs >=   800, "Debt was not paid off: " + elapsedMs + " ms");
+		Assertions.assertTrue(elapsedMs <= 2_000, "Debt was not capped: " + elapsedMs + " ms");
+	}
+	
+	@Test
+	void chunkedAcquisition()
+	{
+		// three seconds' worth in chunks, the first second's worth is the initial burst
+		final StorageIoThrottle throttle = StorageIoThrottle.New(BYTES_PER_SECOND, 0);
+		final long elapsedMs = elapsedMs(() ->
+		{
+			for(long byteCount = 0; byteCount < 3 * BYTES_PER_SECOND; byteCount += CHUNK_SIZE)
+			{
+				throttle.acquire(CHUNK_SIZE);
+			}
+		});
+		Assertions.assertTrue(elapsedMs >= 1_500, "Limit was exceeded: " + elapsedMs + " ms");
+		Assertions.assertTrue(elapsedMs <= 4_000, "Acquisition was too slow: " + elapsedMs + " ms");
+	}
+	
+	@Test
+	void interruptedAcquisition()
+	{
+		// an interruption ends the waiting, but the thread keeps its interrupted flag
+		final StorageIoThrottle throttle = StorageIoThrottle.New(BYTES_PER_SECOND, 0);
+		throttle.consume(2 * BYTES_PER_SECOND);
+		Thread.currentThread().interrupt();
+		try
+		{
+			Assertions.assertTrue(elapsedMs(() -> throttle.acquire(CHUNK_SIZE)) < 500);
+			Assertions.assertTrue(Thread.currentThread().isInterrupted());
+		}
+		finally
+		{
+			Thread.interrupted();
+		}
+	}
+	
+	@Test
+	void changedLimits()
+	{
+		final StorageIoThrottle throttle = StorageIoThrottle.New(BYTES_PER_SECOND, 0);
+		throttle.consume(2 * BYTES_PER_SECOND);
+		Assertions.assertFalse(throttle.isAvailable());
+		
+		// removing the limit makes the throttle available right away, setting it again starts with a full bucket
+		throttle.setBytesPerSecond(0);
+		Assertions.assertTrue(throttle.isAvailable());
+		throttle.setBytesPerSecond(BYTES_PER_SECOND);
+		Assertions.assertTrue(throttle.isAvailable());
+		Assertions.assertEquals(BYTES_PER_SECOND, throttle.bytesPerSecond());
+	}
+	
+}
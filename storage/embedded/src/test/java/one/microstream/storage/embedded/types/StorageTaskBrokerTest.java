@@ -0,0 +1,212 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageTask;
+import one.microstream.storage.types.StorageTaskBroker;
+import one.microstream.storage.types.StorageTimestampProvider;
+
+/**
+ * Enqueues tasks from many threads at the same time and checks that the task chain contains every task exactly
+ * once, ordered by strictly increasing timestamps.
+ */
+public class StorageTaskBrokerTest
+{
+	static final int  THREAD_COUNT    = 16 ;
+	static final int  TASK_COUNT      = 200;
+	static final int  CHANNEL_COUNT   = 4  ;
+	static final long TIMEOUT_SECONDS = 60 ;
+	
+	@TempDir
+	Path storageDirectory;
+	
+	static Stream<Arguments> taskBrokerCreators()
+	{
+		return Stream.of(
+			Arguments.of("default"  , new StorageTaskBroker.Creator.Default() ),
+			Arguments.of("lock-free", new StorageTaskBroker.Creator.LockFree())
+		);
+	}
+	
+	EmbeddedStorageFoundation<?> foundation()
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(CHANNEL_COUNT))
+				.createConfiguration()
+		);
+	}
+	
+	static <T> List<T> runConcurrently(final Task<T> task) throws Exception
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+		final CountDownLatch  start    = new CountDownLatch(1);
+		final List<Future<T>> futures  = new ArrayList<>(THREAD_COUNT);
+		for(int i = 0; i < THREAD_COUNT; i++)
+		{
+			futures.add(executor.submit(() ->
+			{
+				// all threads start at once to maximize the contention
+				start.await();
+				return task.run();
+			}));
+		}
+		start.countDown();
+		executor.shutdown();
+		Assertions.assertTrue(
+			executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS),
+			"Threads did not complete in time."
+		);
+		
+		final List<T> results = new ArrayList<>(THREAD_COUNT);
+		for(final Future<T> future : futures)
+		{
+			results.add(future.get());
+		}
+		return results;
+	}
+	
+	@FunctionalInterface
+	interface Task<T>
+	{
+		public T run() throws Exception;
+	}
+	
+	@Test
+	void concurrentTimestamps() throws Exception
+	{
+		final StorageTimestampProvider timestampProvider = new StorageTimestampProvider.Default();
+		
+		final List<long[]> timestamps = runConcurrently(() ->
+		{
+			final long[] threadTimestamps = new long[TASK_COUNT * 10];
+			for(int i = 0; i < threadTimestamps.length; i++)
+			{
+				threadTimestamps[i] = timestampProvider.currentNanoTimestamp();
+			}
+			return threadTimestamps;
+		});
+		
+		final Set<Long> distinctTimestamps = new HashSet<>();
+		for(final long[] threadTimestamps : timestamps)
+		{
+			for(int i = 0; i < threadTimestamps.length; i++)
+			{
+				if(i > 0)
+				{
+					Assertions.assertTrue(threadTimestamps[i] > threadTimestamps[i - 1], "Timestamps not increasing.");
+				}
+				Assertions.assertTrue(distinctTimestamps.add(threadTimestamps[i]), "Duplicate timestamp.");
+			}
+		}
+	}
+	
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("taskBrokerCreators")
+	void concurrentEnqueueing(final String name, final StorageTaskBroker.Creator taskBrokerCreator)
+		throws Exception
+	{
+		final StorageTaskBroker[] taskBroker = new StorageTaskBroker[1];
+		
+		final EmbeddedStorageManager storage = this.foundation()
+			.setTaskBrokerCreator((storageSystem, taskCreator) ->
+				taskBroker[0] = taskBrokerCreator.createTaskBroker(storageSystem, taskCreator)
+			)
+			.start()
+		;
+		try
+		{
+			// the chain is followed from here on, which keeps all later tasks reachable
+			final StorageTask first = taskBroker[0].currentTask();
+			
+			final List<List<StorageTask>> enqueuedTasks = runConcurrently(() ->
+			{
+				final List<StorageTask> threadTasks = new ArrayList<>(TASK_COUNT);
+				for(int i = 0; i < TASK_COUNT; i++)
+				{
+					threadTasks.add(i % 2 == 0
+						? taskBroker[0].enqueueRootsLoadTask()
+						: taskBroker[0].enqueueCreateRawFileStatisticsTask()
+					);
+				}
+				for(final StorageTask task : threadTasks)
+				{
+					task.waitOnCompletion();
+					Assertions.assertFalse(task.hasProblems());
+				}
+				return threadTasks;
+			});
+			
+			final Map<StorageTask, Integer> chainPositions = new IdentityHashMap<>();
+			long lastTimestamp = first.timestamp();
+			for(StorageTask task = first.next(); task != null; task = task.next())
+			{
+				Assertions.assertTrue(task.timestamp() > lastTimestamp, "Task chain not ordered by timestamp.");
+				lastTimestamp = task.timestamp();
+				Assertions.assertNull(chainPositions.put(task, chainPositions.size()), "Task linked twice.");
+			}
+			
+			Assertions.assertEquals(THREAD_COUNT * TASK_COUNT, chainPositions.size());
+			for(final List<StorageTask> threadTasks : enqueuedTasks)
+			{
+				// every thread's tasks are contained in the order they were enqueued
+				final List<Integer> positions = new ArrayList<>(threadTasks.size());
+				for(final StorageTask task : threadTasks)
+				{
+					positions.add(Assertions.assertInstanceOf(Integer.class, chainPositions.get(task)));
+				}
+				final List<Integer> sortedPositions = new ArrayList<>(positions);
+				Collections.sort(sortedPositions);
+				Assertions.assertEquals(sortedPositions, positions);
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+}
@@ -0,0 +1,199 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageCheckpointSetup;
+
+/**
+ * Stores many small updates with and without rolling the transactions file over to new segments, while a
+ * continuous backup copies them, and restarts both the storage and its backup afterwards.
+ */
+public class StorageTransactionsFileRollTest
+{
+	static final long MAXIMUM_SIZE    = 4 * 1024;
+	static final int  ITEM_COUNT      = 10      ;
+	static final int  STORE_COUNT     = 400     ;
+	static final int  VALUE_BASE      = 1_000   ;
+	static final long TIMEOUT_MS      = 10_000  ;
+	static final long HOUSEKEEPING_MS = 10      ;
+	
+	@TempDir
+	Path storageDirectory;
+	
+	@TempDir
+	Path backupDirectory;
+	
+	static final class Item
+	{
+		int value;
+	}
+	
+	static Stream<Arguments> rolling()
+	{
+		return Stream.of(
+			Arguments.of("disabled", 0L          ),
+			Arguments.of("enabled" , MAXIMUM_SIZE)
+		);
+	}
+	
+	static EmbeddedStorageManager start(final Path directory, final Path backupDirectory, final long maximumSize)
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(directory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(1))
+				.setHousekeepingController(Storage.HousekeepingController(HOUSEKEEPING_MS, 10_000_000))
+				.setBackupSetup(backupDirectory == null ? null : Storage.BackupSetup(backupDirectory))
+				.createConfiguration()
+			)
+			.setCheckpointSetup(StorageCheckpointSetup.New(0, maximumSize))
+			.start()
+		;
+	}
+	
+	static Path transactionsFile(final Path directory)
+	{
+		return directory.resolve("channel_0").resolve("transactions_0.sft");
+	}
+	
+	static Path segmentFile(final Path directory)
+	{
+		return directory.resolve("channel_0").resolve("transactions_0.segment");
+	}
+	
+	@SuppressWarnings("unchecked")
+	static void assertItems(final EmbeddedStorageManager storage, final int storeCount)
+	{
+		final List<Item> items = (List<Item>)storage.root();
+		Assertions.assertEquals(ITEM_COUNT, items.size());
+		for(int i = 0; i < ITEM_COUNT; i++)
+		{
+			// the last value stored for each item
+			final int lastStore = storeCount - 1 - (storeCount - 1 - i) % ITEM_COUNT;
+			Assertions.assertEquals(VALUE_BASE + lastStore, items.get(i).value);
+		}
+	}
+	
+	// updates the items one by one, every store appends a store entry to the transactions file
+	@SuppressWarnings("unchecked")
+	static long storeUpdates(final EmbeddedStorageManager storage, final Path directory, final int storeCount)
+		throws IOException
+	{
+		final List<Item> items = (List<Item>)storage.root();
+		long maximumLength = 0;
+		for(int i = 0; i < storeCount; i++)
+		{
+			final Item item = items.get(i % ITEM_COUNT);
+			item.value = VALUE_BASE + i;
+			storage.store(item);
+			maximumLength = Math.max(maximumLength, Files.size(transactionsFile(directory)));
+		}
+		
+		return maximumLength;
+	}
+	
+	static void awaitRoll(final Path directory) throws IOException, InterruptedException
+	{
+		final long timeoutBound = System.currentTimeMillis() + TIMEOUT_MS;
+		while(Files.size(transactionsFile(directory)) > MAXIMUM_SIZE)
+		{
+			Assertions.assertTrue(System.currentTimeMillis() < timeoutBound, "Transactions file was not rolled.");
+			Thread.sleep(HOUSEKEEPING_MS);
+		}
+	}
+	
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("rolling")
+	void restart(final String name, final long maximumSize) throws Exception
+	{
+		final long maximumLength;
+		try(final EmbeddedStorageManager storage = start(this.storageDirectory, this.backupDirectory, maximumSize))
+		{
+			final List<Item> items = new ArrayList<>(ITEM_COUNT);
+			for(int i = 0; i < ITEM_COUNT; i++)
+			{
+				items.add(new Item());
+			}
+			storage.setRoot(items);
+			storage.storeRoot();
+			
+			maximumLength = storeUpdates(storage, this.storageDirectory, STORE_COUNT);
+			Assertions.assertTrue(maximumLength > MAXIMUM_SIZE);
+			
+			if(maximumSize == 0)
+			{
+				// the transactions file only grows
+				Thread.sleep(20 * HOUSEKEEPING_MS);
+				Assertions.assertTrue(Files.size(transactionsFile(this.storageDirectory)) >= maximumLength);
+			}
+			else
+			{
+				// the housekeeping rolls the transactions file over, the previous segment is removed
+				awaitRoll(this.storageDirectory);
+			}
+			Assertions.assertFalse(Files.exists(segmentFile(this.storageDirectory)));
+		}
+		
+		// the continuous backup follows the rolls
+		Assertions.assertEquals(
+			Files.size(transactionsFile(this.storageDirectory)),
+			Files.size(transactionsFile(this.backupDirectory))
+		);
+		
+		// the restarted storage continues with the rolled transactions file
+		try(final EmbeddedStorageManager storage = start(this.storageDirectory, this.backupDirectory, maximumSize))
+		{
+			assertItems(storage, STORE_COUNT);
+			storeUpdates(storage, this.storageDirectory, STORE_COUNT + ITEM_COUNT);
+			if(maximumSize != 0)
+			{
+				awaitRoll(this.storageDirectory);
+			}
+		}
+		
+		try(final EmbeddedStorageManager storage = start(this.storageDirectory, null, maximumSize))
+		{
+			assertItems(storage, STORE_COUNT + ITEM_COUNT);
+		}
+		
+		// the backup is a complete storage on its own
+		try(final EmbeddedStorageManager storage = start(this.backupDirectory, null, maximumSize))
+		{
+			assertItems(storage, STORE_COUNT + ITEM_COUNT);
+		}
+	}
+	
+}
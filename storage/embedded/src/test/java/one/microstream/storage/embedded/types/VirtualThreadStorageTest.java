@@ -0,0 +1,326 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceManager;
+import one.microstream.reference.Lazy;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageGroupCommitSetup;
+import one.microstream.storage.types.StorageTaskBroker;
+
+/**
+ * Runs the storage under thousands of concurrent virtual threads.
+ * <p>
+ * Storing, loading and lazy loading wait for the storage's channel threads. None of these waits may pin the
+ * virtual thread to its carrier thread. This is verified by recording the {@value #PINNED_EVENT} flight recorder
+ * events and asserting that none of them occurred in the storage's or the persistence layer's code. Additionally,
+ * the few carrier threads (see the surefire configuration) make pinning show up as a stall.
+ * <p>
+ * Virtual threads are created reflectively since they require JDK 21. On older JDKs, the same tests run on a pool
+ * of platform threads, which still covers the concurrency, but not the pinning.
+ */
+public class VirtualThreadStorageTest
+{
+	static final int    THREAD_COUNT          = 5_000                    ;
+	static final int    PLATFORM_THREAD_COUNT = 64                       ;
+	static final int    CHANNEL_COUNT         = 4                        ;
+	static final long   TIMEOUT_SECONDS       = 60                       ;
+	static final String PINNED_EVENT          = "jdk.VirtualThreadPinned";
+	
+	@TempDir
+	Path storageDirectory;
+	
+	static final class Item
+	{
+		final int    thread;
+		final int    number;
+		final String label ;
+		
+		Item(final int thread, final int number)
+		{
+			super();
+			this.thread = thread;
+			this.number = number;
+			this.label  = thread + "-" + number;
+		}
+	}
+	
+	@FunctionalInterface
+	interface ThreadTask
+	{
+		public void run(int thread) throws Exception;
+	}
+	
+	static boolean supportsVirtualThreads()
+	{
+		try
+		{
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		}
+		catch(final NoSuchMethodException e)
+		{
+			return false;
+		}
+	}
+	
+	static ExecutorService newExecutor(final boolean virtualThreads) throws ReflectiveOperationException
+	{
+		return virtualThreads
+			? (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+			: Executors.newFixedThreadPool(PLATFORM_THREAD_COUNT)
+		;
+	}
+	
+	static Stream<Arguments> taskBrokerCreators()
+	{
+		return Stream.of(
+			Arguments.of("default"          , new StorageTaskBroker.Creator.Default()                                ),
+			Arguments.of("default grouped"  , new StorageTaskBroker.Creator.Default(StorageGroupCommitSetup.New())  ),
+			Arguments.of("lock-free"        , new StorageTaskBroker.Creator.LockFree()                               ),
+			Arguments.of("lock-free grouped", new StorageTaskBroker.Creator.LockFree(StorageGroupCommitSetup.New()))
+		);
+	}
+	
+	EmbeddedStorageFoundation<?> foundation()
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.storageDirectory))
+				.setChannelCountProvider(StorageChannelCountProvider.New(CHANNEL_COUNT))
+				.createConfiguration()
+		);
+	}
+	
+	/**
+	 * Runs the task on {@link #THREAD_COUNT} threads and fails if any of them pinned its carrier thread
+	 * in the storage's or the persistence layer's code.
+	 */
+	static void runConcurrently(final ThreadTask task) throws Exception
+	{
+		final boolean virtualThreads = supportsVirtualThreads();
+		
+		try(final Recording recording = new Recording())
+		{
+			// every pinning counts, not only long ones
+			recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+			
+			final ExecutorService executor = newExecutor(virtualThreads);
+			final List<Future<?>> futures  = new ArrayList<>(THREAD_COUNT);
+			for(int i = 0; i < THREAD_COUNT; i++)
+			{
+				final int thread = i;
+				futures.add(executor.submit(() ->
+				{
+					task.run(thread);
+					return null;
+				}));
+			}
+			executor.shutdown();
+			Assertions.assertTrue(
+				executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS),
+				"Threads did not complete in time, probably stalled."
+			);
+			for(final Future<?> future : futures)
+			{
+				// rethrows any problem that occurred in a thread
+				future.get();
+			}
+			
+			recording.stop();
+			if(virtualThreads)
+			{
+				assertNoPinning(recording);
+			}
+		}
+	}
+	
+	static void assertNoPinning(final Recording recording) throws Exception
+	{
+		final Path file = Files.createTempFile(PINNED_EVENT, ".jfr");
+		try
+		{
+			recording.dump(file);
+			for(final RecordedEvent event : RecordingFile.readAllEvents(file))
+			{
+				// pinning in the JDK's own code (e.g. class initialization) is none of the storage's business
+				if(!event.getEventType().getName().equals(PINNED_EVENT) || event.getStackTrace() == null)
+				{
+					continue;
+				}
+				for(final RecordedFrame frame : event.getStackTrace().getFrames())
+				{
+					if(frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith("one.microstream."))
+					{
+						Assertions.fail("Virtual thread pinned its carrier thread:\n" + event);
+					}
+				}
+			}
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+	}
+	
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("taskBrokerCreators")
+	void concurrentStores(final String name, final StorageTaskBroker.Creator taskBrokerCreator)
+		throws Exception
+	{
+		final List<Item> root = new ArrayList<>();
+		
+		final EmbeddedStorageManager storage = this.foundation()
+			.setTaskBrokerCreator(taskBrokerCreator)
+			.start(root)
+		;
+		try
+		{
+			final Item[] items = new Item[THREAD_COUNT];
+			runConcurrently(thread ->
+			{
+				for(int n = 0; n < 3; n++)
+				{
+					storage.store(items[thread] = new Item(thread, n));
+				}
+			});
+			
+			for(final Item item : items)
+			{
+				root.add(item);
+			}
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		final EmbeddedStorageManager reloaded = this.foundation().start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final List<Item> reloadedRoot = (List<Item>)reloaded.root();
+			Assertions.assertEquals(THREAD_COUNT, reloadedRoot.size());
+			for(int i = 0; i < THREAD_COUNT; i++)
+			{
+				Assertions.assertEquals(i + "-2", reloadedRoot.get(i).label);
+			}
+		}
+		finally
+		{
+			reloaded.shutdown();
+		}
+	}
+	
+	@Test
+	void concurrentLazyLoading() throws Exception
+	{
+		final List<Lazy<Item>> root = new ArrayList<>(THREAD_COUNT);
+		for(int i = 0; i < THREAD_COUNT; i++)
+		{
+			root.add(Lazy.Reference(new Item(i, 0)));
+		}
+		
+		final EmbeddedStorageManager storage = this.foundation().start(root);
+		storage.shutdown();
+		
+		final EmbeddedStorageManager reloaded = this.foundation().start();
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final List<Lazy<Item>> reloadedRoot = (List<Lazy<Item>>)reloaded.root();
+			
+			// every lazy reference is loaded by several threads at the same time
+			runConcurrently(thread ->
+			{
+				for(int n = 0; n < 4; n++)
+				{
+					final int  index = (thread + n * 7) % THREAD_COUNT;
+					final Item item  = reloadedRoot.get(index).get();
+					Assertions.assertEquals(index, item.thread);
+					Assertions.assertSame(item, reloadedRoot.get(index).get());
+				}
+			});
+		}
+		finally
+		{
+			reloaded.shutdown();
+		}
+	}
+	
+	@Test
+	void concurrentStoresAndLoads() throws Exception
+	{
+		final EmbeddedStorageManager storage = this.foundation().start();
+		try
+		{
+			final PersistenceManager<Binary> persistenceManager = storage.persistenceManager();
+			runConcurrently(thread ->
+			{
+				for(int n = 0; n < 3; n++)
+				{
+					final Item item     = new Item(thread, n);
+					final long objectId = storage.store(item);
+					
+					/*
+					 * A new loader always reads the requested entity from the storage, even if the instance is
+					 * still registered (which it is, being strongly referenced here). A cleared lazy reference or
+					 * the persistence manager would simply return the registered instance instead.
+					 */
+					final Object loaded = persistenceManager.createLoader().getObject(objectId);
+					Assertions.assertSame(item, loaded);
+					Assertions.assertEquals(thread + "-" + n, item.label);
+				}
+			});
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+}
@@ -25,4 +25,6 @@ module microstream.storage
 	
 	requires transitive microstream.afs.nio;
 	requires transitive microstream.persistence.binary;
+	requires java.management; // for the storage metrics MXBean
+	requires static jdk.jfr;  // for StorageEvents
 }
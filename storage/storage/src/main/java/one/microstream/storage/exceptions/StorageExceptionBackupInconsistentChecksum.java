@@ -0,0 +1,101 @@
+package one.microstream.storage.exceptions;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.afs.types.AFile;
+import one.microstream.chars.VarString;
+import one.microstream.storage.types.StorageBackupManifest;
+
+/**
+ * This exception states that a file of a backup snapshot does not match its {@link StorageBackupManifest} entry.
+ */
+public class StorageExceptionBackupInconsistentChecksum
+extends StorageExceptionBackup
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final AFile                       file          ;
+	private final StorageBackupManifest.Entry entry         ;
+	private final long                        actualLength  ;
+	private final long                        actualChecksum;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	public StorageExceptionBackupInconsistentChecksum(
+		final AFile                       file          ,
+		final StorageBackupManifest.Entry entry         ,
+		final long                        actualLength  ,
+		final long                        actualChecksum
+	)
+	{
+		super();
+		this.file           = file          ;
+		this.entry          = entry         ;
+		this.actualLength   = actualLength  ;
+		this.actualChecksum = actualChecksum;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public final AFile file()
+	{
+		return this.file;
+	}
+
+	public final StorageBackupManifest.Entry entry()
+	{
+		return this.entry;
+	}
+
+	public final long actualLength()
+	{
+		return this.actualLength;
+	}
+
+	public final long actualChecksum()
+	{
+		return this.actualChecksum;
+	}
+
+	@Override
+	public String assembleDetailString()
+	{
+		return VarString.New()
+			.add(this.file.toPathString())
+			.add(": expected length ").add(this.entry.length())
+			.add(" and checksum ").add(Long.toHexString(this.entry.checksum()))
+			.add(", actual length ").add(this.actualLength)
+			.add(" and checksum ").add(Long.toHexString(this.actualChecksum))
+			.toString()
+		;
+	}
+
+}
@@ -21,6 +21,7 @@ package one.microstream.storage.types;
  */
 
 import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
 
 import one.microstream.chars.XChars;
 import one.microstream.persistence.types.Persister;
@@ -189,6 +190,22 @@ public interface Database extends DatabasePart, Persister
 			storage.storeAll(instances);
 		}
 		
+		@Override
+		public final CompletableFuture<Long> storeAsync(final Object instance)
+		{
+			final StorageManager storage = this.guaranteeActiveStorage();
+
+			return storage.storeAsync(instance);
+		}
+		
+		@Override
+		public final CompletableFuture<long[]> storeAllAsync(final Object... instances)
+		{
+			final StorageManager storage = this.guaranteeActiveStorage();
+
+			return storage.storeAllAsync(instances);
+		}
+		
 		@Override
 		public final Storer createLazyStorer()
 		{
@@ -315,6 +315,48 @@ public final class Storage
 		return StorageHousekeepingController.New(housekeepingIntervalMs, housekeepingTimeBudgetNs);
 	}
 
+	/**
+	 * Creates a new {@link StorageHousekeepingControllerAdaptive}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageHousekeepingControllerAdaptive#New()}.
+	 * 
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 * 
+	 * @see Storage#HousekeepingControllerAdaptive(long, long, long)
+	 * @see StorageHousekeepingControllerAdaptive#New()
+	 */
+	public static final StorageHousekeepingControllerAdaptive HousekeepingControllerAdaptive()
+	{
+		return StorageHousekeepingControllerAdaptive.New();
+	}
+
+	/**
+	 * Creates a new {@link StorageHousekeepingControllerAdaptive}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageHousekeepingControllerAdaptive#New(long, long, long)}.
+	 * 
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 * 
+	 * @param minimumTimeBudgetNs the time budget in nanoseconds that is granted under full load.
+	 * 
+	 * @param maximumTimeBudgetNs the time budget in nanoseconds that is granted to an idle storage with
+	 *        a lot of pending housekeeping work.
+	 * 
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 *
+	 * @see Storage#HousekeepingControllerAdaptive()
+	 * @see StorageHousekeepingControllerAdaptive#New(long, long, long)
+	 */
+	public static final StorageHousekeepingControllerAdaptive HousekeepingControllerAdaptive(
+		final long housekeepingIntervalMs,
+		final long minimumTimeBudgetNs   ,
+		final long maximumTimeBudgetNs
+	)
+	{
+		return StorageHousekeepingControllerAdaptive.New(housekeepingIntervalMs, minimumTimeBudgetNs, maximumTimeBudgetNs);
+	}
+
 	/**
 	 * Creates a new {@link StorageEntityCacheEvaluator}.
 	 * <p>
@@ -48,6 +48,8 @@ public interface StorageBackupFileProvider extends StorageFileProvider
 		int channelIndex
 	);
 	
+	public AFile provideTransactionsSegmentFile(int channelIndex);
+	
 	public AFile provideTypeDictionaryFile();
 	
 	
@@ -62,6 +62,18 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		StorageLiveChannelFile<?> file
 	);
 	
+	/**
+	 * Replaces the backup of the passed transactions file by a copy of its first <code>length</code> bytes.
+	 * The copy is written completely before the current backup transactions file is removed.
+	 * 
+	 * @param file the transactions file whose backup shall be replaced.
+	 * @param length the length of the transactions file to be copied.
+	 */
+	public void replaceTransactionsFile(
+		StorageLiveTransactionsFile file  ,
+		long                        length
+	);
+	
 	public StorageBackupHandler start();
 	
 	public default StorageBackupHandler stop()
@@ -86,7 +98,8 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		final StorageOperationController       operationController,
 		final StorageWriteController           writeController    ,
 		final StorageDataFileValidator.Creator validatorCreator   ,
-		final StorageTypeDictionary            typeDictionary
+		final StorageTypeDictionary            typeDictionary     ,
+		final StorageIoThrottle                ioThrottle
 	)
 	{
 		final StorageBackupFileProvider backupFileProvider = backupSetup.backupFileProvider();
@@ -103,7 +116,8 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			notNull(operationController),
 			notNull(writeController)    ,
 			notNull(validatorCreator)   ,
-			notNull(typeDictionary)
+			notNull(typeDictionary)     ,
+			notNull(ioThrottle)
 		);
 	}
 	
@@ -123,6 +137,7 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		private final StorageDataFileValidator.Creator  validatorCreator      ;
 		private final StorageTypeDictionary             typeDictionary        ;
 		private final PersistenceTypeDictionaryExporter typeDictionaryExporter;
+		private final StorageIoThrottle                 ioThrottle            ;
 		
 		private boolean running; // being "ordered" to run.
 		private boolean active ; // being actually active, e.g. executing the last loop before running check.
@@ -141,7 +156,8 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			final StorageOperationController       operationController,
 			final StorageWriteController           writeController    ,
 			final StorageDataFileValidator.Creator validatorCreator   ,
-			final StorageTypeDictionary            typeDictionary
+			final StorageTypeDictionary            typeDictionary     ,
+			final StorageIoThrottle                ioThrottle
 		)
 		{
 			super();
@@ -152,6 +168,7 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			this.writeController        = writeController    ;
 			this.validatorCreator       = validatorCreator   ;
 			this.typeDictionary         = typeDictionary     ;
+			this.ioThrottle             = ioThrottle         ;
 			
 			this.typeDictionaryExporter = PersistenceTypeDictionaryExporter.New(this);
 		}
@@ -518,10 +535,50 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			
 			if(backupTargetFileLength != storageFileLength)
 			{
-				// on any mismatch, the backup transaction file is deleted (potentially moved&renamed) and rebuilt.
+				// on any mismatch, the backup transaction file is rebuilt and replaces (potentially moved&renamed) the old one.
+				this.replaceBackupTransactionFile(liveTransactionsFile, storageFileLength, backupInventory);
+			}
+		}
+		
+		private void replaceBackupTransactionFile(
+			final StorageTransactionsFile sourceFile     ,
+			final long                    length         ,
+			final ChannelInventory        backupInventory
+		)
+		{
+			/*
+			 * The new content is written to a segment file first. Only then, the old backup transactions file is
+			 * removed. Should the process be terminated in between, the next synchronization rebuilds the file.
+			 */
+			final StorageBackupFileProvider     backupFileProvider = this.backupSetup.backupFileProvider();
+			final StorageBackupTransactionsFile segmentFile        = StorageBackupTransactionsFile.New(
+				backupFileProvider.provideTransactionsSegmentFile(backupInventory.channelIndex()),
+				backupInventory.channelIndex()
+			);
+			
+			try
+			{
+				// a segment file left over by an interrupted replacement is incomplete.
+				if(segmentFile.exists())
+				{
+					segmentFile.delete();
+				}
+				segmentFile.file().ensureExists();
+				this.copyFilePart(sourceFile, 0, length, segmentFile);
+				
 				this.deleteBackupTransactionFile(backupInventory);
-				final StorageBackupTransactionsFile backupTransactionFileNew = liveTransactionsFile.ensureBackupFile(this);
-				this.copyFile(liveTransactionsFile, backupTransactionFileNew);
+				
+				final StorageBackupTransactionsFile backupTransactionFileNew =
+					backupFileProvider.provideBackupTransactionsFile(backupInventory.channelIndex())
+				;
+				AFS.executeWriting(backupTransactionFileNew.file(), wf ->
+					segmentFile.moveTo(wf)
+				);
+				backupInventory.transactionFile = backupTransactionFileNew;
+			}
+			finally
+			{
+				segmentFile.close();
 			}
 		}
 				
@@ -587,6 +644,8 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 				backupTargetFile.file().toPathString()
 			);
 			
+			// only the continuous backup is throttled, the synchronization on startup is not.
+			this.ioThrottle.acquire(copyLength);
 			this.copyFilePart(sourceFile, sourcePosition, copyLength, backupTargetFile);
 		}
 
@@ -630,6 +689,18 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			// no user decrement since only the identifier is required and the actual file can well have been deleted.
 		}
 		
+		@Override
+		public void replaceTransactionsFile(
+			final StorageLiveTransactionsFile file  ,
+			final long                        length
+		)
+		{
+			logger.debug("Replacing backup transactions file of channel #{} with {} bytes", file.channelIndex(), length);
+			
+			this.ioThrottle.acquire(length);
+			this.replaceBackupTransactionFile(file, length, this.channelInventories[file.channelIndex()]);
+		}
+		
 		final void closeAllDataFiles()
 		{
 			final DisruptionCollectorExecuting<StorageClosableFile> closer = DisruptionCollectorExecuting.New(file ->
@@ -37,4 +37,9 @@ public interface StorageBackupItemEnqueuer
 		StorageLiveChannelFile<?> file
 	);
 	
+	public void enqueueReplacingItem(
+		StorageLiveTransactionsFile file  ,
+		long                        length
+	);
+	
 }
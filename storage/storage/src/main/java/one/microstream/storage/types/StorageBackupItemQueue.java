@@ -92,6 +92,16 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			this.internalEnqueueItem(file, 0, -1);
 		}
 		
+		@Override
+		public void enqueueReplacingItem(
+			final StorageLiveTransactionsFile file  ,
+			final long                        length
+		)
+		{
+			// signalling with a negative position is a hack to avoid the complexity of multiple Item classes
+			this.internalEnqueueItem(file, -1, length);
+		}
+		
 		private void internalEnqueueItem(
 			final StorageLiveChannelFile<?> sourceFile    ,
 			final long                      sourcePosition,
@@ -204,6 +214,12 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 						handler.truncateFile(this.sourceFile, this.sourcePosition);
 					}
 				}
+				// negative position used as a hack ("replace file") to avoid the complexity of multiple Item classes
+				else if(this.sourcePosition < 0)
+				{
+					// only transactions files are replaced, see #enqueueReplacingItem.
+					handler.replaceTransactionsFile((StorageLiveTransactionsFile)this.sourceFile, this.length);
+				}
 				else
 				{
 					handler.copyFilePart(this.sourceFile, this.sourcePosition, this.length);
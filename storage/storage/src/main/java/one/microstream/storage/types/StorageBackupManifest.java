@@ -0,0 +1,397 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.ADirectory;
+import one.microstream.afs.types.AFile;
+import one.microstream.chars.VarString;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.memory.XMemory;
+import one.microstream.storage.exceptions.StorageExceptionBackup;
+import one.microstream.storage.exceptions.StorageExceptionBackupInconsistentChecksum;
+
+/**
+ * The list of all files of a backup snapshot with their length and checksum, written as a simple text file
+ * into the snapshot's root directory (see {@link StorageIncrementalBackup}).
+ * <p>
+ * File paths are relative to the snapshot's root directory, so the manifest of one snapshot can be used
+ * to identify the unchanged files of the following snapshot and to verify a snapshot wherever it is located.
+ */
+public interface StorageBackupManifest
+{
+	public XGettingTable<String, StorageBackupManifest.Entry> entries();
+
+	public StorageBackupManifest.Entry lookup(String path);
+
+	public StorageBackupManifest add(StorageBackupManifest.Entry entry);
+
+	public String assemble();
+
+	public void write(ADirectory snapshotDirectory);
+
+	/**
+	 * Recalculates the checksum of every file listed in the manifest in the passed snapshot directory.
+	 * 
+	 * @param snapshotDirectory the root directory of the snapshot to be verified.
+	 * 
+	 * @throws StorageExceptionBackupInconsistentChecksum if a file's length or checksum does not match its entry.
+	 */
+	public void verify(ADirectory snapshotDirectory);
+
+
+
+	public interface Defaults
+	{
+		public static String manifestFileName()
+		{
+			return "backup.manifest";
+		}
+
+		public static char separator()
+		{
+			return '\t';
+		}
+
+		public static int checksumBufferSize()
+		{
+			return 1024 * 1024; // 1 MB
+		}
+	}
+
+
+
+	public static AFile manifestFile(final ADirectory snapshotDirectory)
+	{
+		return snapshotDirectory.ensureFile(Defaults.manifestFileName());
+	}
+
+	/**
+	 * Reads the manifest of the passed snapshot directory.
+	 * 
+	 * @param snapshotDirectory the root directory of a snapshot.
+	 * 
+	 * @return the snapshot's manifest or {@code null} if the directory contains none.
+	 */
+	public static StorageBackupManifest read(final ADirectory snapshotDirectory)
+	{
+		final AFile file = manifestFile(snapshotDirectory);
+		if(!file.exists())
+		{
+			return null;
+		}
+
+		return parse(AFS.readString(file));
+	}
+
+	public static StorageBackupManifest parse(final String manifestString)
+	{
+		final StorageBackupManifest manifest = New();
+		for(final String line : manifestString.split("\n"))
+		{
+			if(line.isEmpty())
+			{
+				continue;
+			}
+
+			final String[] parts = line.split(String.valueOf(Defaults.separator()));
+			if(parts.length != 3)
+			{
+				throw new StorageExceptionBackup("Invalid backup manifest entry: " + line);
+			}
+			manifest.add(Entry.New(
+				parts[0]                    ,
+				Long.parseLong(parts[1])    ,
+				Long.parseLong(parts[2], 16)
+			));
+		}
+
+		return manifest;
+	}
+
+	/**
+	 * Calculates the CRC32C checksum of the passed file's content.
+	 * 
+	 * @param file the file to be read.
+	 * 
+	 * @return the checksum of the file's content.
+	 */
+	public static long checksum(final AFile file)
+	{
+		return AFS.apply(file, rf ->
+		{
+			final CRC32C     crc    = new CRC32C();
+			final ByteBuffer buffer = XMemory.allocateDirectNative(Defaults.checksumBufferSize());
+			try
+			{
+				final long length = rf.size();
+				for(long position = 0; position < length;)
+				{
+					buffer.clear();
+					buffer.limit((int)Math.min(buffer.capacity(), length - position));
+					position += rf.readBytes(buffer, position);
+					buffer.flip();
+					crc.update(buffer);
+				}
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+
+			return crc.getValue();
+		});
+	}
+
+	/**
+	 * Derives the path of the passed file relative to the passed root directory as used for manifest entries.
+	 * 
+	 * @param rootDirectory the root directory of a snapshot.
+	 * @param file a file inside the root directory.
+	 * 
+	 * @return the relative path of the file.
+	 */
+	public static String relativePath(final ADirectory rootDirectory, final AFile file)
+	{
+		final String[] rootPath = rootDirectory.toPath();
+		final String[] filePath = file.toPath();
+
+		final VarString vs = VarString.New();
+		for(int i = rootPath.length; i < filePath.length; i++)
+		{
+			if(i > rootPath.length)
+			{
+				vs.add('/');
+			}
+			vs.add(filePath[i]);
+		}
+
+		return vs.toString();
+	}
+
+	/**
+	 * Resolves a relative manifest entry path against the passed snapshot root directory.
+	 * 
+	 * @param rootDirectory the root directory of a snapshot.
+	 * @param path a relative path as derived by {@link #relativePath(ADirectory, AFile)}.
+	 * 
+	 * @return the file in the snapshot directory.
+	 */
+	public static AFile resolve(final ADirectory rootDirectory, final String path)
+	{
+		final String[] pathElements = path.split("/");
+
+		// ensured instead of resolved since the directories of a read snapshot are not inventorized.
+		ADirectory directory = rootDirectory;
+		for(int i = 0; i < pathElements.length - 1; i++)
+		{
+			directory = directory.ensureDirectory(pathElements[i]);
+		}
+
+		return directory.ensureFile(pathElements[pathElements.length - 1]);
+	}
+
+
+
+	public static StorageBackupManifest New()
+	{
+		return new StorageBackupManifest.Default(EqHashTable.New());
+	}
+
+	public final class Default implements StorageBackupManifest
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final EqHashTable<String, Entry> entries;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final EqHashTable<String, Entry> entries)
+		{
+			super();
+			this.entries = entries;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized XGettingTable<String, Entry> entries()
+		{
+			return this.entries.immure();
+		}
+
+		@Override
+		public final synchronized Entry lookup(final String path)
+		{
+			return this.entries.get(path);
+		}
+
+		@Override
+		public final synchronized StorageBackupManifest add(final Entry entry)
+		{
+			// copier threads add their entries concurrently.
+			this.entries.put(entry.path(), entry);
+
+			return this;
+		}
+
+		@Override
+		public final synchronized String assemble()
+		{
+			final VarString vs = VarString.New();
+			for(final Entry entry : this.entries.values())
+			{
+				vs
+				.add(entry.path()).add(Defaults.separator())
+				.add(entry.length()).add(Defaults.separator())
+				.add(Long.toHexString(entry.checksum())).lf()
+				;
+			}
+
+			return vs.toString();
+		}
+
+		@Override
+		public final void write(final ADirectory snapshotDirectory)
+		{
+			// the manifest is written exactly once into a new snapshot, so there is nothing to truncate.
+			final AFile file = manifestFile(snapshotDirectory);
+			file.ensureExists();
+			AFS.writeString(file, this.assemble());
+		}
+
+		@Override
+		public final void verify(final ADirectory snapshotDirectory)
+		{
+			for(final Entry entry : this.entries().values())
+			{
+				final AFile file = resolve(snapshotDirectory, entry.path());
+
+				final long length = file.exists() ? file.size() : -1;
+				if(length != entry.length())
+				{
+					throw new StorageExceptionBackupInconsistentChecksum(file, entry, length, 0);
+				}
+
+				final long checksum = checksum(file);
+				if(checksum != entry.checksum())
+				{
+					throw new StorageExceptionBackupInconsistentChecksum(file, entry, length, checksum);
+				}
+			}
+		}
+
+	}
+
+
+
+	public interface Entry
+	{
+		public String path();
+
+		public long length();
+
+		public long checksum();
+
+
+
+		public static Entry New(
+			final String path    ,
+			final long   length  ,
+			final long   checksum
+		)
+		{
+			return new Entry.Default(notNull(path), length, checksum);
+		}
+
+		public final class Default implements Entry
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final String path    ;
+			private final long   length  ;
+			private final long   checksum;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(
+				final String path    ,
+				final long   length  ,
+				final long   checksum
+			)
+			{
+				super();
+				this.path     = path    ;
+				this.length   = length  ;
+				this.checksum = checksum;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final String path()
+			{
+				return this.path;
+			}
+
+			@Override
+			public final long length()
+			{
+				return this.length;
+			}
+
+			@Override
+			public final long checksum()
+			{
+				return this.checksum;
+			}
+
+		}
+
+	}
+
+}
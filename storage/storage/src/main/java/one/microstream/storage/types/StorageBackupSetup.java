@@ -37,7 +37,8 @@ public interface StorageBackupSetup
 		StorageOperationController       operationController           ,
 		StorageWriteController           writeController               ,
 		StorageDataFileValidator.Creator backupDataFileValidatorCreator,
-		StorageTypeDictionary            storageTypeDictionary
+		StorageTypeDictionary            storageTypeDictionary         ,
+		StorageIoThrottle                ioThrottle
 	);
 	
 
@@ -138,7 +139,8 @@ public interface StorageBackupSetup
 			final StorageOperationController       operationController,
 			final StorageWriteController           writeController    ,
 			final StorageDataFileValidator.Creator validatorCreator   ,
-			final StorageTypeDictionary            typeDictionary
+			final StorageTypeDictionary            typeDictionary     ,
+			final StorageIoThrottle                ioThrottle
 		)
 		{
 			final int channelCount = operationController.channelCountProvider().getChannelCount();
@@ -149,7 +151,8 @@ public interface StorageBackupSetup
 				operationController,
 				writeController    ,
 				validatorCreator   ,
-				typeDictionary
+				typeDictionary     ,
+				ioThrottle
 			);
 		}
 		
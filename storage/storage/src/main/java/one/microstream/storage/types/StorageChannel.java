@@ -25,15 +25,21 @@ import static one.microstream.math.XMath.notNegative;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import org.slf4j.Logger;
 
 import one.microstream.X;
 import one.microstream.afs.types.AWritableFile;
 import one.microstream.collections.BulkList;
+import one.microstream.collections.HashEnum;
+import one.microstream.collections.Set_long;
 import one.microstream.functional.ThrowingProcedure;
 import one.microstream.functional._longProcedure;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.binary.types.Chunk;
 import one.microstream.persistence.binary.types.ChunksBuffer;
 import one.microstream.persistence.binary.types.ChunksBufferByteReversing;
@@ -76,6 +82,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public void exportData(StorageLiveFileProvider fileProvider);
 
+	public void backupDataIncremental(StorageIncrementalBackup backup);
+
 	// (19.07.2014 TM)TODO: refactor storage typing to avoid classes in public API
 	public StorageEntityCache.Default prepareImportData();
 
@@ -94,6 +102,21 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		Predicate<? super StorageEntity> predicateEntity
 	) throws IOException;
 
+	/**
+	 * Evaluates the passed predicate on the binary data of all of this channel's entities of the passed type,
+	 * without loading any data into the entity cache.
+	 * 
+	 * @param typeId the type id of the entities to be scanned.
+	 * @param predicate selects the entities to be included in the result.
+	 * @param projection the value to be collected per selected entity, {@code null} to collect its object id.
+	 * @return the collected values.
+	 */
+	public long[] scanTypeEntities(
+		long                                      typeId    ,
+		Predicate<? super StorageEntityData>      predicate ,
+		ToLongFunction<? super StorageEntityData> projection
+	);
+
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
 	public StorageIdAnalysis initializeStorage(
@@ -107,6 +130,85 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 //	public void truncateData();
 
 	public void cleanupStore();
+	
+	/**
+	 * Writes a checkpoint of the channel's entities if checkpoints are enabled and there have been changes
+	 * since the last checkpoint. Never throws an exception, as a checkpoint is just an optimization for the
+	 * next startup.
+	 * 
+	 * @return whether a checkpoint has been written.
+	 * 
+	 * @see StorageCheckpointSetup
+	 */
+	public boolean writeEntityCheckpoint();
+	
+	/**
+	 * Synchronizes all bytes written by this channel with the underlying storage device, unless the
+	 * {@link StorageDurabilityPolicy} leaves synchronization to the operating system.
+	 * 
+	 * @see StorageDurabilityPolicy
+	 */
+	public void syncWrittenFiles();
+	
+	/**
+	 * @return whether this channel follows the storage of another process.
+	 * 
+	 * @see StorageFollowerSetup
+	 */
+	public boolean isFollower();
+	
+	/**
+	 * Reads the entries the followed process has appended to its transactions file since the last call.
+	 * 
+	 * @return the timestamps of all read stores that are not decided to be complete or failed yet.
+	 * 
+	 * @see StorageFollowerSetup
+	 */
+	public long[] readFollowedTransactions();
+	
+	/**
+	 * @return the timestamp of the latest store read from the followed transactions file.
+	 */
+	public long followedLatestTimestamp();
+	
+	/**
+	 * @return the timestamp of the latest store contained in the followed storage files at initialization.
+	 */
+	public long followedInitialTimestamp();
+	
+	/**
+	 * @return the timestamp of the latest store contained in the followed storage files or applied since.
+	 */
+	public long followedAppliedTimestamp();
+	
+	/**
+	 * @return the timestamp up to which all stores are contained in the registered or checkpointed data.
+	 */
+	public long followedCoveredTimestamp();
+	
+	/**
+	 * Marks the read stores as decided. A store is complete if it has been written by all channels and
+	 * failed if a channel has written a later store instead.
+	 * 
+	 * @param completeStores the timestamps of the complete stores.
+	 * @param failedStores the timestamps of the failed stores.
+	 */
+	public void decideFollowedStores(Set_long completeStores, Set_long failedStores);
+	
+	/**
+	 * Reads ahead the data of the decided entries until an undecided store or an unknown type is encountered.
+	 * 
+	 * @return the timestamp of the last complete store that can be applied, {@link Long#MAX_VALUE} for all.
+	 */
+	public long validateFollowedTransactions();
+	
+	/**
+	 * Registers the validated entities up to the passed store timestamp bound.
+	 * 
+	 * @param storeTimestampBound the timestamp of the last complete store to be applied.
+	 * @return the object ids of all stored entities.
+	 */
+	public long[] applyFollowedTransactions(long storeTimestampBound);
 
 
 	
@@ -115,6 +217,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 	{
 		private final static Logger logger = Logging.getLogger(Default.class);
 		
+		private static final int MAX_COUNTED_PENDING_TASKS = 1000;
+		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
@@ -130,6 +234,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		private final boolean                       switchByteOrder          ;
 		private final BufferSizeProviderIncremental loadingBufferSizeProvider;
 		private final StorageEventLogger            eventLogger              ;
+		private final StorageChannelMetrics         metrics                  ;
 
 		private final HousekeepingTask[] housekeepingTasks;
 		
@@ -147,6 +252,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		 */
 		private long housekeepingIntervalBudgetNs;
 		
+		/**
+		 * Whether the housekeeping controller adapts its budgets to observations of the channel's load.
+		 * @see StorageHousekeepingController#isAdaptive()
+		 */
+		private final boolean observesLoad;
+		
+		// state of the current observation interval and results of the last housekeeping runs.
+		private long    observationStartNs, observationIdleNs, observationHousekeepingNs;
+		private boolean gcComplete = true, fileCleanupComplete = true, liveCheckComplete = true;
+		
 		private boolean active;
 		
 
@@ -166,7 +281,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			final boolean                       switchByteOrder          ,
 			final BufferSizeProviderIncremental loadingBufferSizeProvider,
 			final StorageFileManager.Default    fileManager              ,
-			final StorageEventLogger            eventLogger
+			final StorageEventLogger            eventLogger              ,
+			final StorageChannelMetrics         metrics
 		)
 		{
 			super();
@@ -180,10 +296,13 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.housekeepingController    =     notNull(housekeepingController)   ;
 			this.loadingBufferSizeProvider =     notNull(loadingBufferSizeProvider);
 			this.eventLogger               =     notNull(eventLogger)              ;
+			this.metrics                   =     notNull(metrics)                  ;
 			this.switchByteOrder           =             switchByteOrder           ;
 			
 			// depends on this.fileManager!
 			this.housekeepingTasks = this.defineHouseKeepingTasks();
+			
+			this.observesLoad = housekeepingController.isAdaptive();
 		}
 
 
@@ -198,6 +317,9 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			tasks.add(this::houseKeepingCheckFileCleanup);
 			tasks.add(this::houseKeepingGarbageCollection);
 			tasks.add(this::houseKeepingEntityCacheCheck);
+			tasks.add(this::houseKeepingEntityCheckpoint);
+			tasks.add(this::houseKeepingTransactionsFileRoll);
+			tasks.add(this::houseKeepingFileSync);
 			// (16.06.2020 TM)TODO: priv#49: housekeeping task that closes data files after a timeout.
 
 			return tasks.toArray(HousekeepingTask.class);
@@ -257,10 +379,24 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		{
 			logger.trace("StorageChannel#{} performing issued garbage collection", this.channelIndex);
 			
+			if(this.fileManager.isFollower())
+			{
+				return true;
+			}
+			
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 
-			return this.entityCache.issuedGarbageCollection(nanoTimeBudgetBound, this);
+			final StorageEvents.Housekeeping event = StorageEvents.beginHousekeeping();
+			
+			return StorageEvents.commitHousekeeping(
+				event,
+				this.channelIndex,
+				StorageEvents.HOUSEKEEPING_GARBAGE_COLLECTION,
+				true,
+				nanoTimeBudget,
+				this.entityCache.issuedGarbageCollection(nanoTimeBudgetBound, this)
+			);
 		}
 		
 		@Override
@@ -276,7 +412,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 			
-			return this.fileManager.issuedFileCleanupCheck(nanoTimeBudgetBound);
+			final StorageEvents.Housekeeping event = StorageEvents.beginHousekeeping();
+			
+			return StorageEvents.commitHousekeeping(
+				event,
+				this.channelIndex,
+				StorageEvents.HOUSEKEEPING_FILE_CLEANUP_CHECK,
+				true,
+				nanoTimeBudget,
+				this.fileManager.issuedFileCleanupCheck(nanoTimeBudgetBound)
+			);
 		}
 		
 		@Override
@@ -290,7 +435,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 
-			return this.entityCache.issuedEntityCacheCheck(nanoTimeBudgetBound, evaluator);
+			final StorageEvents.Housekeeping event = StorageEvents.beginHousekeeping();
+			
+			return StorageEvents.commitHousekeeping(
+				event,
+				this.channelIndex,
+				StorageEvents.HOUSEKEEPING_ENTITY_CACHE_CHECK,
+				true,
+				nanoTimeBudget,
+				this.entityCache.issuedEntityCacheCheck(nanoTimeBudgetBound, evaluator)
+			);
 		}
 
 		@Override
@@ -306,7 +460,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 			
-			return this.fileManager.incrementalFileCleanupCheck(nanoTimeBudgetBound);
+			final StorageEvents.Housekeeping event = StorageEvents.beginHousekeeping();
+			
+			return StorageEvents.commitHousekeeping(
+				event,
+				this.channelIndex,
+				StorageEvents.HOUSEKEEPING_FILE_CLEANUP_CHECK,
+				false,
+				nanoTimeBudget,
+				this.fileManager.incrementalFileCleanupCheck(nanoTimeBudgetBound)
+			);
 		}
 		
 		@Override
@@ -317,7 +480,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 			
-			return this.entityCache.incrementalGarbageCollection(nanoTimeBudgetBound, this);
+			final StorageEvents.Housekeeping event = StorageEvents.beginHousekeeping();
+			
+			return StorageEvents.commitHousekeeping(
+				event,
+				this.channelIndex,
+				StorageEvents.HOUSEKEEPING_GARBAGE_COLLECTION,
+				false,
+				nanoTimeBudget,
+				this.entityCache.incrementalGarbageCollection(nanoTimeBudgetBound, this)
+			);
 		}
 		
 		@Override
@@ -330,7 +502,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// turn budget into the budget bounding value for easier and faster checking
 			final long nanoTimeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 			
-			return this.entityCache.incrementalEntityCacheCheck(nanoTimeBudgetBound);
+			final StorageEvents.Housekeeping event = StorageEvents.beginHousekeeping();
+			
+			return StorageEvents.commitHousekeeping(
+				event,
+				this.channelIndex,
+				StorageEvents.HOUSEKEEPING_ENTITY_CACHE_CHECK,
+				false,
+				nanoTimeBudget,
+				this.entityCache.incrementalEntityCacheCheck(nanoTimeBudgetBound)
+			);
 		}
 		
 		@Override
@@ -370,16 +551,22 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				this.housekeepingController.fileCheckTimeBudgetNs()
 			);
 			
-			return this.housekeepingBroker.performFileCleanupCheck(this, nanoTimeBudget);
+			return this.fileCleanupComplete = this.housekeepingBroker.performFileCleanupCheck(this, nanoTimeBudget);
 		}
 
 		final boolean houseKeepingGarbageCollection()
 		{
+			if(this.fileManager.isFollower())
+			{
+				// the followed process collects its garbage, the follower just applies the deletions.
+				return this.gcComplete = true;
+			}
+			
 			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
 				this.housekeepingController.garbageCollectionTimeBudgetNs()
 			);
 			
-			return this.housekeepingBroker.performGarbageCollection(this, nanoTimeBudget);
+			return this.gcComplete = this.housekeepingBroker.performGarbageCollection(this, nanoTimeBudget);
 		}
 
 		final boolean houseKeepingEntityCacheCheck()
@@ -388,7 +575,93 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				this.housekeepingController.liveCheckTimeBudgetNs()
 			);
 			
-			return this.housekeepingBroker.performEntityCacheCheck(this, nanoTimeBudget);
+			return this.liveCheckComplete = this.housekeepingBroker.performEntityCacheCheck(this, nanoTimeBudget);
+		}
+
+		final boolean houseKeepingEntityCheckpoint()
+		{
+			if(!this.fileManager.isEntityCheckpointDue())
+			{
+				return true;
+			}
+			
+			// a due checkpoint is written in increments, continued by every housekeeping until it is complete.
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.housekeepingController.housekeepingTimeBudgetNs()
+			);
+			
+			return this.fileManager.writeEntityCheckpoint(XTime.calculateNanoTimeBudgetBound(nanoTimeBudget));
+		}
+
+		final boolean houseKeepingTransactionsFileRoll()
+		{
+			// not time-budgeted: the new segment only contains one entry per data file.
+			if(this.fileManager.isTransactionsFileRollDue())
+			{
+				this.fileManager.rollTransactionsFile();
+			}
+			
+			return true;
+		}
+
+		final boolean houseKeepingFileSync()
+		{
+			// periodic synchronization of an otherwise idle channel, busy channels synchronize on storing.
+			if(this.fileManager.isSyncDue())
+			{
+				this.fileManager.syncWrittenFiles();
+			}
+			
+			return true;
+		}
+
+		private static int countPendingTasks(final StorageTask processedTask)
+		{
+			// bounded, since only the order of magnitude is relevant and the chain may grow while counting.
+			int count = 0;
+			for(StorageTask task = processedTask; (task = task.next()) != null && count < MAX_COUNTED_PENDING_TASKS;)
+			{
+				count++;
+			}
+			
+			return count;
+		}
+		
+		private void observeLoad(final StorageTask processedTask)
+		{
+			if(!this.observesLoad)
+			{
+				return;
+			}
+			
+			final long currentNanotime = System.nanoTime();
+			final long elapsedNs       = currentNanotime - this.observationStartNs;
+			if(elapsedNs < Storage.millisecondsToNanoseconds(this.housekeepingController.housekeepingIntervalMs()))
+			{
+				return;
+			}
+			
+			// housekeeping itself does not count as load, otherwise a higher budget would cause a lower budget.
+			final long   busyNs            = elapsedNs - this.observationIdleNs - this.observationHousekeepingNs;
+			final double busyRatio         = Math.max(0, busyNs) / (double)elapsedNs;
+			final int    pendingTaskCount  = countPendingTasks(processedTask);
+			final double garbageRatio      = this.entityCache.lastSweepGarbageRatio();
+			final double fileFragmentation = this.fileManager.fileFragmentation();
+			this.housekeepingController.observe(
+				this.channelIndex       ,
+				busyRatio               ,
+				pendingTaskCount        ,
+				garbageRatio            ,
+				fileFragmentation       ,
+				this.gcComplete         ,
+				this.fileCleanupComplete,
+				this.liveCheckComplete
+			);
+			this.metrics.recordHousekeepingObservation(busyRatio, pendingTaskCount, garbageRatio, fileFragmentation);
+			
+			this.observationStartNs        = currentNanotime;
+			this.observationIdleNs         = 0;
+			this.observationHousekeepingNs = 0;
 		}
 
 		private void work() throws InterruptedException
@@ -400,12 +673,15 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 			StorageTask processedTask = new StorageTask.DummyTask();
 			StorageTask currentTask   = notNull(this.taskBroker.currentTask());
+			
+			this.observationStartNs = System.nanoTime();
 
 			while(true)
 			{
 				// ensure to process every task only once in case no new task came in in time (see below).
 				if(currentTask != processedTask)
 				{
+					this.metrics.recordTaskQueueWait(System.nanoTime() - currentTask.creationNanoTime());
 					currentTask.processBy(this);
 					processedTask = currentTask;
 				}
@@ -432,7 +708,13 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				 */
 				try
 				{
+					// a task might have exceeded the cache memory limit, which is only safe to reduce between tasks.
+					this.entityCache.reduceExceededCacheMemory();
+					
+					this.observeLoad(processedTask);
+					final long housekeepingStartNs = System.nanoTime();
 					this.houseKeeping();
+					this.observationHousekeepingNs += System.nanoTime() - housekeepingStartNs;
 				}
 				catch(final Throwable t)
 				{
@@ -447,11 +729,17 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				
 
 				// check and wait for the next task to come in
-				if((currentTask = processedTask.awaitNext(housekeepingController.housekeepingIntervalMs())) == null)
+				final long waitStartNs = System.nanoTime();
+				if((currentTask = this.taskBroker.awaitNextTask(
+					this.channelIndex,
+					processedTask,
+					housekeepingController.housekeepingIntervalMs()
+				)) == null)
 				{
 					// revert to processed task to wait on it again for the next task
 					currentTask = processedTask;
 				}
+				this.observationIdleNs += System.nanoTime() - waitStartNs;
 			}
 			
 			logger.debug("StorageChannel#{} stopped", this.channelIndex);
@@ -545,7 +833,36 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// (11.03.2019 TM)FIXME: priv#74: Pre-Write EntityValidator
 			
 			// set new data flag, even if chunk has no data to account for (potential) data in other channels
-			return X.KeyValue(buffers, this.fileManager.storeChunks(timestamp, buffers));
+			final StorageEvents.Store event     = StorageEvents.beginStore();
+			final long                startNs   = System.nanoTime();
+			final long[]              positions = this.fileManager.storeChunks(timestamp, buffers);
+			this.metrics.recordStore(chunkData.totalLength(), System.nanoTime() - startNs);
+			
+			if(event != null && event.shouldCommit())
+			{
+				event.channelIndex = this.channelIndex;
+				event.entityCount  = countEntities(buffers);
+				event.byteCount    = chunkData.totalLength();
+				event.commit();
+			}
+			
+			return X.KeyValue(buffers, positions);
+		}
+
+		private static long countEntities(final ByteBuffer[] buffers)
+		{
+			long entityCount = 0;
+			for(final ByteBuffer buffer : buffers)
+			{
+				final long startAddress = XMemory.getDirectByteBufferAddress(buffer);
+				final long boundAddress = startAddress + buffer.limit();
+				for(long adr = startAddress; adr < boundAddress; adr += Binary.getEntityLengthRawValue(adr))
+				{
+					entityCount++;
+				}
+			}
+			
+			return entityCount;
 		}
 
 		@Override
@@ -584,11 +901,36 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			/* it is probably best to start (any maybe continue) with lots of small, memory-agile
 			 * byte buffers than to estimate one sufficiently huge bulky byte buffer.
 			 */
-			final ChunksBuffer chunks = this.createLoadingChunksBuffer(resultArray);
+			final StorageEvents.Load event   = StorageEvents.beginLoad();
+			final long               startNs = System.nanoTime();
+			final ChunksBuffer       chunks  = this.createLoadingChunksBuffer(resultArray);
 			if(!loadOids.isEmpty())
 			{
 				// progress must have been incremented accordingly at task creation time
-				loadOids.iterate(new EntityCollectorByOid(this.entityCache, chunks));
+				final StorageLoadingSetup  loadingSetup = this.fileManager.loadingSetup();
+				final EntityCollectorByOid collector    = new EntityCollectorByOid(
+					this.entityCache,
+					this.fileManager,
+					chunks,
+					loadingSetup.batchEntityCount(),
+					loadingSetup.prefetchDepth(),
+					loadingSetup.prefetchMaximumLength()
+				);
+				
+				final long fileReads = this.fileManager.dataReadCount();
+				loadOids.iterate(collector);
+				collector.complete();
+				this.metrics.recordLoad(collector.collectedCount(), collector.collectedLength(), System.nanoTime() - startNs);
+				
+				if(event != null && event.shouldCommit())
+				{
+					event.channelIndex  = this.channelIndex;
+					event.objectIdCount = loadOids.size();
+					event.entityCount   = collector.collectedCount();
+					event.byteCount     = collector.collectedLength();
+					event.fileReadCount = this.fileManager.dataReadCount() - fileReads;
+					event.commit();
+				}
 			}
 			
 			return chunks.complete();
@@ -621,6 +963,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.fileManager.exportData(fileProvider);
 		}
 
+		@Override
+		public final void backupDataIncremental(final StorageIncrementalBackup backup)
+		{
+			this.fileManager.backupDataIncremental(backup);
+		}
+
 		@Override
 		public StorageEntityCache.Default prepareImportData()
 		{
@@ -677,6 +1025,9 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				}
 			).byteCount;
 
+			// the channel thread never waits for the throttle, the exported bytes are only accounted.
+			this.fileManager.ioThrottle().consume(byteCount);
+
 			return X.KeyValue(byteCount, entities.entityCount());
 		}
 
@@ -707,13 +1058,107 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				}
 			).byteCount;
 
+			// see above
+			this.fileManager.ioThrottle().consume(byteCount);
+
 			return X.KeyValue(byteCount, entities.entityCount());
 		}
 
+		@Override
+		public final long[] scanTypeEntities(
+			final long                                      typeId    ,
+			final Predicate<? super StorageEntityData>      predicate ,
+			final ToLongFunction<? super StorageEntityData> projection
+		)
+		{
+			final StorageEntityType.Default type = this.entityCache.getType(typeId);
+			if(type == null || type.entityCount() == 0)
+			{
+				// it can very well be that a channel does not have a certain type at all. That is no error
+				return new long[0];
+			}
+
+			return new EntityScanner(this.fileManager, typeId, predicate, projection).scan(type);
+		}
+
+		@Override
+		public final boolean isFollower()
+		{
+			return this.fileManager.isFollower();
+		}
+		
+		@Override
+		public final long[] readFollowedTransactions()
+		{
+			return this.fileManager.readFollowedTransactions();
+		}
+		
+		@Override
+		public final long followedLatestTimestamp()
+		{
+			return this.fileManager.followedLatestTimestamp();
+		}
+		
+		@Override
+		public final long followedInitialTimestamp()
+		{
+			return this.fileManager.followedInitialTimestamp();
+		}
+		
+		@Override
+		public final long followedAppliedTimestamp()
+		{
+			return this.fileManager.followedAppliedTimestamp();
+		}
+		
+		@Override
+		public final long followedCoveredTimestamp()
+		{
+			return this.fileManager.followedCoveredTimestamp();
+		}
+		
+		@Override
+		public final void decideFollowedStores(final Set_long completeStores, final Set_long failedStores)
+		{
+			this.fileManager.decideFollowedStores(completeStores, failedStores);
+		}
+		
+		@Override
+		public final long validateFollowedTransactions()
+		{
+			return this.fileManager.validateFollowedTransactions();
+		}
+		
+		@Override
+		public final long[] applyFollowedTransactions(final long storeTimestampBound)
+		{
+			final Set_long changedObjectIds = Set_long.New();
+			this.fileManager.applyFollowedTransactions(storeTimestampBound, changedObjectIds);
+			
+			final long[] objectIds = new long[X.checkArrayRange(changedObjectIds.size())];
+			final int[]  index     = {0};
+			changedObjectIds.iterate(objectId ->
+				objectIds[index[0]++] = objectId
+			);
+			
+			return objectIds;
+		}
+
 		@Override
 		public final StorageRawFileStatistics.ChannelStatistics createRawFileStatistics()
 		{
-			return this.fileManager.createRawFileStatistics();
+			final StorageRawFileStatistics.ChannelStatistics fileStatistics = this.fileManager.createRawFileStatistics();
+			final StorageEntityCacheAllocator                cacheAllocator = this.entityCache.cacheAllocator();
+
+			return StorageRawFileStatistics.ChannelStatistics.New(
+				fileStatistics.channelIndex()   ,
+				fileStatistics.fileCount()      ,
+				fileStatistics.liveDataLength() ,
+				fileStatistics.totalDataLength(),
+				fileStatistics.files()          ,
+				cacheAllocator.usedMemory()     ,
+				cacheAllocator.reservedMemory()
+			);
 		}
 
 		@Override
@@ -765,6 +1210,18 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.entityCache.clearPendingStoreUpdate();
 		}
 
+		@Override
+		public boolean writeEntityCheckpoint()
+		{
+			return this.fileManager.writeEntityCheckpoint();
+		}
+
+		@Override
+		public void syncWrittenFiles()
+		{
+			this.fileManager.syncWrittenFiles();
+		}
+
 		@Override
 		public final void dispose()
 		{
@@ -783,8 +1240,26 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		// instance fields //
 		////////////////////
 
-		private final StorageEntityCache.Default entityCache  ;
-		private final ChunksBuffer                      dataCollector;
+		private final StorageEntityCache.Default  entityCache  ;
+		private final StorageFileManager.Default  fileManager  ;
+		private final ChunksBuffer                dataCollector;
+		
+		// entities in request order and a copy of them to be sorted in storage order for loading.
+		private final StorageEntity.Default[]     batch        ;
+		private final StorageEntity.Default[]     loadingOrder ;
+		private       int                         batchSize    ;
+		
+		// prefetching state, only used if the prefetch depth is greater than 0.
+		private final int                             prefetchDepth        ;
+		private final long                            prefetchMaximumLength;
+		private final HashEnum<StorageEntity.Default> collected            ;
+		private       BulkList<StorageEntity.Default> prefetchLevel        ;
+		private       int                             currentDepth         ;
+		private       long                            prefetchedLength     ;
+		
+		// statistics for the channel's metrics
+		private       long                            collectedCount       ;
+		private       long                            collectedLength      ;
 
 
 
@@ -793,13 +1268,34 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		/////////////////
 
 		public EntityCollectorByOid(
-			final StorageEntityCache.Default entityCache  ,
-			final ChunksBuffer                      dataCollector
+			final StorageEntityCache.Default entityCache     ,
+			final StorageFileManager.Default fileManager     ,
+			final ChunksBuffer               dataCollector   ,
+			final int                        batchEntityCount
+		)
+		{
+			this(entityCache, fileManager, dataCollector, batchEntityCount, 0, 0);
+		}
+
+		public EntityCollectorByOid(
+			final StorageEntityCache.Default entityCache          ,
+			final StorageFileManager.Default fileManager          ,
+			final ChunksBuffer               dataCollector        ,
+			final int                        batchEntityCount     ,
+			final int                        prefetchDepth        ,
+			final long                       prefetchMaximumLength
 		)
 		{
 			super();
-			this.entityCache   = entityCache  ;
-			this.dataCollector = dataCollector;
+			this.entityCache           = entityCache  ;
+			this.fileManager           = fileManager  ;
+			this.dataCollector         = dataCollector;
+			this.batch                 = new StorageEntity.Default[batchEntityCount];
+			this.loadingOrder          = new StorageEntity.Default[batchEntityCount];
+			this.prefetchDepth         = prefetchDepth;
+			this.prefetchMaximumLength = prefetchMaximumLength;
+			this.collected             = prefetchDepth > 0 ? HashEnum.New() : null;
+			this.prefetchLevel         = prefetchDepth > 0 ? BulkList.New() : null;
 		}
 
 
@@ -825,8 +1321,110 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				 */
 				throw new StorageExceptionConsistency("No entity found for objectId " + objectId);
 			}
-			entry.copyCachedData(this.dataCollector);
-			this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
+			
+			// an entity that has already been prefetched must not be collected a second time.
+			if(this.collected != null && !this.collected.add(entry))
+			{
+				return;
+			}
+			
+			this.enqueue(entry);
+		}
+		
+		private void enqueue(final StorageEntity.Default entry)
+		{
+			this.batch[this.batchSize++] = entry;
+			if(this.batchSize == this.batch.length)
+			{
+				this.collectBatch();
+			}
+		}
+		
+		/**
+		 * Loads and collects the data of all currently batched entities and, if prefetching is enabled,
+		 * of the entities referenced by them.
+		 * Must be called after the last object id has been passed to {@link #accept(long)}.
+		 */
+		public final void complete()
+		{
+			this.collectBatch();
+			
+			while(this.prefetchLevel != null && !this.prefetchLevel.isEmpty())
+			{
+				// every prefetch level is collected completely before the next one is enqueued (breadth first).
+				final BulkList<StorageEntity.Default> level = this.prefetchLevel;
+				this.prefetchLevel = BulkList.New();
+				this.currentDepth++;
+				
+				for(final StorageEntity.Default entry : level)
+				{
+					this.enqueue(entry);
+				}
+				this.collectBatch();
+			}
+		}
+		
+		private void collectBatch()
+		{
+			final StorageEntity.Default[] batch = this.batch;
+			final int                     size  = this.batchSize;
+			if(size == 0)
+			{
+				return;
+			}
+			
+			// coalesced reading of all uncached entities' data in storage order, reordering only the copy.
+			System.arraycopy(batch, 0, this.loadingOrder, 0, size);
+			this.fileManager.loadData(this.loadingOrder, size);
+			
+			final boolean prefetching = this.currentDepth < this.prefetchDepth;
+			
+			// data collecting in request order, which does not require any more reading
+			for(int i = 0; i < size; i++)
+			{
+				batch[i].copyCachedData(this.dataCollector);
+				this.collectedLength += batch[i].length;
+				if(prefetching && batch[i].typeInFile.type.hasPrefetchableReferences)
+				{
+					// the entity's data is guaranteed to be cached at this point, so its references are readable.
+					batch[i].typeInFile.type.iterateEntityReferenceIds(batch[i], this::prefetch);
+				}
+				this.entityCache.checkForCacheClear(batch[i], System.currentTimeMillis());
+			}
+			
+			// no entity references may linger in the buffers
+			Arrays.fill(batch, 0, size, null);
+			Arrays.fill(this.loadingOrder, 0, size, null);
+			this.collectedCount += size;
+			this.batchSize = 0;
+		}
+		
+		public final long collectedCount()
+		{
+			return this.collectedCount;
+		}
+		
+		public final long collectedLength()
+		{
+			return this.collectedLength;
+		}
+		
+		private void prefetch(final long objectId)
+		{
+			final StorageEntity.Default entry;
+			if(this.prefetchedLength >= this.prefetchMaximumLength
+				|| (entry = this.entityCache.getEntry(objectId)) == null
+			)
+			{
+				// null references and entities of other channels are no error here, they are simply not prefetched.
+				return;
+			}
+			
+			if(this.collected.add(entry))
+			{
+				this.prefetchLevel.add(entry);
+				this.prefetchedLength += entry.length;
+			}
 		}
 
 	}
@@ -882,6 +1480,99 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	}
 
+	
+	/**
+	 * Passes the data of all entities of a type to a predicate in batches, reading uncached data with as few
+	 * read operations as possible without caching it.
+	 */
+	final class EntityScanner implements StorageFileManager.EntityDataAcceptor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final int BATCH_SIZE = 1024;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageFileManager.Default                fileManager;
+		private final StorageEntityData.Default                 entityData ;
+		private final Predicate<? super StorageEntityData>      predicate  ;
+		private final ToLongFunction<? super StorageEntityData> projection ;
+		private final StorageEntity.Default[]                   batch      ;
+		private       long[]                                    values     ;
+		private       int                                       valueCount ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		EntityScanner(
+			final StorageFileManager.Default                fileManager,
+			final long                                      typeId     ,
+			final Predicate<? super StorageEntityData>      predicate  ,
+			final ToLongFunction<? super StorageEntityData> projection
+		)
+		{
+			super();
+			this.fileManager = fileManager                          ;
+			this.entityData  = new StorageEntityData.Default(typeId);
+			this.predicate   = predicate                            ;
+			this.projection  = projection                           ;
+			this.batch       = new StorageEntity.Default[BATCH_SIZE];
+			this.values      = new long[BATCH_SIZE]                 ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		final long[] scan(final StorageEntityType.Default type)
+		{
+			int count = 0;
+			for(StorageEntity.Default entity = type.head; (entity = entity.typeNext) != null;)
+			{
+				this.batch[count++] = entity;
+				if(count == BATCH_SIZE)
+				{
+					this.fileManager.iterateData(this.batch, count, this);
+					count = 0;
+				}
+			}
+			this.fileManager.iterateData(this.batch, count, this);
+
+			return Arrays.copyOf(this.values, this.valueCount);
+		}
+
+		@Override
+		public final void accept(final StorageEntity.Default entity, final long dataAddress)
+		{
+			final StorageEntityData data = this.entityData.set(entity, dataAddress);
+			if(!this.predicate.test(data))
+			{
+				return;
+			}
+
+			if(this.valueCount == this.values.length)
+			{
+				this.values = Arrays.copyOf(this.values, this.valueCount * 2);
+			}
+			this.values[this.valueCount++] = this.projection == null
+				? entity.objectId()
+				: this.projection.applyAsLong(data)
+			;
+		}
+
+	}
+
 
 	@FunctionalInterface
 	public interface HousekeepingTask
@@ -0,0 +1,513 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import one.microstream.chars.VarString;
+
+/**
+ * The metrics of a single storage channel. All recording methods are called by the channel's thread on its
+ * hot paths, so they must be cheap and must never block. Snapshots can be created by any thread at any time.
+ *
+ * @see StorageMetrics
+ */
+public interface StorageChannelMetrics
+{
+	public int channelIndex();
+
+	/**
+	 * Records the writing of a store request's data by the channel.
+	 *
+	 * @param byteCount the number of written bytes.
+	 * @param nanoseconds the time it took to write (and, depending on the durability policy, to sync) the data.
+	 */
+	public void recordStore(long byteCount, long nanoseconds);
+
+	/**
+	 * Records the collecting of a load request's data by the channel.
+	 *
+	 * @param entityCount the number of collected entities.
+	 * @param byteCount the number of collected bytes.
+	 * @param nanoseconds the time it took to collect the data, including reading it from the data files.
+	 */
+	public void recordLoad(long entityCount, long byteCount, long nanoseconds);
+
+	/**
+	 * Records the time a task waited in the task chain before the channel started to process it.
+	 *
+	 * @param nanoseconds the waiting time.
+	 */
+	public void recordTaskQueueWait(long nanoseconds);
+
+	/**
+	 * Records bytes read from the channel's data files to cache entity data.
+	 *
+	 * @param byteCount the number of read bytes.
+	 */
+	public void recordDataRead(long byteCount);
+
+	/**
+	 * Records bytes transferred from a data file to the head file by the file cleanup.
+	 *
+	 * @param byteCount the number of transferred bytes.
+	 */
+	public void recordFileCleanupTransfer(long byteCount);
+
+	public void recordGarbageCollectionMark(long nanoseconds);
+
+	public void recordGarbageCollectionSweep(long nanoseconds);
+
+	/**
+	 * Registers the gauges of the channel's entity cache. The passed supplier is called by the thread creating
+	 * a snapshot, so the value might be slightly outdated.
+	 *
+	 * @param cacheSize the supplier of the current cache size in bytes.
+	 * @param cacheThreshold the cache size threshold of the entity cache evaluator, 0 if not applicable.
+	 */
+	public void registerEntityCacheGauges(LongSupplier cacheSize, long cacheThreshold);
+
+	/**
+	 * Records the channel's observation for the housekeeping controller, which is only made if the controller
+	 * adapts its time budgets, see {@link StorageHousekeepingController#isAdaptive()}.
+	 * Only the last observation is kept.
+	 *
+	 * @param busyRatio the ratio of the time spent processing tasks in the last housekeeping interval.
+	 * @param pendingTaskCount the number of tasks waiting to be processed by the channel.
+	 * @param garbageRatio the ratio of entities deleted by the channel's last garbage sweep.
+	 * @param fileFragmentation the ratio of gap bytes in the channel's data files.
+	 */
+	public void recordHousekeepingObservation(
+		double busyRatio        ,
+		int    pendingTaskCount ,
+		double garbageRatio     ,
+		double fileFragmentation
+	);
+
+	public StorageChannelMetrics.Snapshot snapshot();
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageChannelMetrics} instance.
+	 *
+	 * @param channelIndex the index of the channel.
+	 *
+	 * @return a new {@link StorageChannelMetrics} instance.
+	 */
+	public static StorageChannelMetrics New(final int channelIndex)
+	{
+		return new StorageChannelMetrics.Default(channelIndex);
+	}
+
+	public final class Default implements StorageChannelMetrics
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int channelIndex;
+
+		private final LongAdder               storedBytes         = new LongAdder();
+		private final StorageLatencyHistogram storeLatency        = StorageLatencyHistogram.New();
+		private final LongAdder               loadedEntities      = new LongAdder();
+		private final LongAdder               loadedBytes         = new LongAdder();
+		private final StorageLatencyHistogram loadLatency         = StorageLatencyHistogram.New();
+		private final StorageLatencyHistogram taskQueueWait       = StorageLatencyHistogram.New();
+		private final LongAdder               readBytes           = new LongAdder();
+		private final LongAdder               fileCleanupBytes    = new LongAdder();
+		private final StorageLatencyHistogram gcMarkDuration      = StorageLatencyHistogram.New();
+		private final StorageLatencyHistogram gcSweepDuration     = StorageLatencyHistogram.New();
+
+		private volatile LongSupplier cacheSize = () -> 0L;
+		private volatile long         cacheThreshold;
+
+		// the last housekeeping observation, only recorded by the channel thread.
+		private volatile double busyRatio        ;
+		private volatile int    pendingTaskCount ;
+		private volatile double garbageRatio     ;
+		private volatile double fileFragmentation;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int channelIndex)
+		{
+			super();
+			this.channelIndex = channelIndex;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		@Override
+		public final void recordStore(final long byteCount, final long nanoseconds)
+		{
+			this.storedBytes.add(byteCount);
+			this.storeLatency.record(nanoseconds);
+		}
+
+		@Override
+		public final void recordLoad(final long entityCount, final long byteCount, final long nanoseconds)
+		{
+			this.loadedEntities.add(entityCount);
+			this.loadedBytes.add(byteCount);
+			this.loadLatency.record(nanoseconds);
+		}
+
+		@Override
+		public final void recordTaskQueueWait(final long nanoseconds)
+		{
+			this.taskQueueWait.record(nanoseconds);
+		}
+
+		@Override
+		public final void recordDataRead(final long byteCount)
+		{
+			this.readBytes.add(byteCount);
+		}
+
+		@Override
+		public final void recordFileCleanupTransfer(final long byteCount)
+		{
+			this.fileCleanupBytes.add(byteCount);
+		}
+
+		@Override
+		public final void recordGarbageCollectionMark(final long nanoseconds)
+		{
+			this.gcMarkDuration.record(nanoseconds);
+		}
+
+		@Override
+		public final void recordGarbageCollectionSweep(final long nanoseconds)
+		{
+			this.gcSweepDuration.record(nanoseconds);
+		}
+
+		@Override
+		public final void registerEntityCacheGauges(final LongSupplier cacheSize, final long cacheThreshold)
+		{
+			this.cacheSize      = cacheSize     ;
+			this.cacheThreshold = cacheThreshold;
+		}
+
+		@Override
+		public final void recordHousekeepingObservation(
+			final double busyRatio        ,
+			final int    pendingTaskCount ,
+			final double garbageRatio     ,
+			final double fileFragmentation
+		)
+		{
+			this.busyRatio         = busyRatio        ;
+			this.pendingTaskCount  = pendingTaskCount ;
+			this.garbageRatio      = garbageRatio     ;
+			this.fileFragmentation = fileFragmentation;
+		}
+
+		@Override
+		public final StorageChannelMetrics.Snapshot snapshot()
+		{
+			return new StorageChannelMetrics.Snapshot(
+				this.channelIndex              ,
+				this.storedBytes.sum()         ,
+				this.storeLatency.snapshot()   ,
+				this.loadedEntities.sum()      ,
+				this.loadedBytes.sum()         ,
+				this.loadLatency.snapshot()    ,
+				this.taskQueueWait.snapshot()  ,
+				this.readBytes.sum()           ,
+				this.fileCleanupBytes.sum()    ,
+				this.gcMarkDuration.snapshot() ,
+				this.gcSweepDuration.snapshot(),
+				this.cacheSize.getAsLong()     ,
+				this.cacheThreshold            ,
+				this.busyRatio                 ,
+				this.pendingTaskCount          ,
+				this.garbageRatio              ,
+				this.fileFragmentation
+			);
+		}
+
+	}
+
+	/**
+	 * An immutable state of a channel's {@link StorageChannelMetrics}.
+	 */
+	public final class Snapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                              channelIndex     ;
+		private final long                             storedBytes      ;
+		private final StorageLatencyHistogram.Snapshot storeLatency     ;
+		private final long                             loadedEntities   ;
+		private final long                             loadedBytes      ;
+		private final StorageLatencyHistogram.Snapshot loadLatency      ;
+		private final StorageLatencyHistogram.Snapshot taskQueueWait    ;
+		private final long                             readBytes        ;
+		private final long                             fileCleanupBytes ;
+		private final StorageLatencyHistogram.Snapshot gcMarkDuration   ;
+		private final StorageLatencyHistogram.Snapshot gcSweepDuration  ;
+		private final long                             cacheSize        ;
+		private final long                             cacheThreshold   ;
+		private final double                           busyRatio        ;
+		private final int                              pendingTaskCount ;
+		private final double                           garbageRatio     ;
+		private final double                           fileFragmentation;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Snapshot(
+			final int                              channelIndex     ,
+			final long                             storedBytes      ,
+			final StorageLatencyHistogram.Snapshot storeLatency     ,
+			final long                             loadedEntities   ,
+			final long                             loadedBytes      ,
+			final StorageLatencyHistogram.Snapshot loadLatency      ,
+			final StorageLatencyHistogram.Snapshot taskQueueWait    ,
+			final long                             readBytes        ,
+			final long                             fileCleanupBytes ,
+			final StorageLatencyHistogram.Snapshot gcMarkDuration   ,
+			final StorageLatencyHistogram.Snapshot gcSweepDuration  ,
+			final long                             cacheSize        ,
+			final long                             cacheThreshold   ,
+			final double                           busyRatio        ,
+			final int                              pendingTaskCount ,
+			final double                           garbageRatio     ,
+			final double                           fileFragmentation
+		)
+		{
+			super();
+			this.channelIndex      = channelIndex     ;
+			this.storedBytes       = storedBytes      ;
+			this.storeLatency      = storeLatency     ;
+			this.loadedEntities    = loadedEntities   ;
+			this.loadedBytes       = loadedBytes      ;
+			this.loadLatency       = loadLatency      ;
+			this.taskQueueWait     = taskQueueWait    ;
+			this.readBytes         = readBytes        ;
+			this.fileCleanupBytes  = fileCleanupBytes ;
+			this.gcMarkDuration    = gcMarkDuration   ;
+			this.gcSweepDuration   = gcSweepDuration  ;
+			this.cacheSize         = cacheSize        ;
+			this.cacheThreshold    = cacheThreshold   ;
+			this.busyRatio         = busyRatio        ;
+			this.pendingTaskCount  = pendingTaskCount ;
+			this.garbageRatio      = garbageRatio     ;
+			this.fileFragmentation = fileFragmentation;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		/**
+		 * @return the total number of bytes written for store requests.
+		 */
+		public final long storedBytes()
+		{
+			return this.storedBytes;
+		}
+
+		/**
+		 * @return the latencies of writing store requests' data, the count being the number of store requests.
+		 */
+		public final StorageLatencyHistogram.Snapshot storeLatency()
+		{
+			return this.storeLatency;
+		}
+
+		/**
+		 * @return the total number of entities collected for load requests.
+		 */
+		public final long loadedEntities()
+		{
+			return this.loadedEntities;
+		}
+
+		/**
+		 * @return the total number of bytes collected for load requests.
+		 */
+		public final long loadedBytes()
+		{
+			return this.loadedBytes;
+		}
+
+		/**
+		 * @return the latencies of collecting load requests' data, the count being the number of load requests.
+		 */
+		public final StorageLatencyHistogram.Snapshot loadLatency()
+		{
+			return this.loadLatency;
+		}
+
+		/**
+		 * @return the times tasks waited before the channel started to process them.
+		 */
+		public final StorageLatencyHistogram.Snapshot taskQueueWait()
+		{
+			return this.taskQueueWait;
+		}
+
+		/**
+		 * @return the total number of bytes read from data files to cache entity data.
+		 */
+		public final long readBytes()
+		{
+			return this.readBytes;
+		}
+
+		/**
+		 * @return the total number of bytes transferred by the file cleanup.
+		 */
+		public final long fileCleanupBytes()
+		{
+			return this.fileCleanupBytes;
+		}
+
+		/**
+		 * @return the durations of the incremental garbage collection marking steps.
+		 */
+		public final StorageLatencyHistogram.Snapshot gcMarkDuration()
+		{
+			return this.gcMarkDuration;
+		}
+
+		/**
+		 * @return the durations of the garbage collection sweeps.
+		 */
+		public final StorageLatencyHistogram.Snapshot gcSweepDuration()
+		{
+			return this.gcSweepDuration;
+		}
+
+		/**
+		 * @return the entity cache size in bytes at the time of the snapshot.
+		 */
+		public final long cacheSize()
+		{
+			return this.cacheSize;
+		}
+
+		/**
+		 * @return the cache size threshold of the entity cache evaluator, 0 if not applicable.
+		 */
+		public final long cacheThreshold()
+		{
+			return this.cacheThreshold;
+		}
+
+		/*
+		 * Note on the housekeeping observations:
+		 * They are only recorded if the housekeeping controller adapts its time budgets, otherwise they are 0.
+		 */
+
+		/**
+		 * @return the ratio of the time spent processing tasks in the last observed housekeeping interval.
+		 */
+		public final double busyRatio()
+		{
+			return this.busyRatio;
+		}
+
+		/**
+		 * @return the number of tasks waiting to be processed at the last observation.
+		 */
+		public final int pendingTaskCount()
+		{
+			return this.pendingTaskCount;
+		}
+
+		/**
+		 * @return the ratio of entities deleted by the last garbage sweep before the last observation.
+		 */
+		public final double garbageRatio()
+		{
+			return this.garbageRatio;
+		}
+
+		/**
+		 * @return the ratio of gap bytes in the data files at the last observation.
+		 */
+		public final double fileFragmentation()
+		{
+			return this.fileFragmentation;
+		}
+
+		public final VarString assembleTo(final VarString vs)
+		{
+			return vs
+				.add("Channel ").add(this.channelIndex).lf()
+				.tab().add("stored bytes      : ").add(this.storedBytes).lf()
+				.tab().add("store latency     : ").add(this.storeLatency).lf()
+				.tab().add("loaded entities   : ").add(this.loadedEntities).lf()
+				.tab().add("loaded bytes      : ").add(this.loadedBytes).lf()
+				.tab().add("load latency      : ").add(this.loadLatency).lf()
+				.tab().add("task queue wait   : ").add(this.taskQueueWait).lf()
+				.tab().add("read bytes        : ").add(this.readBytes).lf()
+				.tab().add("file cleanup bytes: ").add(this.fileCleanupBytes).lf()
+				.tab().add("gc mark duration  : ").add(this.gcMarkDuration).lf()
+				.tab().add("gc sweep duration : ").add(this.gcSweepDuration).lf()
+				.tab().add("cache size        : ").add(this.cacheSize).add(" / ").add(this.cacheThreshold).lf()
+				.tab().add("busy ratio        : ").add(this.busyRatio).lf()
+				.tab().add("pending tasks     : ").add(this.pendingTaskCount).lf()
+				.tab().add("garbage ratio     : ").add(this.garbageRatio).lf()
+				.tab().add("fragmentation     : ").add(this.fileFragmentation).lf()
+			;
+		}
+
+		@Override
+		public final String toString()
+		{
+			return this.assembleTo(VarString.New()).toString();
+		}
+
+	}
+
+}
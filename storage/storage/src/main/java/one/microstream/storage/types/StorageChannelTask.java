@@ -2,7 +2,11 @@ package one.microstream.storage.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 
@@ -64,6 +68,13 @@ public interface StorageChannelTask extends StorageTask
 		 * is acceptable for the time being.
 		 */
 		protected final StorageOperationController controller ;
+		
+		// created on demand, only needed for asynchronous completion handling
+		private CompletableFuture<Void> completion;
+		
+		// an explicit lock instead of the monitor to not pin waiting virtual threads to their carrier threads
+		private final ReentrantLock completionLock = new ReentrantLock()                  ;
+		private final Condition     completed      = this.completionLock.newCondition();
 
 
 
@@ -152,26 +163,101 @@ public interface StorageChannelTask extends StorageTask
 		////////////
 
 		@Override
-		public final synchronized void incrementCompletionProgress()
+		public final void incrementCompletionProgress()
+		{
+			final CompletableFuture<Void> completion;
+			this.completionLock.lock();
+			try
+			{
+				// may never get negative or something is seriously broken
+				this.remainingForCompletion--; // suffices as this method gets called by every manager thread exactly once.
+				this.completed.signalAll();
+				
+				completion = this.remainingForCompletion == 0 ? this.completion : null;
+			}
+			finally
+			{
+				this.completionLock.unlock();
+			}
+			
+			// dependent actions run synchronously in the completing thread, so they must not run under the lock.
+			if(completion != null)
+			{
+				this.signalCompletion(completion);
+			}
+		}
+		
+		private void signalCompletion(final CompletableFuture<Void> completion)
+		{
+			try
+			{
+				this.checkForProblems();
+				completion.complete(null);
+			}
+			catch(final StorageException e)
+			{
+				completion.completeExceptionally(e);
+			}
+		}
+		
+		@Override
+		public final CompletableFuture<Void> completion()
 		{
-			// may never get negative or something is seriously broken
-			this.remainingForCompletion--; // suffices as this method gets called by every manager thread exactly once.
-			this.notifyAll();
+			final CompletableFuture<Void> completion;
+			final boolean                 isComplete;
+			this.completionLock.lock();
+			try
+			{
+				// only the creating thread may signal an already complete task, see incrementCompletionProgress().
+				isComplete = this.completion == null && this.remainingForCompletion == 0;
+				if(this.completion == null)
+				{
+					this.completion = new CompletableFuture<>();
+				}
+				completion = this.completion;
+			}
+			finally
+			{
+				this.completionLock.unlock();
+			}
+			
+			if(isComplete)
+			{
+				this.signalCompletion(completion);
+			}
+			
+			return completion;
 		}
 
 		@Override
-		public final synchronized boolean isComplete()
+		public final boolean isComplete()
 		{
-			return this.remainingForCompletion == 0;
+			this.completionLock.lock();
+			try
+			{
+				return this.remainingForCompletion == 0;
+			}
+			finally
+			{
+				this.completionLock.unlock();
+			}
 		}
 
 		@Override
-		public final synchronized void waitOnCompletion() throws InterruptedException
+		public final void waitOnCompletion() throws InterruptedException
 		{
-			while(this.remainingForCompletion > 0)
+			this.completionLock.lock();
+			try
+			{
+				while(this.remainingForCompletion > 0)
+				{
+					this.checkForProblems(); // check for problems already while waiting
+					this.completed.await(100, TimeUnit.MILLISECONDS);
+				}
+			}
+			finally
 			{
-				this.checkForProblems(); // check for problems already while waiting
-				this.wait(100);
+				this.completionLock.unlock();
 			}
 			this.checkForProblems(); // check for problems after every channel reported completion
 		}
@@ -80,6 +80,24 @@ public interface StorageChannelTaskInitialize extends StorageChannelTask
 			return this.consistentStoreTimestamp;
 		}
 
+		private long getConsistentStoreTimestamp(final StorageChannel channel)
+		{
+			if(!channel.isFollower())
+			{
+				return this.getConsistentStoreTimestamp();
+			}
+			
+			/*
+			 * The followed process keeps storing while the channels read their transactions files, so a channel
+			 * can be several stores ahead of another. Each channel starts at its own latest store and the
+			 * stores in between are completed by following, see StorageRequestTaskFollowTransactions.
+			 * The channel's files are read again right before initializing, so this is only preliminary.
+			 */
+			final StorageTransactionsAnalysis tFileAnalysis = this.result[channel.channelIndex()].transactionsFileAnalysis();
+			
+			return tFileAnalysis == null ? 0 : tFileAnalysis.headFileLatestTimestamp();
+		}
+
 		private synchronized long getCommonTaskHeadFileTimestamp()
 		{
 			if(this.commonTaskHeadFileTimestamp == null)
@@ -199,8 +217,8 @@ public interface StorageChannelTaskInitialize extends StorageChannelTask
 		{
 
 			final StorageIdAnalysis idAnalysis = channel.initializeStorage(
-				this.getCommonTaskHeadFileTimestamp(),
-				this.getConsistentStoreTimestamp()   ,
+				this.getCommonTaskHeadFileTimestamp()    ,
+				this.getConsistentStoreTimestamp(channel),
 				result[channel.channelIndex()]
 			);
 
@@ -49,6 +49,11 @@ public interface StorageChannelTaskShutdown extends StorageChannelTask
 		protected final Void internalProcessBy(final StorageChannel channel)
 		{
 			// may not deactivate here as some channel threads would die before all others notice the progress
+			
+			// all prior tasks are completed at this point, so the checkpoint reflects the final state.
+			channel.writeEntityCheckpoint();
+			channel.syncWrittenFiles();
+			
 			return null;
 		}
 
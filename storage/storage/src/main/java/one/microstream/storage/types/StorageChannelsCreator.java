@@ -51,6 +51,13 @@ public interface StorageChannelsCreator
 		StorageBackupHandler                       backupHandler                ,
 		StorageEventLogger                         eventLogger                  ,
 		ObjectIdsSelector                          liveObjectIdChecker          ,
+		StorageEntityCacheAllocator.Creator        cacheAllocatorCreator        ,
+		StorageLoadingSetup                        loadingSetup                 ,
+		StorageCheckpointSetup                     checkpointSetup              ,
+		StorageDurabilityPolicy                    durabilityPolicy             ,
+		StorageIoThrottle                          ioThrottle                   ,
+		StorageFollowerSetup                       followerSetup                ,
+		StorageMetrics                             metrics                      ,
 		Referencing<PersistenceLiveStorerRegistry> refStorerRegistry            ,
 		boolean                                    switchByteOrder              ,
 		long                                       rootTypeId
@@ -87,6 +94,13 @@ public interface StorageChannelsCreator
 			final StorageBackupHandler                       backupHandler                ,
 			final StorageEventLogger                         eventLogger                  ,
 			final ObjectIdsSelector                          liveObjectIdChecker          ,
+			final StorageEntityCacheAllocator.Creator        cacheAllocatorCreator        ,
+			final StorageLoadingSetup                        loadingSetup                 ,
+			final StorageCheckpointSetup                     checkpointSetup              ,
+			final StorageDurabilityPolicy                    durabilityPolicy             ,
+			final StorageIoThrottle                          ioThrottle                   ,
+			final StorageFollowerSetup                       followerSetup                ,
+			final StorageMetrics                             metrics                      ,
 			final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry            ,
 			final boolean                                    switchByteOrder              ,
 			final long                                       rootTypeId
@@ -130,7 +144,9 @@ public interface StorageChannelsCreator
 					eventLogger                                      ,
 					liveObjectIdChecker                              ,
 					markingWaitTimeMs                                ,
-					markBufferLength
+					markBufferLength                                 ,
+					cacheAllocatorCreator.createAllocator(i, channels.length),
+					metrics.channel(i)
 				);
 
 				// file manager to handle "file" IO (whatever "file" might be, might be a RDBMS binary table as well)
@@ -144,7 +160,13 @@ public interface StorageChannelsCreator
 					writeController                 ,
 					writerProvider.provideWriter(i) ,
 					readingDefaultBufferSizeProvider,
-					backupHandler
+					backupHandler                   ,
+					loadingSetup                    ,
+					checkpointSetup                 ,
+					durabilityPolicy                ,
+					ioThrottle                      ,
+					followerSetup                   ,
+					metrics.channel(i)
 				);
 
 				// required to resolve the initializer cyclic dependency
@@ -162,7 +184,8 @@ public interface StorageChannelsCreator
 					switchByteOrder          ,
 					loadingBufferSizeProvider,
 					fileManager              ,
-					eventLogger
+					eventLogger              ,
+					metrics.channel(i)
 				);
 
 			}
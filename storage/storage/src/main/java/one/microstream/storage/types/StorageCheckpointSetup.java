@@ -0,0 +1,197 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+
+/**
+ * Setup values that control the writing of entity checkpoints.
+ * <p>
+ * An entity checkpoint is a per-channel file next to the channel's transactions file that records the
+ * object id, type id, data file number, position and length of every entity at a certain point in the channel's
+ * transactions log. On startup, a valid checkpoint allows to restore the entity registry without reading all
+ * data files. Only data that has been written after the checkpoint has to be read and parsed.
+ * If a checkpoint cannot be validated against the transactions file and the data files, it is ignored and
+ * the storage is initialized by reading all data files, as without a checkpoint.
+ * <p>
+ * Independent of entity checkpoints, a channel's transactions file is rolled over to a new segment once it exceeds
+ * {@link #transactionsFileMaximumSize()}, if configured. The new segment starts with a checkpoint of the state of
+ * all data files, so the retired segment is obsolete and is either moved to the deletion directory, if one is
+ * configured, or deleted.
+ * This way, only the entries written since the last roll have to be parsed on startup.
+ * <p>
+ * Both are opt-in: by default, a {@link StorageFoundation} uses {@link #Disabled()}.
+ */
+public interface StorageCheckpointSetup
+{
+	/**
+	 * Defines if checkpoints are written at all. Existing checkpoints are ignored if this is {@code false}.
+	 *
+	 * @return whether entity checkpoints are written and used.
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * The minimum interval in milliseconds between two checkpoints written by the housekeeping.
+	 * A checkpoint is only written if there have been changes since the last one.
+	 * A value of 0 means that checkpoints are only written on shutdown.
+	 *
+	 * @return the checkpoint interval in milliseconds.
+	 */
+	public long checkpointIntervalMs();
+
+	/**
+	 * The size in bytes beyond which a channel's transactions file is rolled over to a new segment by the
+	 * housekeeping. A value of 0, which is the default, means that the transactions file is never rolled over
+	 * and grows indefinitely.
+	 *
+	 * @return the maximum size of a transactions file in bytes.
+	 */
+	public long transactionsFileMaximumSize();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultCheckpointIntervalMs()
+		{
+			return 10 * 60 * 1000; // 10 minutes
+		}
+
+		public static long defaultTransactionsFileMaximumSize()
+		{
+			return 0; // rolling is opt-in
+		}
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageCheckpointSetup} instance with checkpoints
+	 * enabled and the default values provided by {@link StorageCheckpointSetup.Defaults}.
+	 *
+	 * @return a new {@link StorageCheckpointSetup} instance.
+	 */
+	public static StorageCheckpointSetup New()
+	{
+		return New(Defaults.defaultCheckpointIntervalMs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageCheckpointSetup} instance with checkpoints
+	 * enabled, the passed interval and the default transactions file maximum size.
+	 *
+	 * @param checkpointIntervalMs the checkpoint interval in milliseconds, 0 for shutdown checkpoints only.
+	 *
+	 * @return a new {@link StorageCheckpointSetup} instance.
+	 */
+	public static StorageCheckpointSetup New(final long checkpointIntervalMs)
+	{
+		return New(checkpointIntervalMs, Defaults.defaultTransactionsFileMaximumSize());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageCheckpointSetup} instance with checkpoints
+	 * enabled and the passed values.
+	 *
+	 * @param checkpointIntervalMs the checkpoint interval in milliseconds, 0 for shutdown checkpoints only.
+	 * @param transactionsFileMaximumSize the transactions file size in bytes that causes a roll over, 0 for never.
+	 *
+	 * @return a new {@link StorageCheckpointSetup} instance.
+	 */
+	public static StorageCheckpointSetup New(
+		final long checkpointIntervalMs       ,
+		final long transactionsFileMaximumSize
+	)
+	{
+		return new StorageCheckpointSetup.Default(
+			true                                    ,
+			notNegative(checkpointIntervalMs)       ,
+			notNegative(transactionsFileMaximumSize)
+		);
+	}
+
+	/**
+	 * Creates a {@link StorageCheckpointSetup} instance with checkpoints disabled.
+	 * The transactions file is never rolled over.
+	 *
+	 * @return a new {@link StorageCheckpointSetup} instance.
+	 */
+	public static StorageCheckpointSetup Disabled()
+	{
+		return new StorageCheckpointSetup.Default(false, 0, 0);
+	}
+
+	public final class Default implements StorageCheckpointSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean enabled                    ;
+		private final long    checkpointIntervalMs       ;
+		private final long    transactionsFileMaximumSize;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final boolean enabled                    ,
+			final long    checkpointIntervalMs       ,
+			final long    transactionsFileMaximumSize
+		)
+		{
+			super();
+			this.enabled                     = enabled                    ;
+			this.checkpointIntervalMs        = checkpointIntervalMs       ;
+			this.transactionsFileMaximumSize = transactionsFileMaximumSize;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isEnabled()
+		{
+			return this.enabled;
+		}
+
+		@Override
+		public final long checkpointIntervalMs()
+		{
+			return this.checkpointIntervalMs;
+		}
+
+		@Override
+		public final long transactionsFileMaximumSize()
+		{
+			return this.transactionsFileMaximumSize;
+		}
+
+	}
+
+}
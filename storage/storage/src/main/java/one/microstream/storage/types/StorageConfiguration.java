@@ -42,6 +42,12 @@ public interface StorageConfiguration
 	public StorageDataFileEvaluator dataFileEvaluator();
 	
 	public StorageBackupSetup backupSetup();
+	
+	public StorageDurabilityPolicy durabilityPolicy();
+	
+	public StorageIoThrottle ioThrottle();
+	
+	public StorageFollowerSetup followerSetup();
 
 	
 	/**
@@ -94,6 +100,75 @@ public interface StorageConfiguration
 		final StorageEntityCacheEvaluator   entityCacheEvaluator  ,
 		final StorageBackupSetup            backupSetup
 	)
+	{
+		return New(
+			channelCountProvider          ,
+			housekeepingController        ,
+			fileProvider                  ,
+			dataFileEvaluator             ,
+			entityCacheEvaluator          ,
+			backupSetup                   ,
+			StorageDurabilityPolicy.New()
+		);
+	}
+	
+	public static StorageConfiguration New(
+		final StorageChannelCountProvider   channelCountProvider  ,
+		final StorageHousekeepingController housekeepingController,
+		final StorageLiveFileProvider       fileProvider          ,
+		final StorageDataFileEvaluator      dataFileEvaluator     ,
+		final StorageEntityCacheEvaluator   entityCacheEvaluator  ,
+		final StorageBackupSetup            backupSetup           ,
+		final StorageDurabilityPolicy       durabilityPolicy
+	)
+	{
+		return New(
+			channelCountProvider  ,
+			housekeepingController,
+			fileProvider          ,
+			dataFileEvaluator     ,
+			entityCacheEvaluator  ,
+			backupSetup           ,
+			durabilityPolicy      ,
+			StorageIoThrottle.New()
+		);
+	}
+	
+	public static StorageConfiguration New(
+		final StorageChannelCountProvider   channelCountProvider  ,
+		final StorageHousekeepingController housekeepingController,
+		final StorageLiveFileProvider       fileProvider          ,
+		final StorageDataFileEvaluator      dataFileEvaluator     ,
+		final StorageEntityCacheEvaluator   entityCacheEvaluator  ,
+		final StorageBackupSetup            backupSetup           ,
+		final StorageDurabilityPolicy       durabilityPolicy      ,
+		final StorageIoThrottle             ioThrottle
+	)
+	{
+		return New(
+			channelCountProvider          ,
+			housekeepingController        ,
+			fileProvider                  ,
+			dataFileEvaluator             ,
+			entityCacheEvaluator          ,
+			backupSetup                   ,
+			durabilityPolicy              ,
+			ioThrottle                    ,
+			StorageFollowerSetup.Disabled()
+		);
+	}
+	
+	public static StorageConfiguration New(
+		final StorageChannelCountProvider   channelCountProvider  ,
+		final StorageHousekeepingController housekeepingController,
+		final StorageLiveFileProvider       fileProvider          ,
+		final StorageDataFileEvaluator      dataFileEvaluator     ,
+		final StorageEntityCacheEvaluator   entityCacheEvaluator  ,
+		final StorageBackupSetup            backupSetup           ,
+		final StorageDurabilityPolicy       durabilityPolicy      ,
+		final StorageIoThrottle             ioThrottle            ,
+		final StorageFollowerSetup          followerSetup
+	)
 	{
 		return new StorageConfiguration.Default(
 			notNull(channelCountProvider)  ,
@@ -101,7 +176,10 @@ public interface StorageConfiguration
 			notNull(fileProvider)          ,
 			notNull(dataFileEvaluator)     ,
 			notNull(entityCacheEvaluator)  ,
-			mayNull(backupSetup)
+			mayNull(backupSetup)           ,
+			notNull(durabilityPolicy)      ,
+			notNull(ioThrottle)            ,
+			notNull(followerSetup)
 		);
 	}
 
@@ -117,6 +195,9 @@ public interface StorageConfiguration
 		private final StorageDataFileEvaluator      dataFileEvaluator     ;
 		private final StorageEntityCacheEvaluator   entityCacheEvaluator  ;
 		private final StorageBackupSetup            backupSetup           ;
+		private final StorageDurabilityPolicy       durabilityPolicy      ;
+		private final StorageIoThrottle             ioThrottle            ;
+		private final StorageFollowerSetup          followerSetup         ;
 
 
 
@@ -130,7 +211,10 @@ public interface StorageConfiguration
 			final StorageLiveFileProvider           fileProvider          ,
 			final StorageDataFileEvaluator      dataFileEvaluator     ,
 			final StorageEntityCacheEvaluator   entityCacheEvaluator  ,
-			final StorageBackupSetup            backupSetup
+			final StorageBackupSetup            backupSetup           ,
+			final StorageDurabilityPolicy       durabilityPolicy      ,
+			final StorageIoThrottle             ioThrottle            ,
+			final StorageFollowerSetup          followerSetup
 		)
 		{
 			super();
@@ -140,6 +224,9 @@ public interface StorageConfiguration
 			this.fileProvider           = fileProvider          ;
 			this.dataFileEvaluator      = dataFileEvaluator     ;
 			this.backupSetup            = backupSetup           ;
+			this.durabilityPolicy       = durabilityPolicy      ;
+			this.ioThrottle             = ioThrottle            ;
+			this.followerSetup          = followerSetup         ;
 		}
 
 
@@ -183,6 +270,24 @@ public interface StorageConfiguration
 		{
 			return this.backupSetup;
 		}
+		
+		@Override
+		public StorageDurabilityPolicy durabilityPolicy()
+		{
+			return this.durabilityPolicy;
+		}
+		
+		@Override
+		public StorageIoThrottle ioThrottle()
+		{
+			return this.ioThrottle;
+		}
+		
+		@Override
+		public StorageFollowerSetup followerSetup()
+		{
+			return this.followerSetup;
+		}
 
 		@Override
 		public String toString()
@@ -195,6 +300,9 @@ public interface StorageConfiguration
 				.add(this.entityCacheEvaluator  ).lf()
 				.add(this.dataFileEvaluator     ).lf()
 				.add(this.backupSetup == null ? StorageBackupSetup.class.getName() + ": null": this.backupSetup).lf()
+				.add(this.durabilityPolicy      ).lf()
+				.add(this.ioThrottle            ).lf()
+				.add(this.followerSetup         ).lf()
 				.toString()
 			;
 		}
@@ -243,6 +351,18 @@ public interface StorageConfiguration
 		
 		public B setEntityCacheEvaluator(StorageEntityCacheEvaluator entityCacheEvaluator);
 		
+		public StorageDurabilityPolicy durabilityPolicy();
+		
+		public B setDurabilityPolicy(StorageDurabilityPolicy durabilityPolicy);
+		
+		public StorageIoThrottle ioThrottle();
+		
+		public B setIoThrottle(StorageIoThrottle ioThrottle);
+		
+		public StorageFollowerSetup followerSetup();
+		
+		public B setFollowerSetup(StorageFollowerSetup followerSetup);
+		
 		public StorageConfiguration createConfiguration();
 		
 		
@@ -258,6 +378,9 @@ public interface StorageConfiguration
 			private StorageLiveFileProvider       storageFileProvider    = this.initializeLiveFileProvider();
 			private StorageDataFileEvaluator      dataFileEvaluator      = this.initializeDataFileEvaluator();
 			private StorageEntityCacheEvaluator   entityCacheEvaluator   = this.initializeEntityCacheEvaluator();
+			private StorageDurabilityPolicy       durabilityPolicy       = this.initializeDurabilityPolicy();
+			private StorageIoThrottle             ioThrottle             = this.initializeIoThrottle();
+			private StorageFollowerSetup          followerSetup          = this.initializeFollowerSetup();
 			private StorageBackupSetup            backupSetup           ; // optional
 			
 			
@@ -302,6 +425,21 @@ public interface StorageConfiguration
 				return Storage.EntityCacheEvaluator();
 			}
 			
+			protected StorageDurabilityPolicy initializeDurabilityPolicy()
+			{
+				return StorageDurabilityPolicy.New();
+			}
+			
+			protected StorageIoThrottle initializeIoThrottle()
+			{
+				return StorageIoThrottle.New();
+			}
+			
+			protected StorageFollowerSetup initializeFollowerSetup()
+			{
+				return StorageFollowerSetup.Disabled();
+			}
+			
 			@SuppressWarnings("unchecked")
 			protected final B $()
 			{
@@ -403,6 +541,54 @@ public interface StorageConfiguration
 				return this.$();
 			}
 			
+			@Override
+			public StorageDurabilityPolicy durabilityPolicy()
+			{
+				return this.durabilityPolicy;
+			}
+			
+			@Override
+			public B setDurabilityPolicy(final StorageDurabilityPolicy durabilityPolicy)
+			{
+				this.durabilityPolicy = durabilityPolicy == null
+					? this.initializeDurabilityPolicy()
+					: durabilityPolicy
+				;
+				return this.$();
+			}
+			
+			@Override
+			public StorageIoThrottle ioThrottle()
+			{
+				return this.ioThrottle;
+			}
+			
+			@Override
+			public B setIoThrottle(final StorageIoThrottle ioThrottle)
+			{
+				this.ioThrottle = ioThrottle == null
+					? this.initializeIoThrottle()
+					: ioThrottle
+				;
+				return this.$();
+			}
+			
+			@Override
+			public StorageFollowerSetup followerSetup()
+			{
+				return this.followerSetup;
+			}
+			
+			@Override
+			public B setFollowerSetup(final StorageFollowerSetup followerSetup)
+			{
+				this.followerSetup = followerSetup == null
+					? this.initializeFollowerSetup()
+					: followerSetup
+				;
+				return this.$();
+			}
+			
 			@Override
 			public StorageConfiguration createConfiguration()
 			{
@@ -412,7 +598,10 @@ public interface StorageConfiguration
 					this.storageFileProvider   ,
 					this.dataFileEvaluator     ,
 					this.entityCacheEvaluator  ,
-					this.backupSetup
+					this.backupSetup           ,
+					this.durabilityPolicy      ,
+					this.ioThrottle            ,
+					this.followerSetup
 				);
 			}
 			
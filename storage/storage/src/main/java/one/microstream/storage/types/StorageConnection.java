@@ -23,7 +23,9 @@ package one.microstream.storage.types;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import one.microstream.afs.types.ADirectory;
 import one.microstream.afs.types.AFile;
@@ -35,6 +37,7 @@ import one.microstream.persistence.types.PersistenceTypeDictionaryExporter;
 import one.microstream.persistence.types.Persister;
 import one.microstream.persistence.types.Storer;
 import one.microstream.persistence.types.Unpersistable;
+import one.microstream.storage.exceptions.StorageExceptionBackup;
 import one.microstream.storage.exceptions.StorageExceptionBackupFullBackupTargetNotEmpty;
 
 
@@ -245,6 +248,41 @@ public interface StorageConnection extends Persister
 		PersistenceTypeDictionaryExporter typeDictionaryExporter
 	);
 
+	/**
+	 * Issues an incremental backup of the whole storage into a new snapshot directory.<br>
+	 * Data files that have not changed since the previous snapshot are hard-linked into the new snapshot
+	 * and grown data files only get their appended part copied from the storage, so the backup's duration
+	 * depends on the amount of data written since the previous snapshot instead of the storage size.
+	 * Nevertheless, every snapshot is a complete storage directory, see {@link StorageIncrementalBackup}.
+	 * <p>
+	 * if the target is existing and not empty a {@link StorageExceptionBackup} exception will be thrown
+	 * 
+	 * @param targetDirectory the directory to write the new snapshot into
+	 * @param previousBackupDirectory the directory of the previous snapshot or {@code null} for the first snapshot
+	 * 
+	 * @return the manifest of the new snapshot
+	 * 
+	 * @see StorageIncrementalBackup#verify(ADirectory)
+	 */
+	public default StorageBackupManifest issueIncrementalBackup(
+		final ADirectory targetDirectory        ,
+		final ADirectory previousBackupDirectory
+	)
+	{
+		return this.issueIncrementalBackup(
+			StorageIncrementalBackup.New(targetDirectory, previousBackupDirectory)
+		);
+	}
+	
+	/**
+	 * Issues an incremental backup of the whole storage, see {@link #issueIncrementalBackup(ADirectory, ADirectory)}.
+	 * 
+	 * @param backup the backup to be executed
+	 * 
+	 * @return the manifest of the new snapshot
+	 */
+	public StorageBackupManifest issueIncrementalBackup(StorageIncrementalBackup backup);
+
 	/**
 	 * Creates a {@link StorageRawFileStatistics} instance, (obviously) containing raw file statistics about
 	 * every channel in the storage.
@@ -363,6 +401,62 @@ public interface StorageConnection extends Persister
 		);
 	}
 
+	/**
+	 * Scans the binary data of all stored entities of the type identified by the passed type id and returns the
+	 * object ids of all entities selected by the passed predicate. The scan is performed by all channels in
+	 * parallel directly on the entity data, neither instances are created nor data is loaded into the entity cache.
+	 * <p>
+	 * The passed predicate is called concurrently by all channel threads and must therefore be thread-safe.
+	 * Its fields are typically accessed via {@link StorageEntityField} instances.<br>
+	 * Note that entities that have become unreachable but have not been collected by the garbage collector yet
+	 * are included in the scan, see {@link #issueFullGarbageCollection()}.
+	 * 
+	 * @param typeId the type id of the entities to be scanned.
+	 * @param predicate selects the entities to be included in the result.
+	 * 
+	 * @return the object ids of all selected entities.
+	 * 
+	 * @see #scanTypeEntities(long, Predicate, ToLongFunction)
+	 */
+	public default long[] scanTypeEntities(
+		final long                                 typeId   ,
+		final Predicate<? super StorageEntityData> predicate
+	)
+	{
+		return this.scanTypeEntities(typeId, predicate, null);
+	}
+	
+	/**
+	 * Like {@link #scanTypeEntities(long, Predicate)}, but returns the value projected from every selected
+	 * entity by the passed projection instead of its object id, e.g. the value of a field.
+	 * Floating point values can be projected by means of {@link Double#doubleToRawLongBits(double)}.
+	 * 
+	 * @param typeId the type id of the entities to be scanned.
+	 * @param predicate selects the entities to be included in the result.
+	 * @param projection the value to be returned for every selected entity, {@code null} for its object id.
+	 * 
+	 * @return the projected values of all selected entities.
+	 */
+	public long[] scanTypeEntities(
+		long                                      typeId    ,
+		Predicate<? super StorageEntityData>      predicate ,
+		ToLongFunction<? super StorageEntityData> projection
+	);
+
+	/**
+	 * Registers the entities the followed process has stored since the last call, provided that the storage
+	 * has been started as a follower. Only stores that have been completed by the followed process are applied,
+	 * in their order. Entities located in files deleted by the followed process are removed.
+	 * <p>
+	 * Note that instances already created from the followed entities are not updated by this method,
+	 * see the returned object ids.
+	 * 
+	 * @return the object ids of all entities stored since the last call.
+	 * 
+	 * @see StorageFollowerSetup
+	 */
+	public long[] followStorage();
+
 	/**
 	 * Imports all files specified by the passed Enum (ordered set) of {@link AFile} in order.<br>
 	 * The files are assumed to be in the native binary format used internally by the storage.<br>
@@ -419,6 +513,24 @@ public interface StorageConnection extends Persister
 		this.persistenceManager().storeAll(instances);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		return this.persistenceManager().storeAsync(instance);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default CompletableFuture<long[]> storeAllAsync(final Object... instances)
+	{
+		return this.persistenceManager().storeAllAsync(instances);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -564,6 +676,26 @@ public interface StorageConnection extends Persister
 			typeDictionaryExporter.exportTypeDictionary(this.persistenceManager().typeDictionary());
 		}
 
+		@Override
+		public final StorageBackupManifest issueIncrementalBackup(final StorageIncrementalBackup backup)
+		{
+			try
+			{
+				this.connectionRequestAcceptor.backupIncremental(backup);
+				
+				return backup.complete(this.persistenceManager().typeDictionary());
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return null;
+			}
+			finally
+			{
+				backup.dispose();
+			}
+		}
+
 		@Override
 		public StorageRawFileStatistics createStorageStatistics()
 		{
@@ -609,6 +741,38 @@ public interface StorageConnection extends Persister
 			}
 		}
 
+		@Override
+		public long[] scanTypeEntities(
+			final long                                      typeId    ,
+			final Predicate<? super StorageEntityData>      predicate ,
+			final ToLongFunction<? super StorageEntityData> projection
+		)
+		{
+			try
+			{
+				return this.connectionRequestAcceptor.scanTypeEntities(typeId, predicate, projection);
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return null;
+			}
+		}
+
+		@Override
+		public long[] followStorage()
+		{
+			try
+			{
+				return this.connectionRequestAcceptor.followStorage();
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return null;
+			}
+		}
+
 		@Override
 		public void importFiles(final XGettingEnum<AFile> importFiles)
 		{
@@ -0,0 +1,319 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.chars.VarString;
+
+
+/**
+ * A {@link StorageDataFileEvaluator} that implements a log-structured cost-benefit cleanup policy.
+ * <p>
+ * Instead of dissolving every file whose use ratio is below the minimum use ratio, the minimum use ratio is
+ * applied to a channel's data files as a whole: files are only dissolved for gap reasons as long as the ratio of
+ * live data in all of the channel's files is below {@link #minimumUseRatio()}, and the most profitable files are
+ * dissolved first. This avoids moving the same live data again and again just because the files it has been
+ * moved to got a few gaps as well, which reduces the write amplification of the file cleanup.
+ * <p>
+ * The benefit of a file is {@code (1 - liveRatio) * age / liveBytes}, where the age of a file is the number of
+ * data files that have been written after it. Old files with little live data are cheap to dissolve and likely
+ * to contain only cold data that will not be rewritten soon. Young files, however, typically contain hot,
+ * frequently rewritten entities whose outdated versions will become gaps by themselves. Dissolving them would
+ * just move those entities repeatedly, so files younger than {@link #minimumFileAge()} are not dissolved for
+ * gap reasons at all.
+ * <p>
+ * Files that are oversized, undersized or almost empty are always dissolved, see
+ * {@link #needsDissolving(StorageLiveDataFile, long)}.
+ * <p>
+ * Like for any {@link StorageDataFileEvaluator}, implementations must never throw an exception.
+ */
+public interface StorageDataFileCostBenefitEvaluator extends StorageDataFileEvaluator
+{
+	/**
+	 * Evaluates if the passed file needs to be dissolved regardless of the channel's overall use ratio,
+	 * e.g. because it is oversized, undersized or almost empty.
+	 *
+	 * @param storageFile the file to be evaluated.
+	 * @param fileAge the number of data files that have been created after the passed one, 0 for the head file.
+	 *
+	 * @return whether the file needs to be dissolved.
+	 */
+	public boolean needsDissolving(StorageLiveDataFile storageFile, long fileAge);
+
+	/**
+	 * The benefit of dissolving the passed file relative to the cost of copying its live data.
+	 * Files with a higher benefit are dissolved first. Files with a benefit of 0 are not dissolved for gap reasons.
+	 *
+	 * @param storageFile the file to be evaluated.
+	 * @param fileAge the number of data files that have been created after the passed one, 0 for the head file.
+	 *
+	 * @return the cost-benefit ratio of dissolving the file.
+	 */
+	public double dissolvingBenefit(StorageLiveDataFile storageFile, long fileAge);
+
+	/**
+	 * @return the ratio (value in ]0.0;1.0]) of live data in all of a channel's data files below which
+	 *         files are dissolved for gap reasons.
+	 */
+	public double minimumUseRatio();
+
+	/**
+	 * @return the minimum age a file must have to be dissolved for gap reasons.
+	 */
+	public long minimumFileAge();
+
+	/**
+	 * Files are ranked by their benefit instead of being checked one by one.
+	 */
+	@Override
+	public default boolean checkForCleanup(final StorageDataFileEvaluator.Cleanup cleanup)
+	{
+		return cleanup.rankedCheckForCleanup(this);
+	}
+
+	/**
+	 * Without a known age, the passed file is evaluated as an old file.
+	 */
+	@Override
+	public default boolean needsDissolving(final StorageLiveDataFile storageFile)
+	{
+		return this.needsDissolving(storageFile, Long.MAX_VALUE);
+	}
+
+
+
+	public interface Defaults
+	{
+		/**
+		 * @return {@code 2}, meaning at least the file that has replaced it as the head file must have been
+		 *         retired as well.
+		 */
+		public static long defaultMinimumFileAge()
+		{
+			return 2;
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCostBenefitEvaluator} instance
+	 * using default values specified by {@link StorageDataFileEvaluator.Defaults} and
+	 * {@link StorageDataFileCostBenefitEvaluator.Defaults}.
+	 *
+	 * @return a new {@link StorageDataFileCostBenefitEvaluator} instance.
+	 *
+	 * @see StorageDataFileCostBenefitEvaluator#New(int, int, double, long)
+	 */
+	public static StorageDataFileCostBenefitEvaluator New()
+	{
+		return New(
+			StorageDataFileEvaluator.Defaults.defaultFileMinimumSize(),
+			StorageDataFileEvaluator.Defaults.defaultFileMaximumSize(),
+			StorageDataFileEvaluator.Defaults.defaultMinimumUseRatio(),
+			Defaults.defaultMinimumFileAge()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCostBenefitEvaluator} instance
+	 * using the passed values.
+	 * <p>
+	 * For explanations of the first three parameters, see {@link StorageDataFileEvaluator#New(int, int, double)}.
+	 *
+	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have.
+	 *
+	 * @param fileMaximumSize the maximum file size in bytes that a single storage file may have.
+	 *
+	 * @param minimumUseRatio the ratio (value in ]0.0;1.0]) of non-gap data contained in all of a channel's
+	 *        data files to prevent files from being dissolved for gap reasons.
+	 *
+	 * @param minimumFileAge the minimum number of data files that must have been created after a file
+	 *        before it is dissolved for gap reasons. Must not be negative.
+	 *
+	 * @return a new {@link StorageDataFileCostBenefitEvaluator} instance.
+	 *
+	 * @see StorageDataFileCostBenefitEvaluator#New()
+	 */
+	public static StorageDataFileCostBenefitEvaluator New(
+		final int    fileMinimumSize,
+		final int    fileMaximumSize,
+		final double minimumUseRatio,
+		final long   minimumFileAge
+	)
+	{
+		StorageDataFileEvaluator.Validation.validateParameters(fileMinimumSize, fileMaximumSize, minimumUseRatio);
+		if(minimumFileAge < 0)
+		{
+			throw new IllegalArgumentException("Specified minimum file age of " + minimumFileAge + " is negative.");
+		}
+
+		return new StorageDataFileCostBenefitEvaluator.Default(
+			fileMinimumSize,
+			fileMaximumSize,
+			minimumUseRatio,
+			minimumFileAge
+		);
+	}
+
+
+	public final class Default implements StorageDataFileCostBenefitEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int    fileMinimumSize;
+		private final int    fileMaximumSize;
+		private final double minimumUseRatio;
+		private final long   minimumFileAge ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final int    fileMinimumSize,
+			final int    fileMaximumSize,
+			final double minimumUseRatio,
+			final long   minimumFileAge
+		)
+		{
+			super();
+			this.fileMinimumSize = fileMinimumSize;
+			this.fileMaximumSize = fileMaximumSize;
+			this.minimumUseRatio = minimumUseRatio;
+			this.minimumFileAge  = minimumFileAge ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int fileMinimumSize()
+		{
+			return this.fileMinimumSize;
+		}
+
+		@Override
+		public final int fileMaximumSize()
+		{
+			return this.fileMaximumSize;
+		}
+
+		@Override
+		public final double minimumUseRatio()
+		{
+			return this.minimumUseRatio;
+		}
+
+		@Override
+		public final long minimumFileAge()
+		{
+			return this.minimumFileAge;
+		}
+
+		@Override
+		public final boolean needsDissolving(final StorageLiveDataFile storageFile, final long fileAge)
+		{
+			// the head file is never dissolved for being undersized or having gaps, see StorageDataFileEvaluator.
+			if(fileAge == 0)
+			{
+				return this.isAboveMaximumSize(storageFile) && !this.isGaplessSingleEntityFile(storageFile);
+			}
+
+			if(this.isAboveMaximumSize(storageFile) && !this.isGaplessSingleEntityFile(storageFile))
+			{
+				return true;
+			}
+
+			// young files are left alone to let their hot entities produce more gaps.
+			if(fileAge < this.minimumFileAge)
+			{
+				return false;
+			}
+
+			return this.isBelowMinimumSize(storageFile) || this.isAlmostEmpty(storageFile);
+		}
+
+		@Override
+		public final double dissolvingBenefit(final StorageLiveDataFile storageFile, final long fileAge)
+		{
+			if(fileAge == 0 || fileAge < this.minimumFileAge)
+			{
+				return 0.0;
+			}
+
+			final long liveBytes = storageFile.dataLength();
+			if(liveBytes == 0)
+			{
+				// nothing to copy at all, so the file is just deleted.
+				return Double.MAX_VALUE;
+			}
+
+			return (1.0 - storageFile.dataFillRatio()) * fileAge / liveBytes;
+		}
+
+		private boolean isBelowMinimumSize(final StorageLiveDataFile storageFile)
+		{
+			return storageFile.totalLength() < this.fileMinimumSize;
+		}
+
+		private boolean isAlmostEmpty(final StorageLiveDataFile storageFile)
+		{
+			// such files are cheap to dissolve and would otherwise waste space until the channel needs cleaning.
+			return storageFile.dataFillRatio() < this.minimumUseRatio / 2;
+		}
+
+		private boolean isAboveMaximumSize(final StorageLiveDataFile storageFile)
+		{
+			return storageFile.totalLength() > this.fileMaximumSize;
+		}
+
+		private boolean isGaplessSingleEntityFile(final StorageLiveDataFile storageFile)
+		{
+			return storageFile.hasSingleEntity() && storageFile.dataLength() == storageFile.totalLength();
+		}
+
+		@Override
+		public final boolean needsRetirement(final long fileTotalLength)
+		{
+			return fileTotalLength >= this.fileMaximumSize;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("fileMinimumSize").tab().add('=').blank().add(this.fileMinimumSize).lf()
+				.blank().add("fileMaximumSize").tab().add('=').blank().add(this.fileMaximumSize).lf()
+				.blank().add("minimumUseRatio").tab().add('=').blank().add(this.minimumUseRatio).lf()
+				.blank().add("minimumFileAge" ).tab().add('=').blank().add(this.minimumFileAge)
+				.toString()
+			;
+		}
+
+	}
+
+}
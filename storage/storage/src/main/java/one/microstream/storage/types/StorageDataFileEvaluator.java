@@ -45,6 +45,32 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 
 	public int fileMaximumSize();
 
+	/**
+	 * Performs a channel's file cleanup in the way this evaluator's policy requires.
+	 * By default, the channel's files are checked one by one via {@link #needsDissolving(StorageLiveDataFile)}.
+	 *
+	 * @param cleanup the channel's file cleanup strategies.
+	 *
+	 * @return whether the file cleanup has been completed.
+	 */
+	public default boolean checkForCleanup(final StorageDataFileEvaluator.Cleanup cleanup)
+	{
+		return cleanup.sequentialCheckForCleanup(this);
+	}
+
+
+
+	/**
+	 * The file cleanup strategies a {@link StorageDataFileEvaluator} can choose from,
+	 * see {@link StorageDataFileEvaluator#checkForCleanup(Cleanup)}.
+	 */
+	public interface Cleanup
+	{
+		public boolean sequentialCheckForCleanup(StorageDataFileEvaluator fileEvaluator);
+
+		public boolean rankedCheckForCleanup(StorageDataFileCostBenefitEvaluator fileEvaluator);
+	}
+
 
 	/**
 	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
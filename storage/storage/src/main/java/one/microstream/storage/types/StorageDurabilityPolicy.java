@@ -0,0 +1,207 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Defines when bytes written by a storage channel are forced to be synchronized with the underlying
+ * storage device (the equivalent of an "fsync").
+ * <p>
+ * Without explicit synchronization, written bytes may reside in the operating system's page cache for an
+ * unspecified time after a store has been acknowledged. They survive a crash of the JVM process, but not a
+ * crash of the operating system or a power loss. Synchronizing on every commit makes every acknowledged store
+ * durable at the cost of write latency, periodic synchronization bounds the window of potential data loss.
+ */
+public interface StorageDurabilityPolicy
+{
+	/**
+	 * The {@link Mode} of this policy.
+	 *
+	 * @return the durability mode.
+	 */
+	public Mode mode();
+
+	/**
+	 * The maximum time in milliseconds written bytes may remain unsynchronized if the mode is
+	 * {@link Mode#PERIODIC}. Meaningless for every other mode.
+	 *
+	 * @return the synchronization interval in milliseconds.
+	 */
+	public long syncIntervalMs();
+
+
+
+	public enum Mode
+	{
+		/**
+		 * The data file and the transactions file are synchronized before every store is acknowledged.
+		 */
+		COMMIT,
+
+		/**
+		 * Written files are synchronized at most every {@link StorageDurabilityPolicy#syncIntervalMs()}
+		 * milliseconds, checked on every store and during housekeeping.
+		 */
+		PERIODIC,
+
+		/**
+		 * Synchronization is left to the operating system. This is the default.
+		 */
+		SYSTEM;
+	}
+
+
+
+	public interface Defaults
+	{
+		public static Mode defaultMode()
+		{
+			return Mode.SYSTEM;
+		}
+
+		public static long defaultSyncIntervalMs()
+		{
+			return 1000; // 1 second
+		}
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityPolicy} instance
+	 * using default values provided by {@link StorageDurabilityPolicy.Defaults}.
+	 *
+	 * @return a new {@link StorageDurabilityPolicy} instance.
+	 */
+	public static StorageDurabilityPolicy New()
+	{
+		return New(Defaults.defaultMode(), Defaults.defaultSyncIntervalMs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDurabilityPolicy} instance.
+	 *
+	 * @param mode           the durability mode.
+	 * @param syncIntervalMs the synchronization interval in milliseconds, only relevant for {@link Mode#PERIODIC}.
+	 *
+	 * @return a new {@link StorageDurabilityPolicy} instance.
+	 */
+	public static StorageDurabilityPolicy New(
+		final Mode mode          ,
+		final long syncIntervalMs
+	)
+	{
+		return new StorageDurabilityPolicy.Default(
+			notNull(mode)           ,
+			positive(syncIntervalMs)
+		);
+	}
+
+	/**
+	 * Creates a {@link StorageDurabilityPolicy} that synchronizes written files before every store
+	 * is acknowledged.
+	 *
+	 * @return a new {@link StorageDurabilityPolicy} instance.
+	 */
+	public static StorageDurabilityPolicy SyncOnCommit()
+	{
+		return New(Mode.COMMIT, Defaults.defaultSyncIntervalMs());
+	}
+
+	/**
+	 * Creates a {@link StorageDurabilityPolicy} that synchronizes written files at most every
+	 * {@code syncIntervalMs} milliseconds.
+	 *
+	 * @param syncIntervalMs the synchronization interval in milliseconds.
+	 *
+	 * @return a new {@link StorageDurabilityPolicy} instance.
+	 */
+	public static StorageDurabilityPolicy Periodic(final long syncIntervalMs)
+	{
+		return New(Mode.PERIODIC, syncIntervalMs);
+	}
+
+	/**
+	 * Creates a {@link StorageDurabilityPolicy} that leaves synchronization to the operating system.
+	 *
+	 * @return a new {@link StorageDurabilityPolicy} instance.
+	 */
+	public static StorageDurabilityPolicy SystemManaged()
+	{
+		return New(Mode.SYSTEM, Defaults.defaultSyncIntervalMs());
+	}
+
+	public final class Default implements StorageDurabilityPolicy
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Mode mode          ;
+		private final long syncIntervalMs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final Mode mode          ,
+			final long syncIntervalMs
+		)
+		{
+			super();
+			this.mode           = mode          ;
+			this.syncIntervalMs = syncIntervalMs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final Mode mode()
+		{
+			return this.mode;
+		}
+
+		@Override
+		public final long syncIntervalMs()
+		{
+			return this.syncIntervalMs;
+		}
+
+		@Override
+		public String toString()
+		{
+			return this.getClass().getName() + ": " + this.mode
+				+ (this.mode == Mode.PERIODIC ? " (" + this.syncIntervalMs + " ms)" : "")
+			;
+		}
+
+	}
+
+}
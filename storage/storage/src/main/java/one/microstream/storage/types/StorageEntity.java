@@ -77,6 +77,17 @@ public interface StorageEntity
 	 */
 	public long lastTouched();
 
+	/**
+	 * The number of times this entity's data has been read recently, saturating at a small maximum value.
+	 * The value is not reset when the entity's data is cleared from the cache, so it also represents the entity's
+	 * access history while it is not cached. It is only aged by the incremental cache check, depending on the
+	 * {@link StorageEntityCacheEvaluator}, see
+	 * {@link StorageEntityCacheEvaluator#ageEntityAccess(long, StorageEntity)}.
+	 * 
+	 * @return the number of recent read accesses of this entity.
+	 */
+	public int accessCount();
+
 	public long storagePosition();
 
 	public StorageLiveDataFile storageFile();
@@ -102,6 +113,13 @@ public interface StorageEntity
 		private static final long TOUCHED_SHIFT_COUNT  = 8;
 		private static final long TOUCHED_START_OFFSET = System.currentTimeMillis();
 
+		// saturation value for the access count. Low enough to be aged out in a few cache check passes.
+		static final byte ACCESS_COUNT_MAXIMUM = 7;
+
+		// bit flags for the two boolean states, combined into one byte to keep the instance size at 64 bytes.
+		private static final byte FLAG_DELETED          = 1;
+		private static final byte FLAG_ONLY_REFS_CACHED = 2;
+
 		/*
 		 * GC state meaning:
 		 *
@@ -171,8 +189,8 @@ public interface StorageEntity
 		int        length         ; // the item's total length
 		int        lastTouched    ; // age timestamp for cache clearing evaluation. See methods and constants.
 		byte       gcState        ; // gc state
-		boolean    isDeleted      ;
-		boolean    onlyRefsCached ;
+		byte       flags          ; // deleted and only-references-cached flags. See constants.
+		byte       accessCount    ; // saturating read access counter for frequency-aware cache evaluation.
 		byte       referenceCount ; // could be combined with hasReferences to a short with ~10 bits free for ref count
 
 		// reference to the type meta-data instance and the parent channel file
@@ -320,17 +338,17 @@ public interface StorageEntity
 
 		final boolean hasOnlySimpleReferencesLoaded()
 		{
-			return this.onlyRefsCached;
+			return (this.flags & FLAG_ONLY_REFS_CACHED) != 0;
 		}
 
 		final void setSimpleReferencesLoaded()
 		{
-			this.onlyRefsCached = true;
+			this.flags |= FLAG_ONLY_REFS_CACHED;
 		}
 
 		final void clearSimpleReferencesLoaded()
 		{
-			this.onlyRefsCached = false;
+			this.flags &= ~FLAG_ONLY_REFS_CACHED;
 		}
 
 		final int simpleReferenceCount()
@@ -348,6 +366,11 @@ public interface StorageEntity
 			return this.cacheAddress != 0;
 		}
 
+		final boolean requiresFullDataLoading()
+		{
+			return !this.isLive() || this.hasOnlySimpleReferencesLoaded();
+		}
+
 		private long calculateSimpleReferenceCacheLength()
 		{
 			return Binary.entityTotalLength(
@@ -418,7 +441,29 @@ public interface StorageEntity
 
 		final void putCacheData(final long sourceAddress, final long length)
 		{
-			XMemory.copyRange(sourceAddress, this.cacheAddress = XMemory.allocate(length), length);
+			this.putCacheData(this.typeInFile.file.entityCache().allocateCacheMemory(length), sourceAddress, length);
+		}
+
+		final void putCacheData(final long cacheAddress, final long sourceAddress, final long length)
+		{
+			XMemory.copyRange(sourceAddress, this.cacheAddress = cacheAddress, length);
+		}
+
+		/**
+		 * Replaces any (partially) cached data by the entity's complete data read from the passed address.
+		 *
+		 * @return the change in cached data length.
+		 */
+		final long putFullCacheData(final long sourceAddress)
+		{
+			final long cacheChange = this.isLive()
+				? this.length - this.clearCache()
+				: this.length
+			;
+			this.putCacheData(sourceAddress, this.length);
+			this.clearSimpleReferencesLoaded();
+
+			return cacheChange;
 		}
 
 		final void updateStorageInformation(
@@ -446,12 +491,12 @@ public interface StorageEntity
 		 */
 		final boolean isDeleted()
 		{
-			return this.isDeleted;
+			return (this.flags & FLAG_DELETED) != 0;
 		}
 
 		final void setDeleted()
 		{
-			this.isDeleted = true;
+			this.flags |= FLAG_DELETED;
 		}
 
 		final long cacheAddress()
@@ -516,6 +561,28 @@ public interface StorageEntity
 			return TOUCHED_START_OFFSET + ((long)this.lastTouched << TOUCHED_SHIFT_COUNT);
 		}
 
+		final void recordAccess()
+		{
+			if(this.accessCount < ACCESS_COUNT_MAXIMUM)
+			{
+				this.accessCount++;
+			}
+		}
+
+		final void ageAccess()
+		{
+			if(this.accessCount > 0)
+			{
+				this.accessCount--;
+			}
+		}
+
+		@Override
+		public final int accessCount()
+		{
+			return this.accessCount;
+		}
+
 		@Override
 		public final StorageLiveDataFile storageFile()
 		{
@@ -555,6 +622,7 @@ public interface StorageEntity
 		{
 			this.ensureCachedFullData();
 			this.touch();
+			this.recordAccess();
 //			final byte[] buffer = DEBUGStorage.extractMemory(this.cacheAddress(), 32);
 			entityDataCollector.readMemory(this.cacheAddress(), this.length);
 		}
@@ -563,9 +631,12 @@ public interface StorageEntity
 		public final long clearCache()
 		{
 			final long currentDataLength = this.cachedDataLength();
-			XMemory.free(this.cacheAddress());
+			if(this.cacheAddress != 0)
+			{
+				this.typeInFile.file.entityCache().freeCacheMemory(this.cacheAddress, currentDataLength);
+			}
 			this.cacheAddress = 0;
-			this.onlyRefsCached = false;
+			this.clearSimpleReferencesLoaded();
 			return currentDataLength;
 		}
 
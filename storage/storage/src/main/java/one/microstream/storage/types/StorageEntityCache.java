@@ -26,6 +26,7 @@ import static one.microstream.math.XMath.notNegative;
 import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 
@@ -107,6 +108,8 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		private final StorageRootOidSelector             rootOidSelector     ;
 		private final RootEntityRootOidSelectionIterator rootEntityIterator  ;
 		private final StorageEventLogger                 eventLogger         ;
+		private final StorageEntityCacheAllocator        cacheAllocator      ;
+		private final StorageChannelMetrics              metrics             ;
 		private       StorageFileManager.Default         fileManager         ; // pseudo-final
 		
 		
@@ -129,6 +132,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		// Statistics for debugging / monitoring / checking to compare with other channels and with the markmonitor
 		private long sweepGeneration, lastSweepStart, lastSweepEnd;
 		
+		// ratio of entities deleted by the last sweep to all entities before it. Input for adaptive housekeeping.
+		private double lastSweepGarbageRatio;
+		
 		
 		// state 3.1: variable length content
 		
@@ -163,7 +169,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final StorageEventLogger          eventLogger        ,
 			final ObjectIdsSelector           liveObjectIdChecker,
 			final long                        markingWaitTimeMs  ,
-			final int                         markingBufferLength
+			final int                         markingBufferLength,
+			final StorageEntityCacheAllocator cacheAllocator     ,
+			final StorageChannelMetrics       metrics
 		)
 		{
 			super();
@@ -178,6 +186,8 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.oidMarkQueue         = notNull    (oidMarkQueue)     ;
 			this.eventLogger          =             eventLogger       ;
 			this.markingWaitTimeMs    = positive   (markingWaitTimeMs);
+			this.cacheAllocator       = notNull    (cacheAllocator)   ;
+			this.metrics              = notNull    (metrics)          ;
 			
 			// derived values
 			
@@ -193,6 +203,8 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.referenceMarker = markMonitor.provideReferenceMarker(this);
 			
 			this.liveObjectIdChecker = notNull(liveObjectIdChecker);
+			
+			metrics.registerEntityCacheGauges(this::cacheSize, cacheEvaluator.threshold());
 		}
 
 
@@ -216,6 +228,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return this.lastSweepEnd;
 		}
 
+		final double lastSweepGarbageRatio()
+		{
+			return this.lastSweepGarbageRatio;
+		}
+
 		final void initializeStorageManager(final StorageFileManager.Default fileManager)
 		{
 			if(this.fileManager != null && this.fileManager != fileManager)
@@ -230,6 +247,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		{
 			this.clearCache();
 			
+			// all entities are discarded, so all cache memory can be released in bulk.
+			this.cacheAllocator.reset();
+			
 			this.markMonitor.reset();
 			
 			this.oidHashTable   = new StorageEntity.Default[1];
@@ -667,6 +687,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return entity;
 		}
 
+		final StorageEntity.Default initialCreateEntity(final long objectId, final long typeId)
+		{
+			return this.createEntity(objectId, this.getType(typeId));
+		}
+
 		private void resetExistingEntityForUpdate(final StorageEntity.Default entry)
 		{
 			// ensure the old data is not cached any longer
@@ -947,7 +972,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		final void sweep(final _longPredicate isReachableInApplication)
 		{
 			this.lastSweepStart = System.currentTimeMillis();
+			final long sweepStartNs = System.nanoTime();
 			final StorageEntityType.Default typeHead = this.typeHead;
+			final long entityCount = this.entityCount();
 
 			for(StorageEntityType.Default sweepType = typeHead; (sweepType = sweepType.next) != typeHead;)
 			{
@@ -969,7 +996,12 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			}
 
 			this.lastSweepEnd = System.currentTimeMillis();
+			this.metrics.recordGarbageCollectionSweep(System.nanoTime() - sweepStartNs);
 			this.sweepGeneration++;
+			this.lastSweepGarbageRatio = entityCount == 0
+				? 0.0
+				: (double)(entityCount - this.entityCount()) / entityCount
+			;
 
 			// reset file cleanup cursor to first file in order to ensure the cleanup checks all files for the current state.
 			this.fileManager.restartFileCleanupCursor();
@@ -1084,11 +1116,120 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			}
 		}
 
+		final void putFollowedEntities(
+			final ByteBuffer                  chunk               ,
+			final long                        chunkStoragePosition,
+			final StorageLiveDataFile.Default file                ,
+			final Set_long                    changedObjectIds
+		)
+		{
+			final long chunkStartAddress = XMemory.getDirectByteBufferAddress(chunk);
+			final long storageBackset    = chunkStoragePosition - chunkStartAddress;
+			final long chunkBoundAddress = chunkStartAddress    + chunk.limit()    ;
+
+			// same as for storing, except for the garbage collection marking, since a follower does not collect.
+			for(long adr = chunkStartAddress; adr < chunkBoundAddress; adr += Binary.getEntityLengthRawValue(adr))
+			{
+				final StorageEntity.Default entity = this.putEntity(adr);
+				entity.updateStorageInformation(
+					X.checkArrayRange(Binary.getEntityLengthRawValue(adr)),
+					validateStoragePosition(entity, storageBackset + adr)
+				);
+				file.appendEntry(entity);
+				
+				if(changedObjectIds != null)
+				{
+					changedObjectIds.add(entity.objectId);
+				}
+			}
+		}
+		
+		final void deleteEntities(final Predicate<? super StorageEntity.Default> isDeleted)
+		{
+			final StorageEntityType.Default typeHead = this.typeHead;
+			for(StorageEntityType.Default type = typeHead; (type = type.next) != typeHead;)
+			{
+				for(StorageEntity.Default item, last = type.head; (item = last.typeNext) != null;)
+				{
+					if(isDeleted.test(item))
+					{
+						this.deleteEntity(item, type, last);
+					}
+					else
+					{
+						last = item;
+					}
+				}
+			}
+		}
+
 		final void modifyUsedCacheSize(final long cacheChange)
 		{
 			this.usedCacheSize += cacheChange;
 		}
 
+		final StorageEntityCacheAllocator cacheAllocator()
+		{
+			return this.cacheAllocator;
+		}
+
+		/**
+		 * Allocates memory for cached entity data. If the allocator's memory limit is reached, the limit is exceeded
+		 * temporarily instead of clearing cached data: the current operation, e.g. a batch load or a store, might
+		 * still need the data it has just cached. See {@link #reduceExceededCacheMemory()}.
+		 */
+		final long allocateCacheMemory(final long length)
+		{
+			final long address = this.cacheAllocator.allocate(length);
+			if(address != 0)
+			{
+				return address;
+			}
+
+			return this.cacheAllocator.allocateExceeding(length);
+		}
+
+		/**
+		 * Clears cached data until the allocator's memory limit is kept again: first the data the
+		 * {@link StorageEntityCacheEvaluator} would clear anyway, then all cached data.
+		 * May only be called between tasks, when no operation relies on cached data anymore.
+		 */
+		final void reduceExceededCacheMemory()
+		{
+			if(!this.cacheAllocator.isExceeded())
+			{
+				return;
+			}
+
+			logger.debug("StorageChannel#{} exceeded cache memory limit, clearing cache", this.channelIndex);
+
+			this.internalCacheCheck(Long.MAX_VALUE, this.entityCacheEvaluator);
+			this.releaseUnusedCacheMemory();
+
+			if(this.cacheAllocator.isExceeded())
+			{
+				this.clearCache();
+			}
+		}
+
+		final void freeCacheMemory(final long address, final long length)
+		{
+			this.cacheAllocator.free(address, length);
+		}
+
+		private void releaseUnusedCacheMemory()
+		{
+			// bulk release is only safe if no cached data is left.
+			if(this.cacheAllocator.usedMemory() == 0)
+			{
+				this.cacheAllocator.reset();
+			}
+			else
+			{
+				this.cacheAllocator.releaseUnusedMemory();
+			}
+		}
+
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -1117,7 +1258,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			
 			final long currentUsedCacheSize = this.usedCacheSize;
 			
+			// only called between tasks, never while an operation relies on the data it has cached.
 			this.internalCacheCheck(Long.MAX_VALUE, (s, t, e) -> true);
+			this.releaseUnusedCacheMemory();
 			
 			return currentUsedCacheSize;
 		}
@@ -1273,6 +1416,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 						break;
 					}
 				}
+				else if(evaluator.ageEntityAccess(this.usedCacheSize, entity))
+				{
+					// entity stays as it is, but its access history decays. Applies to entities without data, too.
+					entity.ageAccess();
+				}
 				
 				entity = entity.fileNext;
 			}
@@ -1287,6 +1435,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			if(this.usedCacheSize == 0)
 			{
 				this.resetLiveCursor();
+				this.releaseUnusedCacheMemory();
 				
 				logger.trace("StorageChannel#{} completed live check", this.channelIndex);
 				this.eventLogger.logLiveCheckComplete(this);
@@ -1297,6 +1446,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 			// keep last checked entity as a cursor / base / starting point for the next cycle's check
 			this.liveCursor = entity;
+			
+			// memory freed by clearing cached data might allow to release parts of the reserved memory.
+			this.releaseUnusedCacheMemory();
 
 			// report live check ends incomplete
 			return false;
@@ -1506,7 +1658,10 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			}
 
 			// otherwise, mark incrementally until work or time runs out
-			if(this.incrementalMark(nanoTimeBudgetBound))
+			final long    markStartNs  = System.nanoTime();
+			final boolean markComplete = this.incrementalMark(nanoTimeBudgetBound);
+			this.metrics.recordGarbageCollectionMark(System.nanoTime() - markStartNs);
+			if(markComplete)
 			{
 				/* note:
 				 * if the markingOidBuffer length is too low, this return is done countless times per millisecond.
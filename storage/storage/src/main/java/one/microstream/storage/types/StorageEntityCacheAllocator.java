@@ -0,0 +1,742 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.math.XMath.positive;
+
+import java.util.Arrays;
+
+import one.microstream.memory.XMemory;
+import one.microstream.storage.exceptions.StorageExceptionInitialization;
+
+
+/**
+ * The off-heap memory management for the cached entity data of a single channel's {@link StorageEntityCache}.
+ * <p>
+ * All methods are exclusively called by the owning channel's thread, so implementations do not have to be
+ * thread-safe. The statistics methods may be called by other threads and return approximate values in that case.
+ */
+public interface StorageEntityCacheAllocator
+{
+	/**
+	 * Allocates a memory block of the passed length.
+	 * 
+	 * @param length the length in bytes of the required memory block.
+	 * 
+	 * @return the address of the allocated memory block or 0 if the allocation would exceed the
+	 *         {@link #maximumMemory()}.
+	 */
+	public long allocate(long length);
+	
+	/**
+	 * Allocates a memory block of the passed length even if that exceeds the {@link #maximumMemory()}.
+	 * Used if the limit is reached in the middle of an operation that must not lose cached data it might
+	 * still need. The excess memory is cleared by the owning channel afterwards, see {@link #isExceeded()}.
+	 * 
+	 * @param length the length in bytes of the required memory block.
+	 * 
+	 * @return the address of the allocated memory block.
+	 */
+	public long allocateExceeding(long length);
+	
+	/**
+	 * Frees a memory block previously allocated by {@link #allocate(long)}.
+	 * 
+	 * @param address the address of the memory block.
+	 * @param length the length the memory block has been allocated with.
+	 */
+	public void free(long address, long length);
+	
+	/**
+	 * Releases all memory in bulk. May only be called when no allocated memory block is in use anymore.
+	 */
+	public void reset();
+	
+	/**
+	 * Releases reserved memory that is not used by any allocated memory block anymore, as far as the
+	 * implementation's memory layout allows it. Called by the owning channel after its cache check has cleared
+	 * cached data.
+	 * 
+	 * @return the number of bytes released to the system.
+	 */
+	public default long releaseUnusedMemory()
+	{
+		// by default, freed memory blocks are released to the system right away.
+		return 0;
+	}
+	
+	/**
+	 * @return the number of bytes currently allocated via {@link #allocate(long)}.
+	 */
+	public long usedMemory();
+	
+	/**
+	 * @return the number of bytes currently reserved from the system, including unused parts of the reserved memory.
+	 */
+	public long reservedMemory();
+	
+	/**
+	 * @return the maximum number of bytes this allocator may reserve from the system.
+	 */
+	public long maximumMemory();
+	
+	/**
+	 * @return whether more memory is reserved than {@link #maximumMemory()} allows,
+	 *         see {@link #allocateExceeding(long)}.
+	 */
+	public default boolean isExceeded()
+	{
+		return this.reservedMemory() > this.maximumMemory();
+	}
+	
+	/**
+	 * The ratio of reserved memory that is not used for allocated memory blocks, i.e. that is wasted by
+	 * rounding up to size classes and by freed memory blocks that have not been reused, yet.
+	 * 
+	 * @return the fragmentation ratio in [0.0; 1.0].
+	 */
+	public default double fragmentation()
+	{
+		final long reservedMemory = this.reservedMemory();
+		
+		return reservedMemory == 0
+			? 0.0
+			: 1.0 - (double)this.usedMemory() / reservedMemory
+		;
+	}
+	
+	
+	
+	public interface Defaults
+	{
+		public static long defaultMaximumMemory()
+		{
+			return Long.MAX_VALUE; // unlimited
+		}
+		
+		public static int defaultSlabSize()
+		{
+			return 1024 * 1024; // 1 MB
+		}
+	}
+	
+	
+	
+	public interface Creator
+	{
+		public StorageEntityCacheAllocator createAllocator(int channelIndex, int channelCount);
+		
+		
+		
+		public final class Default implements StorageEntityCacheAllocator.Creator
+		{
+			@Override
+			public StorageEntityCacheAllocator createAllocator(final int channelIndex, final int channelCount)
+			{
+				return new StorageEntityCacheAllocator.Default(Defaults.defaultMaximumMemory());
+			}
+			
+		}
+		
+		public final class Arena implements StorageEntityCacheAllocator.Creator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final int  slabSize     ;
+			private final long maximumMemory;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Arena(final int slabSize, final long maximumMemory)
+			{
+				super();
+				this.slabSize      = slabSize     ;
+				this.maximumMemory = maximumMemory;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public StorageEntityCacheAllocator createAllocator(final int channelIndex, final int channelCount)
+			{
+				// the budget is a total for all channels, so every channel gets its share.
+				final long channelMaximumMemory = this.maximumMemory == Defaults.defaultMaximumMemory()
+					? this.maximumMemory
+					: this.maximumMemory / channelCount
+				;
+				if(this.slabSize > channelMaximumMemory)
+				{
+					// not a single slab could be reserved, so nothing could ever be cached.
+					throw new StorageExceptionInitialization(
+						"Entity cache slab size of " + this.slabSize + " bytes exceeds the cache memory limit of "
+						+ channelMaximumMemory + " bytes per channel (" + this.maximumMemory + " bytes for "
+						+ channelCount + " channels)."
+					);
+				}
+				
+				return new StorageEntityCacheAllocator.Arena(this.slabSize, channelMaximumMemory);
+			}
+			
+		}
+		
+	}
+	
+	
+	
+	/**
+	 * Pseudo-constructor method to create a {@link StorageEntityCacheAllocator.Creator} that creates
+	 * {@link StorageEntityCacheAllocator.Default} instances, allocating every memory block individually.
+	 * 
+	 * @return a new {@link StorageEntityCacheAllocator.Creator} instance.
+	 */
+	public static StorageEntityCacheAllocator.Creator Creator()
+	{
+		return new StorageEntityCacheAllocator.Creator.Default();
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a {@link StorageEntityCacheAllocator.Creator} that creates
+	 * {@link StorageEntityCacheAllocator.Arena} instances without a memory limit.
+	 * 
+	 * @return a new {@link StorageEntityCacheAllocator.Creator} instance.
+	 */
+	public static StorageEntityCacheAllocator.Creator CreatorArena()
+	{
+		return CreatorArena(Defaults.defaultMaximumMemory());
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a {@link StorageEntityCacheAllocator.Creator} that creates
+	 * {@link StorageEntityCacheAllocator.Arena} instances.
+	 * 
+	 * @param maximumMemory the maximum off-heap memory in bytes for the entity caches of all channels together.
+	 * 
+	 * @return a new {@link StorageEntityCacheAllocator.Creator} instance.
+	 */
+	public static StorageEntityCacheAllocator.Creator CreatorArena(final long maximumMemory)
+	{
+		return CreatorArena(Defaults.defaultSlabSize(), maximumMemory);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a {@link StorageEntityCacheAllocator.Creator} that creates
+	 * {@link StorageEntityCacheAllocator.Arena} instances.
+	 * 
+	 * @param slabSize the size in bytes of the memory slabs reserved from the system.
+	 *        Must not exceed every channel's share of the maximum memory.
+	 * @param maximumMemory the maximum off-heap memory in bytes for the entity caches of all channels together.
+	 * 
+	 * @return a new {@link StorageEntityCacheAllocator.Creator} instance.
+	 * 
+	 * @throws IllegalArgumentException if the slab size exceeds the maximum memory.
+	 */
+	public static StorageEntityCacheAllocator.Creator CreatorArena(
+		final int  slabSize     ,
+		final long maximumMemory
+	)
+	{
+		// multiples of 8 to keep all blocks aligned.
+		final int effectiveSlabSize = Math.max(Arena.MAXIMUM_CLASS_SIZE, positive(slabSize)) & ~7;
+		if(effectiveSlabSize > positive(maximumMemory))
+		{
+			throw new IllegalArgumentException(
+				"Slab size of " + effectiveSlabSize + " bytes exceeds the maximum memory of " + maximumMemory + " bytes."
+			);
+		}
+		
+		return new StorageEntityCacheAllocator.Creator.Arena(effectiveSlabSize, maximumMemory);
+	}
+	
+	
+	
+	/**
+	 * Allocates every memory block individually from the system. This is the classic behavior that has always
+	 * been used by {@link StorageEntityCache.Default}.
+	 */
+	public final class Default implements StorageEntityCacheAllocator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final long maximumMemory;
+		
+		private long usedMemory;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final long maximumMemory)
+		{
+			super();
+			this.maximumMemory = maximumMemory;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final long allocate(final long length)
+		{
+			if(length > this.maximumMemory - this.usedMemory)
+			{
+				return 0;
+			}
+			
+			return this.allocateExceeding(length);
+		}
+		
+		@Override
+		public final long allocateExceeding(final long length)
+		{
+			final long address = XMemory.allocate(length);
+			this.usedMemory += length;
+			
+			return address;
+		}
+		
+		@Override
+		public final void free(final long address, final long length)
+		{
+			XMemory.free(address);
+			this.usedMemory -= length;
+		}
+		
+		@Override
+		public final void reset()
+		{
+			// no-op, every memory block is freed individually.
+		}
+		
+		@Override
+		public final long usedMemory()
+		{
+			return this.usedMemory;
+		}
+		
+		@Override
+		public final long reservedMemory()
+		{
+			return this.usedMemory;
+		}
+		
+		@Override
+		public final long maximumMemory()
+		{
+			return this.maximumMemory;
+		}
+		
+	}
+	
+	/**
+	 * Size-class arena: memory blocks up to {@link #MAXIMUM_CLASS_SIZE} bytes are rounded up to one of a set
+	 * of size classes and carved out of large memory slabs. Freed blocks are kept in a free list per size class
+	 * for reuse, so the system allocator is only called once per slab instead of once per cached entity.
+	 * The used bytes of every slab are counted, so that slabs that do not contain any used memory block anymore
+	 * can be released by {@link #releaseUnusedMemory()}. All slabs are released in bulk on {@link #reset()},
+	 * i.e. when the entity cache has been cleared completely. Larger memory blocks are allocated individually.
+	 * <p>
+	 * Size classes are 8 bytes apart up to 128 bytes and then 4 classes per power of 2, limiting the memory
+	 * wasted by rounding up to 20%.
+	 */
+	public final class Arena implements StorageEntityCacheAllocator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		static final int
+			SMALL_CLASS_COUNT  = 16                                 ,
+			SMALL_CLASS_SHIFT  =  3                                 ,
+			LARGE_CLASS_SHIFT  =  7                                 , // 128 is the largest small class size
+			MAXIMUM_CLASS_SIZE = 16 * 1024                          ,
+			CLASS_COUNT        = classIndex(MAXIMUM_CLASS_SIZE) + 1
+		;
+		
+		static int classIndex(final long length)
+		{
+			if(length <= SMALL_CLASS_COUNT << SMALL_CLASS_SHIFT)
+			{
+				return (int)(length - 1 >>> SMALL_CLASS_SHIFT);
+			}
+			
+			// 4 classes per power of two: (2^p; 2^p + 2^(p-2)], ..., (2^p + 3 * 2^(p-2); 2^(p+1)]
+			final int p = 63 - Long.numberOfLeadingZeros(length - 1);
+			
+			return SMALL_CLASS_COUNT + (p - LARGE_CLASS_SHIFT << 2) + (int)(length - 1 >>> p - 2 & 3);
+		}
+		
+		static int classSize(final int classIndex)
+		{
+			if(classIndex < SMALL_CLASS_COUNT)
+			{
+				return classIndex + 1 << SMALL_CLASS_SHIFT;
+			}
+			
+			final int p = LARGE_CLASS_SHIFT + (classIndex - SMALL_CLASS_COUNT >>> 2);
+			
+			return (1 << p) + ((classIndex - SMALL_CLASS_COUNT & 3) + 1 << p - 2);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final int    slabSize     ;
+		private final long   maximumMemory;
+		private final long[] freeLists    ; // per size class, linked via the first 8 bytes of every free block.
+		
+		private long[] slabs         = new long[16]; // sorted by address to find a block's slab
+		private long[] slabUsages    = new long[16]; // used bytes per slab, in size class granularity
+		private int    slabCount    ;
+		private int    currentSlab  ; // index of the slab the bump pointer points into
+		private int    emptySlabCount; // slabs other than the current one without any used memory block
+		private long   slabPosition ; // bump pointer in the current slab
+		private long   slabBound    ;
+		
+		private long   usedMemory    ;
+		private long   reservedMemory;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Arena(final int slabSize, final long maximumMemory)
+		{
+			super();
+			this.slabSize      = slabSize              ;
+			this.maximumMemory = maximumMemory         ;
+			this.freeLists     = new long[CLASS_COUNT];
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final long allocate(final long length)
+		{
+			return this.allocate(length, this.maximumMemory);
+		}
+		
+		@Override
+		public final long allocateExceeding(final long length)
+		{
+			return this.allocate(length, Long.MAX_VALUE);
+		}
+		
+		private long allocate(final long length, final long boundMemory)
+		{
+			if(length > MAXIMUM_CLASS_SIZE)
+			{
+				return this.allocateLarge(length, boundMemory);
+			}
+			
+			final int classIndex = classIndex(length);
+			final int classSize  = classSize(classIndex);
+			
+			final long address = this.freeLists[classIndex];
+			if(address != 0)
+			{
+				this.freeLists[classIndex] = XMemory.get_long(address);
+				this.useSlab(this.slabIndex(address), classSize);
+				this.usedMemory += length;
+				
+				return address;
+			}
+			
+			if(classSize > this.slabBound - this.slabPosition && !this.addSlab(boundMemory))
+			{
+				return 0;
+			}
+			
+			final long newAddress = this.slabPosition;
+			this.slabPosition += classSize;
+			this.slabUsages[this.currentSlab] += classSize;
+			this.usedMemory   += length;
+			
+			return newAddress;
+		}
+		
+		private int slabIndex(final long address)
+		{
+			// binary search for the last slab starting at or before the address.
+			int low = 0, high = this.slabCount - 1;
+			while(low < high)
+			{
+				final int mid = low + high + 1 >>> 1;
+				if(this.slabs[mid] <= address)
+				{
+					low = mid;
+				}
+				else
+				{
+					high = mid - 1;
+				}
+			}
+			
+			return low;
+		}
+		
+		private void useSlab(final int slabIndex, final int classSize)
+		{
+			if(this.slabUsages[slabIndex] == 0 && slabIndex != this.currentSlab)
+			{
+				this.emptySlabCount--;
+			}
+			this.slabUsages[slabIndex] += classSize;
+		}
+		
+		private void unuseSlab(final int slabIndex, final int classSize)
+		{
+			if((this.slabUsages[slabIndex] -= classSize) == 0 && slabIndex != this.currentSlab)
+			{
+				this.emptySlabCount++;
+			}
+		}
+		
+		private long allocateLarge(final long length, final long boundMemory)
+		{
+			if(length > boundMemory - this.reservedMemory)
+			{
+				return 0;
+			}
+			
+			final long address = XMemory.allocate(length);
+			this.usedMemory     += length;
+			this.reservedMemory += length;
+			
+			return address;
+		}
+		
+		private boolean addSlab(final long boundMemory)
+		{
+			if(this.slabSize > boundMemory - this.reservedMemory)
+			{
+				return false;
+			}
+			
+			// the current slab's remainder is too small for the requested class, but not for smaller ones.
+			this.recycleSlabRemainder();
+			
+			if(this.slabCount == this.slabs.length)
+			{
+				System.arraycopy(this.slabs     , 0, this.slabs      = new long[this.slabCount * 2], 0, this.slabCount);
+				System.arraycopy(this.slabUsages, 0, this.slabUsages = new long[this.slabCount * 2], 0, this.slabCount);
+			}
+			
+			// the retired current slab might not contain any used memory block (anymore).
+			if(this.slabCount > 0 && this.slabUsages[this.currentSlab] == 0)
+			{
+				this.emptySlabCount++;
+			}
+			
+			final long slab  = XMemory.allocate(this.slabSize);
+			final int  lower = this.slabIndex(slab);
+			final int  index = this.slabCount == 0 || this.slabs[lower] > slab ? lower : lower + 1;
+			System.arraycopy(this.slabs     , index, this.slabs     , index + 1, this.slabCount - index);
+			System.arraycopy(this.slabUsages, index, this.slabUsages, index + 1, this.slabCount - index);
+			this.slabs[index]      = slab;
+			this.slabUsages[index] = 0;
+			this.slabCount++;
+			this.currentSlab     = index;
+			this.slabPosition    = slab;
+			this.slabBound       = slab + this.slabSize;
+			this.reservedMemory += this.slabSize;
+			
+			return true;
+		}
+		
+		private void recycleSlabRemainder()
+		{
+			// size classes are multiples of 8, so the remainder can always be split into blocks of smaller classes.
+			for(long remainder; (remainder = this.slabBound - this.slabPosition) >= 1 << SMALL_CLASS_SHIFT;)
+			{
+				int classIndex = classIndex(remainder);
+				if(classSize(classIndex) > remainder)
+				{
+					classIndex--;
+				}
+				
+				XMemory.set_long(this.slabPosition, this.freeLists[classIndex]);
+				this.freeLists[classIndex] = this.slabPosition;
+				this.slabPosition += classSize(classIndex);
+			}
+		}
+		
+		@Override
+		public final void free(final long address, final long length)
+		{
+			if(length > MAXIMUM_CLASS_SIZE)
+			{
+				XMemory.free(address);
+				this.usedMemory     -= length;
+				this.reservedMemory -= length;
+				return;
+			}
+			
+			final int classIndex = classIndex(length);
+			XMemory.set_long(address, this.freeLists[classIndex]);
+			this.freeLists[classIndex] = address;
+			this.unuseSlab(this.slabIndex(address), classSize(classIndex));
+			this.usedMemory -= length;
+		}
+		
+		@Override
+		public final void reset()
+		{
+			for(int i = 0; i < this.slabCount; i++)
+			{
+				XMemory.free(this.slabs[i]);
+				this.slabs[i]      = 0;
+				this.slabUsages[i] = 0;
+			}
+			
+			this.reservedMemory -= (long)this.slabCount * this.slabSize;
+			this.slabCount      = 0;
+			this.currentSlab    = 0;
+			this.emptySlabCount = 0;
+			this.slabPosition   = this.slabBound = 0;
+			Arrays.fill(this.freeLists, 0);
+		}
+		
+		@Override
+		public final long releaseUnusedMemory()
+		{
+			// unlinking walks all free blocks, so it is only worth it for a considerable part of the slabs.
+			if(this.emptySlabCount == 0 || this.emptySlabCount * 8L < this.slabCount)
+			{
+				return 0;
+			}
+			
+			// the free blocks of empty slabs are unlinked from the free lists before the slabs are released.
+			for(int c = 0; c < this.freeLists.length; c++)
+			{
+				long last = 0;
+				for(long block = this.freeLists[c], next; block != 0; block = next)
+				{
+					next = XMemory.get_long(block);
+					if(this.isReleasable(this.slabIndex(block)))
+					{
+						continue;
+					}
+					if(last == 0)
+					{
+						this.freeLists[c] = block;
+					}
+					else
+					{
+						XMemory.set_long(last, block);
+					}
+					last = block;
+				}
+				if(last == 0)
+				{
+					this.freeLists[c] = 0;
+				}
+				else
+				{
+					XMemory.set_long(last, 0);
+				}
+			}
+			
+			final long currentSlabAddress = this.slabs[this.currentSlab];
+			int count = 0;
+			for(int i = 0; i < this.slabCount; i++)
+			{
+				if(this.isReleasable(i))
+				{
+					XMemory.free(this.slabs[i]);
+					continue;
+				}
+				this.slabs[count]      = this.slabs[i]     ;
+				this.slabUsages[count] = this.slabUsages[i];
+				count++;
+			}
+			Arrays.fill(this.slabs     , count, this.slabCount, 0);
+			Arrays.fill(this.slabUsages, count, this.slabCount, 0);
+			
+			final long releasedMemory = (long)(this.slabCount - count) * this.slabSize;
+			this.slabCount       = count;
+			this.currentSlab     = this.slabIndex(currentSlabAddress);
+			this.emptySlabCount  = 0;
+			this.reservedMemory -= releasedMemory;
+			
+			return releasedMemory;
+		}
+		
+		private boolean isReleasable(final int slabIndex)
+		{
+			return this.slabUsages[slabIndex] == 0 && slabIndex != this.currentSlab;
+		}
+		
+		@Override
+		public final long usedMemory()
+		{
+			return this.usedMemory;
+		}
+		
+		@Override
+		public final long reservedMemory()
+		{
+			return this.reservedMemory;
+		}
+		
+		@Override
+		public final long maximumMemory()
+		{
+			return this.maximumMemory;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return this.getClass().getName() + ": " + this.usedMemory + " used / " + this.reservedMemory
+				+ " reserved bytes in " + this.slabCount + " slabs"
+			;
+		}
+		
+	}
+	
+}
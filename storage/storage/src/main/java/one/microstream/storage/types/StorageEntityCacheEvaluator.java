@@ -47,6 +47,41 @@ public interface StorageEntityCacheEvaluator
 		return !this.clearEntityCache(totalCacheSize, evaluationTime, entity);
 	}
 
+	/**
+	 * Evaluates if the {@link StorageEntity#accessCount() access count} of the passed entity shall be aged
+	 * (decremented) after the incremental entity cache check has passed it without clearing its cache.
+	 * This allows frequency-aware implementations to let the access history of entities decay over time
+	 * while there is pressure on the cache.
+	 * <p>
+	 * The default implementation does not consider the access count in the first place and therefore
+	 * always returns {@literal false}.
+	 * 
+	 * @param totalCacheSize the current cache size of the channel.
+	 * @param entity the entity to be evaluated. Its data might not be cached.
+	 * 
+	 * @return whether the entity's access count shall be aged.
+	 * 
+	 * @see StorageEntityCacheSegmentedEvaluator
+	 */
+	public default boolean ageEntityAccess(
+		final long          totalCacheSize,
+		final StorageEntity entity
+	)
+	{
+		return false;
+	}
+
+	/**
+	 * The cache size this evaluator aims to keep the entity cache of a channel below, if it has such a value.
+	 * Used to monitor the cache size in relation to it, see {@link StorageChannelMetrics}.
+	 * 
+	 * @return the cache size threshold in bytes or 0 if not applicable.
+	 */
+	public default long threshold()
+	{
+		return 0L;
+	}
+
 
 
 	public interface Defaults
@@ -256,6 +291,7 @@ public interface StorageEntityCacheEvaluator
 			return this.timeoutMs;
 		}
 		
+		@Override
 		public long threshold()
 		{
 			return this.threshold;
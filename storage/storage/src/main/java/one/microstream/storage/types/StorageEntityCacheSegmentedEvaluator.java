@@ -0,0 +1,310 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.chars.VarString;
+
+
+/**
+ * A {@link StorageEntityCacheEvaluator} that implements a frequency-aware, scan resistant cache policy with a
+ * fixed byte budget per channel, approximating a segmented LRU cache by a CLOCK algorithm.
+ * <p>
+ * Every read access to an entity's data increments the entity's {@link StorageEntity#accessCount() access count}.
+ * Entities with an access count of at least {@link #protectedAccessCount()} form the "protected" segment,
+ * all other entities form the "probationary" segment. As long as a channel's cache size does not exceed
+ * {@link #cacheBudget()}, only the {@link #timeoutMs() timeout} is applied. When the budget is exceeded,
+ * cached probationary entities are cleared, both right after they have been loaded and when the incremental
+ * entity cache check passes them, while protected entities stay cached. Instead, their access count is aged each
+ * time the cache check passes them while the budget is exceeded, so entities that are not used anymore
+ * eventually drop out of the protected segment. The cache check's cursor acts as the "clock hand".
+ * <p>
+ * As a result, one-off bulk loads like exports or the iteration of all entities of a type only fill the
+ * probationary segment and are cleared first, while the frequently used working set stays cached.
+ * Since the access count of an entity is kept when its data is cleared, an entity that is used again after being
+ * cleared gets promoted to the protected segment right away.
+ * <p>
+ * Note that the cache budget is a soft limit that is enforced by the channel's housekeeping and on loading,
+ * not a hard memory limit. See {@link StorageEntityCacheAllocator} for the latter.
+ */
+public interface StorageEntityCacheSegmentedEvaluator extends StorageEntityCacheEvaluator
+{
+	/**
+	 * @return the cache size in bytes per channel above which the cached data of entities is cleared.
+	 */
+	public long cacheBudget();
+
+	/**
+	 * @return the minimum access count of an entity to belong to the protected segment.
+	 */
+	public int protectedAccessCount();
+
+	/**
+	 * @return the time in milliseconds of not being used after which an entity's data is cleared in any case.
+	 */
+	public long timeoutMs();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultCacheBudget()
+		{
+			// ~256 MB per channel
+			return 256_000_000;
+		}
+
+		public static int defaultProtectedAccessCount()
+		{
+			// an entity has to be used at least twice to be considered "hot"
+			return 2;
+		}
+
+		public static long defaultTimeoutMs()
+		{
+			return StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs();
+		}
+	}
+
+	public interface Validation
+	{
+		public static long minimumCacheBudget()
+		{
+			return 1;
+		}
+
+		public static int minimumProtectedAccessCount()
+		{
+			return 1;
+		}
+
+		public static int maximumProtectedAccessCount()
+		{
+			return StorageEntity.Default.ACCESS_COUNT_MAXIMUM;
+		}
+
+		public static void validateParameters(
+			final long cacheBudget         ,
+			final int  protectedAccessCount,
+			final long timeoutMs
+		)
+			throws IllegalArgumentException
+		{
+			if(cacheBudget < minimumCacheBudget())
+			{
+				throw new IllegalArgumentException(
+					"Specified cache budget of "
+					+ cacheBudget
+					+ " is lower than the minimum value "
+					+ minimumCacheBudget() + "."
+				);
+			}
+			if(protectedAccessCount < minimumProtectedAccessCount()
+			|| protectedAccessCount > maximumProtectedAccessCount()
+			)
+			{
+				throw new IllegalArgumentException(
+					"Specified protected access count of "
+					+ protectedAccessCount
+					+ " is not in the range ["
+					+ minimumProtectedAccessCount() + ";" + maximumProtectedAccessCount() + "]."
+				);
+			}
+			if(timeoutMs < StorageEntityCacheEvaluator.Validation.minimumTimeoutMs())
+			{
+				throw new IllegalArgumentException(
+					"Specified millisecond timeout of "
+					+ timeoutMs
+					+ " is lower than the minimum value "
+					+ StorageEntityCacheEvaluator.Validation.minimumTimeoutMs() + "."
+				);
+			}
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheSegmentedEvaluator} instance
+	 * using default values defined by {@link StorageEntityCacheSegmentedEvaluator.Defaults}.
+	 *
+	 * @return a new {@link StorageEntityCacheSegmentedEvaluator} instance.
+	 *
+	 * @see StorageEntityCacheSegmentedEvaluator#New(long)
+	 * @see StorageEntityCacheSegmentedEvaluator#New(long, int, long)
+	 */
+	public static StorageEntityCacheSegmentedEvaluator New()
+	{
+		return New(Defaults.defaultCacheBudget());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheSegmentedEvaluator} instance
+	 * using the passed value and default values defined by {@link StorageEntityCacheSegmentedEvaluator.Defaults}.
+	 *
+	 * @param cacheBudget the cache size in bytes per channel above which the cached data of entities is cleared.
+	 *
+	 * @return a new {@link StorageEntityCacheSegmentedEvaluator} instance.
+	 *
+	 * @see StorageEntityCacheSegmentedEvaluator#New(long, int, long)
+	 */
+	public static StorageEntityCacheSegmentedEvaluator New(final long cacheBudget)
+	{
+		return New(
+			cacheBudget                           ,
+			Defaults.defaultProtectedAccessCount(),
+			Defaults.defaultTimeoutMs()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheSegmentedEvaluator} instance
+	 * using the passed values.
+	 *
+	 * @param cacheBudget the cache size in bytes per channel above which the cached data of entities is cleared.
+	 *
+	 * @param protectedAccessCount the minimum number of recent read accesses for an entity to stay cached
+	 *        while the cache budget is exceeded. Must be in the range
+	 *        [1;{@link Validation#maximumProtectedAccessCount()}].
+	 *
+	 * @param timeoutMs the time (in milliseconds, greater than 0) of not being read, after which a particular
+	 *        entity's data will be cleared from the cache regardless of the cache size.
+	 *
+	 * @return a new {@link StorageEntityCacheSegmentedEvaluator} instance.
+	 *
+	 * @throws IllegalArgumentException if any of the passed values is out of range.
+	 */
+	public static StorageEntityCacheSegmentedEvaluator New(
+		final long cacheBudget         ,
+		final int  protectedAccessCount,
+		final long timeoutMs
+	)
+	{
+		Validation.validateParameters(cacheBudget, protectedAccessCount, timeoutMs);
+
+		return new StorageEntityCacheSegmentedEvaluator.Default(cacheBudget, protectedAccessCount, timeoutMs);
+	}
+
+	public final class Default implements StorageEntityCacheSegmentedEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long cacheBudget         ;
+		private final int  protectedAccessCount;
+		private final long timeoutMs           ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long cacheBudget         ,
+			final int  protectedAccessCount,
+			final long timeoutMs
+		)
+		{
+			super();
+			this.cacheBudget          = cacheBudget         ;
+			this.protectedAccessCount = protectedAccessCount;
+			this.timeoutMs            = timeoutMs           ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long cacheBudget()
+		{
+			return this.cacheBudget;
+		}
+
+		@Override
+		public final long threshold()
+		{
+			return this.cacheBudget;
+		}
+
+		@Override
+		public final int protectedAccessCount()
+		{
+			return this.protectedAccessCount;
+		}
+
+		@Override
+		public final long timeoutMs()
+		{
+			return this.timeoutMs;
+		}
+
+		@Override
+		public final boolean clearEntityCache(
+			final long          cacheSize,
+			final long          evalTime ,
+			final StorageEntity e
+		)
+		{
+			// see StorageEntityCacheEvaluator.Default on negative ages. They never reach the timeout.
+			if(evalTime - e.lastTouched() >= this.timeoutMs)
+			{
+				return true;
+			}
+
+			// within the budget, nothing has to be cleared. Above it, probationary entities are cleared first.
+			return cacheSize > this.cacheBudget && e.accessCount() < this.protectedAccessCount;
+		}
+
+		@Override
+		public final boolean initiallyCacheEntity(
+			final long          cacheSize,
+			final long          evalTime ,
+			final StorageEntity e
+		)
+		{
+			// there is no access history on initialization, so the budget is all that matters.
+			return cacheSize <= this.cacheBudget;
+		}
+
+		@Override
+		public final boolean ageEntityAccess(final long cacheSize, final StorageEntity e)
+		{
+			// the clock hand only ages entities while there is pressure on the cache.
+			return cacheSize > this.cacheBudget;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("cacheBudget         ").tab().add('=').blank().add(this.cacheBudget).lf()
+				.blank().add("protectedAccessCount").tab().add('=').blank().add(this.protectedAccessCount).lf()
+				.blank().add("timeoutMs           ").tab().add('=').blank().add(this.timeoutMs)
+				.toString()
+			;
+		}
+
+	}
+
+}
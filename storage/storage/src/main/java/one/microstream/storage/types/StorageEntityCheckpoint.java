@@ -0,0 +1,856 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.HashEnum;
+import one.microstream.memory.XMemory;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
+import one.microstream.storage.exceptions.StorageExceptionIoWriting;
+
+/**
+ * A snapshot of a channel's entity registry (object id, type id, data file number, position and length of every
+ * entity) that is valid for a certain length of the channel's transactions file.
+ * <p>
+ * Binary layout (native byte order):
+ * <ul>
+ * <li>entity sections: per data file in storage order, per entity in file order:
+ * object id, type id, position (int), length (int).</li>
+ * <li>file table: per data file in storage order: file number, file length, entity count.</li>
+ * <li>footer: magic, transactions file length, transactions file identity (timestamp of its first entry),
+ * file count, CRC32C checksum of all preceding bytes.</li>
+ * </ul>
+ * The file table and footer are written last, since the entity counts are only known after all entities have been
+ * written, see {@link StorageEntityCheckpoint.Writer}.
+ *
+ * @see StorageCheckpointSetup
+ */
+public interface StorageEntityCheckpoint
+{
+	public long transactionsFileLength();
+
+	public long transactionsFileIdentity();
+
+	public EqHashTable<Long, StorageEntityCheckpoint.FileSection> fileSections();
+
+	public long iterateEntities(FileSection section, EntityAcceptor acceptor);
+
+
+
+	@FunctionalInterface
+	public interface EntityAcceptor
+	{
+		public void accept(long objectId, long typeId, int position, int length);
+	}
+
+	public final class FileSection
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final long fileNumber ;
+		final long fileLength ;
+		final long entityCount;
+		final long offset     ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		FileSection(
+			final long fileNumber ,
+			final long fileLength ,
+			final long entityCount,
+			final long offset
+		)
+		{
+			super();
+			this.fileNumber  = fileNumber ;
+			this.fileLength  = fileLength ;
+			this.entityCount = entityCount;
+			this.offset      = offset     ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final long fileNumber()
+		{
+			return this.fileNumber;
+		}
+
+		public final long fileLength()
+		{
+			return this.fileLength;
+		}
+
+		public final long entityCount()
+		{
+			return this.entityCount;
+		}
+
+	}
+
+
+
+	public final class Logic
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// "MSCKPT02", in native byte order. A checkpoint written with a different byte order is simply not valid.
+		static final long MAGIC = 0x4D53434B50543032L;
+
+		static final int
+			OFFSET_FOOTER_MAGIC               =    0,
+			OFFSET_FOOTER_TRANSACTIONS_LENGTH =    8,
+			OFFSET_FOOTER_TRANSACTIONS_ID     =   16,
+			OFFSET_FOOTER_FILE_COUNT          =   24,
+			OFFSET_FOOTER_CHECKSUM            =   32,
+			LENGTH_FOOTER                     =   40,
+
+			OFFSET_FILE_NUMBER                =    0,
+			OFFSET_FILE_LENGTH                =    8,
+			OFFSET_FILE_ENTITY_COUNT          =   16,
+			LENGTH_FILE                       =   24,
+
+			OFFSET_ENTITY_OID                 =    0,
+			OFFSET_ENTITY_TID                 =    8,
+			OFFSET_ENTITY_POSITION            =   16,
+			OFFSET_ENTITY_LENGTH              =   20,
+			LENGTH_ENTITY                     =   24,
+
+			ENTITY_CHUNK_COUNT                = 4096
+		;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		/**
+		 * Reads the footer and file table of the checkpoint in the passed file and verifies the checksum of its
+		 * whole content.
+		 *
+		 * @return the checkpoint or {@code null} if the file does not exist or is not a complete and intact checkpoint.
+		 */
+		public static StorageEntityCheckpoint read(final AFile file)
+		{
+			if(!file.exists())
+			{
+				return null;
+			}
+
+			final AReadableFile rFile = file.useReading();
+			ByteBuffer buffer = XMemory.allocateDirectNative(LENGTH_FOOTER);
+			try
+			{
+				final long fileSize = rFile.size();
+				if(fileSize < LENGTH_FOOTER)
+				{
+					return null;
+				}
+
+				final long footerPosition = fileSize - LENGTH_FOOTER;
+				rFile.readBytes(buffer, footerPosition, LENGTH_FOOTER);
+				long address = XMemory.getDirectByteBufferAddress(buffer);
+				final long fileCount = XMemory.get_long(address + OFFSET_FOOTER_FILE_COUNT);
+				if(XMemory.get_long(address + OFFSET_FOOTER_MAGIC) != MAGIC
+					|| fileCount <= 0
+					|| fileCount * LENGTH_FILE > footerPosition
+				)
+				{
+					return null;
+				}
+
+				final long transactionsFileLength   = XMemory.get_long(address + OFFSET_FOOTER_TRANSACTIONS_LENGTH);
+				final long transactionsFileIdentity = XMemory.get_long(address + OFFSET_FOOTER_TRANSACTIONS_ID    );
+				final long checksum                 = XMemory.get_long(address + OFFSET_FOOTER_CHECKSUM           );
+
+				// a torn or incompletely written checkpoint is recognized by its checksum.
+				if(calculateChecksum(rFile, footerPosition + OFFSET_FOOTER_CHECKSUM) != checksum)
+				{
+					return null;
+				}
+
+				final int  tableLength   = (int)(fileCount * LENGTH_FILE);
+				final long tablePosition = footerPosition - tableLength;
+				XMemory.deallocateDirectByteBuffer(buffer);
+				buffer = XMemory.allocateDirectNative(tableLength);
+				rFile.readBytes(buffer, tablePosition, tableLength);
+				address = XMemory.getDirectByteBufferAddress(buffer);
+
+				final EqHashTable<Long, FileSection> sections = EqHashTable.New();
+				long offset = 0;
+				for(int i = 0; i < fileCount; i++, address += LENGTH_FILE)
+				{
+					final FileSection section = new FileSection(
+						XMemory.get_long(address + OFFSET_FILE_NUMBER      ),
+						XMemory.get_long(address + OFFSET_FILE_LENGTH      ),
+						XMemory.get_long(address + OFFSET_FILE_ENTITY_COUNT),
+						offset
+					);
+					if(!sections.add(section.fileNumber, section))
+					{
+						return null;
+					}
+					offset += section.entityCount * LENGTH_ENTITY;
+				}
+
+				if(offset != tablePosition)
+				{
+					return null;
+				}
+
+				return new StorageEntityCheckpoint.Default(
+					file                    ,
+					transactionsFileLength  ,
+					transactionsFileIdentity,
+					sections
+				);
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				rFile.release();
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private static long calculateChecksum(final AReadableFile rFile, final long length)
+		{
+			final CRC32C     checksum = new CRC32C();
+			final ByteBuffer buffer   = XMemory.allocateDirectNative(ENTITY_CHUNK_COUNT * LENGTH_ENTITY);
+			try
+			{
+				for(long position = 0; position < length;)
+				{
+					buffer.clear().limit((int)Math.min(buffer.capacity(), length - position));
+					rFile.readBytes(buffer, position, buffer.limit());
+					buffer.flip();
+					position += buffer.remaining();
+					checksum.update(buffer);
+				}
+
+				return checksum.getValue();
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		/**
+		 * Dummy constructor to prevent instantiation of this static-only utility class.
+		 *
+		 * @throws UnsupportedOperationException when called
+		 */
+		private Logic()
+		{
+			// static only
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	/**
+	 * Writes a checkpoint of a channel's entities in increments, so that it can be written by the housekeeping
+	 * within its time budget while the channel keeps processing tasks in between.
+	 * <p>
+	 * The checkpoint refers to the transactions file length and the data file lengths at the time the writer has been
+	 * started. Only entities that are completely contained in these lengths are written, everything written later
+	 * is read from the data files on startup, where newer versions of an entity take precedence over checkpointed
+	 * ones. So between two increments, entities may be stored, moved by the file cleanup or deleted by the garbage
+	 * collection without making the checkpoint inconsistent. Increments may only be written while there is no
+	 * uncommitted write.
+	 * <p>
+	 * The checkpoint is written to a temporary file with a checksum, synchronized with the storage device and then
+	 * renamed to replace the previous checkpoint. Since the abstract file system can not replace a file atomically,
+	 * the previous checkpoint is deleted right before the renaming. A complete temporary file that remains after
+	 * a crash in between is used on the next startup instead, see {@link StorageEntityCheckpoint.Logic#read(AFile)}.
+	 */
+	public final class Writer
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		/**
+		 * Starts a new checkpoint of all entities in the passed channel's file chain. Nothing is written before the
+		 * first increment.
+		 *
+		 * @return the writer to write the checkpoint's increments with.
+		 */
+		public static Writer start(
+			final AFile                       file                    ,
+			final AFile                       tempFile                ,
+			final StorageLiveDataFile.Default headFile                ,
+			final long                        transactionsFileLength  ,
+			final long                        transactionsFileIdentity
+		)
+		{
+			int fileCount = 0;
+			StorageLiveDataFile.Default dataFile = headFile;
+			do
+			{
+				fileCount++;
+			}
+			while((dataFile = dataFile.next) != headFile);
+
+			// oldest file first (storage order), the head file is the last one.
+			final long[] fileNumbers = new long[fileCount];
+			final long[] fileLengths = new long[fileCount];
+			for(int i = 0; i < fileCount; i++)
+			{
+				dataFile = dataFile.next;
+				fileNumbers[i] = dataFile.number();
+				fileLengths[i] = dataFile.totalLength();
+			}
+
+			return new Writer(file, tempFile, transactionsFileLength, transactionsFileIdentity, fileNumbers, fileLengths);
+		}
+
+		private static StorageLiveDataFile.Default findFile(final StorageLiveDataFile.Default headFile, final long number)
+		{
+			StorageLiveDataFile.Default dataFile = headFile;
+			do
+			{
+				if(dataFile.number() == number)
+				{
+					return dataFile;
+				}
+			}
+			while((dataFile = dataFile.next) != headFile);
+
+			// the file has been deleted since the checkpoint has been started.
+			return null;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AFile      file                    ;
+		private final AFile      tempFile                ;
+		private final long       transactionsFileLength  ;
+		private final long       transactionsFileIdentity;
+		private final long[]     fileNumbers             ;
+		private final long[]     fileLengths             ;
+		private final long[]     entityCounts            ;
+		private final CRC32C     checksum                ;
+		private final ByteBuffer buffer                  ;
+		private final long       startAddress            ;
+		private final long       boundAddress            ;
+
+		private AWritableFile         wFile         ;
+		private long                  address       ;
+		private int                   fileIndex     ;
+		private StorageEntity.Default cursor        ;
+		private int                   cursorPosition;
+		private long                  entityCount   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Writer(
+			final AFile  file                    ,
+			final AFile  tempFile                ,
+			final long   transactionsFileLength  ,
+			final long   transactionsFileIdentity,
+			final long[] fileNumbers             ,
+			final long[] fileLengths
+		)
+		{
+			super();
+			this.file                     = file                    ;
+			this.tempFile                 = tempFile                ;
+			this.transactionsFileLength   = transactionsFileLength  ;
+			this.transactionsFileIdentity = transactionsFileIdentity;
+			this.fileNumbers              = fileNumbers             ;
+			this.fileLengths              = fileLengths             ;
+			this.entityCounts             = new long[fileNumbers.length];
+			this.checksum                 = new CRC32C();
+			this.buffer                   = XMemory.allocateDirectNative(Logic.ENTITY_CHUNK_COUNT * Logic.LENGTH_ENTITY);
+			this.startAddress             = XMemory.getDirectByteBufferAddress(this.buffer);
+			this.boundAddress             = this.startAddress + this.buffer.capacity();
+			this.address                  = this.startAddress;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final long transactionsFileLength()
+		{
+			return this.transactionsFileLength;
+		}
+
+		/**
+		 * Writes entities until all of them are written or the passed time budget bound is exceeded.
+		 *
+		 * @return whether all entities have been written and the checkpoint can be finished.
+		 */
+		public final boolean writeIncrement(
+			final StorageLiveDataFile.Default headFile         ,
+			final long                        nanoTimeBudgetBound
+		)
+		{
+			try
+			{
+				if(this.wFile == null)
+				{
+					this.wFile = this.tempFile.useWriting();
+					if(this.wFile.exists())
+					{
+						// remains of an earlier, aborted checkpoint
+						this.wFile.truncate(0);
+					}
+					this.wFile.ensureExists();
+				}
+
+				for(; this.fileIndex < this.fileNumbers.length; this.fileIndex++)
+				{
+					if(!this.writeSection(findFile(headFile, this.fileNumbers[this.fileIndex]), nanoTimeBudgetBound))
+					{
+						return false;
+					}
+					this.cursor = null;
+				}
+
+				return true;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+		}
+
+		private boolean writeSection(
+			final StorageLiveDataFile.Default dataFile           ,
+			final long                        nanoTimeBudgetBound
+		)
+		{
+			if(dataFile == null)
+			{
+				// a deleted file's section remains empty, the deletion is validated via the transactions file.
+				return true;
+			}
+
+			final long                  fileLength = this.fileLengths[this.fileIndex];
+			final StorageEntity.Default tail       = dataFile.tail;
+			for(StorageEntity.Default entity = this.resumeEntity(dataFile); entity != tail; entity = entity.fileNext)
+			{
+				// entities are chained in file order, everything beyond the checkpointed length is read on startup.
+				if(entity.storagePosition + (long)entity.length > fileLength)
+				{
+					break;
+				}
+
+				XMemory.set_long(this.address + Logic.OFFSET_ENTITY_OID     , entity.objectId()      );
+				XMemory.set_long(this.address + Logic.OFFSET_ENTITY_TID     , entity.typeId()        );
+				XMemory.set_int (this.address + Logic.OFFSET_ENTITY_POSITION, entity.storagePosition);
+				XMemory.set_int (this.address + Logic.OFFSET_ENTITY_LENGTH  , entity.length         );
+				this.entityCounts[this.fileIndex]++;
+				this.entityCount++;
+				this.cursor         = entity;
+				this.cursorPosition = entity.storagePosition;
+
+				if((this.address += Logic.LENGTH_ENTITY) == this.boundAddress)
+				{
+					this.writeBuffer();
+					if(System.nanoTime() >= nanoTimeBudgetBound)
+					{
+						return false;
+					}
+				}
+			}
+
+			return true;
+		}
+
+		private StorageEntity.Default resumeEntity(final StorageLiveDataFile.Default dataFile)
+		{
+			final StorageEntity.Default cursor = this.cursor;
+			if(cursor == null)
+			{
+				return dataFile.head.fileNext;
+			}
+
+			// the cursor is still in place if it has neither been deleted nor moved to another position.
+			if(!cursor.isDeleted() && cursor.typeInFile.file == dataFile && cursor.storagePosition == this.cursorPosition)
+			{
+				return cursor.fileNext;
+			}
+
+			StorageEntity.Default entity = dataFile.head.fileNext;
+			while(entity != dataFile.tail && entity.storagePosition <= this.cursorPosition)
+			{
+				entity = entity.fileNext;
+			}
+
+			return entity;
+		}
+
+		private void writeBuffer()
+		{
+			this.buffer.clear().limit((int)(this.address - this.startAddress));
+			this.write();
+			this.address = this.startAddress;
+		}
+
+		private void write()
+		{
+			this.checksum.update(this.buffer);
+			this.buffer.rewind();
+			this.wFile.writeBytes(this.buffer);
+		}
+
+		/**
+		 * Writes the file table and footer after all entities have been written, synchronizes the checkpoint with
+		 * the storage device and replaces the previous checkpoint by it.
+		 *
+		 * @return the number of written entities.
+		 */
+		public final long finish()
+		{
+			try
+			{
+				if(this.address != this.startAddress)
+				{
+					this.writeBuffer();
+				}
+
+				long address = this.startAddress;
+				for(int i = 0; i < this.fileNumbers.length; i++)
+				{
+					XMemory.set_long(address + Logic.OFFSET_FILE_NUMBER      , this.fileNumbers[i] );
+					XMemory.set_long(address + Logic.OFFSET_FILE_LENGTH      , this.fileLengths[i] );
+					XMemory.set_long(address + Logic.OFFSET_FILE_ENTITY_COUNT, this.entityCounts[i]);
+					if((address += Logic.LENGTH_FILE) == this.boundAddress)
+					{
+						this.address = address;
+						this.writeBuffer();
+						address = this.startAddress;
+					}
+				}
+				if(address + Logic.LENGTH_FOOTER > this.boundAddress)
+				{
+					this.address = address;
+					this.writeBuffer();
+					address = this.startAddress;
+				}
+				XMemory.set_long(address + Logic.OFFSET_FOOTER_MAGIC              , Logic.MAGIC                  );
+				XMemory.set_long(address + Logic.OFFSET_FOOTER_TRANSACTIONS_LENGTH, this.transactionsFileLength  );
+				XMemory.set_long(address + Logic.OFFSET_FOOTER_TRANSACTIONS_ID    , this.transactionsFileIdentity);
+				XMemory.set_long(address + Logic.OFFSET_FOOTER_FILE_COUNT         , this.fileNumbers.length      );
+				this.buffer.clear().limit((int)(address - this.startAddress + Logic.OFFSET_FOOTER_CHECKSUM));
+				this.checksum.update(this.buffer);
+				XMemory.set_long(address + Logic.OFFSET_FOOTER_CHECKSUM, this.checksum.getValue());
+				this.buffer.clear().limit((int)(address - this.startAddress + Logic.LENGTH_FOOTER));
+				this.wFile.writeBytes(this.buffer);
+				this.wFile.flush();
+
+				if(this.file.exists())
+				{
+					AFS.executeWriting(this.file, AWritableFile::delete);
+				}
+				AFS.executeWriting(this.file, wf ->
+					this.wFile.moveTo(wf)
+				);
+
+				return this.entityCount;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+			finally
+			{
+				this.close();
+			}
+		}
+
+		/**
+		 * Abandons the checkpoint and deletes what has been written of it so far.
+		 */
+		public final void abort()
+		{
+			try
+			{
+				if(this.wFile != null)
+				{
+					this.wFile.delete();
+				}
+			}
+			finally
+			{
+				this.close();
+			}
+		}
+
+		private void close()
+		{
+			if(this.wFile != null)
+			{
+				this.wFile.release();
+				this.wFile = null;
+			}
+			XMemory.deallocateDirectByteBuffer(this.buffer);
+		}
+
+	}
+
+	/**
+	 * Validates a checkpoint's transactions file length and identity against the actual transactions file.
+	 * All entries after the checkpoint must only have appended data or created or deleted files, since
+	 * only then the checkpoint plus all data after it reflect the current state.
+	 */
+	public final class TransactionsValidator implements StorageTransactionsAnalysis.EntryIterator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long           checkpointPosition;
+		private final HashEnum<Long> deletedFileNumbers = HashEnum.New();
+
+		private long    position        ;
+		private long    identity        ;
+		private boolean hasEntryBoundary;
+		private boolean hasInvalidEntry ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		public TransactionsValidator(final long checkpointPosition)
+		{
+			super();
+			this.checkpointPosition = checkpointPosition;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean accept(final long address, final long availableEntryLength)
+		{
+			final int entryLength = StorageTransactionsAnalysis.Logic.getEntryLength(address);
+			if(entryLength > availableEntryLength)
+			{
+				return false;
+			}
+
+			if(this.position == 0)
+			{
+				this.identity = StorageTransactionsAnalysis.Logic.getEntryTimestamp(address);
+			}
+
+			if(this.position == this.checkpointPosition)
+			{
+				this.hasEntryBoundary = true;
+			}
+
+			// comments (negative length) are skipped, all entries after the checkpoint are checked.
+			if(entryLength > 0 && this.position >= this.checkpointPosition)
+			{
+				switch(StorageTransactionsAnalysis.Logic.getEntryType(address))
+				{
+					case StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION:
+					case StorageTransactionsAnalysis.Logic.TYPE_STORE        :
+					case StorageTransactionsAnalysis.Logic.TYPE_TRANSFER     :
+					{
+						break;
+					}
+					case StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION:
+					{
+						this.deletedFileNumbers.add(StorageTransactionsAnalysis.Logic.getFileNumber(address));
+						break;
+					}
+					default:
+					{
+						// truncations or unknown entries invalidate the checkpoint.
+						this.hasInvalidEntry = true;
+					}
+				}
+			}
+
+			this.position += Math.abs(entryLength);
+
+			return true;
+		}
+
+		public final boolean isValid(final StorageEntityCheckpoint checkpoint)
+		{
+			return !this.hasInvalidEntry
+				&& this.identity == checkpoint.transactionsFileIdentity()
+				&& (this.hasEntryBoundary || this.position == this.checkpointPosition)
+			;
+		}
+
+		public final boolean isDeletedAfterCheckpoint(final long fileNumber)
+		{
+			return this.deletedFileNumbers.contains(fileNumber);
+		}
+
+	}
+
+	public final class Default implements StorageEntityCheckpoint
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AFile                          file                    ;
+		private final long                           transactionsFileLength  ;
+		private final long                           transactionsFileIdentity;
+		private final EqHashTable<Long, FileSection> fileSections            ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final AFile                          file                    ,
+			final long                           transactionsFileLength  ,
+			final long                           transactionsFileIdentity,
+			final EqHashTable<Long, FileSection> fileSections
+		)
+		{
+			super();
+			this.file                     = file                    ;
+			this.transactionsFileLength   = transactionsFileLength  ;
+			this.transactionsFileIdentity = transactionsFileIdentity;
+			this.fileSections             = fileSections            ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long transactionsFileLength()
+		{
+			return this.transactionsFileLength;
+		}
+
+		@Override
+		public final long transactionsFileIdentity()
+		{
+			return this.transactionsFileIdentity;
+		}
+
+		@Override
+		public final EqHashTable<Long, FileSection> fileSections()
+		{
+			return this.fileSections;
+		}
+
+		@Override
+		public final long iterateEntities(final FileSection section, final EntityAcceptor acceptor)
+		{
+			if(section.entityCount == 0)
+			{
+				return 0;
+			}
+
+			final ByteBuffer    buffer       = XMemory.allocateDirectNative(Logic.ENTITY_CHUNK_COUNT * Logic.LENGTH_ENTITY);
+			final long          startAddress = XMemory.getDirectByteBufferAddress(buffer);
+			final AReadableFile rFile        = this.file.useReading();
+			try
+			{
+				long position  = section.offset;
+				long remaining = section.entityCount;
+				while(remaining > 0)
+				{
+					final int chunkCount = (int)Math.min(remaining, Logic.ENTITY_CHUNK_COUNT);
+					buffer.clear().limit(chunkCount * Logic.LENGTH_ENTITY);
+					rFile.readBytes(buffer, position, buffer.limit());
+
+					for(long a = startAddress, bound = startAddress + buffer.limit(); a < bound; a += Logic.LENGTH_ENTITY)
+					{
+						acceptor.accept(
+							XMemory.get_long(a + Logic.OFFSET_ENTITY_OID     ),
+							XMemory.get_long(a + Logic.OFFSET_ENTITY_TID     ),
+							XMemory.get_int (a + Logic.OFFSET_ENTITY_POSITION),
+							XMemory.get_int (a + Logic.OFFSET_ENTITY_LENGTH  )
+						);
+					}
+					position  += buffer.limit();
+					remaining -= chunkCount;
+				}
+
+				return section.entityCount;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				rFile.release();
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+	}
+
+}
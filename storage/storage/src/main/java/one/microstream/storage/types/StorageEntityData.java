@@ -0,0 +1,199 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * Read-only view on the binary data of a single entity, as passed to the logic of an entity type scan
+ * (see {@link StorageConnection#scanTypeEntities(long, java.util.function.Predicate)}).
+ * <p>
+ * All offsets are relative to the start of the entity's content, i.e. directly after the entity header.
+ * Field offsets matching the type's binary layout are provided by {@link StorageEntityField}.
+ * <p>
+ * An instance is only valid during the call it has been passed to, it may neither be stored nor be
+ * passed to another thread.
+ */
+public interface StorageEntityData
+{
+	public long objectId();
+	
+	public long typeId();
+	
+	/**
+	 * @return the length of the entity's content in bytes, excluding the entity header.
+	 */
+	public long contentLength();
+	
+	public boolean getBoolean(long offset);
+	
+	public byte getByte(long offset);
+	
+	public short getShort(long offset);
+	
+	public char getChar(long offset);
+	
+	public int getInt(long offset);
+	
+	public long getLong(long offset);
+	
+	public float getFloat(long offset);
+	
+	public double getDouble(long offset);
+	
+	/**
+	 * @param offset the offset of a reference field.
+	 * @return the object id stored in the reference field at the passed offset.
+	 */
+	public default long getObjectId(final long offset)
+	{
+		return this.getLong(offset);
+	}
+	
+	
+	
+	/**
+	 * Flyweight reused for all entities of one scan, pointing to either cached data or a read buffer.
+	 */
+	final class Default implements StorageEntityData
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final long typeId;
+		
+		private long objectId     ;
+		private long address      ;
+		private long contentLength;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final long typeId)
+		{
+			super();
+			this.typeId = typeId;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		final StorageEntityData.Default set(final StorageEntity.Default entity, final long dataAddress)
+		{
+			this.objectId      = entity.objectId();
+			this.address       = dataAddress + Binary.entityHeaderLength();
+			this.contentLength = entity.length - Binary.entityHeaderLength();
+			
+			return this;
+		}
+		
+		private long address(final long offset, final int length)
+		{
+			if(offset < 0 || offset + length > this.contentLength)
+			{
+				throw new StorageException(
+					"Invalid access of " + length + " bytes at offset " + offset
+					+ " of entity " + this.objectId + " with a content length of " + this.contentLength + "."
+				);
+			}
+			
+			return this.address + offset;
+		}
+		
+		@Override
+		public final long objectId()
+		{
+			return this.objectId;
+		}
+		
+		@Override
+		public final long typeId()
+		{
+			return this.typeId;
+		}
+		
+		@Override
+		public final long contentLength()
+		{
+			return this.contentLength;
+		}
+		
+		@Override
+		public final boolean getBoolean(final long offset)
+		{
+			return XMemory.get_boolean(this.address(offset, Byte.BYTES));
+		}
+		
+		@Override
+		public final byte getByte(final long offset)
+		{
+			return XMemory.get_byte(this.address(offset, Byte.BYTES));
+		}
+		
+		@Override
+		public final short getShort(final long offset)
+		{
+			return XMemory.get_short(this.address(offset, Short.BYTES));
+		}
+		
+		@Override
+		public final char getChar(final long offset)
+		{
+			return XMemory.get_char(this.address(offset, Character.BYTES));
+		}
+		
+		@Override
+		public final int getInt(final long offset)
+		{
+			return XMemory.get_int(this.address(offset, Integer.BYTES));
+		}
+		
+		@Override
+		public final long getLong(final long offset)
+		{
+			return XMemory.get_long(this.address(offset, Long.BYTES));
+		}
+		
+		@Override
+		public final float getFloat(final long offset)
+		{
+			return XMemory.get_float(this.address(offset, Float.BYTES));
+		}
+		
+		@Override
+		public final double getDouble(final long offset)
+		{
+			return XMemory.get_double(this.address(offset, Double.BYTES));
+		}
+		
+	}
+	
+}
@@ -0,0 +1,247 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+
+import one.microstream.persistence.types.PersistenceTypeDefinition;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMember;
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * Typed accessor for one field of an entity's binary data, derived from the field's
+ * {@link PersistenceTypeDefinitionMember} and its position in the {@link PersistenceTypeDefinition}.
+ * <p>
+ * Only fields of a fixed length (primitives and references) at a fixed offset are accessible, i.e. all fields
+ * before the first variable length field. Types handled generically (all fields of a plain entity class)
+ * consist of such fields only.
+ * <pre>
+ * StorageEntityField status = StorageEntityField.New(typeDefinition, "status");
+ * long[] objectIds = connection.scanTypeEntities(
+ * 	typeDefinition.typeId(),
+ * 	entity -&gt; status.getInt(entity) == 3
+ * );
+ * </pre>
+ */
+public interface StorageEntityField
+{
+	public PersistenceTypeDefinition typeDefinition();
+	
+	public PersistenceTypeDefinitionMember member();
+	
+	/**
+	 * @return the offset of the field in the entity's content (see {@link StorageEntityData}).
+	 */
+	public long offset();
+	
+	public long length();
+	
+	public default boolean getBoolean(final StorageEntityData entity)
+	{
+		return entity.getBoolean(this.offset());
+	}
+	
+	public default byte getByte(final StorageEntityData entity)
+	{
+		return entity.getByte(this.offset());
+	}
+	
+	public default short getShort(final StorageEntityData entity)
+	{
+		return entity.getShort(this.offset());
+	}
+	
+	public default char getChar(final StorageEntityData entity)
+	{
+		return entity.getChar(this.offset());
+	}
+	
+	public default int getInt(final StorageEntityData entity)
+	{
+		return entity.getInt(this.offset());
+	}
+	
+	public default long getLong(final StorageEntityData entity)
+	{
+		return entity.getLong(this.offset());
+	}
+	
+	public default float getFloat(final StorageEntityData entity)
+	{
+		return entity.getFloat(this.offset());
+	}
+	
+	public default double getDouble(final StorageEntityData entity)
+	{
+		return entity.getDouble(this.offset());
+	}
+	
+	/**
+	 * @param entity the entity data to read from.
+	 * @return the object id of the entity referenced by this field, 0 for {@code null}.
+	 */
+	public default long getObjectId(final StorageEntityData entity)
+	{
+		return entity.getObjectId(this.offset());
+	}
+	
+	
+	
+	/**
+	 * Resolves the field with the passed name, which is either its simple name (e.g. "status") or its
+	 * unique identifier (e.g. "com.my.app.Order#status"), required if the simple name is ambiguous.
+	 * 
+	 * @param typeDefinition the definition of the entities' type, e.g. from the storage's type dictionary.
+	 * @param fieldName the simple name or identifier of the field.
+	 * @return a new {@link StorageEntityField} instance.
+	 * @throws StorageException if no such field with a fixed offset and length exists.
+	 */
+	public static StorageEntityField New(
+		final PersistenceTypeDefinition typeDefinition,
+		final String                    fieldName
+	)
+		throws StorageException
+	{
+		notNull(fieldName);
+		
+		PersistenceTypeDefinitionMember field       = null;
+		long                            fieldOffset = 0   ;
+		boolean                         isFixed     = true;
+		long                            offset      = 0   ;
+		for(final PersistenceTypeDefinitionMember member : typeDefinition.instanceMembers())
+		{
+			if(fieldName.equals(member.identifier()))
+			{
+				field       = member;
+				fieldOffset = isFixed ? offset : -1;
+				break;
+			}
+			if(fieldName.equals(member.name()))
+			{
+				if(field != null)
+				{
+					throw new StorageException(
+						"Ambiguous field name \"" + fieldName + "\" in type " + typeDefinition.toTypeIdentifier()
+						+ ", use the field's identifier instead."
+					);
+				}
+				field       = member;
+				fieldOffset = isFixed ? offset : -1;
+			}
+			
+			isFixed &= member.isFixedLength();
+			offset  += member.persistentMinimumLength();
+		}
+		
+		if(field == null)
+		{
+			throw new StorageException(
+				"No field \"" + fieldName + "\" in type " + typeDefinition.toTypeIdentifier() + "."
+			);
+		}
+		if(fieldOffset < 0 || field.isVariableLength())
+		{
+			throw new StorageException(
+				"Field " + field.identifier() + " of type " + typeDefinition.toTypeIdentifier()
+				+ " has no fixed binary offset and length."
+			);
+		}
+		
+		return new StorageEntityField.Default(
+			typeDefinition                  ,
+			field                           ,
+			fieldOffset                     ,
+			field.persistentMinimumLength()
+		);
+	}
+	
+	
+	public final class Default implements StorageEntityField
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final PersistenceTypeDefinition       typeDefinition;
+		private final PersistenceTypeDefinitionMember member        ;
+		private final long                            offset        ;
+		private final long                            length        ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(
+			final PersistenceTypeDefinition       typeDefinition,
+			final PersistenceTypeDefinitionMember member        ,
+			final long                            offset        ,
+			final long                            length
+		)
+		{
+			super();
+			this.typeDefinition = typeDefinition;
+			this.member         = member        ;
+			this.offset         = offset        ;
+			this.length         = length        ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final PersistenceTypeDefinition typeDefinition()
+		{
+			return this.typeDefinition;
+		}
+		
+		@Override
+		public final PersistenceTypeDefinitionMember member()
+		{
+			return this.member;
+		}
+		
+		@Override
+		public final long offset()
+		{
+			return this.offset;
+		}
+		
+		@Override
+		public final long length()
+		{
+			return this.length;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return this.member.identifier() + " @" + this.offset + " [" + this.length + "]";
+		}
+		
+	}
+	
+}
@@ -38,6 +38,24 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 {
 	public D registerEntities(XGettingSequence<? extends StorageDataInventoryFile> files, long lastFileLength);
 	
+	/**
+	 * Registers the entities of the passed files like {@link #registerEntities(XGettingSequence, long)}, but
+	 * only reads the data that has been written after the passed checkpoint and restores all other entities
+	 * from the checkpoint. The checkpoint must have been validated against the passed files before.
+	 * Restored entities are not initially cached.
+	 * 
+	 * @param files the channel's data files in storage order.
+	 * @param lastFileLength the consistent length of the last file.
+	 * @param checkpoint the validated checkpoint or {@code null} to read all data files.
+	 * 
+	 * @return the head file.
+	 */
+	public D registerEntities(
+		XGettingSequence<? extends StorageDataInventoryFile> files         ,
+		long                                                 lastFileLength,
+		StorageEntityCheckpoint                              checkpoint
+	);
+	
 	
 	
 	static StorageEntityInitializer<StorageLiveDataFile.Default> New(
@@ -88,14 +106,25 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			final long                                             lastFileLength
 		)
 		{
-			return registerEntities(this.dataFileCreator, this.entityCache, files.toReversed(), lastFileLength);
+			return registerEntities(this.dataFileCreator, this.entityCache, files.toReversed(), lastFileLength, null);
+		}
+		
+		@Override
+		public final StorageLiveDataFile.Default registerEntities(
+			final XGettingSequence<? extends StorageDataInventoryFile> files         ,
+			final long                                                 lastFileLength,
+			final StorageEntityCheckpoint                              checkpoint
+		)
+		{
+			return registerEntities(this.dataFileCreator, this.entityCache, files.toReversed(), lastFileLength, checkpoint);
 		}
 		
 		private static StorageLiveDataFile.Default registerEntities(
 			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> fileCreator    ,
 			final StorageEntityCache.Default                                      entityCache    ,
 			final XGettingSequence<? extends StorageDataInventoryFile>            reversedFiles  ,
-			final long                                                            lastFileLength
+			final long                                                            lastFileLength ,
+			final StorageEntityCheckpoint                                         checkpoint
 		)
 		{
 			final ByteBuffer                               buffer   = allocateInitializationBuffer(reversedFiles);
@@ -106,13 +135,13 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			
 			// special case handling for last/head file
 			final StorageLiveDataFile.Default headFile = setupHeadFile(fileCreator.apply(iterator.next()));
-			registerFileEntities(entityCache, initTime, headFile, lastFileLength, buffer, entityOffsets);
+			registerFileEntities(entityCache, initTime, headFile, lastFileLength, buffer, entityOffsets, checkpoint);
 			
 			// simple tail file adding iteration for all remaining (previous!) storage files
 			for(StorageLiveDataFile.Default dataFile = headFile; iterator.hasNext();)
 			{
 				dataFile = linkTailFile(dataFile, fileCreator.apply(iterator.next()));
-				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), buffer, entityOffsets);
+				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), buffer, entityOffsets, checkpoint);
 			}
 			
 			XMemory.deallocateDirectByteBuffer(buffer);
@@ -126,11 +155,66 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			final StorageLiveDataFile.Default file              ,
 			final long                        fileActualLength  ,
 			final ByteBuffer                  buffer            ,
+			final int[]                       entityOffsets     ,
+			final StorageEntityCheckpoint     checkpoint
+		)
+		{
+			final StorageEntityCheckpoint.FileSection section = checkpoint == null
+				? null
+				: checkpoint.fileSections().get(file.number())
+			;
+			
+			if(section == null)
+			{
+				// no checkpoint or file created after the checkpoint: read and register the whole file
+				final long totalFileContentLength = registerRangeEntities(
+					entityCache, initializationTime, file, 0, fileActualLength, buffer, entityOffsets
+				);
+				file.increaseContentLength(totalFileContentLength);
+				file.registerGapLength(fileActualLength - totalFileContentLength);
+				return;
+			}
+			
+			// data written after the checkpoint contains the more current versions, so it gets registered first.
+			final long newContentLength = registerRangeEntities(
+				entityCache, initializationTime, file, section.fileLength(), fileActualLength, buffer, entityOffsets
+			);
+			
+			// the newer entities are detached to restore the checkpointed entities before them in file order.
+			final StorageEntity.Default first = file.head.fileNext;
+			final StorageEntity.Default last  = file.tail.filePrev;
+			(file.head.fileNext = file.tail).filePrev = file.head;
+			
+			final CheckpointRestorer restorer = new CheckpointRestorer(entityCache, file);
+			checkpoint.iterateEntities(section, restorer);
+			
+			if(first != file.tail)
+			{
+				file.addChainToTail(first, last);
+			}
+			
+			final long totalFileContentLength = newContentLength + restorer.contentLength;
+			file.increaseContentLength(totalFileContentLength);
+			file.registerGapLength(fileActualLength - totalFileContentLength);
+		}
+		
+		/**
+		 * Registers the entities in the passed range of the passed file and prepends them to the file's entity chain.
+		 * 
+		 * @return the total length of all registered entities.
+		 */
+		private static long registerRangeEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        startPosition     ,
+			final long                        boundPosition     ,
+			final ByteBuffer                  buffer            ,
 			final int[]                       entityOffsets
 		)
 		{
 			// entities must be indexed first to allow reverse iteration.
-			final int                         entityCount = indexEntities(file, fileActualLength, buffer, entityOffsets);
+			final int                         entityCount = indexEntities(file, startPosition, boundPosition, buffer, entityOffsets);
 			final StorageEntityCacheEvaluator entityCacheEvaluator = entityCache.entityCacheEvaluator;
 			final long                        bufferStartAddress   = XMemory.getDirectByteBufferAddress(buffer);
 			
@@ -153,38 +237,41 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 				final long                  entityLength  = Binary.getEntityLengthRawValue(entityAddress);
 				final StorageEntity.Default entity        = entityCache.initialCreateEntity(entityAddress);
 				
-				entity.updateStorageInformation(XTypes.to_int(entityLength), entityOffsets[i]);
+				entity.updateStorageInformation(XTypes.to_int(entityLength), XTypes.to_int(startPosition + entityOffsets[i]));
 				file.prependEntry(entity);
 				totalFileContentLength += entityLength;
 				
 				if(entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, entity))
 				{
-					entity.putCacheData(entityAddress, entityLength);
-					entityCache.modifyUsedCacheSize(entityLength);
+					// initial caching is optional, so it is skipped if the cache memory is exhausted.
+					final long cacheAddress = entityCache.cacheAllocator().allocate(entityLength);
+					if(cacheAddress != 0)
+					{
+						entity.putCacheData(cacheAddress, entityAddress, entityLength);
+						entityCache.modifyUsedCacheSize(entityLength);
+					}
 				}
 			}
 
-			// the total length of all actually registered entities is the file's content length. The rest is gaps.
-			file.increaseContentLength(totalFileContentLength);
-			
-			// the buffer is currently limited to exactly the file size. So gapLength = limit - contentLength.
-			file.registerGapLength(buffer.limit() - totalFileContentLength);
+			// the total length of all actually registered entities is the range's content length. The rest is gaps.
+			return totalFileContentLength;
 		}
-				
+		
 		/**
 		 * 
 		 * @return the entity count.
 		 */
 		private static int indexEntities(
-			final StorageLiveDataFile.Default file            ,
-			final long                        fileActualLength,
-			final ByteBuffer                  buffer          ,
+			final StorageLiveDataFile.Default file         ,
+			final long                        startPosition,
+			final long                        boundPosition,
+			final ByteBuffer                  buffer       ,
 			final int[]                       entityOffsets
 		)
 		{
 			int lastEntityIndex = -1;
 			
-			fillBuffer(buffer, file, fileActualLength);
+			fillBuffer(buffer, file, startPosition, boundPosition);
 			
 			final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
 			final long bufferBoundAddress = bufferStartAddress + buffer.limit();
@@ -267,18 +354,19 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		}
 		
 		private static void fillBuffer(
-			final ByteBuffer                  buffer          ,
-			final StorageLiveDataFile.Default file            ,
-			final long                        fileActualLength
+			final ByteBuffer                  buffer       ,
+			final StorageLiveDataFile.Default file         ,
+			final long                        startPosition,
+			final long                        boundPosition
 		)
 		{
 			try
 			{
 				buffer.clear();
 				// the reason for the stupid limit is actually a single toArray() somewhere in NIO.
-				buffer.limit(X.checkArrayRange(fileActualLength));
+				buffer.limit(X.checkArrayRange(boundPosition - startPosition));
 				
-				file.readBytes(buffer, 0, fileActualLength);
+				file.readBytes(buffer, startPosition, boundPosition - startPosition);
 			}
 			catch(final Exception e)
 			{
@@ -321,6 +409,58 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			return largestFileSize;
 		}
 		
+		static final class CheckpointRestorer implements StorageEntityCheckpoint.EntityAcceptor
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final StorageEntityCache.Default  entityCache;
+			private final StorageLiveDataFile.Default file       ;
+			
+			long contentLength;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			CheckpointRestorer(
+				final StorageEntityCache.Default  entityCache,
+				final StorageLiveDataFile.Default file
+			)
+			{
+				super();
+				this.entityCache = entityCache;
+				this.file        = file       ;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final void accept(final long objectId, final long typeId, final int position, final int length)
+			{
+				// entities registered from newer data (later files or written after the checkpoint) take precedence.
+				if(this.entityCache.getEntry(objectId) != null)
+				{
+					return;
+				}
+				
+				final StorageEntity.Default entity = this.entityCache.initialCreateEntity(objectId, typeId);
+				entity.updateStorageInformation(length, position);
+				
+				// checkpoint entities are in file order, so appending them yields the correct chain order.
+				this.file.appendEntry(entity);
+				this.contentLength += length;
+			}
+			
+		}
+		
 	}
 
 }
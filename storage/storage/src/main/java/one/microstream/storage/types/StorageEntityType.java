@@ -25,6 +25,7 @@ import java.util.function.Predicate;
 import one.microstream.functional.ThrowingProcedure;
 import one.microstream.persistence.types.Persistence;
 import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
+import one.microstream.reference.Lazy;
 import one.microstream.storage.exceptions.StorageException;
 
 
@@ -71,16 +72,17 @@ public interface StorageEntityType<E extends StorageEntity>
 		// instance fields //
 		////////////////////
 
-		        final int                      channelIndex            ;
-		        final long                     typeId                  ;
-		private final StorageEntityTypeHandler typeHandler             ;
-		private final boolean                  hasReferences           ;
-		private final long                     simpleReferenceDataCount;
+		        final int                      channelIndex             ;
+		        final long                     typeId                   ;
+		private final StorageEntityTypeHandler typeHandler              ;
+		private final boolean                  hasReferences            ;
+		        final boolean                  hasPrefetchableReferences;
+		private final long                     simpleReferenceDataCount ;
 		
-		private       long                     entityCount             ;
-		StorageEntityType.Default              hashNext                ;
-		StorageEntityType.Default              next                    ;
-		        final TypeInFile               dummy                    = new TypeInFile(this, null, null);
+		private       long                     entityCount              ;
+		StorageEntityType.Default              hashNext                 ;
+		StorageEntityType.Default              next                     ;
+		        final TypeInFile               dummy                     = new TypeInFile(this, null, null);
 
 		StorageEntity.Default head = StorageEntity.Default.createDummy(this.dummy);
 		StorageEntity.Default tail = this.head;
@@ -94,12 +96,13 @@ public interface StorageEntityType<E extends StorageEntity>
 		Default(final int channelIndex)
 		{
 			super();
-			this.channelIndex             = channelIndex;
-			this.typeId                   =           -1;
-			this.typeHandler              =         null;
-			this.hasReferences            =        false;
-			this.simpleReferenceDataCount =            0;
-			this.next                     =         this;
+			this.channelIndex              = channelIndex;
+			this.typeId                    =           -1;
+			this.typeHandler               =         null;
+			this.hasReferences             =        false;
+			this.hasPrefetchableReferences =       false;
+			this.simpleReferenceDataCount  =            0;
+			this.next                      =         this;
 		}
 
 		Default(
@@ -110,13 +113,14 @@ public interface StorageEntityType<E extends StorageEntity>
 		)
 		{
 			super();
-			this.channelIndex             = channelIndex                        ;
-			this.hasReferences            = typeHandler.hasPersistedReferences();
-			this.simpleReferenceDataCount = typeHandler.simpleReferenceCount()  ;
-			this.typeId                   = typeHandler.typeId()                ;
-			this.typeHandler              = typeHandler                         ;
-			this.hashNext                 = hashNext                            ;
-			this.next                     = next                                ;
+			this.channelIndex              = channelIndex                        ;
+			this.hasReferences             = typeHandler.hasPersistedReferences();
+			this.hasPrefetchableReferences = this.hasReferences && !isLazyReferenceType(typeHandler);
+			this.simpleReferenceDataCount  = typeHandler.simpleReferenceCount()  ;
+			this.typeId                    = typeHandler.typeId()                ;
+			this.typeHandler               = typeHandler                         ;
+			this.hashNext                  = hashNext                            ;
+			this.next                      = next                                ;
 		}
 
 
@@ -124,6 +128,12 @@ public interface StorageEntityType<E extends StorageEntity>
 		///////////////////////////////////////////////////////////////////////////
 		// declared methods //
 		/////////////////////
+		
+		static boolean isLazyReferenceType(final StorageEntityTypeHandler typeHandler)
+		{
+			// a lazy reference's subject must not be loaded along with it, otherwise it would effectively be eager.
+			return Lazy.Default.class.getName().equals(typeHandler.typeName());
+		}
 
 		final void add(final StorageEntity.Default entry)
 		{
@@ -0,0 +1,302 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import one.microstream.reflect.XReflect;
+
+/**
+ * JDK Flight Recorder events for the operations of the storage channels: storing, loading, housekeeping and
+ * file cleanup. Together with the JVM's own events, they allow to correlate storage latencies with garbage
+ * collection and I/O in production recordings.
+ * <p>
+ * The events are only created if the optional {@code jdk.jfr} module is present and readable at runtime,
+ * see {@link one.microstream.persistence.binary.types.BinaryEvents}. Recording them is nearly free
+ * when no recording is active, as {@link Event#shouldCommit()} then immediately returns {@literal false}.
+ * Stack traces are disabled for all storage events, as they would only ever show the channel thread's work loop.
+ *
+ * @see one.microstream.persistence.binary.types.BinaryEvents
+ */
+public final class StorageEvents
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	static final String CATEGORY_MICROSTREAM = "MicroStream";
+	static final String CATEGORY_STORAGE     = "Storage"    ;
+	
+	static final String HOUSEKEEPING_GARBAGE_COLLECTION = "GarbageCollection";
+	static final String HOUSEKEEPING_FILE_CLEANUP_CHECK = "FileCleanupCheck" ;
+	static final String HOUSEKEEPING_ENTITY_CACHE_CHECK = "EntityCacheCheck" ;
+	
+	private static final boolean AVAILABLE = isJfrAvailable();
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static boolean isAvailable()
+	{
+		return AVAILABLE;
+	}
+	
+	private static boolean isJfrAvailable()
+	{
+		// jdk.jfr is an optional module dependency, so it must be present and readable to be used.
+		final Class<?> eventType = XReflect.tryResolveType("jdk.jfr.Event", StorageEvents.class.getClassLoader());
+		
+		return eventType != null && StorageEvents.class.getModule().canRead(eventType.getModule());
+	}
+	
+	static Store beginStore()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final Store event = new Store();
+		event.begin();
+		
+		return event;
+	}
+	
+	static Load beginLoad()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final Load event = new Load();
+		event.begin();
+		
+		return event;
+	}
+	
+	static Housekeeping beginHousekeeping()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final Housekeeping event = new Housekeeping();
+		event.begin();
+		
+		return event;
+	}
+	
+	static FileTransfer beginFileTransfer()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final FileTransfer event = new FileTransfer();
+		event.begin();
+		
+		return event;
+	}
+	
+	static FileDissolve beginFileDissolve()
+	{
+		if(!AVAILABLE)
+		{
+			return null;
+		}
+		
+		final FileDissolve event = new FileDissolve();
+		event.begin();
+		
+		return event;
+	}
+	
+	static boolean commitHousekeeping(
+		final Housekeeping event         ,
+		final int          channelIndex  ,
+		final String       kind          ,
+		final boolean      issued        ,
+		final long         nanoTimeBudget,
+		final boolean      completed
+	)
+	{
+		if(event != null && event.shouldCommit())
+		{
+			event.channelIndex = channelIndex  ;
+			event.kind         = kind          ;
+			event.issued       = issued        ;
+			event.timeBudget   = nanoTimeBudget;
+			event.completed    = completed     ;
+			event.commit();
+		}
+		
+		return completed;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// events //
+	///////////
+	
+	@Name("one.microstream.storage.Store")
+	@Label("Storage Store")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_STORAGE})
+	@Description("Writing the entities of a store to a channel's head file")
+	@StackTrace(false)
+	public static final class Store extends Event
+	{
+		@Label("Channel")
+		public int channelIndex;
+		
+		@Label("Entity Count")
+		public long entityCount;
+		
+		@Label("Bytes")
+		@DataAmount
+		public long byteCount;
+	}
+	
+	@Name("one.microstream.storage.Load")
+	@Label("Storage Load")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_STORAGE})
+	@Description("Collecting the data of requested (and prefetched) entities in a channel")
+	@StackTrace(false)
+	public static final class Load extends Event
+	{
+		@Label("Channel")
+		public int channelIndex;
+		
+		@Label("Requested Object Ids")
+		public long objectIdCount;
+		
+		@Label("Entity Count")
+		@Description("Number of collected entities, including prefetched ones")
+		public long entityCount;
+		
+		@Label("Bytes")
+		@DataAmount
+		public long byteCount;
+		
+		@Label("File Reads")
+		@Description("Number of data file reads required for entities whose data was not cached")
+		public long fileReadCount;
+	}
+	
+	@Name("one.microstream.storage.Housekeeping")
+	@Label("Storage Housekeeping")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_STORAGE})
+	@Description("One time-budgeted slice of garbage collection, entity cache check or file cleanup check")
+	@StackTrace(false)
+	public static final class Housekeeping extends Event
+	{
+		@Label("Channel")
+		public int channelIndex;
+		
+		@Label("Kind")
+		public String kind;
+		
+		@Label("Issued")
+		@Description("Whether the slice was explicitly issued instead of being part of the regular housekeeping")
+		public boolean issued;
+		
+		@Label("Time Budget")
+		@Timespan(Timespan.NANOSECONDS)
+		public long timeBudget;
+		
+		@Label("Completed")
+		@Description("Whether the work was completed within the time budget")
+		public boolean completed;
+	}
+	
+	@Name("one.microstream.storage.FileTransfer")
+	@Label("Storage File Transfer")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_STORAGE})
+	@Description("Copying a chain of live entities from a data file to the channel's head file")
+	@StackTrace(false)
+	public static final class FileTransfer extends Event
+	{
+		@Label("Channel")
+		public int channelIndex;
+		
+		@Label("Source File")
+		public long sourceFileNumber;
+		
+		@Label("Target File")
+		public long targetFileNumber;
+		
+		@Label("Bytes")
+		@DataAmount
+		public long byteCount;
+	}
+	
+	@Name("one.microstream.storage.FileDissolve")
+	@Label("Storage File Dissolve")
+	@Category({CATEGORY_MICROSTREAM, CATEGORY_STORAGE})
+	@Description("Transferring the live entities of a data file to the head file as far as the time budget allows")
+	@StackTrace(false)
+	public static final class FileDissolve extends Event
+	{
+		@Label("Channel")
+		public int channelIndex;
+		
+		@Label("File")
+		public long fileNumber;
+		
+		@Label("Transferred Bytes")
+		@DataAmount
+		public long byteCount;
+		
+		@Label("Completed")
+		@Description("Whether the file was dissolved completely and deleted")
+		public boolean completed;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 *
+	 * @throws UnsupportedOperationException when called
+	 */
+	private StorageEvents()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+	
+}
@@ -30,6 +30,7 @@ import one.microstream.chars.XChars;
 import one.microstream.io.BufferProvider;
 import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
+import one.microstream.storage.exceptions.StorageExceptionIoWriting;
 
 public interface StorageFile
 {
@@ -61,6 +62,11 @@ public interface StorageFile
 	
 	public long writeBytes(Iterable<? extends ByteBuffer> buffers);
 	
+	/**
+	 * Forces all bytes written to this file so far to be synchronized with the underlying storage device.
+	 */
+	public void flush();
+	
 	
 //	public void pull(AWritableFile fileToMove);
 	
@@ -243,6 +249,19 @@ public interface StorageFile
 			}
 		}
 		
+		@Override
+		public final synchronized void flush()
+		{
+			try
+			{
+				this.ensureWritable().flush();
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+		}
+		
 		@Override
 		public final synchronized long copyTo(
 			final StorageFile target
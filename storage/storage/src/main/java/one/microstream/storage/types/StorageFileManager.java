@@ -26,27 +26,37 @@ import static one.microstream.X.notNull;
 import static one.microstream.math.XMath.notNegative;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 
 import one.microstream.X;
 import one.microstream.afs.types.AFS;
 import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.afs.types.AWritableFile;
 import one.microstream.chars.VarString;
 import one.microstream.collections.BulkList;
+import one.microstream.collections.EqHashEnum;
 import one.microstream.collections.EqHashTable;
+import one.microstream.collections.Set_long;
 import one.microstream.collections.XSort;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.exceptions.MultiCauseException;
 import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
 import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
+import one.microstream.storage.exceptions.StorageExceptionInitialization;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
 import one.microstream.storage.exceptions.StorageExceptionIoWriting;
 import one.microstream.storage.exceptions.StorageExceptionIoWritingChunk;
 import one.microstream.storage.types.StorageRawFileStatistics.FileStatistics;
 import one.microstream.storage.types.StorageTransactionsAnalysis.EntryAggregator;
+import one.microstream.storage.types.StorageTransactionsAnalysis.EntryIterator;
 import one.microstream.typing.Disposable;
 import one.microstream.typing.XTypes;
 import one.microstream.util.BufferSizeProvider;
@@ -102,10 +112,24 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 	public void exportData(StorageLiveFileProvider fileProvider);
 
+	public void backupDataIncremental(StorageIncrementalBackup backup);
+
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
 	// this is not "reset" in terms of "set to initial state", more like a "go back to the start of the chain".
 	public void restartFileCleanupCursor();
+	
+	
+	
+	@FunctionalInterface
+	interface EntityDataAcceptor
+	{
+		/**
+		 * @param entity the entity whose data is passed.
+		 * @param dataAddress the address of the entity's complete data, including its header.
+		 */
+		public void accept(StorageEntity.Default entity, long dataAddress);
+	}
 
 
 
@@ -119,10 +143,30 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		// the only reason for this limit is to have an int instead of a long for the item's file position.
 		static final int MAX_FILE_LENGTH = Integer.MAX_VALUE;
+		
+		// used for work that is explicitly requested and therefore must not be throttled.
+		private static final StorageIoThrottle UNTHROTTLED = StorageIoThrottle.New();
+		
+		// limits the data a follower reads ahead per channel, except for the first (potentially bigger) store.
+		private static final long MAX_FOLLOWED_DATA_LENGTH = 64L * 1024 * 1024;
+		
+		// bounds the attempts to read a consistent set of files while the followed process keeps writing.
+		private static final int MAX_FOLLOWED_READ_ATTEMPTS = 10;
 
 		// (22.05.2015 TM)TODO: Debug Flag to disable file cleanup for testing
 		private static final boolean DEBUG_ENABLE_FILE_CLEANUP = true;
 
+		// sorts entities by their physical location to be able to read them sequentially.
+		private static final Comparator<StorageEntity.Default> STORAGE_ORDER = (e1, e2) ->
+		{
+			final int fileOrder = Long.compare(e1.typeInFile.file.number(), e2.typeInFile.file.number());
+			
+			return fileOrder != 0
+				? fileOrder
+				: Integer.compare(e1.storagePosition, e2.storagePosition)
+			;
+		};
+
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -159,6 +203,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		private final StorageWriteController               writeController              ;
 		private final StorageFileWriter                    writer                       ;
 		private final StorageBackupHandler                 backupHandler                ;
+		private final StorageLoadingSetup                  loadingSetup                 ;
+		private final StorageCheckpointSetup               checkpointSetup              ;
+		private final StorageDurabilityPolicy              durabilityPolicy             ;
+		private final StorageIoThrottle                    ioThrottle                   ;
+		private final StorageFollowerSetup                 followerSetup                ;
+		private final StorageChannelMetrics                metrics                      ;
 		
 		// to avoid permanent lambda instantiation
 		private final Consumer<? super StorageLiveDataFile.Default> deleter        = this::deleteFile       ;
@@ -207,6 +257,10 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		// cleared by clearStandardByteBuffer() / reset().
 		private final ByteBuffer standardByteBuffer;
 		
+		// cleared by clearFollowedEntries() / clearRegisteredFiles() / reset(). See StorageFollowerSetup.
+		private final BulkList<FollowedEntry> followedEntries         = BulkList.New()  ;
+		private final EqHashEnum<Long>        followedCheckpointFiles = EqHashEnum.New();
+		
 		
 		// state 3.0: mutable fields. Must be cleared on reset.
 		
@@ -222,6 +276,39 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		// cleared in reset() directly, but kind of irrelevant.
 		private int pendingFileDeletes;
 		
+		// cleared in reset() directly. Transactions file length and time of the last written or restored checkpoint.
+		private long checkpointTransactionsLength = -1;
+		private long checkpointTimeMs                 ;
+		
+		// cleared in reset() directly. Writer of the checkpoint that is currently written in increments, if any.
+		private StorageEntityCheckpoint.Writer checkpointWriter;
+		
+		// cleared in reset() directly. Lazily read timestamp of the transactions file's first entry.
+		private long transactionsFileIdentity;
+		
+		// cleared in reset() directly. Head file store state as an analysis of the transactions file would yield it.
+		private long headFileLastConsistentStoreLength   ;
+		private long headFileLastConsistentStoreTimestamp;
+		private long headFileLatestLength                ;
+		private long headFileLatestTimestamp             ;
+		
+		// cleared in reset() directly. Unsynchronized writes and time of the last synchronization (see durabilityPolicy).
+		private boolean hasUnsyncedWrites;
+		private long    syncTimeMs       ;
+		
+		// cleared by clearFollowedEntries() / reset(). Parsing state of the followed transactions file.
+		private long          followedPosition        ;
+		private long          followedIdentity        ;
+		private long          followedFileNumber      ;
+		private long          followedLatestTimestamp ;
+		private long          followedInitialTimestamp;
+		private long          followedAppliedTimestamp;
+		private FollowedEntry followedCheckpointEnd   ;
+		private boolean       isFollowedCheckpointDue ;
+		
+		// never cleared. Number of data reads, only used as a difference (see StorageEvents.Load).
+		private long dataReadCount;
+		
 		
 		// state 3.1: variable length content
 
@@ -244,7 +331,13 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final StorageWriteController               writeController              ,
 			final StorageFileWriter                    writer                       ,
 			final BufferSizeProvider                   standardBufferSizeProvider   ,
-			final StorageBackupHandler                 backupHandler
+			final StorageBackupHandler                 backupHandler                ,
+			final StorageLoadingSetup                  loadingSetup                 ,
+			final StorageCheckpointSetup               checkpointSetup              ,
+			final StorageDurabilityPolicy              durabilityPolicy             ,
+			final StorageIoThrottle                    ioThrottle                   ,
+			final StorageFollowerSetup                 followerSetup                ,
+			final StorageChannelMetrics                metrics
 		)
 		{
 			super();
@@ -257,6 +350,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			this.writeController               =     notNull(writeController)              ;
 			this.writer                        =     notNull(writer)                       ;
 			this.backupHandler                 =     mayNull(backupHandler)                ;
+			this.loadingSetup                  =     notNull(loadingSetup)                 ;
+			this.checkpointSetup               =     notNull(checkpointSetup)              ;
+			this.durabilityPolicy              =     notNull(durabilityPolicy)             ;
+			this.ioThrottle                    =     notNull(ioThrottle)                   ;
+			this.followerSetup                 =     notNull(followerSetup)                ;
+			this.metrics                       =     notNull(metrics)                      ;
 			
 			this.standardByteBuffer = XMemory.allocateDirectNative(
 				standardBufferSizeProvider.provideBufferSize()
@@ -331,6 +430,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			 * that handles both creation and closing.
 			 */
 			this.clearTransactionsFile();
+			this.clearFollowedEntries();
 
 			if(this.headFile == null)
 			{
@@ -349,6 +449,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			this.fileCleanupCursor = this.headFile = null;
 		}
 
+		final StorageLoadingSetup loadingSetup()
+		{
+			return this.loadingSetup;
+		}
+
 		private ByteBuffer buffer(final int length)
 		{
 			if(length > this.standardByteBuffer.capacity())
@@ -449,9 +554,20 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		{
 
 			final StorageLiveDataFile.Default headFile = this.headFile;
+			final StorageEvents.FileTransfer  event    = StorageEvents.beginFileTransfer();
 
 			// do the actual file-level copying in one go at the end and validate the byte count to be sure
 			this.writer.writeTransfer(sourceFile, copyStart, copyLength, headFile);
+			this.metrics.recordFileCleanupTransfer(copyLength);
+			
+			if(event != null && event.shouldCommit())
+			{
+				event.channelIndex     = this.channelIndex   ;
+				event.sourceFileNumber = sourceFile.number() ;
+				event.targetFileNumber = headFile.number()   ;
+				event.byteCount        = copyLength          ;
+				event.commit();
+			}
 
 			// increase content length by length of chain
 			// (15.02.2019 TM)NOTE: changed from arithmetic inside #addChainToTail to directly using copyLength in here.
@@ -507,6 +623,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				throw new StorageExceptionIoWriting("New storage file is not empty: " + file);
 			}
 
+			// the retired head file won't be covered by later synchronizations, so its pending bytes are synchronized now.
+			if(this.headFile != null && this.hasUnsyncedWrites && this.durabilityPolicy.mode() != StorageDurabilityPolicy.Mode.SYSTEM)
+			{
+				this.writer.flush(this.headFile);
+			}
+
 			// create and register StorageFile instance with an attached channel
 			final StorageLiveDataFile.Default dataFile = this.createLiveDataFile(file, this.channelIndex(), fileNumber);
 			this.registerStorageHeadFile(dataFile);
@@ -610,7 +732,22 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			
 			this.uncommittedDataLength = writeCount;
 			
-			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, writeCount, timestamp, newTotalLength);
+			// the store is only acknowledged after this method returned, so the policy is honored before that.
+			if(this.durabilityPolicy.mode() == StorageDurabilityPolicy.Mode.COMMIT)
+			{
+				// the data must be durable before the transactions entry referencing it can become durable.
+				this.writer.flush(this.headFile);
+				this.writeTransactionsEntryStore(this.headFile, oldTotalLength, writeCount, timestamp, newTotalLength);
+				this.syncTransactionsFile();
+			}
+			else
+			{
+				this.writeTransactionsEntryStore(this.headFile, oldTotalLength, writeCount, timestamp, newTotalLength);
+				if(this.isSyncDue())
+				{
+					this.syncWrittenFiles();
+				}
+			}
 
 			this.restartFileCleanupCursor();
 
@@ -638,6 +775,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			this.uncommittedDataLength = 0;
 		}
 		
+		final long dataReadCount()
+		{
+			return this.dataReadCount;
+		}
+		
 		final void loadData(
 			final StorageLiveDataFile.Default dataFile   ,
 			final StorageEntity.Default       entity     ,
@@ -645,27 +787,167 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final long                        cacheChange
 		)
 		{
-			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(length));
+			final ByteBuffer dataBuffer = this.readData(dataFile, entity.storagePosition, length);
 			try
 			{
-				dataFile.readBytes(dataBuffer, entity.storagePosition);
 				this.putLiveEntityData(entity, XMemory.getDirectByteBufferAddress(dataBuffer), length, cacheChange);
 			}
+			finally
+			{
+				this.clearBuffer(dataBuffer);
+			}
+		}
+		
+		private ByteBuffer readData(
+			final StorageLiveDataFile.Default dataFile,
+			final long                        position,
+			final long                        length
+		)
+		{
+			this.metrics.recordDataRead(length);
+			this.dataReadCount++;
+			
+			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(length));
+			try
+			{
+				dataFile.readBytes(dataBuffer, position);
+			}
 			catch(final StorageExceptionIoReading e)
 			{
+				this.clearBuffer(dataBuffer);
 				throw e;
 			}
 			catch(final Exception e)
 			{
+				this.clearBuffer(dataBuffer);
 				// (10.12.2014 TM)EXCP: report relevant values
 				throw new StorageExceptionIoReading(e);
 			}
+			
+			return dataBuffer;
+		}
+		
+		/**
+		 * Ensures that the complete data of all passed entities is cached by reading it from the data files
+		 * with as few read operations as possible.<br>
+		 * The passed entities are sorted by data file and storage position (the array content is reordered),
+		 * consecutive entities are coalesced into one read operation according to the {@link StorageLoadingSetup}.
+		 * 
+		 * @param entities the entities whose data shall be cached, beginning at index 0.
+		 * @param count the number of entities in the passed array.
+		 */
+		final void loadData(final StorageEntity.Default[] entities, final int count)
+		{
+			// only entities that actually require loading are relevant. Compacted to the front of the array.
+			int loadCount = 0;
+			for(int i = 0; i < count; i++)
+			{
+				if(entities[i].requiresFullDataLoading())
+				{
+					entities[loadCount++] = entities[i];
+				}
+			}
+			
+			this.readData(entities, loadCount, (entity, address) ->
+				this.entityCache.modifyUsedCacheSize(entity.putFullCacheData(address))
+			);
+		}
+		
+		/**
+		 * Passes the address of the complete data of every passed entity to the passed acceptor without caching
+		 * any data: cached data is passed directly, all other data is read from the data files like in
+		 * {@link #loadData(StorageEntity.Default[], int)} and is only valid during the acceptor's call.
+		 * 
+		 * @param entities the entities whose data shall be iterated, beginning at index 0. Gets reordered.
+		 * @param count the number of entities in the passed array.
+		 * @param acceptor the logic to be called for every entity's data.
+		 */
+		final void iterateData(
+			final StorageEntity.Default[] entities,
+			final int                     count   ,
+			final EntityDataAcceptor      acceptor
+		)
+		{
+			int readCount = 0;
+			for(int i = 0; i < count; i++)
+			{
+				if(entities[i].requiresFullDataLoading())
+				{
+					entities[readCount++] = entities[i];
+				}
+				else
+				{
+					acceptor.accept(entities[i], entities[i].cacheAddress());
+				}
+			}
+			
+			this.readData(entities, readCount, acceptor);
+		}
+		
+		private void readData(
+			final StorageEntity.Default[] entities,
+			final int                     count   ,
+			final EntityDataAcceptor      acceptor
+		)
+		{
+			if(count == 0)
+			{
+				return;
+			}
+			
+			Arrays.sort(entities, 0, count, STORAGE_ORDER);
+			
+			final long gapTolerance  = this.loadingSetup.batchReadGapTolerance();
+			final long maximumLength = this.loadingSetup.batchReadMaximumLength();
+			
+			for(int first = 0, bound; first < count; first = bound)
+			{
+				final StorageLiveDataFile.Default file  = entities[first].typeInFile.file;
+				final long                        start = entities[first].storagePosition;
+				long                              end   = start + entities[first].length;
+				
+				for(bound = first + 1; bound < count; bound++)
+				{
+					final StorageEntity.Default next = entities[bound];
+					if(next.typeInFile.file != file
+						|| next.storagePosition - end > gapTolerance
+						|| next.storagePosition + next.length - start > maximumLength
+					)
+					{
+						break;
+					}
+					end = Math.max(end, next.storagePosition + next.length);
+				}
+				
+				this.readDataRange(file, entities, first, bound, start, end, acceptor);
+			}
+		}
+		
+		private void readDataRange(
+			final StorageLiveDataFile.Default file    ,
+			final StorageEntity.Default[]     entities,
+			final int                         first   ,
+			final int                         bound   ,
+			final long                        start   ,
+			final long                        end     ,
+			final EntityDataAcceptor          acceptor
+		)
+		{
+			final ByteBuffer dataBuffer = this.readData(file, start, end - start);
+			try
+			{
+				final long address = XMemory.getDirectByteBufferAddress(dataBuffer);
+				for(int i = first; i < bound; i++)
+				{
+					acceptor.accept(entities[i], address + entities[i].storagePosition - start);
+				}
+			}
 			finally
 			{
 				this.clearBuffer(dataBuffer);
 			}
 		}
-
+		
 		private void putLiveEntityData(
 			final StorageEntity.Default entity     ,
 			final long                         address    ,
@@ -685,7 +967,19 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				throw new StorageExceptionIoReading(this.channelIndex() + " already initialized");
 			}
 
+			if(this.isFollower())
+			{
+				return this.readFollowedInventory();
+			}
+
 			final StorageTransactionsAnalysis      transactionsAnalysis = this.readTransactionsFile();
+			final EqHashTable<Long, StorageDataInventoryFile> dataFiles = this.collectDataFiles();
+
+			return StorageInventory.New(this.channelIndex(), dataFiles, transactionsAnalysis);
+		}
+		
+		private EqHashTable<Long, StorageDataInventoryFile> collectDataFiles()
+		{
 			final EqHashTable<Long, StorageDataInventoryFile> dataFiles = EqHashTable.New();
 			this.fileProvider.collectDataFiles(
 				StorageDataInventoryFile::New,
@@ -694,12 +988,18 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				this.channelIndex()
 			);
 			dataFiles.keys().sort(XSort::compare);
-
-			return StorageInventory.New(this.channelIndex(), dataFiles, transactionsAnalysis);
+			
+			return dataFiles;
 		}
 
 		final StorageTransactionsAnalysis readTransactionsFile()
 		{
+			if(this.isFollower())
+			{
+				return this.readFollowedTransactionsFile();
+			}
+			
+			this.completeTransactionsFileRoll();
 			final StorageLiveTransactionsFile file = this.createTransactionsFile();
 
 			if(!file.exists())
@@ -821,6 +1121,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final long                                        fileNumber
 		)
 		{
+			if(this.isFollower())
+			{
+				// only the followed process may create the missing file. Being empty, it is not needed anyway.
+				return;
+			}
+			
 			final AFile missingEmptyFile = this.fileProvider.provideDataFile(
 				this.channelIndex,
 				fileNumber
@@ -840,7 +1146,36 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final StorageChannel   parent
 		)
 		{
-
+			if(this.isFollower())
+			{
+				return this.initializeFollowedStorage(taskTimestamp, parent);
+			}
+			
+			return this.internalInitializeStorage(taskTimestamp, consistentStoreTimestamp, storageInventory, parent);
+		}
+		
+		private StorageIdAnalysis initializeFollowedStorage(final long taskTimestamp, final StorageChannel parent)
+		{
+			/*
+			 * The followed process keeps storing and deleting retired files, so the files are read again right
+			 * before using them and the channel starts at its own latest store, see StorageChannelTaskInitialize.
+			 */
+			final StorageInventory storageInventory = this.readFollowedInventory();
+			this.validateFollowedStorage(storageInventory);
+			
+			final long timestamp = storageInventory.transactionsFileAnalysis().headFileLatestTimestamp();
+			this.followedInitialTimestamp = this.followedAppliedTimestamp = timestamp;
+			
+			return this.internalInitializeStorage(taskTimestamp, timestamp, storageInventory, parent);
+		}
+		
+		private StorageIdAnalysis internalInitializeStorage(
+			final long             taskTimestamp           ,
+			final long             consistentStoreTimestamp,
+			final StorageInventory storageInventory        ,
+			final StorageChannel   parent
+		)
+		{
 			final EqHashTable<Long, StorageDataInventoryFile> supplementedMissingEmptyFiles = EqHashTable.New();
 			
 			// validate file lengths, even in case of no files, to validate transactions entries to that state
@@ -977,19 +1312,30 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				: this.determineLastFileLength(consistentStoreTimestamp, storageInventory)
 			;
 
+			// a valid checkpoint spares reading all data that has been written before it
+			final StorageEntityCheckpoint checkpoint = this.readValidEntityCheckpoint(storageInventory, lastFileLength);
+
 			// register items (gaps and entities, with latest version of each entity replacing all previous)
 			final StorageEntityInitializer<StorageLiveDataFile.Default> initializer =
 				StorageEntityInitializer.New(this.entityCache, f ->
 					StorageLiveDataFile.New(this, f)
 				)
 			;
-			this.headFile = initializer.registerEntities(files, lastFileLength);
+			this.headFile = initializer.registerEntities(files, lastFileLength, checkpoint);
+			this.checkpointTransactionsLength = checkpoint == null ? -1 : checkpoint.transactionsFileLength();
+			this.checkpointTimeMs             = System.currentTimeMillis();
 
 			// validate entities (only the latest versions) before potential transaction file derivation
 			final StorageIdAnalysis idAnalysis = this.entityCache.validateEntities();
 
 			// ensure transactions file before handling last file as truncation needs to write in it
 			this.ensureTransactionsFile(taskTimestamp, storageInventory, unregisteredEmptyLastFileNumber);
+			
+			if(this.isFollower())
+			{
+				// the followed process' uncommitted data is just not registered, the following picks it up later.
+				return idAnalysis;
+			}
 
 			// special-case handle the last file
 			this.handleLastFile(this.headFile, lastFileLength);
@@ -1000,6 +1346,101 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			return idAnalysis;
 		}
 
+		private StorageEntityCheckpoint readValidEntityCheckpoint(
+			final StorageInventory storageInventory,
+			final long             lastFileLength
+		)
+		{
+			final StorageTransactionsAnalysis tFileAnalysis = storageInventory.transactionsFileAnalysis();
+			if(!this.checkpointSetup.isEnabled() || tFileAnalysis == null || tFileAnalysis.isEmpty())
+			{
+				// without a transactions file, there is nothing a checkpoint could be validated against.
+				return null;
+			}
+
+			StorageEntityCheckpoint checkpoint;
+			try
+			{
+				// a complete temporary checkpoint is newer, it only remains if the process died while replacing.
+				checkpoint = StorageEntityCheckpoint.Logic.read(
+					this.fileProvider.provideEntityCheckpointTempFile(this.channelIndex())
+				);
+				if(checkpoint == null)
+				{
+					checkpoint = StorageEntityCheckpoint.Logic.read(
+						this.fileProvider.provideEntityCheckpointFile(this.channelIndex())
+					);
+				}
+			}
+			catch(final RuntimeException e)
+			{
+				logger.warn("StorageChannel#{} could not read entity checkpoint", this.channelIndex(), e);
+				return null;
+			}
+
+			if(checkpoint == null)
+			{
+				return null;
+			}
+
+			final StorageEntityCheckpoint.TransactionsValidator validator = tFileAnalysis.transactionsFile().processBy(
+				new StorageEntityCheckpoint.TransactionsValidator(checkpoint.transactionsFileLength())
+			);
+			if(!validator.isValid(checkpoint) || !this.isValidEntityCheckpoint(checkpoint, validator, storageInventory, lastFileLength))
+			{
+				logger.info("StorageChannel#{} ignores outdated entity checkpoint", this.channelIndex());
+				return null;
+			}
+
+			logger.debug("StorageChannel#{} initializes from entity checkpoint", this.channelIndex());
+
+			return checkpoint;
+		}
+
+		private boolean isValidEntityCheckpoint(
+			final StorageEntityCheckpoint                       checkpoint      ,
+			final StorageEntityCheckpoint.TransactionsValidator validator       ,
+			final StorageInventory                              storageInventory,
+			final long                                          lastFileLength
+		)
+		{
+			final StorageDataInventoryFile lastFile = storageInventory.dataFiles().values().last();
+
+			long highestFileNumber = -1;
+			for(final StorageEntityCheckpoint.FileSection section : checkpoint.fileSections().values())
+			{
+				highestFileNumber = Math.max(highestFileNumber, section.fileNumber());
+
+				final StorageDataInventoryFile file = storageInventory.dataFiles().get(section.fileNumber());
+				if(file == null)
+				{
+					// a checkpointed file may only be missing if it has been deleted (after transferring its data)
+					if(validator.isDeletedAfterCheckpoint(section.fileNumber()))
+					{
+						continue;
+					}
+					return false;
+				}
+
+				// data files can only have grown since the checkpoint
+				if((file == lastFile ? lastFileLength : file.size()) < section.fileLength())
+				{
+					return false;
+				}
+			}
+
+			// all files not contained in the checkpoint must have been created after it
+			for(final StorageDataInventoryFile file : storageInventory.dataFiles().values())
+			{
+				if(file.number() <= highestFileNumber && checkpoint.fileSections().get(file.number()) == null)
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+
 		private long determineLastFileLength(
 			final long             consistentStoreTimestamp,
 			final StorageInventory storageInventory
@@ -1065,11 +1506,21 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 				// guaranteed empty transaction file gets its content derived from the inventory
 				this.deriveTransactionsFile(taskTimestamp, storageInventory, transactionsFile);
+				
+				// derived file creation entries carry no store timestamps, see EntryAggregator.
+				final StorageDataInventoryFile lastFile = storageInventory.dataFiles().values().peek();
+				this.headFileLastConsistentStoreLength    = this.headFileLatestLength = lastFile == null ? 0 : lastFile.size();
+				this.headFileLastConsistentStoreTimestamp = this.headFileLatestTimestamp = 0;
 			}
 			else
 			{
 				// already existing non-empty transactions file: just use it.
 				transactionsFile = trFileAn.transactionsFile();
+				
+				this.headFileLastConsistentStoreLength    = trFileAn.headFileLastConsistentStoreLength()   ;
+				this.headFileLastConsistentStoreTimestamp = trFileAn.headFileLastConsistentStoreTimestamp();
+				this.headFileLatestLength                 = trFileAn.headFileLatestLength()                ;
+				this.headFileLatestTimestamp              = trFileAn.headFileLatestTimestamp()             ;
 			}
 
 			this.setTransactionsFile(transactionsFile);
@@ -1081,6 +1532,77 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		}
 
+		/**
+		 * Reads the followed transactions file as far as it is complete.
+		 */
+		private StorageTransactionsAnalysis readFollowedTransactionsFile()
+		{
+			// the followed process owns the files, so a follower must neither complete a roll nor create a file.
+			final StorageLiveTransactionsFile file = StorageLiveTransactionsFile.New(
+				this.fileProvider.provideTransactionsFile(this.channelIndex()),
+				this.channelIndex()
+			);
+			
+			// while the followed process rolls the file over, the retired file is replaced by the complete segment.
+			final StorageLiveTransactionsFile readFile = file.exists()
+				? file
+				: StorageLiveTransactionsFile.New(
+					this.fileProvider.provideTransactionsSegmentFile(this.channelIndex()),
+					this.channelIndex()
+				)
+			;
+			if(!readFile.exists())
+			{
+				return null;
+			}
+
+			try
+			{
+				final EntryAggregator aggregator = new EntryAggregator(this.channelIndex());
+				this.processFollowedEntries(readFile, 0, aggregator);
+				readFile.close();
+				
+				return aggregator.yield(file);
+			}
+			catch(final Exception e)
+			{
+				StorageClosableFile.close(readFile, e);
+				throw new StorageException(e);
+			}
+		}
+
+		/**
+		 * Completes or discards a roll of the transactions file that has been interrupted by a termination of
+		 * the process. If the transactions file still exists, the segment file might be incomplete and is deleted.
+		 * Otherwise, the transactions file has already been retired and the complete segment file replaces it.
+		 */
+		private void completeTransactionsFileRoll()
+		{
+			final AFile segmentFile = this.fileProvider.provideTransactionsSegmentFile(this.channelIndex());
+			if(!segmentFile.exists())
+			{
+				return;
+			}
+			
+			final AFile transactionsFile = this.fileProvider.provideTransactionsFile(this.channelIndex());
+			if(transactionsFile.exists())
+			{
+				logger.info("StorageChannel#{} discarding incomplete transactions file segment", this.channelIndex());
+				AFS.executeWriting(segmentFile, wf ->
+					wf.delete()
+				);
+			}
+			else
+			{
+				logger.info("StorageChannel#{} completing interrupted transactions file roll", this.channelIndex());
+				AFS.executeWriting(segmentFile, sf ->
+					AFS.executeWriting(transactionsFile, tf ->
+						sf.moveTo(tf)
+					)
+				);
+			}
+		}
+
 		private StorageLiveTransactionsFile createTransactionsFile()
 		{
 			final AFile file = this.fileProvider.provideTransactionsFile(this.channelIndex());
@@ -1136,7 +1658,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				timestamp                          ,
 				number
 			);
+			this.hasUnsyncedWrites = true;
 			this.writer.writeTransactionEntryCreate(this.fileTransactions, this.entryBufferWrapFileCreation, this.headFile);
+			
+			this.headFileLastConsistentStoreTimestamp = this.headFileLatestTimestamp;
+			this.headFileLastConsistentStoreLength    = this.headFileLatestLength = length;
 		}
 
 		private void writeTransactionsEntryStore(
@@ -1153,6 +1679,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				headFileNewTotalLength      ,
 				timestamp
 			);
+			this.hasUnsyncedWrites = true;
 			this.writer.writeTransactionEntryStore(
 				this.fileTransactions    ,
 				this.entryBufferWrapStore,
@@ -1160,6 +1687,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				dataFileOffset           ,
 				storeLength
 			);
+			
+			this.headFileLastConsistentStoreTimestamp = this.headFileLatestTimestamp;
+			this.headFileLastConsistentStoreLength    = this.headFileLatestLength   ;
+			this.headFileLatestTimestamp              = timestamp                   ;
+			this.headFileLatestLength                 = headFileNewTotalLength      ;
 		}
 
 		private void writeTransactionsEntryTransfer(
@@ -1179,6 +1711,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				sourcefileOffset
 			);
 			
+			this.hasUnsyncedWrites = true;
 			this.writer.writeTransactionEntryTransfer(
 				this.fileTransactions,
 				this.entryBufferWrapTransfer,
@@ -1186,6 +1719,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				sourcefileOffset,
 				copyLength
 			);
+			
+			// a transfer is channel-local and does not change the store timestamps.
+			this.headFileLastConsistentStoreLength = this.headFileLatestLength = headNewFileTotalLength;
 		}
 
 		private void writeTransactionsEntryFileDeletion(
@@ -1200,6 +1736,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				timestamp                          ,
 				dataFile.number()
 			);
+			this.hasUnsyncedWrites = true;
 			this.writer.writeTransactionEntryDelete(this.fileTransactions, this.entryBufferWrapFileDeletion, dataFile);
 		}
 
@@ -1217,10 +1754,1077 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				lastFile.number()                    ,
 				lastFile.size()
 			);
+			this.hasUnsyncedWrites = true;
 			this.writer.writeTransactionEntryTruncate(this.fileTransactions, this.entryBufferWrapFileTruncation, lastFile, newLength);
+			
+			this.headFileLastConsistentStoreLength = this.headFileLatestLength = newLength;
 		}
 
-		private void setTransactionsFile(final StorageLiveTransactionsFile transactionsFile)
+		private long transactionsFileIdentity()
+		{
+			if(this.transactionsFileIdentity == 0)
+			{
+				final ByteBuffer buffer = XMemory.allocateDirectNative(
+					StorageTransactionsAnalysis.Logic.entryLengthStore()
+				);
+				try
+				{
+					this.fileTransactions.readBytes(buffer, 0);
+					this.transactionsFileIdentity = StorageTransactionsAnalysis.Logic.getEntryTimestamp(
+						XMemory.getDirectByteBufferAddress(buffer)
+					);
+				}
+				finally
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+				}
+			}
+
+			return this.transactionsFileIdentity;
+		}
+
+		final boolean isSyncDue()
+		{
+			return this.durabilityPolicy.mode() == StorageDurabilityPolicy.Mode.PERIODIC
+				&& this.hasUnsyncedWrites
+				&& System.currentTimeMillis() - this.syncTimeMs >= this.durabilityPolicy.syncIntervalMs()
+			;
+		}
+
+		/**
+		 * Forces all bytes written since the last synchronization to be synchronized with the underlying storage
+		 * device, first the head file's data, then the transactions file's entries referencing it.
+		 * Does nothing if the {@link StorageDurabilityPolicy} leaves synchronization to the operating system.
+		 */
+		final void syncWrittenFiles()
+		{
+			if(!this.hasUnsyncedWrites || this.durabilityPolicy.mode() == StorageDurabilityPolicy.Mode.SYSTEM)
+			{
+				return;
+			}
+
+			if(this.headFile != null)
+			{
+				this.writer.flush(this.headFile);
+			}
+			if(this.fileTransactions != null)
+			{
+				this.writer.flush(this.fileTransactions);
+			}
+
+			this.hasUnsyncedWrites = false;
+			this.syncTimeMs        = System.currentTimeMillis();
+		}
+
+		/**
+		 * Synchronizes only the transactions file, for when the head file has just been synchronized by the caller.
+		 * All other data files are synchronized before they are retired, so nothing else can be pending.
+		 */
+		private void syncTransactionsFile()
+		{
+			this.writer.flush(this.fileTransactions);
+
+			this.hasUnsyncedWrites = false;
+			this.syncTimeMs        = System.currentTimeMillis();
+		}
+
+		final boolean isEntityCheckpointDue()
+		{
+			return this.checkpointSetup.isEnabled()
+				&& !this.isFollower()
+				&& (this.checkpointWriter != null
+					|| this.checkpointSetup.checkpointIntervalMs() > 0
+					&& System.currentTimeMillis() - this.checkpointTimeMs >= this.checkpointSetup.checkpointIntervalMs()
+				)
+			;
+		}
+
+		/**
+		 * Writes a checkpoint of the channel's current entities completely, see {@link #writeEntityCheckpoint(long)}.
+		 *
+		 * @return whether a checkpoint has been written.
+		 */
+		final boolean writeEntityCheckpoint()
+		{
+			return this.writeEntityCheckpoint(Long.MAX_VALUE);
+		}
+
+		/**
+		 * Starts or continues writing a checkpoint of the channel's current entities if checkpoints are enabled
+		 * and the transactions file has changed since the last checkpoint, until the checkpoint is complete or
+		 * the passed time budget bound is exceeded. Nothing is written while there is an uncommitted write.
+		 * A failing checkpoint is only logged, since it is just an optimization for the next startup.
+		 *
+		 * @return whether a checkpoint has been completed.
+		 */
+		final boolean writeEntityCheckpoint(final long nanoTimeBudgetBound)
+		{
+			if(!this.checkpointSetup.isEnabled() || this.isFollower() || this.headFile == null || this.fileTransactions == null)
+			{
+				return false;
+			}
+
+			if(this.uncommittedDataLength != 0)
+			{
+				// the checkpoint must not contain uncommitted entities, the next housekeeping continues.
+				return false;
+			}
+
+			try
+			{
+				if(this.checkpointWriter == null)
+				{
+					final long transactionsFileLength = this.fileTransactions.size();
+					if(transactionsFileLength == this.checkpointTransactionsLength)
+					{
+						// nothing has changed since the last checkpoint
+						this.checkpointTimeMs = System.currentTimeMillis();
+						return false;
+					}
+
+					this.checkpointWriter = StorageEntityCheckpoint.Writer.start(
+						this.fileProvider.provideEntityCheckpointFile(this.channelIndex())    ,
+						this.fileProvider.provideEntityCheckpointTempFile(this.channelIndex()),
+						this.headFile                                                         ,
+						transactionsFileLength                                                ,
+						this.transactionsFileIdentity()
+					);
+				}
+
+				if(!this.checkpointWriter.writeIncrement(this.headFile, nanoTimeBudgetBound))
+				{
+					return false;
+				}
+
+				final StorageEntityCheckpoint.Writer writer = this.checkpointWriter;
+				this.checkpointWriter = null;
+				final long entityCount = writer.finish();
+				logger.debug("StorageChannel#{} wrote entity checkpoint with {} entities", this.channelIndex(), entityCount);
+
+				this.checkpointTransactionsLength = writer.transactionsFileLength();
+				this.checkpointTimeMs             = System.currentTimeMillis();
+				return true;
+			}
+			catch(final RuntimeException e)
+			{
+				logger.warn("StorageChannel#{} could not write entity checkpoint", this.channelIndex(), e);
+				this.abortEntityCheckpoint();
+				this.checkpointTimeMs = System.currentTimeMillis();
+				return false;
+			}
+		}
+
+		/**
+		 * Abandons the checkpoint that is currently written in increments, if any.
+		 */
+		final void abortEntityCheckpoint()
+		{
+			final StorageEntityCheckpoint.Writer writer = this.checkpointWriter;
+			if(writer == null)
+			{
+				return;
+			}
+
+			this.checkpointWriter = null;
+			try
+			{
+				writer.abort();
+			}
+			catch(final RuntimeException e)
+			{
+				logger.warn("StorageChannel#{} could not delete aborted entity checkpoint", this.channelIndex(), e);
+			}
+		}
+
+		final boolean isTransactionsFileRollDue()
+		{
+			final long maximumSize = this.checkpointSetup.transactionsFileMaximumSize();
+			
+			return maximumSize > 0
+				&& this.fileTransactions != null
+				&& this.uncommittedDataLength == 0
+				&& this.writeController.isFileDeletionEnabled()
+				&& this.fileTransactions.size() > maximumSize
+			;
+		}
+
+		/**
+		 * Rolls the transactions file over to a new segment that starts with a checkpoint of the current state of
+		 * all data files: a creation entry per file and the store entries required to restore the head file's
+		 * last consistent and latest store, exactly as an analysis of the retired file would yield them.
+		 * The retired file is moved to the deletion directory, if one is configured, or deleted.
+		 * Must only be called while there is no uncommitted write.
+		 * A roll that cannot be done right now, because the current file is still used by pending backup items,
+		 * is just skipped and will be tried again by the next housekeeping.
+		 *
+		 * @return whether the transactions file has been rolled over.
+		 */
+		final boolean rollTransactionsFile()
+		{
+			if(this.headFile == null || this.fileTransactions == null)
+			{
+				return false;
+			}
+			
+			if(this.headFileLatestLength != this.headFile.totalLength())
+			{
+				logger.warn(
+					"StorageChannel#{} skips transactions file roll: inconsistent head file length {} != {}",
+					this.channelIndex(), this.headFileLatestLength, this.headFile.totalLength()
+				);
+				return false;
+			}
+			
+			final StorageLiveTransactionsFile retiredFile = this.fileTransactions;
+			
+			// this instance's own usage must not prevent the roll, only usages by other users (e.g. backup items).
+			retiredFile.unregisterUsage(this);
+			if(!retiredFile.executeIfUnsued(this::internalRollTransactionsFile))
+			{
+				retiredFile.registerUsage(this);
+				return false;
+			}
+			
+			logger.debug("StorageChannel#{} rolled over transactions file", this.channelIndex());
+			
+			/*
+			 * The entity checkpoint refers to the retired file, so a new one is required for the rolled file.
+			 * It is not written here but made due right away, so the housekeeping writes it in time-budgeted increments.
+			 */
+			this.abortEntityCheckpoint();
+			this.transactionsFileIdentity     =  0;
+			this.checkpointTransactionsLength = -1;
+			this.checkpointTimeMs             =  0;
+			
+			return true;
+		}
+		
+		private void internalRollTransactionsFile(final StorageLiveTransactionsFile retiredFile)
+		{
+			final AFile segment = this.fileProvider.provideTransactionsSegmentFile(this.channelIndex());
+			if(segment.exists())
+			{
+				// remains of a failed earlier roll
+				AFS.executeWriting(segment, wf ->
+					wf.delete()
+				);
+			}
+			segment.ensureExists();
+			
+			final StorageLiveTransactionsFile segmentFile = StorageLiveTransactionsFile.New(segment, this.channelIndex());
+			try
+			{
+				this.writeTransactionsSegmentCheckpoint(segmentFile);
+				this.writer.flush(segmentFile);
+			}
+			catch(final Exception e)
+			{
+				retiredFile.registerUsage(this);
+				StorageClosableFile.close(segmentFile, e);
+				throw e;
+			}
+			
+			final StorageLiveTransactionsFile rolledFile = StorageLiveTransactionsFile.New(
+				this.fileProvider.provideTransactionsFile(this.channelIndex()),
+				this.channelIndex()
+			);
+			this.writer.rollTransactionsFile(retiredFile, segmentFile, rolledFile, this.writeController, this.fileProvider);
+			this.setTransactionsFile(rolledFile);
+		}
+		
+		private void writeTransactionsSegmentCheckpoint(final StorageLiveTransactionsFile segmentFile)
+		{
+			// creation timestamps are ignored by the analysis, but the first one identifies the segment.
+			final long creationTimestamp = this.timestampProvider.currentNanoTimestamp();
+			
+			final StorageLiveDataFile.Default headFile = this.headFile;
+			long previousFileLength = 0;
+			for(StorageLiveDataFile.Default file = headFile.next; file != headFile; file = file.next)
+			{
+				this.writeTransactionsSegmentEntryFileCreation(segmentFile, file.totalLength(), creationTimestamp, file.number());
+				previousFileLength = file.totalLength();
+			}
+			
+			// a file creation associates the latest store timestamp with the new file, see EntryAggregator.
+			if(this.headFileLastConsistentStoreTimestamp != 0)
+			{
+				this.writeTransactionsSegmentEntryStore(segmentFile, previousFileLength, this.headFileLastConsistentStoreTimestamp);
+			}
+			this.writeTransactionsSegmentEntryFileCreation(
+				segmentFile                           ,
+				this.headFileLastConsistentStoreLength,
+				creationTimestamp                     ,
+				headFile.number()
+			);
+			if(this.headFileLatestTimestamp != this.headFileLastConsistentStoreTimestamp)
+			{
+				this.writeTransactionsSegmentEntryStore(segmentFile, this.headFileLatestLength, this.headFileLatestTimestamp);
+			}
+		}
+		
+		private void writeTransactionsSegmentEntryFileCreation(
+			final StorageLiveTransactionsFile segmentFile,
+			final long                        length     ,
+			final long                        timestamp  ,
+			final long                        number
+		)
+		{
+			this.entryBufferFileCreation.clear();
+			StorageTransactionsAnalysis.Logic.setEntryFileCreation(
+				this.entryBufferFileCreationAddress,
+				length                             ,
+				timestamp                          ,
+				number
+			);
+			this.writer.write(segmentFile, this.entryBufferWrapFileCreation);
+		}
+		
+		private void writeTransactionsSegmentEntryStore(
+			final StorageLiveTransactionsFile segmentFile,
+			final long                        length     ,
+			final long                        timestamp
+		)
+		{
+			this.entryBufferStore.clear();
+			StorageTransactionsAnalysis.Logic.setEntryStore(
+				this.entryBufferStoreAddress,
+				length                      ,
+				timestamp
+			);
+			this.writer.write(segmentFile, this.entryBufferWrapStore);
+		}
+
+		final boolean isFollower()
+		{
+			return this.followerSetup.isEnabled();
+		}
+		
+		private void validateIsFollower()
+		{
+			if(!this.isFollower())
+			{
+				throw new StorageException(
+					"Channel " + this.channelIndex() + " does not follow another process' storage."
+				);
+			}
+		}
+		
+		private void validateFollowedStorage(final StorageInventory storageInventory)
+		{
+			final StorageTransactionsAnalysis tFileAnalysis = storageInventory.transactionsFileAnalysis();
+			if(tFileAnalysis == null || tFileAnalysis.isEmpty() || storageInventory.dataFiles().isEmpty())
+			{
+				throw new StorageExceptionInitialization(
+					"Channel " + this.channelIndex() + " has no existing storage files to follow."
+				);
+			}
+		}
+		
+		private StorageInventory readFollowedInventory()
+		{
+			/*
+			 * The followed process might roll the transactions file or delete retired data files between
+			 * reading the transactions file and listing the data files, so both are read again until they match.
+			 */
+			for(int attempt = 1;; attempt++)
+			{
+				// the channel directory is inventorized again to see the files created by the followed process.
+				this.fileProvider.provideTransactionsFile(this.channelIndex()).parent().inventorize();
+				
+				final StorageTransactionsAnalysis      transactionsAnalysis = this.readTransactionsFile();
+				final EqHashTable<Long, StorageDataInventoryFile> dataFiles = this.collectDataFiles();
+				this.removeUnregisteredFollowedFiles(dataFiles, transactionsAnalysis);
+				
+				if(attempt >= MAX_FOLLOWED_READ_ATTEMPTS || containsFollowedFiles(dataFiles, transactionsAnalysis))
+				{
+					return StorageInventory.New(this.channelIndex(), dataFiles, transactionsAnalysis);
+				}
+			}
+		}
+		
+		private static boolean containsFollowedFiles(
+			final EqHashTable<Long, StorageDataInventoryFile> dataFiles           ,
+			final StorageTransactionsAnalysis                 transactionsAnalysis
+		)
+		{
+			if(transactionsAnalysis == null)
+			{
+				return true;
+			}
+			
+			for(final StorageTransactionEntry entry : transactionsAnalysis.transactionsFileEntries().values())
+			{
+				if(!entry.isDeleted() && dataFiles.get(entry.fileNumber()) == null)
+				{
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		private void removeUnregisteredFollowedFiles(
+			final EqHashTable<Long, StorageDataInventoryFile> dataFiles           ,
+			final StorageTransactionsAnalysis                 transactionsAnalysis
+		)
+		{
+			if(transactionsAnalysis == null)
+			{
+				return;
+			}
+			
+			long highestRegisteredNumber = -1;
+			for(final Long fileNumber : transactionsAnalysis.transactionsFileEntries().keys())
+			{
+				highestRegisteredNumber = Math.max(highestRegisteredNumber, fileNumber);
+			}
+			
+			// files created by the followed process after its transactions file has been read are followed later on.
+			final long registeredBound = highestRegisteredNumber;
+			dataFiles.removeBy(kv ->
+				kv.key() > registeredBound
+			);
+		}
+		
+		final void clearFollowedEntries()
+		{
+			for(final FollowedEntry entry : this.followedEntries)
+			{
+				entry.releaseData();
+				if(entry.file != null)
+				{
+					// file has been created for reading ahead, but has never been registered.
+					entry.file.unregisterUsageClosing(this, null);
+					entry.file = null;
+				}
+			}
+			this.followedEntries.clear();
+			this.followedCheckpointFiles.clear();
+			
+			this.followedCheckpointEnd   = null ;
+			this.isFollowedCheckpointDue = false;
+			this.followedPosition        =    0 ;
+			this.followedFileNumber      =   -1 ;
+		}
+		
+		final long followedLatestTimestamp()
+		{
+			return this.followedLatestTimestamp;
+		}
+		
+		final long followedInitialTimestamp()
+		{
+			return this.followedInitialTimestamp;
+		}
+		
+		final long followedAppliedTimestamp()
+		{
+			return this.followedAppliedTimestamp;
+		}
+		
+		final long followedCoveredTimestamp()
+		{
+			// the checkpoint of a rolled over transactions file contains all stores before its identity.
+			return Math.max(this.followedInitialTimestamp, this.followedIdentity);
+		}
+		
+		/**
+		 * Reads the entries the followed process has appended to its transactions file since the last call.
+		 * If the transactions file has been rolled over in the meantime, its new segment is read from the start.
+		 * Entries referring to already registered data are skipped right away.
+		 *
+		 * @return the timestamps of all read stores that are not decided yet.
+		 */
+		final long[] readFollowedTransactions()
+		{
+			this.validateIsFollower();
+			
+			// a checkpoint read in a previous cycle is due, all channels have read the stores it contains by now.
+			this.isFollowedCheckpointDue = this.followedCheckpointEnd != null;
+			
+			// the followed process might have rolled the file over, so it must be reopened via its path.
+			final StorageLiveTransactionsFile file = this.fileTransactions;
+			file.close();
+			if(file.exists())
+			{
+				this.updateFollowedIdentity(file);
+				this.readFollowedEntries(file);
+			}
+			
+			return this.undecidedFollowedStores();
+		}
+		
+		private void updateFollowedIdentity(final StorageLiveTransactionsFile file)
+		{
+			final ByteBuffer buffer = XMemory.allocateDirectNative(
+				StorageTransactionsAnalysis.Logic.entryLengthStore()
+			);
+			try
+			{
+				file.readBytes(buffer, 0);
+				
+				// the first entry's timestamp identifies a transactions file, see writeTransactionsSegmentCheckpoint.
+				final long identity = StorageTransactionsAnalysis.Logic.getEntryTimestamp(
+					XMemory.getDirectByteBufferAddress(buffer)
+				);
+				if(identity == this.followedIdentity)
+				{
+					return;
+				}
+				
+				if(this.followedIdentity != 0)
+				{
+					logger.debug("StorageChannel#{} follows rolled over transactions file {}", this.channelIndex(), identity);
+				}
+				
+				// the parsing starts anew, already registered data gets skipped.
+				this.clearFollowedEntries();
+				this.followedIdentity = identity;
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+		
+		private void readFollowedEntries(final StorageLiveTransactionsFile file)
+		{
+			this.followedPosition = this.processFollowedEntries(file, this.followedPosition, (address, length) ->
+			{
+				this.parseFollowedEntry(address);
+				return true;
+			});
+		}
+		
+		/**
+		 * Passes all complete entries from the passed position on to the passed iterator, skipping gaps.
+		 * Unlike {@link StorageTransactionsAnalysis.Logic#processInputFile(AReadableFile, EntryIterator)},
+		 * an incomplete trailing entry that is just being written by the followed process is tolerated.
+		 *
+		 * @return the position after the last complete entry.
+		 */
+		private long processFollowedEntries(
+			final StorageLiveTransactionsFile file         ,
+			final long                        startPosition,
+			final EntryIterator               iterator
+		)
+		{
+			final long       fileLength = file.size();
+			final ByteBuffer buffer     = XMemory.allocateDirectNativeDefault();
+			final long       address    = XMemory.getDirectByteBufferAddress(buffer);
+			try
+			{
+				long position = startPosition;
+				while(position < fileLength)
+				{
+					buffer.clear();
+					if(fileLength - position < buffer.limit())
+					{
+						buffer.limit((int)(fileLength - position));
+					}
+					file.readBytes(buffer, position);
+					
+					final long processedLength = this.processBufferedFollowedEntries(
+						address,
+						buffer.limit(),
+						position,
+						iterator
+					);
+					if(processedLength == 0)
+					{
+						break;
+					}
+					position += processedLength;
+				}
+				
+				return position;
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+		
+		private long processBufferedFollowedEntries(
+			final long          address ,
+			final long          length  ,
+			final long          position,
+			final EntryIterator iterator
+		)
+		{
+			long offset = 0;
+			while(offset < length)
+			{
+				final int entryLength = StorageTransactionsAnalysis.Logic.getEntryLength(address + offset);
+				if(entryLength == 0)
+				{
+					throw new StorageExceptionConsistency(
+						"Zero length transactions entry at position " + (position + offset)
+						+ " in followed transactions file of channel " + this.channelIndex()
+					);
+				}
+				if(offset + Math.abs(entryLength) > length)
+				{
+					break;
+				}
+				
+				// gaps have a negative length and are simply skipped
+				if(entryLength > 0)
+				{
+					iterator.accept(address + offset, entryLength);
+				}
+				offset += Math.abs(entryLength);
+			}
+			
+			return offset;
+		}
+		
+		private void parseFollowedEntry(final long address)
+		{
+			final byte type      = StorageTransactionsAnalysis.Logic.getEntryType(address);
+			final long timestamp = StorageTransactionsAnalysis.Logic.getEntryTimestamp(address);
+			final long length    = StorageTransactionsAnalysis.Logic.getFileLength(address);
+			
+			switch(type)
+			{
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION:
+				{
+					this.parseFollowedFileCreation(timestamp, length, StorageTransactionsAnalysis.Logic.getFileNumber(address));
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_STORE:
+				{
+					this.followedLatestTimestamp = Math.max(this.followedLatestTimestamp, timestamp);
+					this.parseFollowedDataEntry(type, timestamp, length);
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_TRANSFER:
+				{
+					this.parseFollowedDataEntry(type, timestamp, length);
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_TRUNCATION:
+				{
+					this.parseFollowedFileTruncation(length, StorageTransactionsAnalysis.Logic.getFileNumber(address));
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION:
+				{
+					this.followedEntries.add(
+						new FollowedEntry(type, timestamp, length, StorageTransactionsAnalysis.Logic.getFileNumber(address))
+					);
+					break;
+				}
+				default:
+				{
+					// reports the unknown type
+					StorageTransactionsAnalysis.Logic.mapEntryType(type);
+				}
+			}
+		}
+		
+		private boolean isRegisteredFollowedData(final long fileNumber, final long fileLength)
+		{
+			return fileNumber < this.headFile.number()
+				|| fileNumber == this.headFile.number() && fileLength <= this.headFile.totalLength()
+			;
+		}
+		
+		private void parseFollowedFileCreation(final long timestamp, final long length, final long fileNumber)
+		{
+			this.followedFileNumber = fileNumber;
+			
+			final FollowedEntry entry = new FollowedEntry(
+				StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION,
+				timestamp,
+				length,
+				fileNumber
+			);
+			if(timestamp == this.followedIdentity)
+			{
+				// all files of a rolled over transactions file's checkpoint are registered with its identity.
+				this.followedCheckpointFiles.add(fileNumber);
+				this.followedCheckpointEnd = entry;
+			}
+			else if(this.isRegisteredFollowedData(fileNumber, length))
+			{
+				return;
+			}
+			
+			this.followedEntries.add(entry);
+		}
+		
+		private void parseFollowedDataEntry(final byte type, final long timestamp, final long length)
+		{
+			if(this.isRegisteredFollowedData(this.followedFileNumber, length) && !this.isUndecidedFollowedStore(type, timestamp))
+			{
+				return;
+			}
+			
+			this.followedEntries.add(new FollowedEntry(type, timestamp, length, this.followedFileNumber));
+		}
+		
+		private boolean isUndecidedFollowedStore(final byte type, final long timestamp)
+		{
+			/*
+			 * A store without data for this channel still has to be reported to the decision, as the other
+			 * channels wait for it. Only stores that have already been applied or covered are known to be decided.
+			 */
+			return type == StorageTransactionsAnalysis.Logic.TYPE_STORE
+				&& timestamp > this.followedAppliedTimestamp
+				&& timestamp > this.followedCoveredTimestamp()
+			;
+		}
+		
+		private void parseFollowedFileTruncation(final long length, final long fileNumber)
+		{
+			if(fileNumber == this.headFile.number() && this.headFile.totalLength() > length)
+			{
+				throw new StorageExceptionConsistency(
+					"Followed file " + fileNumber + " of channel " + this.channelIndex()
+					+ " has been truncated to " + length
+					+ " below its registered length of " + this.headFile.totalLength()
+				);
+			}
+			
+			// the truncated data has never been committed, so the pending entries referring to it are void.
+			this.followedEntries.removeBy(entry ->
+				entry.cancel(fileNumber, length)
+			);
+		}
+		
+		private long[] undecidedFollowedStores()
+		{
+			final BulkList<FollowedEntry> undecidedStores = this.followedEntries.filterTo(
+				BulkList.New(),
+				FollowedEntry::isUndecidedStore
+			);
+			
+			final long[] timestamps = new long[X.checkArrayRange(undecidedStores.size())];
+			int i = 0;
+			for(final FollowedEntry entry : undecidedStores)
+			{
+				timestamps[i++] = entry.timestamp;
+			}
+			
+			return timestamps;
+		}
+		
+		final void decideFollowedStores(final Set_long completeStores, final Set_long failedStores)
+		{
+			for(final FollowedEntry entry : this.followedEntries)
+			{
+				if(!entry.isUndecidedStore())
+				{
+					continue;
+				}
+				if(completeStores.contains(entry.timestamp))
+				{
+					entry.decision = FollowedEntry.COMPLETE;
+				}
+				else if(failedStores.contains(entry.timestamp))
+				{
+					entry.decision = FollowedEntry.FAILED;
+				}
+			}
+		}
+		
+		/**
+		 * Reads ahead the data of the decided entries, in order, until an undecided store, data of a type
+		 * that is not known yet or the read ahead limit is reached.
+		 *
+		 * @return the timestamp of the last complete store that can be applied or {@link Long#MAX_VALUE}
+		 *         if all complete stores can be applied.
+		 */
+		final long validateFollowedTransactions()
+		{
+			this.validateIsFollower();
+			
+			StorageLiveDataFile.Default file       = this.headFile;
+			long                        fileLength = file.totalLength();
+			long                        readLength = 0;
+			long                        bound      = 0;
+			
+			for(final FollowedEntry entry : this.followedEntries)
+			{
+				if(entry.isUndecidedStore())
+				{
+					return Long.MAX_VALUE;
+				}
+				if(this.isUndueFollowedCheckpoint(entry))
+				{
+					return bound;
+				}
+				if(entry.decision == FollowedEntry.FAILED)
+				{
+					// the data of a failed store has been rolled back and gets overwritten by the next store.
+					entry.validated = true;
+					continue;
+				}
+				
+				if(entry.type == StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION && entry.fileNumber > file.number())
+				{
+					if(entry.file == null)
+					{
+						entry.file = this.createLiveDataFile(
+							this.fileProvider.provideDataFile(this.channelIndex(), entry.fileNumber),
+							this.channelIndex(),
+							entry.fileNumber
+						);
+					}
+					file       = entry.file;
+					fileLength = 0;
+				}
+				
+				final boolean hasData = entry.type != StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION
+					&& entry.fileNumber == file.number()
+					&& entry.fileLength > fileLength
+				;
+				if(hasData)
+				{
+					if(entry.data == null)
+					{
+						final long dataLength = entry.fileLength - fileLength;
+						if(readLength > 0 && readLength + dataLength > MAX_FOLLOWED_DATA_LENGTH)
+						{
+							return bound;
+						}
+						
+						final ByteBuffer data = this.readFollowedData(file, fileLength, dataLength);
+						if(!this.hasKnownEntityTypes(data))
+						{
+							// the followed process' new types have to be registered first, see StorageFollowerSetup.
+							XMemory.deallocateDirectByteBuffer(data);
+							return bound;
+						}
+						entry.data         = data;
+						entry.dataPosition = fileLength;
+					}
+					readLength += entry.data.limit();
+					fileLength  = entry.fileLength;
+				}
+				
+				entry.validated = true;
+				if(entry.type == StorageTransactionsAnalysis.Logic.TYPE_STORE)
+				{
+					bound = entry.timestamp;
+				}
+			}
+			
+			return Long.MAX_VALUE;
+		}
+		
+		private boolean isUndueFollowedCheckpoint(final FollowedEntry entry)
+		{
+			/*
+			 * The checkpoint's data contains stores another channel might not have written yet when its
+			 * transactions file was read. The data is only applied in the next cycle to not become visible too early.
+			 */
+			return this.followedCheckpointEnd != null
+				&& !this.isFollowedCheckpointDue
+				&& entry.type == StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION
+				&& entry.timestamp == this.followedIdentity
+			;
+		}
+		
+		private ByteBuffer readFollowedData(
+			final StorageLiveDataFile.Default file    ,
+			final long                        position,
+			final long                        length
+		)
+		{
+			this.metrics.recordDataRead(length);
+			
+			final ByteBuffer data = XMemory.allocateDirectNative(X.checkArrayRange(length));
+			try
+			{
+				file.readBytes(data, position);
+				
+				return data;
+			}
+			catch(final RuntimeException e)
+			{
+				XMemory.deallocateDirectByteBuffer(data);
+				throw e;
+			}
+		}
+		
+		private boolean hasKnownEntityTypes(final ByteBuffer data)
+		{
+			final StorageTypeDictionary typeDictionary = this.entityCache.typeDictionary();
+			
+			final long startAddress = XMemory.getDirectByteBufferAddress(data);
+			final long boundAddress = startAddress + data.limit();
+			for(long address = startAddress; address < boundAddress;)
+			{
+				final long length = boundAddress - address < Binary.entityHeaderLength()
+					? 0
+					: Binary.getEntityLengthRawValue(address)
+				;
+				if(length < Binary.entityHeaderLength() || length > boundAddress - address)
+				{
+					throw new StorageExceptionConsistency(
+						"Invalid entity length " + length + " in followed data of channel " + this.channelIndex()
+					);
+				}
+				if(typeDictionary.lookupTypeHandler(Binary.getEntityTypeIdRawValue(address)) == null)
+				{
+					return false;
+				}
+				address += length;
+			}
+			
+			return true;
+		}
+		
+		/**
+		 * Applies the validated entries, in order, up to the first complete store after the passed bound.
+		 *
+		 * @param storeTimestampBound the timestamp of the last complete store to be applied.
+		 * @param changedObjectIds collects the object ids of all stored entities.
+		 */
+		final void applyFollowedTransactions(final long storeTimestampBound, final Set_long changedObjectIds)
+		{
+			this.validateIsFollower();
+			
+			int appliedCount = 0;
+			try
+			{
+				for(final FollowedEntry entry : this.followedEntries)
+				{
+					if(!entry.validated || entry.decision == FollowedEntry.COMPLETE && entry.timestamp > storeTimestampBound)
+					{
+						break;
+					}
+					this.applyFollowedEntry(entry, changedObjectIds);
+					appliedCount++;
+				}
+			}
+			finally
+			{
+				this.followedEntries.removeRange(0, appliedCount);
+			}
+		}
+		
+		private void applyFollowedEntry(final FollowedEntry entry, final Set_long changedObjectIds)
+		{
+			switch(entry.type)
+			{
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION:
+				{
+					if(entry.file != null)
+					{
+						this.registerStorageHeadFile(entry.file);
+						entry.file = null;
+					}
+					this.putFollowedData(entry, changedObjectIds);
+					if(entry == this.followedCheckpointEnd)
+					{
+						this.completeFollowedRoll();
+					}
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_STORE:
+				{
+					this.putFollowedData(entry, changedObjectIds);
+					if(entry.decision == FollowedEntry.COMPLETE)
+					{
+						this.followedAppliedTimestamp = entry.timestamp;
+					}
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_TRANSFER:
+				{
+					// transferred entities are unchanged, only their location changes.
+					this.putFollowedData(entry, null);
+					break;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION:
+				{
+					this.deleteFollowedFiles(file ->
+						file.number() == entry.fileNumber
+					);
+					break;
+				}
+				default:
+				{
+					// no-op
+				}
+			}
+		}
+		
+		private void putFollowedData(final FollowedEntry entry, final Set_long changedObjectIds)
+		{
+			if(entry.data == null)
+			{
+				return;
+			}
+			
+			try
+			{
+				if(entry.fileNumber != this.headFile.number() || entry.dataPosition != this.headFile.totalLength())
+				{
+					throw new StorageExceptionConsistency(
+						"Followed data of file " + entry.fileNumber + " at position " + entry.dataPosition
+						+ " does not continue head file " + this.headFile
+					);
+				}
+				this.entityCache.putFollowedEntities(entry.data, entry.dataPosition, this.headFile, changedObjectIds);
+				this.headFile.increaseContentLength(entry.data.limit());
+			}
+			finally
+			{
+				entry.releaseData();
+			}
+		}
+		
+		private void completeFollowedRoll()
+		{
+			long highestCheckpointNumber = -1;
+			for(final Long fileNumber : this.followedCheckpointFiles)
+			{
+				highestCheckpointNumber = Math.max(highestCheckpointNumber, fileNumber);
+			}
+			
+			// files not contained in the checkpoint have been deleted, their deletion entries rolled over.
+			final long checkpointBound = highestCheckpointNumber;
+			this.deleteFollowedFiles(file ->
+				file.number() < checkpointBound && !this.followedCheckpointFiles.contains(file.number())
+			);
+			
+			this.followedCheckpointFiles.clear();
+			this.followedCheckpointEnd = null;
+		}
+		
+		private void deleteFollowedFiles(final Predicate<? super StorageLiveDataFile.Default> isDeleted)
+		{
+			final BulkList<StorageLiveDataFile.Default> deletedFiles = BulkList.New();
+			for(StorageLiveDataFile.Default file = this.headFile.next; file != this.headFile; file = file.next)
+			{
+				if(isDeleted.test(file))
+				{
+					deletedFiles.add(file);
+				}
+			}
+			if(deletedFiles.isEmpty())
+			{
+				return;
+			}
+			
+			// entities still located in a deleted file have been collected by the followed process.
+			this.entityCache.deleteEntities(entity ->
+				deletedFiles.containsId(entity.typeInFile.file)
+			);
+			
+			for(final StorageLiveDataFile.Default file : deletedFiles)
+			{
+				file.detach();
+				file.unregisterUsageClosing(this, null);
+			}
+			this.restartFileCleanupCursor();
+		}
+
+		private void setTransactionsFile(final StorageLiveTransactionsFile transactionsFile)
 		{
 			this.fileTransactions = transactionsFile;
 			
@@ -1250,6 +2854,21 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			
 			// at this point, it is either 0 already or it won't matter since everything has been cleared.
 			this.pendingFileDeletes = 0;
+			
+			this.abortEntityCheckpoint();
+			this.checkpointTransactionsLength         = -1;
+			this.checkpointTimeMs                     =  0;
+			this.transactionsFileIdentity             =  0;
+			this.headFileLastConsistentStoreLength    =  0;
+			this.headFileLastConsistentStoreTimestamp =  0;
+			this.headFileLatestLength                 =  0;
+			this.headFileLatestTimestamp              =  0;
+			this.hasUnsyncedWrites                    = false;
+			this.syncTimeMs                           =  0;
+			this.followedIdentity                     =  0;
+			this.followedLatestTimestamp              =  0;
+			this.followedInitialTimestamp             =  0;
+			this.followedAppliedTimestamp             =  0;
 		}
 		
 		/**
@@ -1294,18 +2913,43 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		{
 			final AFile transactionsFile = fileProvider.provideTransactionsFile(this.channelIndex());
 			AFS.executeWriting(transactionsFile, wf ->
-				this.fileTransactions.copyTo(wf)
+				this.copyThrottled(this.fileTransactions, wf, this.fileTransactions.size())
 			);
 
 			this.iterateStorageFiles(file ->
 			{
 				final AFile exportFile = fileProvider.provideDataFile(file.channelIndex(), file.number());
 				AFS.executeWriting(exportFile, wf ->
-					file.copyTo(wf)
+					this.copyThrottled(file, wf, file.size())
 				);
 			});
 		}
 		
+		/*
+		 * The channels are blocked by the export anyway, so the copying waits for the throttle chunk by chunk
+		 * instead of exceeding its limits and making the other background I/O pay for it afterwards.
+		 */
+		private void copyThrottled(final StorageFile source, final AWritableFile target, final long length)
+		{
+			final long chunkSize = StorageIoThrottle.Defaults.defaultChunkSize();
+			for(long position = 0; position < length; position += chunkSize)
+			{
+				final long chunkLength = Math.min(chunkSize, length - position);
+				this.ioThrottle.acquire(chunkLength);
+				source.copyTo(target, position, chunkLength);
+			}
+		}
+		
+		@Override
+		public void backupDataIncremental(final StorageIncrementalBackup backup)
+		{
+			final BulkList<StorageLiveDataFile> dataFiles = BulkList.New();
+			this.iterateStorageFiles(dataFiles::add);
+			
+			// the backup's copier threads do the copying, this channel is blocked until they are done.
+			backup.backupChannel(this.channelIndex(), this.fileTransactions, dataFiles, this.ioThrottle);
+		}
+		
 		private static FileStatistics createFileStatistics(final StorageLiveDataFile.Default file)
 		{
 			return FileStatistics.New(
@@ -1346,10 +2990,47 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			);
 		}
 
+		final StorageEntityCache.Default entityCache()
+		{
+			return this.entityCache;
+		}
+
+		final StorageIoThrottle ioThrottle()
+		{
+			return this.ioThrottle;
+		}
+
+		/**
+		 * The ratio of gap bytes (outdated entity data) to all bytes in this channel's data files.
+		 * Input for adaptive housekeeping, hence without allocating statistics instances.
+		 *
+		 * @return the file fragmentation ratio in [0.0; 1.0].
+		 */
+		final double fileFragmentation()
+		{
+			StorageLiveDataFile.Default file;
+			final StorageLiveDataFile.Default currentFile = file = this.headFile;
+
+			long liveDataLength  = 0;
+			long totalDataLength = 0;
+			do
+			{
+				file = file.next;
+				liveDataLength  += file.dataLength();
+				totalDataLength += file.totalLength();
+			}
+			while(file != currentFile);
+
+			return totalDataLength == 0
+				? 0.0
+				: (double)(totalDataLength - liveDataLength) / totalDataLength
+			;
+		}
+
 		@Override
 		public final boolean incrementalFileCleanupCheck(final long nanoTimeBudgetBound)
 		{
-			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator);
+			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator, this.ioThrottle);
 		}
 
 		@Override
@@ -1361,7 +3042,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		@Override
 		public final boolean issuedFileCleanupCheck(final long nanoTimeBudgetBound)
 		{
-			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator);
+			// explicitly issued checks are foreground work and are not throttled.
+			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator, UNTHROTTLED);
 		}
 
 		private void deletePendingFile(final StorageLiveDataFile.Default file)
@@ -1384,8 +3066,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		}
 
 		private boolean internalCheckForCleanup(
-			final long                               nanoTimeBudgetBound,
-			final StorageDataFileDissolvingEvaluator fileDissolver
+			final long                     nanoTimeBudgetBound,
+			final StorageDataFileEvaluator fileEvaluator      ,
+			final StorageIoThrottle        ioThrottle
 		)
 		{
 			if(!DEBUG_ENABLE_FILE_CLEANUP)
@@ -1399,12 +3082,21 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			{
 				return true;
 			}
+			
+			// the evaluator's policy decides how the files are checked.
+			return fileEvaluator.checkForCleanup(new FileCleanup(nanoTimeBudgetBound, ioThrottle));
+		}
 
-
+		private boolean sequentialCheckForCleanup(
+			final long                               nanoTimeBudgetBound,
+			final StorageDataFileDissolvingEvaluator fileDissolver      ,
+			final StorageIoThrottle                  ioThrottle
+		)
+		{
 			StorageLiveDataFile.Default cycleAnchorFile = this.fileCleanupCursor;
 
 			// intentionally no minimum first loop execution as cleanup is not important if the system has heavy load
-			while(this.fileCleanupCursor != null && System.nanoTime() < nanoTimeBudgetBound)
+			while(this.fileCleanupCursor != null && System.nanoTime() < nanoTimeBudgetBound && ioThrottle.isAvailable())
 			{
 				// never check current head file for dissolving
 
@@ -1432,7 +3124,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 						this.createNextStorageFile();
 					}
 
-					if(!this.incrementalDissolveStorageFile(this.fileCleanupCursor, nanoTimeBudgetBound))
+					if(!this.incrementalDissolveStorageFile(this.fileCleanupCursor, nanoTimeBudgetBound, ioThrottle))
 					{
 						continue;
 					}
@@ -1472,26 +3164,158 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			return this.fileCleanupCursor == null;
 		}
 
-		private boolean incrementalDissolveStorageFile(
-			final StorageLiveDataFile.Default file               ,
-			final long                        nanoTimeBudgetBound
+		/**
+		 * Cost-benefit variant of the file cleanup: files that need dissolving are dissolved first, then all other
+		 * files are dissolved in the order of their
+		 * {@link StorageDataFileCostBenefitEvaluator#dissolvingBenefit(StorageLiveDataFile, long) benefit}
+		 * until the ratio of live data in all files reaches the evaluator's minimum use ratio.
+		 * The ranking is done anew on every call, as dissolving changes the ranking and the files are few
+		 * compared to the entities to be transferred.
+		 * The cleanup cursor is only used as a flag for pending work here.
+		 * Chosen by the evaluator, see {@link StorageDataFileEvaluator#checkForCleanup(StorageDataFileEvaluator.Cleanup)}.
+		 */
+		private boolean rankedCheckForCleanup(
+			final long                                nanoTimeBudgetBound,
+			final StorageDataFileCostBenefitEvaluator fileDissolver      ,
+			final StorageIoThrottle                   ioThrottle
 		)
 		{
+			final long                                  headFileNumber = this.headFile.number();
+			final BulkList<StorageLiveDataFile.Default> required       = BulkList.New();
+			final BulkList<StorageLiveDataFile.Default> candidates     = BulkList.New();
+
+			long liveDataLength  = 0;
+			long totalDataLength = 0;
+
+			final StorageLiveDataFile.Default lastFile = this.headFile;
+			for(StorageLiveDataFile.Default file = lastFile.next, next;; file = next)
+			{
+				// the file might get deleted and detached, so the next one must be determined beforehand.
+				next = file.next;
+
+				if(!file.hasUsers())
+				{
+					// an iterable (non-detached) file with no users can only mean a pending delete.
+					if(!file.executeIfUnsuedData(this.pendingDeleter))
+					{
+						// should a new usage have been registered right after checking, then try again later
+						return false;
+					}
+				}
+				// files pending deletion are no longer used by this instance and must not be dissolved again.
+				else if(file.hasUser(this))
+				{
+					liveDataLength  += file.dataLength();
+					totalDataLength += file.totalLength();
+					
+					final long fileAge = headFileNumber - file.number();
+					if(fileDissolver.needsDissolving(file, fileAge))
+					{
+						required.add(file);
+					}
+					else if(fileDissolver.dissolvingBenefit(file, fileAge) > 0.0)
+					{
+						candidates.add(file);
+					}
+				}
+
+				if(file == lastFile)
+				{
+					break;
+				}
+			}
+
+			for(final StorageLiveDataFile.Default file : required)
+			{
+				if(!this.rankedDissolveStorageFile(file, nanoTimeBudgetBound, ioThrottle))
+				{
+					return false;
+				}
+				totalDataLength -= file.totalLength() - file.dataLength();
+			}
+
+			candidates.sort((f1, f2) -> Double.compare(
+				fileDissolver.dissolvingBenefit(f2, headFileNumber - f2.number()),
+				fileDissolver.dissolvingBenefit(f1, headFileNumber - f1.number())
+			));
 
-			if(this.incrementalTransferEntities(file, nanoTimeBudgetBound))
+			final double minimumUseRatio = fileDissolver.minimumUseRatio();
+			for(final StorageLiveDataFile.Default file : candidates)
 			{
-				if(file.unregisterUsageClosingData(this, this.deleter))
+				if(totalDataLength == 0 || (double)liveDataLength / totalDataLength >= minimumUseRatio)
 				{
-					return true;
+					break;
 				}
 
+				// dissolving a file removes its gaps, its live data is appended to the head file.
+				final long gapLength = file.totalLength() - file.dataLength();
+				if(!this.rankedDissolveStorageFile(file, nanoTimeBudgetBound, ioThrottle))
+				{
+					return false;
+				}
+				totalDataLength -= gapLength;
+			}
+
+			if(this.pendingFileDeletes > 0)
+			{
+				return false;
+			}
+
+			// see internalCheckForCleanup: will be resetted by the next write.
+			this.fileCleanupCursor = null;
 
-				// file has no more content but can't be deleted yet. Schedule for later deletion.
-				this.pendingFileDeletes++;
+			return true;
+		}
+
+		private boolean rankedDissolveStorageFile(
+			final StorageLiveDataFile.Default file               ,
+			final long                        nanoTimeBudgetBound,
+			final StorageIoThrottle           ioThrottle
+		)
+		{
+			if(System.nanoTime() >= nanoTimeBudgetBound)
+			{
 				return false;
 			}
 
-			return false;
+			if(file == this.headFile)
+			{
+				this.createNextStorageFile();
+			}
+
+			// an emptied file that cannot be deleted yet is pending, so only remaining content means no time left.
+			return this.incrementalDissolveStorageFile(file, nanoTimeBudgetBound, ioThrottle) || !file.hasContent();
+		}
+
+		private boolean incrementalDissolveStorageFile(
+			final StorageLiveDataFile.Default file               ,
+			final long                        nanoTimeBudgetBound,
+			final StorageIoThrottle           ioThrottle
+		)
+		{
+			final StorageEvents.FileDissolve event      = StorageEvents.beginFileDissolve();
+			final long                       dataLength = file.dataLength();
+			
+			boolean deleted = false;
+			if(this.incrementalTransferEntities(file, nanoTimeBudgetBound, ioThrottle))
+			{
+				if(!(deleted = file.unregisterUsageClosingData(this, this.deleter)))
+				{
+					// file has no more content but can't be deleted yet. Schedule for later deletion.
+					this.pendingFileDeletes++;
+				}
+			}
+			
+			if(event != null && event.shouldCommit())
+			{
+				event.channelIndex = this.channelIndex            ;
+				event.fileNumber   = file.number()                ;
+				event.byteCount    = dataLength - file.dataLength();
+				event.completed    = deleted                      ;
+				event.commit();
+			}
+
+			return deleted;
 		}
 
 		private void deleteFile(final StorageLiveDataFile.Default file)
@@ -1514,6 +3338,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			 * (keep it alive to re-evaluate it or delete it, etc.)
 			 */
 			this.writeTransactionsEntryFileDeletion(file, this.timestampProvider.currentNanoTimestamp());
+			
+			// transferred data and the deletion entry must be durable before the file's data is physically gone.
+			this.syncWrittenFiles();
 
 			// (12.08.2020 TM)FIXME: priv#351: where and how to check whether files may be deleted? Here? Weird!
 			
@@ -1523,16 +3350,24 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		private boolean incrementalTransferEntities(
 			final StorageLiveDataFile.Default file               ,
-			final long                        nanoTimeBudgetBound
+			final long                        nanoTimeBudgetBound,
+			final StorageIoThrottle           ioThrottle
 		)
 		{
 			// check for new head file in any case
 			this.checkForNewFile();
 
-			// dissolve file to as much head files as needed.
-			while(file.hasContent() && System.nanoTime() < nanoTimeBudgetBound)
+			// dissolve file to as much head files as needed, as long as neither time nor I/O capacity runs out.
+			while(file.hasContent() && System.nanoTime() < nanoTimeBudgetBound && ioThrottle.isAvailable())
 			{
+				final long dataLength = file.dataLength();
 				this.transferOneChainToHeadFile(file);
+				
+				// a transfer might just have created a new head file instead of copying anything.
+				if(file.dataLength() != dataLength)
+				{
+					ioThrottle.consume(dataLength - file.dataLength());
+				}
 			}
 
 
@@ -1678,6 +3513,32 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			this.writer.delete(file, this.writeController, this.fileProvider);
 		}
 
+		final class FileCleanup implements StorageDataFileEvaluator.Cleanup
+		{
+			final long              nanoTimeBudgetBound;
+			final StorageIoThrottle ioThrottle         ;
+
+			FileCleanup(final long nanoTimeBudgetBound, final StorageIoThrottle ioThrottle)
+			{
+				super();
+				this.nanoTimeBudgetBound = nanoTimeBudgetBound;
+				this.ioThrottle          = ioThrottle         ;
+			}
+
+			@Override
+			public boolean sequentialCheckForCleanup(final StorageDataFileEvaluator fileEvaluator)
+			{
+				return Default.this.sequentialCheckForCleanup(this.nanoTimeBudgetBound, fileEvaluator, this.ioThrottle);
+			}
+
+			@Override
+			public boolean rankedCheckForCleanup(final StorageDataFileCostBenefitEvaluator fileEvaluator)
+			{
+				return Default.this.rankedCheckForCleanup(this.nanoTimeBudgetBound, fileEvaluator, this.ioThrottle);
+			}
+
+		}
+
 		final class ImportHelper implements Consumer<StorageChannelImportBatch>
 		{
 			final StorageLiveDataFile.Default         preImportHeadFile;
@@ -1742,6 +3603,90 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			
 			throw new StorageException(vs.toString());
 		}
+		
+		static final class FollowedEntry
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// constants //
+			//////////////
+			
+			static final byte
+				UNDECIDED = 0,
+				COMPLETE  = 1,
+				FAILED    = 2
+			;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			final byte type      ;
+			final long timestamp ;
+			final long fileLength;
+			final long fileNumber;
+			
+			// only relevant for stores, which are decided across all channels.
+			byte decision = UNDECIDED;
+			
+			boolean                     validated   ;
+			ByteBuffer                  data        ;
+			long                        dataPosition;
+			StorageLiveDataFile.Default file        ;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			FollowedEntry(final byte type, final long timestamp, final long fileLength, final long fileNumber)
+			{
+				super();
+				this.type       = type      ;
+				this.timestamp  = timestamp ;
+				this.fileLength = fileLength;
+				this.fileNumber = fileNumber;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			final boolean isUndecidedStore()
+			{
+				return this.type == StorageTransactionsAnalysis.Logic.TYPE_STORE && this.decision == UNDECIDED;
+			}
+			
+			final boolean cancel(final long truncatedFileNumber, final long truncatedLength)
+			{
+				if(this.type != StorageTransactionsAnalysis.Logic.TYPE_STORE
+					&& this.type != StorageTransactionsAnalysis.Logic.TYPE_TRANSFER
+					|| this.fileNumber != truncatedFileNumber
+					|| this.fileLength <= truncatedLength
+				)
+				{
+					return false;
+				}
+				this.releaseData();
+				
+				return true;
+			}
+			
+			final void releaseData()
+			{
+				if(this.data == null)
+				{
+					return;
+				}
+				XMemory.deallocateDirectByteBuffer(this.data);
+				this.data = null;
+			}
+			
+		}
 
 	}
 		
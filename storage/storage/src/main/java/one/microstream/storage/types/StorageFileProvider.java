@@ -513,6 +513,36 @@ public interface StorageFileProvider extends PersistenceTypeDictionaryIoHandler.
 			return file;
 		}
 
+		public AFile provideEntityCheckpointFile(final int channelIndex)
+		{
+			// the checkpoint is coupled to the transactions file, hence named after it with a distinct type.
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     dataFileName     = this.fileNameProvider.provideTransactionsFileName(channelIndex);
+			final AFile      file             = channelDirectory.ensureFile(dataFileName, "checkpoint");
+			
+			return file;
+		}
+
+		public AFile provideEntityCheckpointTempFile(final int channelIndex)
+		{
+			// the next checkpoint is written next to the current one before it replaces it.
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     dataFileName     = this.fileNameProvider.provideTransactionsFileName(channelIndex);
+			final AFile      file             = channelDirectory.ensureFile(dataFileName, "checkpoint_temp");
+			
+			return file;
+		}
+
+		public AFile provideTransactionsSegmentFile(final int channelIndex)
+		{
+			// the next segment is written next to the transactions file before it replaces it, see rolling.
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     dataFileName     = this.fileNameProvider.provideTransactionsFileName(channelIndex);
+			final AFile      file             = channelDirectory.ensureFile(dataFileName, "segment");
+			
+			return file;
+		}
+
 		public AFile provideLockFile()
 		{
 			final AFile file = this.baseDirectory.ensureFile(this.fileNameProvider.lockFileName());
@@ -141,6 +141,16 @@ public interface StorageFileWriter
 		return this.write(transactionFile, byteBuffers);
 	}
 
+	/**
+	 * Forces all bytes written to the passed file so far to be synchronized with the underlying storage device.
+	 * 
+	 * @param file the file to be flushed.
+	 */
+	public default void flush(final StorageFile file)
+	{
+		file.flush();
+	}
+
 	public default void truncate(
 		final StorageLiveChannelFile<?> file        ,
 		final long                      newLength   ,
@@ -203,6 +213,46 @@ public interface StorageFileWriter
 	}
 	
 
+	/**
+	 * Replaces the passed transactions file with the passed segment file, which must already contain the
+	 * complete and flushed content of the next transactions log segment.
+	 * The retired transactions file is moved to the deletion directory, if one is configured, or deleted.
+	 * Only then, the segment file is moved to the transactions file's place, represented by the passed
+	 * rolled file. Should the process be terminated in between, the roll is completed on the next startup.
+	 * 
+	 * @param retiredFile the current transactions file to be retired.
+	 * @param segmentFile the file containing the next segment.
+	 * @param rolledFile the new transactions file at the place of the retired one.
+	 * @param writeController the write controller, file deletion must be enabled.
+	 * @param fileProvider the provider of the deletion target file.
+	 */
+	public default void rollTransactionsFile(
+		final StorageLiveTransactionsFile retiredFile    ,
+		final StorageLiveTransactionsFile segmentFile    ,
+		final StorageLiveTransactionsFile rolledFile     ,
+		final StorageWriteController      writeController,
+		final StorageFileProvider         fileProvider
+	)
+	{
+		deleteFile(retiredFile, writeController, fileProvider);
+		retiredFile.close();
+		
+		try
+		{
+			AFS.executeWriting(rolledFile.file(), wf ->
+				segmentFile.moveTo(wf)
+			);
+		}
+		catch(final Exception e)
+		{
+			throw new StorageExceptionIoWriting(e);
+		}
+		finally
+		{
+			segmentFile.close();
+		}
+	}
+
 	public static void createFileFullCopy(
 		final StorageFile sourceFile,
 		final AFile       targetFile
@@ -217,6 +217,13 @@ public interface StorageFileWriterBackupping extends StorageFileWriter
 			return byteCount;
 		}
 
+		@Override
+		public final void flush(final StorageFile file)
+		{
+			// flushing does not change the file's content, so there is nothing to be backupped.
+			this.delegate.flush(file);
+		}
+
 		@Override
 		public final void truncate(
 			final StorageLiveChannelFile<?> file        ,
@@ -229,6 +236,27 @@ public interface StorageFileWriterBackupping extends StorageFileWriter
 			this.itemEnqueuer.enqueueTruncatingItem(file, newLength);
 		}
 		
+		@Override
+		public final void rollTransactionsFile(
+			final StorageLiveTransactionsFile retiredFile    ,
+			final StorageLiveTransactionsFile segmentFile    ,
+			final StorageLiveTransactionsFile rolledFile     ,
+			final StorageWriteController      writeController,
+			final StorageFileProvider         fileProvider
+		)
+		{
+			this.delegate.rollTransactionsFile(retiredFile, segmentFile, rolledFile, writeController, fileProvider);
+			
+			/*
+			 * The rolled file must be opened for writing by the channel before the backup thread reads it.
+			 * Otherwise, the backup thread's shared access would prevent the channel's exclusive one.
+			 */
+			this.delegate.flush(rolledFile);
+			
+			// the backup transactions file is rebuilt from the rolled file before the old one is removed.
+			this.itemEnqueuer.enqueueReplacingItem(rolledFile, rolledFile.size());
+		}
+		
 		@Override
 		public void delete(
 			final StorageLiveDataFile    file           ,
@@ -0,0 +1,158 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Setup values that turn a storage into a follower of another process' storage.
+ * <p>
+ * A follower opens the storage files of a writing process (either on the same host or in a directory
+ * replicated in write order) without ever modifying them. Instead of only seeing a static snapshot of the
+ * storage as it was on startup, a follower continuously tails the channels' transactions files and
+ * incrementally applies new and updated entities to its entity registry, see {@link StorageConnection#followStorage()}.
+ * Only stores that have been completely written by all channels of the writing process are applied.
+ * <p>
+ * Since the writing process owns the storage files, a follower requires a read-only
+ * {@link StorageWriteController}, no {@link StorageBackupSetup} and it does not obtain the storage lock file.
+ * Data files that the writing process has deleted are released by the follower as soon as it does no longer
+ * need them. The writing process should therefore keep a deletion directory and not rely on immediate deletion.
+ */
+public interface StorageFollowerSetup
+{
+	/**
+	 * Defines if the storage follows the storage files of another process at all.
+	 *
+	 * @return whether the storage is a follower.
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * The interval in milliseconds in which a follower checks the transactions files for new entries.
+	 *
+	 * @return the follow interval in milliseconds.
+	 */
+	public long followIntervalMs();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultFollowIntervalMs()
+		{
+			return 1000; // 1 second
+		}
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageFollowerSetup} instance with following
+	 * enabled and the default interval provided by {@link StorageFollowerSetup.Defaults}.
+	 *
+	 * @return a new {@link StorageFollowerSetup} instance.
+	 */
+	public static StorageFollowerSetup New()
+	{
+		return New(Defaults.defaultFollowIntervalMs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageFollowerSetup} instance with following
+	 * enabled and the passed interval.
+	 *
+	 * @param followIntervalMs the follow interval in milliseconds.
+	 *
+	 * @return a new {@link StorageFollowerSetup} instance.
+	 */
+	public static StorageFollowerSetup New(final long followIntervalMs)
+	{
+		return new StorageFollowerSetup.Default(
+			true                      ,
+			positive(followIntervalMs)
+		);
+	}
+
+	/**
+	 * Creates a {@link StorageFollowerSetup} instance with following disabled, meaning the storage is
+	 * an ordinary storage that owns its files.
+	 *
+	 * @return a new {@link StorageFollowerSetup} instance.
+	 */
+	public static StorageFollowerSetup Disabled()
+	{
+		return new StorageFollowerSetup.Default(false, Defaults.defaultFollowIntervalMs());
+	}
+
+	public final class Default implements StorageFollowerSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final boolean enabled         ;
+		private final long    followIntervalMs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final boolean enabled         ,
+			final long    followIntervalMs
+		)
+		{
+			super();
+			this.enabled          = enabled         ;
+			this.followIntervalMs = followIntervalMs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isEnabled()
+		{
+			return this.enabled;
+		}
+
+		@Override
+		public final long followIntervalMs()
+		{
+			return this.followIntervalMs;
+		}
+
+		@Override
+		public String toString()
+		{
+			return this.getClass().getName() + ": enabled = " + this.enabled
+				+ ", followIntervalMs = " + this.followIntervalMs
+			;
+		}
+
+	}
+
+}
@@ -389,6 +389,58 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public StorageEntityMarkMonitor.Creator getEntityMarkMonitorCreator();
 	
+	/**
+	 * Returns the currently set {@link StorageEntityCacheAllocator.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityCacheAllocator.Creator getEntityCacheAllocatorCreator();
+	
+	/**
+	 * Returns the currently set {@link StorageLoadingSetup} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageLoadingSetup getLoadingSetup();
+	
+	/**
+	 * Returns the currently set {@link StorageCheckpointSetup} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * execution of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageCheckpointSetup getCheckpointSetup();
+	
+	/**
+	 * Returns the currently set {@link StorageGroupCommitSetup} instance.
+	 * <p>
+	 * Group commit is off by default, so no instance is created on-demand and {@code null} is returned
+	 * if none has been set.
+	 * 
+	 * @return the currently set instance or {@code null}.
+	 */
+	public StorageGroupCommitSetup getGroupCommitSetup();
+	
 	/**
 	 * Returns the currently set {@link StorageDataFileValidator.Creator} instance.
 	 * <p>
@@ -567,6 +619,9 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	
 	/**
 	 * Sets the {@link StorageTaskBroker.Creator} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageTaskBroker.Creator.LockFree} to enqueue tasks without a lock, which reduces
+	 * contention with many concurrently storing or loading threads.
 	 * 
 	 * @param taskBrokerCreator the instance to be used.
 	 * 
@@ -736,6 +791,44 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public F setEntityMarkMonitorCreator(StorageEntityMarkMonitor.Creator entityMarkMonitorCreator);
 	
+	/**
+	 * Sets the {@link StorageEntityCacheAllocator.Creator} instance to be used for the assembly.
+	 * 
+	 * @param entityCacheAllocatorCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityCacheAllocatorCreator(StorageEntityCacheAllocator.Creator entityCacheAllocatorCreator);
+	
+	/**
+	 * Sets the {@link StorageLoadingSetup} instance to be used for the assembly.
+	 * 
+	 * @param loadingSetup the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setLoadingSetup(StorageLoadingSetup loadingSetup);
+	
+	/**
+	 * Sets the {@link StorageCheckpointSetup} instance to be used for the assembly.
+	 * 
+	 * @param checkpointSetup the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setCheckpointSetup(StorageCheckpointSetup checkpointSetup);
+	
+	/**
+	 * Sets the {@link StorageGroupCommitSetup} instance to be used by the default {@link StorageTaskBroker.Creator}
+	 * to merge concurrent store requests into groups. Has no effect if an explicit
+	 * {@link #setTaskBrokerCreator(StorageTaskBroker.Creator)} is set.
+	 * 
+	 * @param groupCommitSetup the instance to be used, {@code null} to disable group commit.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setGroupCommitSetup(StorageGroupCommitSetup groupCommitSetup);
+	
 	/**
 	 * Sets the {@link StorageDataFileValidator.Creator} instance to be used for the assembly.
 	 * 
@@ -880,6 +973,10 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 		private StorageRootOidSelector.Provider          rootOidSelectorProvider      ;
 		private StorageObjectIdMarkQueue.Creator         oidMarkQueueCreator          ;
 		private StorageEntityMarkMonitor.Creator         entityMarkMonitorCreator     ;
+		private StorageEntityCacheAllocator.Creator      entityCacheAllocatorCreator  ;
+		private StorageLoadingSetup                      loadingSetup                 ;
+		private StorageCheckpointSetup                   checkpointSetup              ;
+		private StorageGroupCommitSetup                  groupCommitSetup             ;
 		private StorageDataFileValidator.Creator         dataFileValidatorCreator     ;
 		private BinaryEntityRawDataIterator.Provider     entityDataIteratorProvider   ;
 		private StorageEntityDataValidator.Creator       entityDataValidatorCreator   ;
@@ -953,7 +1050,7 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 
 		protected StorageTaskBroker.Creator ensureTaskBrokerCreator()
 		{
-			return new StorageTaskBroker.Creator.Default();
+			return new StorageTaskBroker.Creator.Default(this.getGroupCommitSetup());
 		}
 
 		protected StorageDataChunkValidator.Provider ensureDataChunkValidatorProvider()
@@ -1058,6 +1155,22 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			return StorageEntityMarkMonitor.Creator();
 		}
 
+		protected StorageEntityCacheAllocator.Creator ensureEntityCacheAllocatorCreator()
+		{
+			return StorageEntityCacheAllocator.Creator();
+		}
+
+		protected StorageLoadingSetup ensureLoadingSetup()
+		{
+			return StorageLoadingSetup.New();
+		}
+
+		protected StorageCheckpointSetup ensureCheckpointSetup()
+		{
+			// opt-in, since checkpoints are additional writes that only pay off for large storages.
+			return StorageCheckpointSetup.Disabled();
+		}
+
 		protected StorageDataFileValidator.Creator ensureDataFileValidatorCreator()
 		{
 			return StorageDataFileValidator.Creator(
@@ -1382,6 +1495,43 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			}
 			return this.entityMarkMonitorCreator;
 		}
+
+		@Override
+		public StorageEntityCacheAllocator.Creator getEntityCacheAllocatorCreator()
+		{
+			if(this.entityCacheAllocatorCreator == null)
+			{
+				this.entityCacheAllocatorCreator = this.dispatch(this.ensureEntityCacheAllocatorCreator());
+			}
+			return this.entityCacheAllocatorCreator;
+		}
+
+		@Override
+		public StorageLoadingSetup getLoadingSetup()
+		{
+			if(this.loadingSetup == null)
+			{
+				this.loadingSetup = this.dispatch(this.ensureLoadingSetup());
+			}
+			return this.loadingSetup;
+		}
+
+		@Override
+		public StorageCheckpointSetup getCheckpointSetup()
+		{
+			if(this.checkpointSetup == null)
+			{
+				this.checkpointSetup = this.dispatch(this.ensureCheckpointSetup());
+			}
+			return this.checkpointSetup;
+		}
+		
+		@Override
+		public StorageGroupCommitSetup getGroupCommitSetup()
+		{
+			// intentionally no ensuring since group commit is off by default
+			return this.groupCommitSetup;
+		}
 		
 		@Override
 		public StorageDataFileValidator.Creator getDataFileValidatorCreator()
@@ -1703,6 +1853,42 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			this.entityMarkMonitorCreator = entityMarkMonitorCreator;
 			return this.$();
 		}
+
+		@Override
+		public F setEntityCacheAllocatorCreator(
+			final StorageEntityCacheAllocator.Creator entityCacheAllocatorCreator
+		)
+		{
+			this.entityCacheAllocatorCreator = entityCacheAllocatorCreator;
+			return this.$();
+		}
+
+		@Override
+		public F setLoadingSetup(
+			final StorageLoadingSetup loadingSetup
+		)
+		{
+			this.loadingSetup = loadingSetup;
+			return this.$();
+		}
+
+		@Override
+		public F setCheckpointSetup(
+			final StorageCheckpointSetup checkpointSetup
+		)
+		{
+			this.checkpointSetup = checkpointSetup;
+			return this.$();
+		}
+		
+		@Override
+		public F setGroupCommitSetup(
+			final StorageGroupCommitSetup groupCommitSetup
+		)
+		{
+			this.groupCommitSetup = groupCommitSetup;
+			return this.$();
+		}
 		
 		@Override
 		public F setDataFileValidatorCreator(
@@ -1862,6 +2048,9 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 				this.getRootOidSelectorProvider()      ,
 				this.getOidMarkQueueCreator()          ,
 				this.getEntityMarkMonitorCreator()     ,
+				this.getEntityCacheAllocatorCreator()  ,
+				this.getLoadingSetup()                 ,
+				this.getCheckpointSetup()              ,
 				this.isByteOrderMismatch()             ,
 				this.getLockFileSetup()                ,
 				this.getLockFileManagerCreator()       ,
@@ -0,0 +1,163 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Setup values that control the group commit of store requests.
+ * <p>
+ * With group commit, a store request that arrives while the previous store task has not been picked up
+ * by the channels yet is merged into that task instead of being enqueued as a separate one. All stores of
+ * such a group are written with a single write and a single transactions entry per channel and all
+ * waiting callers are released together when the group has been committed.<br>
+ * Note that the stores of a group succeed or fail together.
+ *
+ * @see StorageTaskBroker.Creator#Default(StorageGroupCommitSetup)
+ * @see StorageFoundation#setGroupCommitSetup(StorageGroupCommitSetup)
+ */
+public interface StorageGroupCommitSetup
+{
+	/**
+	 * The maximum number of store requests that are merged into one group.
+	 *
+	 * @return the maximum number of stores per group.
+	 */
+	public int maximumStoreCount();
+
+	/**
+	 * The maximum total length in bytes of all stores of a group. A single store exceeding this value
+	 * still forms a group on its own.
+	 *
+	 * @return the maximum length of a group in bytes.
+	 */
+	public long maximumLength();
+
+	/**
+	 * The time in nanoseconds a group is kept open for further stores after it has been created, even if
+	 * the channels could already process it. The group is held back by the task broker, so the channels keep on
+	 * doing their housekeeping in the meantime. A full group is released early. A value of 0 means that only
+	 * stores arriving while the channels are busy anyway are grouped, which adds no latency at all.
+	 *
+	 * @return the collecting window in nanoseconds.
+	 */
+	public long collectingWindowNs();
+
+
+
+	public interface Defaults
+	{
+		public static int defaultMaximumStoreCount()
+		{
+			return 256;
+		}
+
+		public static long defaultMaximumLength()
+		{
+			return 16 * 1024 * 1024; // bytes
+		}
+
+		public static long defaultCollectingWindowNs()
+		{
+			return 0;
+		}
+	}
+
+
+
+	public static StorageGroupCommitSetup New()
+	{
+		return New(
+			Defaults.defaultMaximumStoreCount() ,
+			Defaults.defaultMaximumLength()     ,
+			Defaults.defaultCollectingWindowNs()
+		);
+	}
+
+	public static StorageGroupCommitSetup New(
+		final int  maximumStoreCount ,
+		final long maximumLength     ,
+		final long collectingWindowNs
+	)
+	{
+		return new StorageGroupCommitSetup.Default(
+			positive(maximumStoreCount)    ,
+			positive(maximumLength)        ,
+			notNegative(collectingWindowNs)
+		);
+	}
+
+	public final class Default implements StorageGroupCommitSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int  maximumStoreCount ;
+		private final long maximumLength     ;
+		private final long collectingWindowNs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final int  maximumStoreCount ,
+			final long maximumLength     ,
+			final long collectingWindowNs
+		)
+		{
+			super();
+			this.maximumStoreCount  = maximumStoreCount ;
+			this.maximumLength      = maximumLength     ;
+			this.collectingWindowNs = collectingWindowNs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int maximumStoreCount()
+		{
+			return this.maximumStoreCount;
+		}
+
+		@Override
+		public final long maximumLength()
+		{
+			return this.maximumLength;
+		}
+
+		@Override
+		public final long collectingWindowNs()
+		{
+			return this.collectingWindowNs;
+		}
+
+	}
+
+}
@@ -49,6 +49,47 @@ public interface StorageHousekeepingController
 	 */
 	public long fileCheckTimeBudgetNs();
 
+	/**
+	 * Defines whether the storage channels shall report their load and housekeeping state via
+	 * {@link #observe(int, double, int, double, double, boolean, boolean, boolean)}.
+	 * 
+	 * @return whether this controller adapts its time budgets to observations of the channels.
+	 * 
+	 * @see StorageHousekeepingControllerAdaptive
+	 */
+	public default boolean isAdaptive()
+	{
+		return false;
+	}
+
+	/**
+	 * Registers the load and housekeeping state of a channel for the passed housekeeping interval.
+	 * Only called once per housekeeping interval by every channel if {@link #isAdaptive()} returns {@code true},
+	 * does nothing by default.
+	 *
+	 * @param channelIndex        the index of the observed channel.
+	 * @param busyRatio           the ratio of the time spent processing tasks in [0.0; 1.0].
+	 * @param pendingTaskCount    the number of tasks waiting to be processed by the channel.
+	 * @param garbageRatio        the ratio of entities deleted by the channel's last garbage sweep.
+	 * @param fileFragmentation   the ratio of gap bytes in the channel's data files.
+	 * @param gcComplete          whether the last garbage collection run completed its work.
+	 * @param fileCleanupComplete whether the last file cleanup run completed its work.
+	 * @param liveCheckComplete   whether the last entity cache check completed its work.
+	 */
+	public default void observe(
+		final int     channelIndex       ,
+		final double  busyRatio          ,
+		final int     pendingTaskCount   ,
+		final double  garbageRatio       ,
+		final double  fileFragmentation  ,
+		final boolean gcComplete         ,
+		final boolean fileCleanupComplete,
+		final boolean liveCheckComplete
+	)
+	{
+		// no-op by default
+	}
+
 	
 	
 	public interface Validation
@@ -0,0 +1,489 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.chars.VarString;
+
+/**
+ * A {@link StorageHousekeepingController} that sizes the housekeeping time budgets according to the observed
+ * load of the storage channels and the observed amount of pending housekeeping work.
+ * <p>
+ * Every channel reports an observation once per housekeeping interval via
+ * {@link #observe(int, double, int, double, double, boolean, boolean, boolean)}.
+ * The load is the maximum over all channels of the ratio of time spent processing tasks and of the pending
+ * task queue depth relative to {@link #pendingTaskThreshold()}. The pending work is derived from the garbage
+ * ratio of the last sweep, the fragmentation of the data files and whether the last housekeeping runs could
+ * complete their work in time.<br>
+ * Each budget is then interpolated between {@link #minimumTimeBudgetNs()} and {@link #maximumTimeBudgetNs()}:
+ * a busy storage gets the minimum budget, an idle storage with a lot of pending work gets the maximum budget.
+ * <p>
+ * The current decisions and their inputs are exposed via the {@code observed~} methods and the budget methods
+ * of {@link StorageHousekeepingController}. The budgets and the observations of every channel are also published
+ * by the storage's {@link StorageMetrics} and its {@link StorageMetricsMXBean}.
+ */
+public interface StorageHousekeepingControllerAdaptive extends StorageHousekeepingController
+{
+	/**
+	 * @return The lower bound of every housekeeping time budget in nanoseconds.
+	 */
+	public long minimumTimeBudgetNs();
+
+	/**
+	 * @return The upper bound of every housekeeping time budget in nanoseconds.
+	 */
+	public long maximumTimeBudgetNs();
+
+	/**
+	 * @return The pending task count at which a channel is considered to be fully loaded.
+	 */
+	public int pendingTaskThreshold();
+
+	/**
+	 * @return The currently observed load in [0.0; 1.0] that the budgets are based on.
+	 */
+	public double observedLoad();
+
+	/**
+	 * @return The highest pending task count of all channels in the last observations.
+	 */
+	public int observedPendingTaskCount();
+
+	/**
+	 * @return The highest garbage ratio of all channels' last garbage sweeps.
+	 */
+	public double observedGarbageRatio();
+
+	/**
+	 * @return The highest data file fragmentation of all channels in the last observations.
+	 */
+	public double observedFileFragmentation();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultMaximumTimeBudgetNs()
+		{
+			return 500_000_000; // ns, half of the default interval.
+		}
+
+		public static int defaultPendingTaskThreshold()
+		{
+			return 8;
+		}
+
+		public static double defaultGarbageRatioThreshold()
+		{
+			return 0.1;
+		}
+
+		public static double defaultFragmentationThreshold()
+		{
+			// complement of the default minimum use ratio of data files
+			return 1.0 - StorageDataFileEvaluator.Defaults.defaultMinimumUseRatio();
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingControllerAdaptive} instance
+	 * using default values defined by {@link StorageHousekeepingController.Defaults} and
+	 * {@link StorageHousekeepingControllerAdaptive.Defaults}.
+	 *
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 *
+	 * @see StorageHousekeepingControllerAdaptive#New(long, long, long)
+	 * @see Storage#HousekeepingControllerAdaptive()
+	 */
+	public static StorageHousekeepingControllerAdaptive New()
+	{
+		return New(
+			StorageHousekeepingController.Defaults.defaultHousekeepingIntervalMs()  ,
+			StorageHousekeepingController.Defaults.defaultHousekeepingTimeBudgetNs(),
+			Defaults.defaultMaximumTimeBudgetNs()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingControllerAdaptive} instance
+	 * using the passed values and default values defined by {@link StorageHousekeepingControllerAdaptive.Defaults}
+	 * for everything else.
+	 *
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 *
+	 * @param minimumTimeBudgetNs the time budget in nanoseconds that is granted under full load.
+	 *
+	 * @param maximumTimeBudgetNs the time budget in nanoseconds that is granted to an idle storage with
+	 *        a lot of pending housekeeping work. Must not be lower than {@code minimumTimeBudgetNs}.
+	 *
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 *
+	 * @see StorageHousekeepingControllerAdaptive#New()
+	 * @see Storage#HousekeepingControllerAdaptive(long, long, long)
+	 */
+	public static StorageHousekeepingControllerAdaptive New(
+		final long housekeepingIntervalMs,
+		final long minimumTimeBudgetNs   ,
+		final long maximumTimeBudgetNs
+	)
+	{
+		return New(
+			housekeepingIntervalMs                  ,
+			minimumTimeBudgetNs                     ,
+			maximumTimeBudgetNs                     ,
+			Defaults.defaultPendingTaskThreshold()  ,
+			Defaults.defaultGarbageRatioThreshold() ,
+			Defaults.defaultFragmentationThreshold()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingControllerAdaptive} instance
+	 * using the passed values.
+	 *
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 *
+	 * @param minimumTimeBudgetNs the time budget in nanoseconds that is granted under full load.
+	 *
+	 * @param maximumTimeBudgetNs the time budget in nanoseconds that is granted to an idle storage with
+	 *        a lot of pending housekeeping work. Must not be lower than {@code minimumTimeBudgetNs}.
+	 *
+	 * @param pendingTaskThreshold the pending task count at which a channel is considered to be fully loaded.
+	 *
+	 * @param garbageRatioThreshold the garbage ratio of a sweep at which garbage collection gets the full
+	 *        available budget.
+	 *
+	 * @param fragmentationThreshold the data file fragmentation at which the file cleanup gets the full
+	 *        available budget.
+	 *
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 */
+	public static StorageHousekeepingControllerAdaptive New(
+		final long   housekeepingIntervalMs,
+		final long   minimumTimeBudgetNs   ,
+		final long   maximumTimeBudgetNs   ,
+		final int    pendingTaskThreshold  ,
+		final double garbageRatioThreshold ,
+		final double fragmentationThreshold
+	)
+	{
+		Validation.validateParameters(housekeepingIntervalMs, minimumTimeBudgetNs);
+		if(maximumTimeBudgetNs < minimumTimeBudgetNs)
+		{
+			throw new IllegalArgumentException(
+				"Specified maximum housekeeping nanosecond time budget of "
+				+ maximumTimeBudgetNs
+				+ " is lower than the minimum time budget "
+				+ minimumTimeBudgetNs + "."
+			);
+		}
+		if(pendingTaskThreshold <= 0)
+		{
+			throw new IllegalArgumentException("Pending task threshold must be greater than zero: " + pendingTaskThreshold);
+		}
+		if(!(garbageRatioThreshold > 0.0 && garbageRatioThreshold <= 1.0))
+		{
+			throw new IllegalArgumentException("Garbage ratio threshold must be in ]0.0;1.0]: " + garbageRatioThreshold);
+		}
+		if(!(fragmentationThreshold > 0.0 && fragmentationThreshold <= 1.0))
+		{
+			throw new IllegalArgumentException("Fragmentation threshold must be in ]0.0;1.0]: " + fragmentationThreshold);
+		}
+
+		return new StorageHousekeepingControllerAdaptive.Default(
+			housekeepingIntervalMs,
+			minimumTimeBudgetNs   ,
+			maximumTimeBudgetNs   ,
+			pendingTaskThreshold  ,
+			garbageRatioThreshold ,
+			fragmentationThreshold
+		);
+	}
+
+
+	public final class Default implements StorageHousekeepingControllerAdaptive
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// weight of a new busy ratio observation to smoothen out short load peaks and gaps.
+		private static final double BUSY_RATIO_SMOOTHING = 0.5;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long   intervalMs            ;
+		private final long   minimumTimeBudgetNs   ;
+		private final long   maximumTimeBudgetNs   ;
+		private final int    pendingTaskThreshold  ;
+		private final double garbageRatioThreshold ;
+		private final double fragmentationThreshold;
+
+		// per channel observations, indexed by channel index. Guarded by this instance's monitor.
+		private ChannelObservation[] observations = new ChannelObservation[0];
+
+		// decisions and their inputs, written under lock, read lock-free by the channel threads.
+		private volatile long
+			housekeepingTimeBudgetNs     ,
+			garbageCollectionTimeBudgetNs,
+			liveCheckTimeBudgetNs        ,
+			fileCheckTimeBudgetNs
+		;
+		private volatile double load, garbageRatio, fileFragmentation;
+		private volatile int    pendingTaskCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long   intervalMs            ,
+			final long   minimumTimeBudgetNs   ,
+			final long   maximumTimeBudgetNs   ,
+			final int    pendingTaskThreshold  ,
+			final double garbageRatioThreshold ,
+			final double fragmentationThreshold
+		)
+		{
+			super();
+			this.intervalMs             = intervalMs            ;
+			this.minimumTimeBudgetNs    = minimumTimeBudgetNs   ;
+			this.maximumTimeBudgetNs    = maximumTimeBudgetNs   ;
+			this.pendingTaskThreshold   = pendingTaskThreshold  ;
+			this.garbageRatioThreshold  = garbageRatioThreshold ;
+			this.fragmentationThreshold = fragmentationThreshold;
+
+			// until the first observations, behave like a non-adaptive controller with the minimum budget.
+			this.housekeepingTimeBudgetNs      = minimumTimeBudgetNs;
+			this.garbageCollectionTimeBudgetNs = minimumTimeBudgetNs;
+			this.liveCheckTimeBudgetNs         = minimumTimeBudgetNs;
+			this.fileCheckTimeBudgetNs         = minimumTimeBudgetNs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long housekeepingIntervalMs()
+		{
+			return this.intervalMs;
+		}
+
+		@Override
+		public final long housekeepingTimeBudgetNs()
+		{
+			return this.housekeepingTimeBudgetNs;
+		}
+
+		@Override
+		public final long garbageCollectionTimeBudgetNs()
+		{
+			return this.garbageCollectionTimeBudgetNs;
+		}
+
+		@Override
+		public final long liveCheckTimeBudgetNs()
+		{
+			return this.liveCheckTimeBudgetNs;
+		}
+
+		@Override
+		public final long fileCheckTimeBudgetNs()
+		{
+			return this.fileCheckTimeBudgetNs;
+		}
+
+		@Override
+		public final boolean isAdaptive()
+		{
+			return true;
+		}
+
+		@Override
+		public final long minimumTimeBudgetNs()
+		{
+			return this.minimumTimeBudgetNs;
+		}
+
+		@Override
+		public final long maximumTimeBudgetNs()
+		{
+			return this.maximumTimeBudgetNs;
+		}
+
+		@Override
+		public final int pendingTaskThreshold()
+		{
+			return this.pendingTaskThreshold;
+		}
+
+		@Override
+		public final double observedLoad()
+		{
+			return this.load;
+		}
+
+		@Override
+		public final int observedPendingTaskCount()
+		{
+			return this.pendingTaskCount;
+		}
+
+		@Override
+		public final double observedGarbageRatio()
+		{
+			return this.garbageRatio;
+		}
+
+		@Override
+		public final double observedFileFragmentation()
+		{
+			return this.fileFragmentation;
+		}
+
+		private ChannelObservation ensureObservation(final int channelIndex)
+		{
+			if(channelIndex >= this.observations.length)
+			{
+				final ChannelObservation[] observations = new ChannelObservation[channelIndex + 1];
+				System.arraycopy(this.observations, 0, observations, 0, this.observations.length);
+				this.observations = observations;
+			}
+			if(this.observations[channelIndex] == null)
+			{
+				this.observations[channelIndex] = new ChannelObservation();
+			}
+
+			return this.observations[channelIndex];
+		}
+
+		@Override
+		public final synchronized void observe(
+			final int     channelIndex       ,
+			final double  busyRatio          ,
+			final int     pendingTaskCount   ,
+			final double  garbageRatio       ,
+			final double  fileFragmentation  ,
+			final boolean gcComplete         ,
+			final boolean fileCleanupComplete,
+			final boolean liveCheckComplete
+		)
+		{
+			final ChannelObservation observation = this.ensureObservation(channelIndex);
+			observation.busyRatio = observation.busyRatio * (1.0 - BUSY_RATIO_SMOOTHING)
+				+ clamp(busyRatio) * BUSY_RATIO_SMOOTHING
+			;
+			observation.pendingTaskCount    = pendingTaskCount   ;
+			observation.garbageRatio        = garbageRatio       ;
+			observation.fileFragmentation   = fileFragmentation  ;
+			observation.gcComplete          = gcComplete         ;
+			observation.fileCleanupComplete = fileCleanupComplete;
+			observation.liveCheckComplete   = liveCheckComplete  ;
+
+			this.recalculateBudgets();
+		}
+
+		private void recalculateBudgets()
+		{
+			double load = 0.0, gcNeed = 0.0, fileNeed = 0.0, liveCheckNeed = 0.0;
+			double garbageRatio = 0.0, fileFragmentation = 0.0;
+			int    pendingTaskCount = 0;
+
+			for(final ChannelObservation o : this.observations)
+			{
+				if(o == null)
+				{
+					continue;
+				}
+
+				// the busiest channel defines the load, as housekeeping budgets apply to all channels alike.
+				load = Math.max(load, Math.max(o.busyRatio, clamp((double)o.pendingTaskCount / this.pendingTaskThreshold)));
+
+				// unfinished work means full need, otherwise the need is relative to the configured thresholds.
+				gcNeed        = Math.max(gcNeed  , o.gcComplete          ? clamp(o.garbageRatio      / this.garbageRatioThreshold ) : 1.0);
+				fileNeed      = Math.max(fileNeed, o.fileCleanupComplete ? clamp(o.fileFragmentation / this.fragmentationThreshold) : 1.0);
+				liveCheckNeed = Math.max(liveCheckNeed, o.liveCheckComplete ? 0.0 : 1.0);
+
+				pendingTaskCount  = Math.max(pendingTaskCount , o.pendingTaskCount );
+				garbageRatio      = Math.max(garbageRatio     , o.garbageRatio     );
+				fileFragmentation = Math.max(fileFragmentation, o.fileFragmentation);
+			}
+
+			final double idle = 1.0 - load;
+			this.garbageCollectionTimeBudgetNs = this.budget(idle * gcNeed       );
+			this.fileCheckTimeBudgetNs         = this.budget(idle * fileNeed     );
+			this.liveCheckTimeBudgetNs         = this.budget(idle * liveCheckNeed);
+			this.housekeepingTimeBudgetNs      = this.budget(idle * Math.max(gcNeed, Math.max(fileNeed, liveCheckNeed)));
+
+			this.load              = load             ;
+			this.pendingTaskCount  = pendingTaskCount ;
+			this.garbageRatio      = garbageRatio     ;
+			this.fileFragmentation = fileFragmentation;
+		}
+
+		private long budget(final double factor)
+		{
+			return this.minimumTimeBudgetNs + (long)((this.maximumTimeBudgetNs - this.minimumTimeBudgetNs) * factor);
+		}
+
+		private static double clamp(final double value)
+		{
+			return value <= 0.0 ? 0.0 : value >= 1.0 ? 1.0 : value;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("house keeping interval"                ).tab().add('=').blank().add(this.intervalMs         ).lf()
+				.blank().add("house keeping minimum nano time budget").tab().add('=').blank().add(this.minimumTimeBudgetNs).lf()
+				.blank().add("house keeping maximum nano time budget").tab().add('=').blank().add(this.maximumTimeBudgetNs)
+				.toString()
+			;
+		}
+
+
+
+		static final class ChannelObservation
+		{
+			double  busyRatio          ;
+			int     pendingTaskCount   ;
+			double  garbageRatio       ;
+			double  fileFragmentation  ;
+			boolean gcComplete         ;
+			boolean fileCleanupComplete;
+			boolean liveCheckComplete  ;
+		}
+
+	}
+
+}
@@ -0,0 +1,592 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.mayNull;
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.afs.types.ADirectory;
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.internal.PersistenceTypeDictionaryFileHandler;
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceTypeDictionary;
+import one.microstream.persistence.types.PersistenceTypeDictionaryExporter;
+import one.microstream.storage.exceptions.StorageExceptionBackup;
+import one.microstream.storage.exceptions.StorageExceptionBackupInconsistentChecksum;
+import one.microstream.util.logging.Logging;
+
+/**
+ * A single incremental backup into a new snapshot directory, see
+ * {@link StorageConnection#issueIncrementalBackup(ADirectory, ADirectory)}.
+ * <p>
+ * Data files are never changed once they are written except for being appended to. So every data file that is
+ * already contained in the previous snapshot with the same length is hard-linked into the new snapshot (or copied
+ * from the previous snapshot if the file system does not support hard links), a data file that has grown since
+ * the previous snapshot gets its old part copied from the previous snapshot and only the appended part from the
+ * live storage. Only new data files and the transactions files are copied completely from the live storage.
+ * <p>
+ * Before a previous snapshot's file is reused, its last bytes (see {@link Defaults#defaultComparisonLength()})
+ * are compared to the same range of the live file. This detects a live file that has been replaced since the
+ * previous snapshot, e.g. by restoring or resetting the storage, without reading the whole file. Corruption
+ * inside a snapshot's files is detected by {@link #verify(ADirectory)}.
+ * <p>
+ * The files are copied by a pool of copier threads, the channels are blocked until all of their files have been
+ * backed up. The copier threads acquire the bytes actually read and copied from the {@link StorageIoThrottle} chunk
+ * by chunk, like exports, so a backup is slowed down to the throttle's limits instead of exceeding them. The checksum
+ * of a copied file is calculated while copying it, so it is not read again. The {@link StorageBackupManifest} is written
+ * last, so only a snapshot containing a manifest is complete and can serve as the previous snapshot of the
+ * next incremental backup.
+ * <p>
+ * Since hard-linked files are shared by several snapshots, the files of a snapshot must never be modified.
+ * To start a storage from a snapshot, the snapshot has to be copied first.
+ */
+public interface StorageIncrementalBackup
+{
+	public ADirectory targetDirectory();
+
+	/**
+	 * @return the root directory of the previous snapshot or {@code null} for a first, complete snapshot.
+	 */
+	public ADirectory previousDirectory();
+
+	public int copierThreadCount();
+
+	/**
+	 * Backs up the passed files of one channel. Called by the channel's thread while it is blocked for the backup,
+	 * returns once all files of the channel have been backed up.
+	 * 
+	 * @param channelIndex the index of the channel.
+	 * @param transactionsFile the channel's transactions file.
+	 * @param dataFiles the channel's data files.
+	 * @param ioThrottle the throttle the copied bytes are accounted to without waiting.
+	 */
+	public void backupChannel(
+		int                                             channelIndex    ,
+		StorageFile                                     transactionsFile,
+		XGettingSequence<? extends StorageLiveDataFile> dataFiles       ,
+		StorageIoThrottle                               ioThrottle
+	);
+
+	/**
+	 * Exports the passed type dictionary into the snapshot and writes the snapshot's manifest.
+	 * 
+	 * @param typeDictionary the storage's type dictionary.
+	 * 
+	 * @return the manifest of the completed snapshot.
+	 */
+	public StorageBackupManifest complete(PersistenceTypeDictionary typeDictionary);
+
+	/**
+	 * Terminates the copier threads.
+	 */
+	public void dispose();
+
+
+
+	public interface Defaults
+	{
+		public static int defaultCopierThreadCount()
+		{
+			return Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+		}
+
+		/**
+		 * @return the number of trailing bytes of a previous snapshot's file compared to the live file.
+		 */
+		public static int defaultComparisonLength()
+		{
+			return 64 * 1024; // 64 KB
+		}
+	}
+
+
+
+	/**
+	 * Verifies the snapshot in the passed directory against its {@link StorageBackupManifest}.
+	 * 
+	 * @param snapshotDirectory the root directory of the snapshot.
+	 * 
+	 * @return the verified manifest.
+	 * 
+	 * @throws StorageExceptionBackupInconsistentChecksum if a file does not match its manifest entry.
+	 */
+	public static StorageBackupManifest verify(final ADirectory snapshotDirectory)
+	{
+		final StorageBackupManifest manifest = StorageBackupManifest.read(snapshotDirectory);
+		if(manifest == null)
+		{
+			throw new StorageExceptionBackup("No backup manifest in " + snapshotDirectory.toPathString());
+		}
+		manifest.verify(snapshotDirectory);
+
+		return manifest;
+	}
+
+	public static StorageIncrementalBackup New(
+		final ADirectory targetDirectory  ,
+		final ADirectory previousDirectory
+	)
+	{
+		return New(targetDirectory, previousDirectory, Defaults.defaultCopierThreadCount());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIncrementalBackup} instance.
+	 * 
+	 * @param targetDirectory the non-existing or empty root directory of the new snapshot.
+	 * @param previousDirectory the root directory of the previous snapshot or {@code null}.
+	 * @param copierThreadCount the number of threads copying files in parallel.
+	 * 
+	 * @return a new {@link StorageIncrementalBackup} instance.
+	 */
+	public static StorageIncrementalBackup New(
+		final ADirectory targetDirectory  ,
+		final ADirectory previousDirectory,
+		final int        copierThreadCount
+	)
+	{
+		if(targetDirectory.exists() && !targetDirectory.isEmpty())
+		{
+			throw new StorageExceptionBackup(
+				"Incremental backup target " + targetDirectory.toPathString() + " not empty! Backup aborted!"
+			);
+		}
+
+		final StorageBackupManifest previousManifest = previousDirectory == null
+			? null
+			: StorageBackupManifest.read(previousDirectory)
+		;
+		if(previousDirectory != null && previousManifest == null)
+		{
+			throw new StorageExceptionBackup(
+				"No backup manifest in previous snapshot " + previousDirectory.toPathString()
+			);
+		}
+
+		return new StorageIncrementalBackup.Default(
+			notNull(targetDirectory)                    ,
+			mayNull(previousDirectory)                  ,
+			previousManifest                            ,
+			StorageLiveFileProvider.New(targetDirectory),
+			positive(copierThreadCount)
+		);
+	}
+
+	public final class Default implements StorageIncrementalBackup
+	{
+		private final static Logger logger = Logging.getLogger(Default.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final ADirectory              targetDirectory   ;
+		private final ADirectory              previousDirectory ;
+		private final StorageBackupManifest   previousManifest  ;
+		private final StorageLiveFileProvider targetFileProvider;
+		private final int                     copierThreadCount ;
+		private final StorageBackupManifest   manifest          ;
+
+		private ExecutorService executor;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final ADirectory              targetDirectory   ,
+			final ADirectory              previousDirectory ,
+			final StorageBackupManifest   previousManifest  ,
+			final StorageLiveFileProvider targetFileProvider,
+			final int                     copierThreadCount
+		)
+		{
+			super();
+			this.targetDirectory    = targetDirectory          ;
+			this.previousDirectory  = previousDirectory        ;
+			this.previousManifest   = previousManifest         ;
+			this.targetFileProvider = targetFileProvider       ;
+			this.copierThreadCount  = copierThreadCount        ;
+			this.manifest           = StorageBackupManifest.New();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final ADirectory targetDirectory()
+		{
+			return this.targetDirectory;
+		}
+
+		@Override
+		public final ADirectory previousDirectory()
+		{
+			return this.previousDirectory;
+		}
+
+		@Override
+		public final int copierThreadCount()
+		{
+			return this.copierThreadCount;
+		}
+
+		private synchronized ExecutorService executor()
+		{
+			if(this.executor == null)
+			{
+				final AtomicInteger threadNumber = new AtomicInteger();
+				this.executor = Executors.newFixedThreadPool(this.copierThreadCount, runnable ->
+				{
+					final Thread thread = new Thread(
+						runnable,
+						"MicroStream-" + StorageIncrementalBackup.class.getSimpleName() + "-" + threadNumber.incrementAndGet()
+					);
+					thread.setDaemon(true);
+
+					return thread;
+				});
+			}
+
+			return this.executor;
+		}
+
+		@Override
+		public final void backupChannel(
+			final int                                             channelIndex    ,
+			final StorageFile                                     transactionsFile,
+			final XGettingSequence<? extends StorageLiveDataFile> dataFiles       ,
+			final StorageIoThrottle                               ioThrottle
+		)
+		{
+			final ExecutorService     executor = this.executor();
+			final BulkList<Future<?>> jobs     = BulkList.New();
+
+			// lengths are determined by the channel's thread, the files do not change until the channel continues.
+			final AFile transactionsTarget = this.ensureTargetFile(
+				this.targetFileProvider.provideTransactionsFile(channelIndex)
+			);
+			final long transactionsLength = transactionsFile.size();
+
+			// transactions files roll into new segments, so they are never appended to a previous snapshot's copy.
+			jobs.add(executor.submit(() ->
+				this.backupFile(transactionsFile, transactionsLength, transactionsTarget, false, ioThrottle)
+			));
+
+			for(final StorageLiveDataFile dataFile : dataFiles)
+			{
+				final AFile dataTarget = this.ensureTargetFile(
+					this.targetFileProvider.provideDataFile(channelIndex, dataFile.number())
+				);
+				final long dataLength = dataFile.totalLength();
+				jobs.add(executor.submit(() ->
+					this.backupFile(dataFile, dataLength, dataTarget, true, ioThrottle)
+				));
+			}
+
+			waitOnJobs(channelIndex, jobs);
+		}
+
+		private AFile ensureTargetFile(final AFile targetFile)
+		{
+			// hard links require the directory to exist already.
+			targetFile.parent().ensureExists();
+
+			return targetFile;
+		}
+
+		private static void waitOnJobs(final int channelIndex, final BulkList<Future<?>> jobs)
+		{
+			try
+			{
+				for(final Future<?> job : jobs)
+				{
+					job.get();
+				}
+			}
+			catch(final ExecutionException e)
+			{
+				jobs.iterate(job -> job.cancel(false));
+				throw new StorageExceptionBackup("Incremental backup of channel " + channelIndex + " failed.", e.getCause());
+			}
+			catch(final InterruptedException e)
+			{
+				jobs.iterate(job -> job.cancel(false));
+				Thread.currentThread().interrupt();
+				throw new StorageExceptionBackup("Incremental backup of channel " + channelIndex + " interrupted.", e);
+			}
+		}
+
+		private void backupFile(
+			final StorageFile       source    ,
+			final long              length    ,
+			final AFile             target    ,
+			final boolean           appendOnly,
+			final StorageIoThrottle ioThrottle
+		)
+		{
+			final String                      path     = StorageBackupManifest.relativePath(this.targetDirectory, target);
+			final StorageBackupManifest.Entry previous = appendOnly && this.previousManifest != null
+				? this.previousManifest.lookup(path)
+				: null
+			;
+
+			final AFile previousFile = previous == null
+				? null
+				: StorageBackupManifest.resolve(this.previousDirectory, path)
+			;
+
+			// a data file of a previous snapshot can only have grown, anything else is copied completely.
+			final boolean isReused = previousFile != null
+				&& previous.length() <= length
+				&& this.isUnchanged(source, previousFile, previous.length(), ioThrottle)
+			;
+
+			if(isReused && previous.length() == length)
+			{
+				// unchanged immutable file: neither copied from the live storage nor checksummed again.
+				this.linkOrCopy(previousFile, target, ioThrottle);
+				this.manifest.add(previous);
+				return;
+			}
+
+			final long copyStart = isReused
+				? previous.length()
+				: 0
+			;
+
+			logger.debug("Copying {} from {}, length {}", path, copyStart, length - copyStart);
+
+			// the checksum is calculated while copying, so the copied file does not have to be read again.
+			final long checksum = AFS.applyWriting(target, wf ->
+			{
+				wf.ensureExists();
+				final CRC32C     crc    = new CRC32C();
+				final ByteBuffer buffer = XMemory.allocateDirectNative(StorageIoThrottle.Defaults.defaultChunkSize());
+				try
+				{
+					if(copyStart > 0)
+					{
+						AFS.execute(previousFile, rf ->
+							copy(rf::readBytes, wf, 0, copyStart, crc, buffer, ioThrottle)
+						);
+					}
+					copy(source::readBytes, wf, copyStart, length - copyStart, crc, buffer, ioThrottle);
+				}
+				finally
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+				}
+
+				return crc.getValue();
+			});
+
+			this.manifest.add(StorageBackupManifest.Entry.New(path, length, checksum));
+		}
+
+		@FunctionalInterface
+		interface ChunkReader
+		{
+			public long read(ByteBuffer targetBuffer, long position, long length);
+		}
+
+		/**
+		 * Copies the passed range chunk by chunk, updates the passed checksum and acquires every chunk from the
+		 * passed throttle before it is copied.
+		 */
+		private static void copy(
+			final ChunkReader       source    ,
+			final AWritableFile     target    ,
+			final long              position  ,
+			final long              length    ,
+			final CRC32C            crc       ,
+			final ByteBuffer        buffer    ,
+			final StorageIoThrottle ioThrottle
+		)
+		{
+			final long bound = position + length;
+			for(long p = position; p < bound;)
+			{
+				buffer.clear().limit((int)Math.min(buffer.capacity(), bound - p));
+				ioThrottle.acquire(buffer.limit());
+				final long count = source.read(buffer, p, buffer.limit());
+				if(count <= 0)
+				{
+					throw new StorageExceptionBackup(
+						"Unexpected end of the source of " + target.toPathString() + " at position " + p
+					);
+				}
+				buffer.flip();
+				crc.update(buffer);
+				buffer.rewind();
+				target.writeBytes(buffer);
+				p += count;
+			}
+		}
+
+		/**
+		 * Compares the last bytes of the passed previous snapshot's file with the same range of the live file.
+		 */
+		private boolean isUnchanged(
+			final StorageFile       source        ,
+			final AFile             previousFile  ,
+			final long              previousLength,
+			final StorageIoThrottle ioThrottle
+		)
+		{
+			if(!previousFile.exists() || previousFile.size() != previousLength)
+			{
+				return false;
+			}
+
+			final long       position = Math.max(0, previousLength - Defaults.defaultComparisonLength());
+			final int        length   = (int)(previousLength - position);
+			final ByteBuffer live     = XMemory.allocateDirectNative(length);
+			final ByteBuffer snapshot = XMemory.allocateDirectNative(length);
+			try
+			{
+				ioThrottle.acquire(length);
+				source.readBytes(live, position, length);
+				ioThrottle.acquire(length);
+				AFS.execute(previousFile, rf ->
+					rf.readBytes(snapshot, position, length)
+				);
+				live.flip();
+				snapshot.flip();
+
+				if(live.equals(snapshot))
+				{
+					return true;
+				}
+				logger.warn("{} differs from the live file, copying it completely", previousFile.toPathString());
+
+				return false;
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(live);
+				XMemory.deallocateDirectByteBuffer(snapshot);
+			}
+		}
+
+		private void linkOrCopy(
+			final AFile             source    ,
+			final AFile             target    ,
+			final StorageIoThrottle ioThrottle
+		)
+		{
+			if(link(source, target))
+			{
+				return;
+			}
+
+			final long copyLength = AFS.applyWriting(target, wf ->
+				AFS.apply(source, rf ->
+					rf.copyTo(wf)
+				)
+			);
+			ioThrottle.consume(copyLength);
+		}
+
+		private static boolean link(final AFile source, final AFile target)
+		{
+			// hard links are only available for files of the local file system.
+			if(!(source.fileSystem() instanceof NioFileSystem) || !(target.fileSystem() instanceof NioFileSystem))
+			{
+				return false;
+			}
+
+			final Path sourcePath = ((NioFileSystem)source.fileSystem()).ioHandler().toPath(source);
+			final Path targetPath = ((NioFileSystem)target.fileSystem()).ioHandler().toPath(target);
+			try
+			{
+				Files.createLink(targetPath, sourcePath);
+				return true;
+			}
+			catch(final UnsupportedOperationException | IOException e)
+			{
+				// e.g. snapshots on different devices. The file is copied instead.
+				logger.debug("Hard link of {} failed, copying instead: {}", sourcePath, e.getMessage());
+				return false;
+			}
+		}
+
+		@Override
+		public final StorageBackupManifest complete(final PersistenceTypeDictionary typeDictionary)
+		{
+			final AFile typeDictionaryFile = this.targetDirectory.ensureFile(
+				Persistence.defaultFilenameTypeDictionary()
+			);
+			PersistenceTypeDictionaryExporter.New(
+				PersistenceTypeDictionaryFileHandler.New(typeDictionaryFile)
+			)
+			.exportTypeDictionary(typeDictionary);
+
+			this.manifest.add(StorageBackupManifest.Entry.New(
+				StorageBackupManifest.relativePath(this.targetDirectory, typeDictionaryFile),
+				typeDictionaryFile.size()                                                   ,
+				StorageBackupManifest.checksum(typeDictionaryFile)
+			));
+
+			// written last: only a snapshot with a manifest is complete.
+			this.manifest.write(this.targetDirectory);
+
+			return this.manifest;
+		}
+
+		@Override
+		public final synchronized void dispose()
+		{
+			if(this.executor != null)
+			{
+				this.executor.shutdownNow();
+				this.executor = null;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,339 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.math.XMath.notNegative;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket throttling the background I/O of a storage, i.e. the file cleanup during housekeeping,
+ * the backup and exports, to leave enough I/O capacity for storing and loading.
+ * <p>
+ * The throttle limits the number of bytes and the number of I/O operations per second, a limit of 0 means
+ * unlimited. Up to one second's worth of unused capacity is accumulated to absorb short bursts.
+ * A single operation may exceed the remaining capacity, the excess is paid off by subsequent operations.
+ * The excess is capped at one second's worth of capacity, so a single large operation accounted after the fact
+ * cannot stall the other background I/O for longer than that.
+ * <p>
+ * One instance is shared by all parts of a storage. The limits can be changed at runtime.
+ * Storage channels never wait for the throttle during housekeeping, they postpone their work instead.
+ * Exports and incremental backups acquire the capacity chunk by chunk while copying (see
+ * {@link Defaults#defaultChunkSize()}), so they are slowed down to the limits instead of exceeding them.
+ */
+public interface StorageIoThrottle
+{
+	/**
+	 * Checks if there is capacity left for another I/O operation.
+	 *
+	 * @return whether an I/O operation may be executed right away.
+	 */
+	public boolean isAvailable();
+
+	/**
+	 * Consumes the capacity for an executed I/O operation of the passed byte count without waiting.
+	 *
+	 * @param byteCount the number of bytes read or written by the operation.
+	 */
+	public void consume(long byteCount);
+
+	/**
+	 * Waits until there is capacity left for another I/O operation and consumes it for an operation of
+	 * the passed byte count.
+	 * Should the current thread be interrupted while waiting, the operation is permitted right away and the
+	 * thread's interrupted flag is restored.
+	 *
+	 * @param byteCount the number of bytes to be read or written by the operation.
+	 */
+	public void acquire(long byteCount);
+
+	/**
+	 * @return the maximum number of bytes per second, 0 for unlimited.
+	 */
+	public long bytesPerSecond();
+
+	/**
+	 * @return the maximum number of I/O operations per second, 0 for unlimited.
+	 */
+	public long operationsPerSecond();
+
+	/**
+	 * Sets the maximum number of bytes per second, 0 for unlimited.
+	 *
+	 * @param bytesPerSecond the byte limit.
+	 *
+	 * @return this.
+	 */
+	public StorageIoThrottle setBytesPerSecond(long bytesPerSecond);
+
+	/**
+	 * Sets the maximum number of I/O operations per second, 0 for unlimited.
+	 *
+	 * @param operationsPerSecond the operation limit.
+	 *
+	 * @return this.
+	 */
+	public StorageIoThrottle setOperationsPerSecond(long operationsPerSecond);
+
+
+
+	public interface Defaults
+	{
+		/**
+		 * @return the number of bytes that exports and backups copy per acquired chunk.
+		 */
+		public static int defaultChunkSize()
+		{
+			return 1024 * 1024; // 1 MB
+		}
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIoThrottle} instance without any limits.
+	 *
+	 * @return a new {@link StorageIoThrottle} instance.
+	 */
+	public static StorageIoThrottle New()
+	{
+		return New(0, 0);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIoThrottle} instance.
+	 *
+	 * @param bytesPerSecond      the maximum number of bytes per second, 0 for unlimited.
+	 * @param operationsPerSecond the maximum number of I/O operations per second, 0 for unlimited.
+	 *
+	 * @return a new {@link StorageIoThrottle} instance.
+	 */
+	public static StorageIoThrottle New(
+		final long bytesPerSecond     ,
+		final long operationsPerSecond
+	)
+	{
+		return new StorageIoThrottle.Default(
+			notNegative(bytesPerSecond)     ,
+			notNegative(operationsPerSecond)
+		);
+	}
+
+	public final class Default implements StorageIoThrottle
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private volatile long bytesPerSecond     ;
+		private volatile long operationsPerSecond;
+
+		private double byteTokens     ;
+		private double operationTokens;
+		private long   lastRefillNs   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long bytesPerSecond     ,
+			final long operationsPerSecond
+		)
+		{
+			super();
+			this.bytesPerSecond      = bytesPerSecond     ;
+			this.operationsPerSecond = operationsPerSecond;
+			this.byteTokens          = bytesPerSecond     ;
+			this.operationTokens     = operationsPerSecond;
+			this.lastRefillNs        = System.nanoTime()  ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private boolean isUnlimited()
+		{
+			return this.bytesPerSecond == 0 && this.operationsPerSecond == 0;
+		}
+
+		private void refill()
+		{
+			final long   now     = System.nanoTime();
+			final double seconds = (now - this.lastRefillNs) / 1_000_000_000.0;
+			this.lastRefillNs = now;
+
+			this.byteTokens      = Math.min(this.bytesPerSecond     , this.byteTokens      + seconds * this.bytesPerSecond     );
+			this.operationTokens = Math.min(this.operationsPerSecond, this.operationTokens + seconds * this.operationsPerSecond);
+		}
+
+		private boolean internalIsAvailable()
+		{
+			return (this.bytesPerSecond      == 0 || this.byteTokens      > 0)
+				&& (this.operationsPerSecond == 0 || this.operationTokens > 0)
+			;
+		}
+
+		// the debt is capped at one second's worth, so a large operation cannot block the buckets indefinitely.
+		private void internalConsume(final long byteCount)
+		{
+			if(this.bytesPerSecond != 0)
+			{
+				this.byteTokens = Math.max(-this.bytesPerSecond, this.byteTokens - byteCount);
+			}
+			if(this.operationsPerSecond != 0)
+			{
+				this.operationTokens = Math.max(-this.operationsPerSecond, this.operationTokens - 1);
+			}
+		}
+
+		// the time until both buckets are refilled above 0, with a minimum to avoid busy waiting.
+		private long internalWaitTimeNs()
+		{
+			double seconds = 0;
+			if(this.bytesPerSecond != 0 && this.byteTokens <= 0)
+			{
+				seconds = Math.max(seconds, (1 - this.byteTokens) / this.bytesPerSecond);
+			}
+			if(this.operationsPerSecond != 0 && this.operationTokens <= 0)
+			{
+				seconds = Math.max(seconds, (1 - this.operationTokens) / this.operationsPerSecond);
+			}
+
+			return Math.max(TimeUnit.MILLISECONDS.toNanos(1), (long)(seconds * 1_000_000_000.0));
+		}
+
+		@Override
+		public final boolean isAvailable()
+		{
+			if(this.isUnlimited())
+			{
+				return true;
+			}
+
+			synchronized(this)
+			{
+				this.refill();
+				return this.internalIsAvailable();
+			}
+		}
+
+		@Override
+		public final void consume(final long byteCount)
+		{
+			if(this.isUnlimited())
+			{
+				return;
+			}
+
+			synchronized(this)
+			{
+				this.refill();
+				this.internalConsume(byteCount);
+			}
+		}
+
+		@Override
+		public final void acquire(final long byteCount)
+		{
+			while(!this.isUnlimited())
+			{
+				final long waitTimeNs;
+				synchronized(this)
+				{
+					this.refill();
+					if(this.internalIsAvailable())
+					{
+						this.internalConsume(byteCount);
+						return;
+					}
+					waitTimeNs = this.internalWaitTimeNs();
+				}
+
+				try
+				{
+					TimeUnit.NANOSECONDS.sleep(waitTimeNs);
+				}
+				catch(final InterruptedException e)
+				{
+					// background I/O must not be lost, so an interruption only ends the waiting.
+					Thread.currentThread().interrupt();
+					this.consume(byteCount);
+					return;
+				}
+			}
+		}
+
+		@Override
+		public final long bytesPerSecond()
+		{
+			return this.bytesPerSecond;
+		}
+
+		@Override
+		public final long operationsPerSecond()
+		{
+			return this.operationsPerSecond;
+		}
+
+		@Override
+		public final synchronized StorageIoThrottle setBytesPerSecond(final long bytesPerSecond)
+		{
+			this.refill();
+			this.byteTokens     = this.bytesPerSecond == 0
+				? notNegative(bytesPerSecond)
+				: Math.min(notNegative(bytesPerSecond), this.byteTokens)
+			;
+			this.bytesPerSecond = bytesPerSecond;
+
+			return this;
+		}
+
+		@Override
+		public final synchronized StorageIoThrottle setOperationsPerSecond(final long operationsPerSecond)
+		{
+			this.refill();
+			this.operationTokens     = this.operationsPerSecond == 0
+				? notNegative(operationsPerSecond)
+				: Math.min(notNegative(operationsPerSecond), this.operationTokens)
+			;
+			this.operationsPerSecond = operationsPerSecond;
+
+			return this;
+		}
+
+		@Override
+		public String toString()
+		{
+			return this.getClass().getName() + ": " + this.bytesPerSecond + " bytes/s, "
+				+ this.operationsPerSecond + " operations/s"
+			;
+		}
+
+	}
+
+}
@@ -0,0 +1,278 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import one.microstream.chars.VarString;
+
+/**
+ * A latency histogram with logarithmic buckets that can be updated concurrently with very low overhead.
+ * <p>
+ * Bucket {@code i} counts values in the range [2<sup>i-1</sup>; 2<sup>i</sup>) nanoseconds, bucket 0 counts
+ * the value 0. This yields a relative precision of factor 2, which is sufficient to observe latency
+ * distributions and their changes, while recording a value costs only a few uncontended additions.
+ */
+public interface StorageLatencyHistogram
+{
+	/**
+	 * Records a single measured duration.
+	 *
+	 * @param nanoseconds the duration in nanoseconds. Negative values are recorded as 0.
+	 */
+	public void record(long nanoseconds);
+
+	/**
+	 * Creates an immutable copy of the current state. Concurrent recordings might be partially contained.
+	 *
+	 * @return a snapshot of the current state.
+	 */
+	public StorageLatencyHistogram.Snapshot snapshot();
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageLatencyHistogram} instance.
+	 *
+	 * @return a new {@link StorageLatencyHistogram} instance.
+	 */
+	public static StorageLatencyHistogram New()
+	{
+		return new StorageLatencyHistogram.Default();
+	}
+
+	public final class Default implements StorageLatencyHistogram
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final int BUCKET_COUNT = Long.SIZE;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final LongAdder[]     buckets = createBuckets()                  ;
+		private final LongAdder       total   = new LongAdder()                  ;
+		private final LongAccumulator maximum = new LongAccumulator(Math::max, 0L);
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default()
+		{
+			super();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private static LongAdder[] createBuckets()
+		{
+			final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+			for(int i = 0; i < buckets.length; i++)
+			{
+				buckets[i] = new LongAdder();
+			}
+			return buckets;
+		}
+
+		static int bucketIndex(final long nanoseconds)
+		{
+			// values of 2^63 and above are impossible for long, so the highest bucket covers [2^62; 2^63).
+			return Long.SIZE - Long.numberOfLeadingZeros(nanoseconds);
+		}
+
+		@Override
+		public final void record(final long nanoseconds)
+		{
+			final long value = Math.max(nanoseconds, 0L);
+			this.buckets[Math.min(bucketIndex(value), BUCKET_COUNT - 1)].increment();
+			this.total.add(value);
+			this.maximum.accumulate(value);
+		}
+
+		@Override
+		public final StorageLatencyHistogram.Snapshot snapshot()
+		{
+			final long[] bucketCounts = new long[BUCKET_COUNT];
+			long count = 0;
+			for(int i = 0; i < bucketCounts.length; i++)
+			{
+				count += bucketCounts[i] = this.buckets[i].sum();
+			}
+			
+			return new Snapshot(count, this.total.sum(), this.maximum.get(), bucketCounts);
+		}
+
+	}
+
+	/**
+	 * An immutable state of a {@link StorageLatencyHistogram}.
+	 */
+	public final class Snapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long   count       ;
+		private final long   totalNs     ;
+		private final long   maximumNs   ;
+		private final long[] bucketCounts;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Snapshot(
+			final long   count       ,
+			final long   totalNs     ,
+			final long   maximumNs   ,
+			final long[] bucketCounts
+		)
+		{
+			super();
+			this.count        = count       ;
+			this.totalNs      = totalNs     ;
+			this.maximumNs    = maximumNs   ;
+			this.bucketCounts = bucketCounts;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @return the number of recorded values.
+		 */
+		public final long count()
+		{
+			return this.count;
+		}
+
+		/**
+		 * @return the sum of all recorded values in nanoseconds.
+		 */
+		public final long totalNs()
+		{
+			return this.totalNs;
+		}
+
+		/**
+		 * @return the highest recorded value in nanoseconds.
+		 */
+		public final long maximumNs()
+		{
+			return this.maximumNs;
+		}
+
+		/**
+		 * @return the average of all recorded values in nanoseconds or 0 if nothing has been recorded.
+		 */
+		public final long meanNs()
+		{
+			return this.count == 0 ? 0L : this.totalNs / this.count;
+		}
+
+		/**
+		 * Returns an upper bound of the passed percentile of all recorded values, i.e. the upper bound
+		 * of the bucket containing it, capped at the maximum value.
+		 *
+		 * @param percentile the percentile in the range [0.0; 1.0], e.g. 0.99.
+		 *
+		 * @return an upper bound of the percentile in nanoseconds or 0 if nothing has been recorded.
+		 */
+		public final long percentileNs(final double percentile)
+		{
+			final long rank = (long)Math.ceil(Math.min(Math.max(percentile, 0.0), 1.0) * this.count);
+			long cumulated = 0;
+			for(int i = 0; i < this.bucketCounts.length; i++)
+			{
+				if((cumulated += this.bucketCounts[i]) >= rank && cumulated > 0)
+				{
+					return Math.min(i == 0 ? 0L : 1L << i, this.maximumNs);
+				}
+			}
+			
+			return this.maximumNs;
+		}
+
+		/**
+		 * @return a copy of the counts per bucket, index {@code i} covering [2<sup>i-1</sup>; 2<sup>i</sup>) ns.
+		 */
+		public final long[] bucketCounts()
+		{
+			return this.bucketCounts.clone();
+		}
+		
+		/**
+		 * Combines this snapshot with the passed one, e.g. to aggregate the values of all channels.
+		 *
+		 * @param other the snapshot to be combined with this one.
+		 *
+		 * @return a new snapshot containing the values of both.
+		 */
+		public final Snapshot combine(final Snapshot other)
+		{
+			final long[] bucketCounts = new long[this.bucketCounts.length];
+			for(int i = 0; i < bucketCounts.length; i++)
+			{
+				bucketCounts[i] = this.bucketCounts[i] + other.bucketCounts[i];
+			}
+			
+			return new Snapshot(
+				this.count   + other.count               ,
+				this.totalNs + other.totalNs             ,
+				Math.max(this.maximumNs, other.maximumNs),
+				bucketCounts
+			);
+		}
+
+		@Override
+		public final String toString()
+		{
+			return VarString.New()
+				.add("count=").add(this.count)
+				.add(", mean=").add(this.meanNs())
+				.add("ns, p99=").add(this.percentileNs(0.99))
+				.add("ns, max=").add(this.maximumNs).add("ns")
+				.toString()
+			;
+		}
+
+	}
+
+}
@@ -367,6 +367,11 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			(entry.fileNext = this.tail).filePrev = (entry.filePrev = this.tail.filePrev).fileNext = entry;
 		}
 
+		final StorageEntityCache.Default entityCache()
+		{
+			return this.parent.entityCache();
+		}
+
 		public final void loadEntityData(
 			final StorageEntity.Default entity     ,
 			final long                  length     ,
@@ -111,6 +111,20 @@ public interface StorageLiveFile<S extends StorageLiveFile<S>> extends StorageCl
 			return this.usagesSize != 0;
 		}
 		
+		public final synchronized boolean hasUser(final StorageFileUser fileUser)
+		{
+			// usages NPE prevented by usagesSize == 0.
+			for(int i = 0; i < this.usagesSize; i++)
+			{
+				if(this.usages[i].user == fileUser)
+				{
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
 		@Override
 		public final synchronized boolean executeIfUnsued(
 			final Consumer<? super S> action
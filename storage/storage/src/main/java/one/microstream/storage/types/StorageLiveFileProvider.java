@@ -41,6 +41,12 @@ public interface StorageLiveFileProvider extends StorageFileProvider
 
 	public AFile provideTransactionsFile(int channelIndex);
 	
+	public AFile provideEntityCheckpointFile(int channelIndex);
+	
+	public AFile provideEntityCheckpointTempFile(int channelIndex);
+	
+	public AFile provideTransactionsSegmentFile(int channelIndex);
+	
 	public AFile provideLockFile();
 	
 	
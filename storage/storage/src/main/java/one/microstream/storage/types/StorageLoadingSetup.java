@@ -0,0 +1,234 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+import one.microstream.reference.Lazy;
+
+/**
+ * Setup values that control how a channel reads entity data from its data files when processing load requests.
+ * <p>
+ * All entities of a load request that have to be read from storage are sorted by their data file and position
+ * in it. Consecutive entities are then read with a single read operation as long as the gap between two of them
+ * does not exceed {@link #batchReadGapTolerance()} and the total length of the read range does not exceed
+ * {@link #batchReadMaximumLength()}. The bytes in the gaps are read but discarded, trading a little superfluous IO
+ * for a (potentially) much lower number of IO operations, which is especially beneficial for file systems with
+ * a high per-operation latency (like blob stores).
+ * <p>
+ * Optionally, a channel can prefetch the entities referenced by the requested ones: if {@link #prefetchDepth()}
+ * is greater than 0, the references of every loaded entity are followed up to that depth and the data of all
+ * referenced entities located in the same channel is added to the result of the same load request, limited by
+ * {@link #prefetchMaximumLength()}. This turns the chain of round trips caused by the loader requesting
+ * references level by level into (mostly) one request per graph. References of {@link Lazy} instances are never
+ * followed, since that would effectively make them eager.
+ */
+public interface StorageLoadingSetup
+{
+	/**
+	 * The maximum number of bytes between two entities' data in the same file that are allowed to be read
+	 * and skipped in order to read both entities with one read operation.
+	 * A value of 0 means that only directly adjacent entities are read with a single read operation.
+	 *
+	 * @return the gap tolerance in bytes.
+	 */
+	public long batchReadGapTolerance();
+
+	/**
+	 * The maximum length in bytes of one coalesced read operation. A single entity longer than this value is
+	 * still read as a whole, just not combined with any other entity.
+	 *
+	 * @return the maximum length of a coalesced read in bytes.
+	 */
+	public long batchReadMaximumLength();
+
+	/**
+	 * The maximum number of entities that are collected into one batch before their data is read.
+	 * Higher values result in better coalescing, but also temporarily require more cache memory, since
+	 * all entities of a batch are cached before any of them can be evaluated for being unloaded again.
+	 *
+	 * @return the maximum number of entities per batch.
+	 */
+	public int batchEntityCount();
+
+	/**
+	 * The number of reference levels that are followed from the requested entities to prefetch referenced
+	 * entities in the same load request. A value of 0 disables prefetching.
+	 *
+	 * @return the prefetching depth.
+	 */
+	public int prefetchDepth();
+
+	/**
+	 * The maximum number of bytes of entity data per channel and load request that are prefetched in addition
+	 * to the requested entities' data.
+	 *
+	 * @return the maximum prefetched length in bytes.
+	 */
+	public long prefetchMaximumLength();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultBatchReadGapTolerance()
+		{
+			return 4096; // bytes, one page.
+		}
+
+		public static long defaultBatchReadMaximumLength()
+		{
+			return 1024 * 1024; // bytes
+		}
+
+		public static int defaultBatchEntityCount()
+		{
+			return 1024;
+		}
+
+		public static int defaultPrefetchDepth()
+		{
+			return 0; // prefetching is disabled by default.
+		}
+
+		public static long defaultPrefetchMaximumLength()
+		{
+			return 1024 * 1024; // bytes
+		}
+	}
+
+
+
+	public static StorageLoadingSetup New()
+	{
+		return New(
+			Defaults.defaultBatchReadGapTolerance() ,
+			Defaults.defaultBatchReadMaximumLength(),
+			Defaults.defaultBatchEntityCount()
+		);
+	}
+
+	public static StorageLoadingSetup New(
+		final long batchReadGapTolerance ,
+		final long batchReadMaximumLength,
+		final int  batchEntityCount
+	)
+	{
+		return New(
+			batchReadGapTolerance                  ,
+			batchReadMaximumLength                 ,
+			batchEntityCount                       ,
+			Defaults.defaultPrefetchDepth()        ,
+			Defaults.defaultPrefetchMaximumLength()
+		);
+	}
+
+	public static StorageLoadingSetup New(
+		final long batchReadGapTolerance ,
+		final long batchReadMaximumLength,
+		final int  batchEntityCount      ,
+		final int  prefetchDepth         ,
+		final long prefetchMaximumLength
+	)
+	{
+		return new StorageLoadingSetup.Default(
+			notNegative(batchReadGapTolerance),
+			positive(batchReadMaximumLength)  ,
+			positive(batchEntityCount)        ,
+			notNegative(prefetchDepth)        ,
+			notNegative(prefetchMaximumLength)
+		);
+	}
+
+	public final class Default implements StorageLoadingSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long batchReadGapTolerance ;
+		private final long batchReadMaximumLength;
+		private final int  batchEntityCount      ;
+		private final int  prefetchDepth         ;
+		private final long prefetchMaximumLength ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long batchReadGapTolerance ,
+			final long batchReadMaximumLength,
+			final int  batchEntityCount      ,
+			final int  prefetchDepth         ,
+			final long prefetchMaximumLength
+		)
+		{
+			super();
+			this.batchReadGapTolerance  = batchReadGapTolerance ;
+			this.batchReadMaximumLength = batchReadMaximumLength;
+			this.batchEntityCount       = batchEntityCount      ;
+			this.prefetchDepth          = prefetchDepth         ;
+			this.prefetchMaximumLength  = prefetchMaximumLength ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long batchReadGapTolerance()
+		{
+			return this.batchReadGapTolerance;
+		}
+
+		@Override
+		public final long batchReadMaximumLength()
+		{
+			return this.batchReadMaximumLength;
+		}
+
+		@Override
+		public final int batchEntityCount()
+		{
+			return this.batchEntityCount;
+		}
+
+		@Override
+		public final int prefetchDepth()
+		{
+			return this.prefetchDepth;
+		}
+
+		@Override
+		public final long prefetchMaximumLength()
+		{
+			return this.prefetchMaximumLength;
+		}
+
+	}
+
+}
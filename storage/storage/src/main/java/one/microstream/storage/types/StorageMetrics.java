@@ -0,0 +1,487 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import one.microstream.chars.VarString;
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * The metrics of a running storage: store and load latencies and volumes, the time tasks wait to be
+ * processed, garbage collection durations, the entity cache size and the file cleanup throughput,
+ * each collected per channel, as well as the current time budgets of the {@link StorageHousekeepingController}.
+ * <p>
+ * The values are collected permanently with striped counters ({@link java.util.concurrent.atomic.LongAdder}),
+ * so recording them costs only a few uncontended additions on the channels' hot paths.
+ * They can be queried programmatically via {@link #snapshot()} or via JMX, see {@link #registerMBean(String)}.
+ */
+public interface StorageMetrics
+{
+	public int channelCount();
+
+	public StorageChannelMetrics channel(int channelIndex);
+
+	/**
+	 * Creates an immutable copy of the current metrics of all channels.
+	 *
+	 * @return a snapshot of the current metrics.
+	 */
+	public StorageMetrics.Snapshot snapshot();
+
+	/**
+	 * Registers a {@link StorageMetricsMXBean} for this instance at the platform MBean server
+	 * with the object name {@code one.microstream:type=StorageMetrics,name=<name>}.
+	 *
+	 * @param name the name distinguishing this storage from other storages in the same process.
+	 *
+	 * @return the object name of the registered MBean.
+	 *
+	 * @throws StorageException if the registration fails, e.g. because the name is already used.
+	 */
+	public default ObjectName registerMBean(final String name)
+	{
+		try
+		{
+			final ObjectName objectName = StorageMetrics.objectName(name);
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new StorageMetricsMXBean.Default(this), objectName);
+			return objectName;
+		}
+		catch(final JMException e)
+		{
+			throw new StorageException("Could not register storage metrics MBean " + name, e);
+		}
+	}
+
+	/**
+	 * Unregisters the MBean registered via {@link #registerMBean(String)}, if present.
+	 *
+	 * @param name the name used for registering.
+	 */
+	public default void unregisterMBean(final String name)
+	{
+		try
+		{
+			final MBeanServer server     = ManagementFactory.getPlatformMBeanServer();
+			final ObjectName  objectName = StorageMetrics.objectName(name);
+			if(server.isRegistered(objectName))
+			{
+				server.unregisterMBean(objectName);
+			}
+		}
+		catch(final JMException e)
+		{
+			throw new StorageException("Could not unregister storage metrics MBean " + name, e);
+		}
+	}
+
+	public static ObjectName objectName(final String name) throws JMException
+	{
+		return new ObjectName("one.microstream:type=StorageMetrics,name=" + ObjectName.quote(notNull(name)));
+	}
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageMetrics} instance.
+	 *
+	 * @param channelCount the number of channels.
+	 * @param housekeepingController the housekeeping controller whose time budgets are published.
+	 *
+	 * @return a new {@link StorageMetrics} instance.
+	 */
+	public static StorageMetrics New(
+		final int                           channelCount          ,
+		final StorageHousekeepingController housekeepingController
+	)
+	{
+		final StorageChannelMetrics[] channels = new StorageChannelMetrics[channelCount];
+		for(int i = 0; i < channels.length; i++)
+		{
+			channels[i] = StorageChannelMetrics.New(i);
+		}
+		
+		return new StorageMetrics.Default(channels, notNull(housekeepingController));
+	}
+
+	public final class Default implements StorageMetrics
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageChannelMetrics[]       channels              ;
+		private final StorageHousekeepingController housekeepingController;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageChannelMetrics[]       channels              ,
+			final StorageHousekeepingController housekeepingController
+		)
+		{
+			super();
+			this.channels               = channels              ;
+			this.housekeepingController = housekeepingController;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int channelCount()
+		{
+			return this.channels.length;
+		}
+
+		@Override
+		public final StorageChannelMetrics channel(final int channelIndex)
+		{
+			return this.channels[channelIndex];
+		}
+
+		@Override
+		public final StorageMetrics.Snapshot snapshot()
+		{
+			final StorageChannelMetrics.Snapshot[] snapshots = new StorageChannelMetrics.Snapshot[this.channels.length];
+			for(int i = 0; i < snapshots.length; i++)
+			{
+				snapshots[i] = this.channels[i].snapshot();
+			}
+			
+			final StorageHousekeepingController controller = this.housekeepingController;
+			
+			return new StorageMetrics.Snapshot(
+				System.currentTimeMillis()                ,
+				snapshots                                 ,
+				controller.housekeepingIntervalMs()       ,
+				controller.housekeepingTimeBudgetNs()     ,
+				controller.garbageCollectionTimeBudgetNs(),
+				controller.liveCheckTimeBudgetNs()        ,
+				controller.fileCheckTimeBudgetNs()
+			);
+		}
+
+	}
+
+	/**
+	 * An immutable state of a storage's {@link StorageMetrics}, with values aggregated over all channels.
+	 */
+	public final class Snapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                             creationTime                 ;
+		private final StorageChannelMetrics.Snapshot[] channels                     ;
+		private final long                             housekeepingIntervalMs       ;
+		private final long                             housekeepingTimeBudgetNs     ;
+		private final long                             garbageCollectionTimeBudgetNs;
+		private final long                             liveCheckTimeBudgetNs        ;
+		private final long                             fileCheckTimeBudgetNs        ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Snapshot(
+			final long                             creationTime                 ,
+			final StorageChannelMetrics.Snapshot[] channels                     ,
+			final long                             housekeepingIntervalMs       ,
+			final long                             housekeepingTimeBudgetNs     ,
+			final long                             garbageCollectionTimeBudgetNs,
+			final long                             liveCheckTimeBudgetNs        ,
+			final long                             fileCheckTimeBudgetNs
+		)
+		{
+			super();
+			this.creationTime                  = creationTime                 ;
+			this.channels                      = channels                     ;
+			this.housekeepingIntervalMs        = housekeepingIntervalMs       ;
+			this.housekeepingTimeBudgetNs      = housekeepingTimeBudgetNs     ;
+			this.garbageCollectionTimeBudgetNs = garbageCollectionTimeBudgetNs;
+			this.liveCheckTimeBudgetNs         = liveCheckTimeBudgetNs        ;
+			this.fileCheckTimeBudgetNs         = fileCheckTimeBudgetNs        ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @return the time of the snapshot's creation in milliseconds since the epoch.
+		 */
+		public final long creationTime()
+		{
+			return this.creationTime;
+		}
+
+		public final int channelCount()
+		{
+			return this.channels.length;
+		}
+
+		public final StorageChannelMetrics.Snapshot channel(final int channelIndex)
+		{
+			return this.channels[channelIndex];
+		}
+
+		public final long storedBytes()
+		{
+			long sum = 0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				sum += channel.storedBytes();
+			}
+			return sum;
+		}
+
+		public final long loadedEntities()
+		{
+			long sum = 0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				sum += channel.loadedEntities();
+			}
+			return sum;
+		}
+
+		public final long loadedBytes()
+		{
+			long sum = 0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				sum += channel.loadedBytes();
+			}
+			return sum;
+		}
+
+		public final long readBytes()
+		{
+			long sum = 0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				sum += channel.readBytes();
+			}
+			return sum;
+		}
+
+		public final long fileCleanupBytes()
+		{
+			long sum = 0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				sum += channel.fileCleanupBytes();
+			}
+			return sum;
+		}
+
+		public final long cacheSize()
+		{
+			long sum = 0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				sum += channel.cacheSize();
+			}
+			return sum;
+		}
+
+		/**
+		 * @return the housekeeping interval in milliseconds.
+		 */
+		public final long housekeepingIntervalMs()
+		{
+			return this.housekeepingIntervalMs;
+		}
+
+		/**
+		 * @return the general housekeeping time budget per interval in nanoseconds at the snapshot's creation.
+		 */
+		public final long housekeepingTimeBudgetNs()
+		{
+			return this.housekeepingTimeBudgetNs;
+		}
+
+		/**
+		 * @return the garbage collection time budget per interval in nanoseconds at the snapshot's creation.
+		 */
+		public final long garbageCollectionTimeBudgetNs()
+		{
+			return this.garbageCollectionTimeBudgetNs;
+		}
+
+		/**
+		 * @return the live/cache check time budget per interval in nanoseconds at the snapshot's creation.
+		 */
+		public final long liveCheckTimeBudgetNs()
+		{
+			return this.liveCheckTimeBudgetNs;
+		}
+
+		/**
+		 * @return the file cleanup time budget per interval in nanoseconds at the snapshot's creation.
+		 */
+		public final long fileCheckTimeBudgetNs()
+		{
+			return this.fileCheckTimeBudgetNs;
+		}
+
+		/*
+		 * Note on the housekeeping observations:
+		 * An adaptive housekeeping controller sizes its budgets according to the busiest channel and the channel
+		 * with the most pending work, so the observations are aggregated as maximums.
+		 */
+
+		public final double busyRatio()
+		{
+			double maximum = 0.0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				maximum = Math.max(maximum, channel.busyRatio());
+			}
+			return maximum;
+		}
+
+		public final int pendingTaskCount()
+		{
+			int maximum = 0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				maximum = Math.max(maximum, channel.pendingTaskCount());
+			}
+			return maximum;
+		}
+
+		public final double garbageRatio()
+		{
+			double maximum = 0.0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				maximum = Math.max(maximum, channel.garbageRatio());
+			}
+			return maximum;
+		}
+
+		public final double fileFragmentation()
+		{
+			double maximum = 0.0;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				maximum = Math.max(maximum, channel.fileFragmentation());
+			}
+			return maximum;
+		}
+
+		/*
+		 * Note on the latencies:
+		 * Every request is processed by all channels, so the aggregated latency histograms contain one value
+		 * per request and channel. Their count is therefore the number of requests times the channel count.
+		 */
+
+		public final StorageLatencyHistogram.Snapshot storeLatency()
+		{
+			StorageLatencyHistogram.Snapshot result = this.channels[0].storeLatency();
+			for(int i = 1; i < this.channels.length; i++)
+			{
+				result = result.combine(this.channels[i].storeLatency());
+			}
+			return result;
+		}
+
+		public final StorageLatencyHistogram.Snapshot loadLatency()
+		{
+			StorageLatencyHistogram.Snapshot result = this.channels[0].loadLatency();
+			for(int i = 1; i < this.channels.length; i++)
+			{
+				result = result.combine(this.channels[i].loadLatency());
+			}
+			return result;
+		}
+
+		public final StorageLatencyHistogram.Snapshot taskQueueWait()
+		{
+			StorageLatencyHistogram.Snapshot result = this.channels[0].taskQueueWait();
+			for(int i = 1; i < this.channels.length; i++)
+			{
+				result = result.combine(this.channels[i].taskQueueWait());
+			}
+			return result;
+		}
+
+		public final StorageLatencyHistogram.Snapshot gcMarkDuration()
+		{
+			StorageLatencyHistogram.Snapshot result = this.channels[0].gcMarkDuration();
+			for(int i = 1; i < this.channels.length; i++)
+			{
+				result = result.combine(this.channels[i].gcMarkDuration());
+			}
+			return result;
+		}
+
+		public final StorageLatencyHistogram.Snapshot gcSweepDuration()
+		{
+			StorageLatencyHistogram.Snapshot result = this.channels[0].gcSweepDuration();
+			for(int i = 1; i < this.channels.length; i++)
+			{
+				result = result.combine(this.channels[i].gcSweepDuration());
+			}
+			return result;
+		}
+
+		@Override
+		public final String toString()
+		{
+			final VarString vs = VarString.New()
+				.add("Housekeeping").lf()
+				.tab().add("interval          : ").add(this.housekeepingIntervalMs).add(" ms").lf()
+				.tab().add("time budget       : ").add(this.housekeepingTimeBudgetNs).add(" ns").lf()
+				.tab().add("gc budget         : ").add(this.garbageCollectionTimeBudgetNs).add(" ns").lf()
+				.tab().add("live check budget : ").add(this.liveCheckTimeBudgetNs).add(" ns").lf()
+				.tab().add("file check budget : ").add(this.fileCheckTimeBudgetNs).add(" ns").lf()
+			;
+			for(final StorageChannelMetrics.Snapshot channel : this.channels)
+			{
+				channel.assembleTo(vs);
+			}
+			return vs.toString();
+		}
+
+	}
+
+}
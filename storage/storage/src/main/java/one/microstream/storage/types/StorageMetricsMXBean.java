@@ -0,0 +1,333 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+/**
+ * JMX view on {@link StorageMetrics}. Values are aggregated over all channels, latencies are in nanoseconds.
+ * The housekeeping observations of the channels are the maximums over all channels, see
+ * {@link StorageMetrics.Snapshot#busyRatio()}.
+ * Every attribute access creates a new snapshot, so monitoring tools should not poll excessively often.
+ *
+ * @see StorageMetrics#registerMBean(String)
+ */
+public interface StorageMetricsMXBean
+{
+	public int getChannelCount();
+
+	public long getStoredBytes();
+
+	public long getStoreCount();
+
+	public long getStoreLatencyMeanNs();
+
+	public long getStoreLatency99thPercentileNs();
+
+	public long getStoreLatencyMaximumNs();
+
+	public long getLoadedEntities();
+
+	public long getLoadedBytes();
+
+	public long getLoadCount();
+
+	public long getLoadLatencyMeanNs();
+
+	public long getLoadLatency99thPercentileNs();
+
+	public long getLoadLatencyMaximumNs();
+
+	public long getTaskQueueWaitMeanNs();
+
+	public long getTaskQueueWaitMaximumNs();
+
+	public long getReadBytes();
+
+	public long getFileCleanupBytes();
+
+	public long getGcMarkTotalNs();
+
+	public long getGcSweepCount();
+
+	public long getGcSweepTotalNs();
+
+	public long getCacheSize();
+
+	public long[] getChannelCacheSizes();
+
+	public long[] getChannelCacheThresholds();
+
+	public long getHousekeepingIntervalMs();
+
+	public long getHousekeepingTimeBudgetNs();
+
+	public long getGarbageCollectionTimeBudgetNs();
+
+	public long getLiveCheckTimeBudgetNs();
+
+	public long getFileCheckTimeBudgetNs();
+
+	public double getBusyRatio();
+
+	public int getPendingTaskCount();
+
+	public double getGarbageRatio();
+
+	public double getFileFragmentation();
+
+
+
+	// no static pseudo-constructor here: MXBean introspection rejects static interface methods.
+
+	public final class Default implements StorageMetricsMXBean
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageMetrics metrics;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		public Default(final StorageMetrics metrics)
+		{
+			super();
+			this.metrics = notNull(metrics);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private StorageMetrics.Snapshot snapshot()
+		{
+			return this.metrics.snapshot();
+		}
+
+		@Override
+		public final int getChannelCount()
+		{
+			return this.metrics.channelCount();
+		}
+
+		@Override
+		public final long getStoredBytes()
+		{
+			return this.snapshot().storedBytes();
+		}
+
+		@Override
+		public final long getStoreCount()
+		{
+			// every store request is processed by every channel, so any channel's count is the request count.
+			return this.snapshot().channel(0).storeLatency().count();
+		}
+
+		@Override
+		public final long getStoreLatencyMeanNs()
+		{
+			return this.snapshot().storeLatency().meanNs();
+		}
+
+		@Override
+		public final long getStoreLatency99thPercentileNs()
+		{
+			return this.snapshot().storeLatency().percentileNs(0.99);
+		}
+
+		@Override
+		public final long getStoreLatencyMaximumNs()
+		{
+			return this.snapshot().storeLatency().maximumNs();
+		}
+
+		@Override
+		public final long getLoadedEntities()
+		{
+			return this.snapshot().loadedEntities();
+		}
+
+		@Override
+		public final long getLoadedBytes()
+		{
+			return this.snapshot().loadedBytes();
+		}
+
+		@Override
+		public final long getLoadCount()
+		{
+			return this.snapshot().channel(0).loadLatency().count();
+		}
+
+		@Override
+		public final long getLoadLatencyMeanNs()
+		{
+			return this.snapshot().loadLatency().meanNs();
+		}
+
+		@Override
+		public final long getLoadLatency99thPercentileNs()
+		{
+			return this.snapshot().loadLatency().percentileNs(0.99);
+		}
+
+		@Override
+		public final long getLoadLatencyMaximumNs()
+		{
+			return this.snapshot().loadLatency().maximumNs();
+		}
+
+		@Override
+		public final long getTaskQueueWaitMeanNs()
+		{
+			return this.snapshot().taskQueueWait().meanNs();
+		}
+
+		@Override
+		public final long getTaskQueueWaitMaximumNs()
+		{
+			return this.snapshot().taskQueueWait().maximumNs();
+		}
+
+		@Override
+		public final long getReadBytes()
+		{
+			return this.snapshot().readBytes();
+		}
+
+		@Override
+		public final long getFileCleanupBytes()
+		{
+			return this.snapshot().fileCleanupBytes();
+		}
+
+		@Override
+		public final long getGcMarkTotalNs()
+		{
+			return this.snapshot().gcMarkDuration().totalNs();
+		}
+
+		@Override
+		public final long getGcSweepCount()
+		{
+			return this.snapshot().channel(0).gcSweepDuration().count();
+		}
+
+		@Override
+		public final long getGcSweepTotalNs()
+		{
+			return this.snapshot().gcSweepDuration().totalNs();
+		}
+
+		@Override
+		public final long getCacheSize()
+		{
+			return this.snapshot().cacheSize();
+		}
+
+		@Override
+		public final long[] getChannelCacheSizes()
+		{
+			final StorageMetrics.Snapshot snapshot = this.snapshot();
+			final long[] values = new long[snapshot.channelCount()];
+			for(int i = 0; i < values.length; i++)
+			{
+				values[i] = snapshot.channel(i).cacheSize();
+			}
+			return values;
+		}
+
+		@Override
+		public final long[] getChannelCacheThresholds()
+		{
+			final StorageMetrics.Snapshot snapshot = this.snapshot();
+			final long[] values = new long[snapshot.channelCount()];
+			for(int i = 0; i < values.length; i++)
+			{
+				values[i] = snapshot.channel(i).cacheThreshold();
+			}
+			return values;
+		}
+
+		@Override
+		public final long getHousekeepingIntervalMs()
+		{
+			return this.snapshot().housekeepingIntervalMs();
+		}
+
+		@Override
+		public final long getHousekeepingTimeBudgetNs()
+		{
+			return this.snapshot().housekeepingTimeBudgetNs();
+		}
+
+		@Override
+		public final long getGarbageCollectionTimeBudgetNs()
+		{
+			return this.snapshot().garbageCollectionTimeBudgetNs();
+		}
+
+		@Override
+		public final long getLiveCheckTimeBudgetNs()
+		{
+			return this.snapshot().liveCheckTimeBudgetNs();
+		}
+
+		@Override
+		public final long getFileCheckTimeBudgetNs()
+		{
+			return this.snapshot().fileCheckTimeBudgetNs();
+		}
+
+		@Override
+		public final double getBusyRatio()
+		{
+			return this.snapshot().busyRatio();
+		}
+
+		@Override
+		public final int getPendingTaskCount()
+		{
+			return this.snapshot().pendingTaskCount();
+		}
+
+		@Override
+		public final double getGarbageRatio()
+		{
+			return this.snapshot().garbageRatio();
+		}
+
+		@Override
+		public final double getFileFragmentation()
+		{
+			return this.snapshot().fileFragmentation();
+		}
+
+	}
+
+}
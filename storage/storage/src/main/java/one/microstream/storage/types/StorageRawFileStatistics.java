@@ -142,6 +142,9 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 				.tab().add("space efficiency:\t"  + ratioFormat.format(
 					ratio(cs.liveDataLength(), cs.totalDataLength()))
 				).lf()
+				.tab().add("cache used memory:\t"     + cs.cacheUsedMemory()    ).lf()
+				.tab().add("cache reserved memory:\t" + cs.cacheReservedMemory()).lf()
+				.tab().add("cache fragmentation:\t"   + ratioFormat.format(cs.cacheFragmentation())).lf()
 				;
 
 				for(final FileStatistics fs : cs.files())
@@ -174,6 +177,29 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 
 		public XGettingSequence<? extends FileStatistics> files();
 
+		/**
+		 * @return the number of bytes of the channel's entity cache memory that are used for cached entity data.
+		 */
+		public long cacheUsedMemory();
+
+		/**
+		 * @return the number of bytes reserved from the system for the channel's entity cache,
+		 *         see {@link StorageEntityCacheAllocator#reservedMemory()}.
+		 */
+		public long cacheReservedMemory();
+
+		/**
+		 * @return the ratio of the channel's reserved entity cache memory that is not used,
+		 *         see {@link StorageEntityCacheAllocator#fragmentation()}.
+		 */
+		public default double cacheFragmentation()
+		{
+			return this.cacheReservedMemory() == 0
+				? 0.0
+				: 1.0 - (double)this.cacheUsedMemory() / this.cacheReservedMemory()
+			;
+		}
+
 
 		
 		public static ChannelStatistics New(
@@ -183,13 +209,28 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 			final long                                       totalDataLength,
 			final XGettingSequence<? extends FileStatistics> files
 		)
+		{
+			return New(channelIndex, fileCount, liveDataLength, totalDataLength, files, 0, 0);
+		}
+		
+		public static ChannelStatistics New(
+			final int                                        channelIndex       ,
+			final long                                       fileCount          ,
+			final long                                       liveDataLength     ,
+			final long                                       totalDataLength    ,
+			final XGettingSequence<? extends FileStatistics> files              ,
+			final long                                       cacheUsedMemory    ,
+			final long                                       cacheReservedMemory
+		)
 		{
 			return new ChannelStatistics.Default(
-				notNegative(channelIndex)   ,
-				notNegative(fileCount)      ,
-				notNegative(liveDataLength) ,
-				notNegative(totalDataLength),
-					notNull(files)
+				notNegative(channelIndex)       ,
+				notNegative(fileCount)          ,
+				notNegative(liveDataLength)     ,
+				notNegative(totalDataLength)    ,
+					notNull(files)              ,
+				notNegative(cacheUsedMemory)    ,
+				notNegative(cacheReservedMemory)
 			);
 		}
 
@@ -201,8 +242,10 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 			// instance fields //
 			////////////////////
 
-			final int                                        channelIndex;
-			final XGettingSequence<? extends FileStatistics> files       ;
+			final int                                        channelIndex       ;
+			final XGettingSequence<? extends FileStatistics> files              ;
+			final long                                       cacheUsedMemory    ;
+			final long                                       cacheReservedMemory;
 
 
 
@@ -211,16 +254,20 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 			/////////////////
 
 			Default(
-				final int                                        channelIndex   ,
-				final long                                       fileCount      ,
-				final long                                       liveDataLength ,
-				final long                                       totalDataLength,
-				final XGettingSequence<? extends FileStatistics> files
+				final int                                        channelIndex       ,
+				final long                                       fileCount          ,
+				final long                                       liveDataLength     ,
+				final long                                       totalDataLength    ,
+				final XGettingSequence<? extends FileStatistics> files              ,
+				final long                                       cacheUsedMemory    ,
+				final long                                       cacheReservedMemory
 			)
 			{
 				super(fileCount, liveDataLength, totalDataLength);
-				this.channelIndex = channelIndex;
-				this.files        = files       ;
+				this.channelIndex        = channelIndex       ;
+				this.files               = files              ;
+				this.cacheUsedMemory     = cacheUsedMemory    ;
+				this.cacheReservedMemory = cacheReservedMemory;
 			}
 
 
@@ -241,6 +288,18 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 				return this.files;
 			}
 
+			@Override
+			public final long cacheUsedMemory()
+			{
+				return this.cacheUsedMemory;
+			}
+
+			@Override
+			public final long cacheReservedMemory()
+			{
+				return this.cacheReservedMemory;
+			}
+
 		}
 
 	}
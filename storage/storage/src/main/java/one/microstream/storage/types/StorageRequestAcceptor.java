@@ -23,7 +23,9 @@ package one.microstream.storage.types;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import one.microstream.afs.types.AFile;
 import one.microstream.collections.types.XGettingEnum;
@@ -38,6 +40,23 @@ public interface StorageRequestAcceptor
 
 	public void storeData(Binary data) throws StorageExceptionRequest, InterruptedException;
 
+	/**
+	 * Enqueues the passed data to be stored and returns immediately instead of waiting for the channels to
+	 * write and commit it.
+	 * <p>
+	 * The returned future is completed after all channels have committed the data, or exceptionally if any channel
+	 * failed to do so. It is completed asynchronously to the channel threads, so dependent actions may safely
+	 * issue further storage requests.
+	 * 
+	 * @param data the data to be stored.
+	 * 
+	 * @return a future representing the completion of the store.
+	 * 
+	 * @throws StorageExceptionRequest if the passed data is invalid.
+	 * @throws InterruptedException if interrupted while enqueuing the store.
+	 */
+	public CompletableFuture<Void> storeDataAsync(Binary data) throws StorageExceptionRequest, InterruptedException;
+
 	// querying //
 
 	public Binary queryByObjectIds(PersistenceIdSet[] loadOids) throws StorageExceptionRequest, InterruptedException;
@@ -98,6 +117,22 @@ public interface StorageRequestAcceptor
 	public void exportChannels(StorageLiveFileProvider fileProvider, boolean performGarbageCollection)
 		throws InterruptedException;
 
+	public void backupIncremental(StorageIncrementalBackup backup) throws InterruptedException;
+
+	// scanning //
+
+	public long[] scanTypeEntities(
+		long                                      typeId    ,
+		Predicate<? super StorageEntityData>      predicate ,
+		ToLongFunction<? super StorageEntityData> projection
+	)
+		throws InterruptedException
+	;
+
+	// following //
+
+	public long[] followStorage() throws InterruptedException;
+
 	public void importFiles(XGettingEnum<AFile> importFiles) throws InterruptedException;
 
 	public void importData(XGettingEnum<ByteBuffer> importFiles) throws InterruptedException;
@@ -180,6 +215,21 @@ public interface StorageRequestAcceptor
 			waitOnTask(this.taskBroker.enqueueStoreTask(data));
 		}
 
+		@Override
+		public final CompletableFuture<Void> storeDataAsync(final Binary data) throws InterruptedException
+		{
+			// note: enabled accepting tasks has to be checked prior to calling this method (external concern)
+
+			// pre-validate on the caller site before creating and enqueuing a task (it may be a no-op)
+			this.prevalidatorDataChunk.validateDataChunk(data);
+
+			// dependent actions must not be executed by the channel thread completing the task.
+			return this.taskBroker.enqueueStoreTask(data).completion().whenCompleteAsync((result, problem) ->
+			{
+				// no-op, just a hand-over from the completing channel thread
+			});
+		}
+
 		@Override
 		public final Binary queryByObjectIds(final PersistenceIdSet[] loadOids) throws InterruptedException
 		{
@@ -246,6 +296,32 @@ public interface StorageRequestAcceptor
 			waitOnTask(this.taskBroker.enqueueExportChannelsTask(fileProvider, performGarbageCollection));
 		}
 
+		@Override
+		public final void backupIncremental(final StorageIncrementalBackup backup) throws InterruptedException
+		{
+			waitOnTask(this.taskBroker.enqueueBackupIncrementalTask(backup));
+		}
+
+		@Override
+		public final long[] scanTypeEntities(
+			final long                                      typeId    ,
+			final Predicate<? super StorageEntityData>      predicate ,
+			final ToLongFunction<? super StorageEntityData> projection
+		)
+			throws InterruptedException
+		{
+			return waitOnTask(this.taskBroker.enqueueScanTypeEntitiesTask(typeId, predicate, projection)).result();
+		}
+
+		@Override
+		public final long[] followStorage() throws InterruptedException
+		{
+			// stores are decided across all channels before any channel may apply them.
+			waitOnTask(this.taskBroker.enqueueFollowTransactionsTask());
+			
+			return waitOnTask(this.taskBroker.enqueueApplyTransactionsTask()).result();
+		}
+
 		@Override
 		public StorageRawFileStatistics createStatistics() throws InterruptedException
 		{
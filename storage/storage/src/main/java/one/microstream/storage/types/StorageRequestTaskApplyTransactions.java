@@ -0,0 +1,168 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+/**
+ * Registers the entities of the complete stores read by {@link StorageRequestTaskFollowTransactions}.
+ * Complete stores are applied in their order and only as far as all channels can apply them,
+ * so that the followed storage's state is never partially visible.
+ * 
+ * @see StorageFollowerSetup
+ */
+public interface StorageRequestTaskApplyTransactions extends StorageRequestTask
+{
+	/**
+	 * @return the object ids of all stored entities, in the order of the channels.
+	 */
+	public long[] result();
+	
+	/**
+	 * @return whether all channels have applied the stores contained in the initial state of any channel.
+	 */
+	public boolean isAligned();
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<Void>
+	implements StorageRequestTaskApplyTransactions
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long[]   channelBounds  ;
+		private final long[]   channelInitials;
+		private final long[]   channelApplieds;
+		private final long[][] channelResults ;
+		
+		private Long   storeTimestampBound;
+		private long[] result             ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                       timestamp   ,
+			final int                        channelCount,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.channelBounds   = new long[channelCount]  ;
+			this.channelInitials = new long[channelCount]  ;
+			this.channelApplieds = new long[channelCount]  ;
+			this.channelResults  = new long[channelCount][];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final Void internalProcessBy(final StorageChannel channel)
+		{
+			this.channelBounds[channel.channelIndex()]   = channel.validateFollowedTransactions();
+			this.channelInitials[channel.channelIndex()] = channel.followedInitialTimestamp();
+			
+			return null;
+		}
+		
+		private synchronized long getStoreTimestampBound()
+		{
+			if(this.storeTimestampBound == null)
+			{
+				long bound = Long.MAX_VALUE;
+				for(final long channelBound : this.channelBounds)
+				{
+					bound = Math.min(bound, channelBound);
+				}
+				this.storeTimestampBound = bound;
+			}
+			return this.storeTimestampBound;
+		}
+
+		@Override
+		protected final void succeed(final StorageChannel channel, final Void result)
+		{
+			this.channelResults[channel.channelIndex()] = channel.applyFollowedTransactions(
+				this.getStoreTimestampBound()
+			);
+			this.channelApplieds[channel.channelIndex()] = channel.followedAppliedTimestamp();
+		}
+		
+		@Override
+		public synchronized boolean isAligned()
+		{
+			long latestInitial = 0;
+			for(final long initial : this.channelInitials)
+			{
+				latestInitial = Math.max(latestInitial, initial);
+			}
+			for(final long applied : this.channelApplieds)
+			{
+				if(applied < latestInitial)
+				{
+					return false;
+				}
+			}
+			
+			return true;
+		}
+
+		@Override
+		public synchronized long[] result()
+		{
+			if(this.result == null)
+			{
+				this.result = this.createResult();
+			}
+			return this.result;
+		}
+
+		private long[] createResult()
+		{
+			int length = 0;
+			for(final long[] channelResult : this.channelResults)
+			{
+				length += channelResult.length;
+			}
+
+			final long[] result = new long[length];
+			int          offset = 0;
+			for(final long[] channelResult : this.channelResults)
+			{
+				System.arraycopy(channelResult, 0, result, offset, channelResult.length);
+				offset += channelResult.length;
+			}
+
+			return result;
+		}
+
+	}
+
+}
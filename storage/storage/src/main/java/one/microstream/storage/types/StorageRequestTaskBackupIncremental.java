@@ -0,0 +1,68 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+public interface StorageRequestTaskBackupIncremental extends StorageRequestTask
+{
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<Void>
+	implements StorageRequestTaskBackupIncremental
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageIncrementalBackup backup;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                       timestamp   ,
+			final int                        channelCount,
+			final StorageIncrementalBackup   backup      ,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.backup = backup;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final Void internalProcessBy(final StorageChannel channel)
+		{
+			channel.backupDataIncremental(this.backup);
+			return null;
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@ import static one.microstream.X.notNull;
 
 import java.nio.ByteBuffer;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import one.microstream.afs.types.AFile;
 import one.microstream.collections.types.XGettingEnum;
@@ -42,6 +43,12 @@ public interface StorageRequestTaskCreator
 		StorageOperationController controller
 	);
 
+	public StorageRequestTaskStoreEntities.Grouped createGroupedSaveTask(
+		Binary                     data      ,
+		StorageGroupCommitSetup    setup     ,
+		StorageOperationController controller
+	);
+
 	public StorageRequestTaskLoadByOids createLoadTaskByOids(
 		PersistenceIdSet[]         loadOids  ,
 		StorageOperationController controller
@@ -80,11 +87,35 @@ public interface StorageRequestTaskCreator
 		StorageOperationController controller
 	);
 
+	public StorageRequestTaskBackupIncremental createTaskBackupIncremental(
+		int                        channelCount,
+		StorageIncrementalBackup   backup      ,
+		StorageOperationController controller
+	);
+
 	public StorageRequestTaskCreateStatistics createCreateRawFileStatisticsTask(
 		int                        channelCount,
 		StorageOperationController controller
 	);
 
+	public StorageRequestTaskScanEntitiesByType createScanTypeEntitiesTask(
+		int                                       channelCount,
+		long                                      typeId      ,
+		Predicate<? super StorageEntityData>      predicate   ,
+		ToLongFunction<? super StorageEntityData> projection  ,
+		StorageOperationController                controller
+	);
+
+	public StorageRequestTaskFollowTransactions createFollowTransactionsTask(
+		int                        channelCount,
+		StorageOperationController controller
+	);
+
+	public StorageRequestTaskApplyTransactions createApplyTransactionsTask(
+		int                        channelCount,
+		StorageOperationController controller
+	);
+
 	public StorageRequestTaskFileCheck createFullFileCheckTask(
 		int                        channelCount  ,
 		long                       nanoTimeBudget,
@@ -186,6 +217,21 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskStoreEntities.Grouped createGroupedSaveTask(
+			final Binary                     data               ,
+			final StorageGroupCommitSetup    setup              ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskStoreEntities.Grouped(
+				this.timestampProvider.currentNanoTimestamp(),
+				data                                         ,
+				setup                                        ,
+				operationController
+			);
+		}
+
 		@Override
 		public StorageRequestTaskLoadByOids createLoadTaskByOids(
 			final PersistenceIdSet[]         loadOids           ,
@@ -259,6 +305,21 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskBackupIncremental createTaskBackupIncremental(
+			final int                        channelCount       ,
+			final StorageIncrementalBackup   backup             ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskBackupIncremental.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount                                 ,
+				backup                                       ,
+				operationController
+			);
+		}
+
 		@Override
 		public StorageRequestTaskCreateStatistics createCreateRawFileStatisticsTask(
 			final int                        channelCount       ,
@@ -272,6 +333,51 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskScanEntitiesByType createScanTypeEntitiesTask(
+			final int                                       channelCount       ,
+			final long                                      typeId             ,
+			final Predicate<? super StorageEntityData>      predicate          ,
+			final ToLongFunction<? super StorageEntityData> projection         ,
+			final StorageOperationController                operationController
+		)
+		{
+			return new StorageRequestTaskScanEntitiesByType.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount                                 ,
+				typeId                                       ,
+				predicate                                    ,
+				projection                                   ,
+				operationController
+			);
+		}
+
+		@Override
+		public StorageRequestTaskFollowTransactions createFollowTransactionsTask(
+			final int                        channelCount       ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskFollowTransactions.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount                                 ,
+				operationController
+			);
+		}
+
+		@Override
+		public StorageRequestTaskApplyTransactions createApplyTransactionsTask(
+			final int                        channelCount       ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskApplyTransactions.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount                                 ,
+				operationController
+			);
+		}
+
 		@Override
 		public StorageRequestTaskFileCheck createFullFileCheckTask(
 			final int                        channelCount       ,
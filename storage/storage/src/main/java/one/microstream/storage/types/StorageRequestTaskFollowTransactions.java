@@ -0,0 +1,159 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import one.microstream.collections.Set_long;
+
+/**
+ * Reads the entries appended to the followed transactions files and decides which of the read stores are
+ * complete, i.e. have been written by all channels, and which have failed, i.e. have been rolled back.
+ * 
+ * @see StorageFollowerSetup
+ */
+public interface StorageRequestTaskFollowTransactions extends StorageRequestTask
+{
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<Void>
+	implements StorageRequestTaskFollowTransactions
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long[][] channelUndecidedStores;
+		private final long[]   channelLatestStores   ;
+		private final long[]   channelCoveredStores  ;
+		
+		private Set_long completeStores;
+		private Set_long failedStores  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                       timestamp   ,
+			final int                        channelCount,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.channelUndecidedStores = new long[channelCount][];
+			this.channelLatestStores    = new long[channelCount]  ;
+			this.channelCoveredStores   = new long[channelCount]  ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final Void internalProcessBy(final StorageChannel channel)
+		{
+			this.channelUndecidedStores[channel.channelIndex()] = channel.readFollowedTransactions();
+			this.channelLatestStores[channel.channelIndex()]    = channel.followedLatestTimestamp();
+			this.channelCoveredStores[channel.channelIndex()]   = channel.followedCoveredTimestamp();
+			
+			return null;
+		}
+		
+		private synchronized void ensureDecisions()
+		{
+			if(this.completeStores != null)
+			{
+				return;
+			}
+			
+			final Set_long completeStores = Set_long.New();
+			final Set_long failedStores   = Set_long.New();
+			for(final long[] undecidedStores : this.channelUndecidedStores)
+			{
+				for(final long timestamp : undecidedStores)
+				{
+					this.decideStore(timestamp, completeStores, failedStores);
+				}
+			}
+			
+			this.completeStores = completeStores;
+			this.failedStores   = failedStores  ;
+		}
+		
+		private void decideStore(final long timestamp, final Set_long completeStores, final Set_long failedStores)
+		{
+			boolean isComplete = true;
+			for(int i = 0; i < this.channelUndecidedStores.length; i++)
+			{
+				/*
+				 * The channels are initialized and roll their transactions files over independently, so a store
+				 * might already be contained in the initial state or the checkpoint of some channels.
+				 */
+				if(timestamp <= this.channelCoveredStores[i] || contains(this.channelUndecidedStores[i], timestamp))
+				{
+					continue;
+				}
+				isComplete = false;
+				
+				/*
+				 * A failed store's data is rolled back without a transactions entry, so some channels might have
+				 * written the store's entry and some not. If a channel has written a later store instead,
+				 * the store can never become complete.
+				 */
+				if(this.channelLatestStores[i] > timestamp)
+				{
+					failedStores.add(timestamp);
+					return;
+				}
+			}
+			
+			if(isComplete)
+			{
+				completeStores.add(timestamp);
+			}
+		}
+		
+		private static boolean contains(final long[] timestamps, final long timestamp)
+		{
+			for(final long t : timestamps)
+			{
+				if(t == timestamp)
+				{
+					return true;
+				}
+			}
+			
+			return false;
+		}
+
+		@Override
+		protected final void succeed(final StorageChannel channel, final Void result)
+		{
+			this.ensureDecisions();
+			channel.decideFollowedStores(this.completeStores, this.failedStores);
+		}
+
+	}
+
+}
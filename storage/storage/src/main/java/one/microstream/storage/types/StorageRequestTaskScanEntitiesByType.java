@@ -0,0 +1,124 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+public interface StorageRequestTaskScanEntitiesByType extends StorageRequestTask
+{
+	/**
+	 * @return the values collected by all channels, in the order of the channels.
+	 */
+	public long[] result();
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<long[]>
+	implements StorageRequestTaskScanEntitiesByType
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                                      typeId        ;
+		private final Predicate<? super StorageEntityData>      predicate     ;
+		private final ToLongFunction<? super StorageEntityData> projection    ;
+		private final long[][]                                  channelResults;
+
+		private long[] result;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                                      timestamp   ,
+			final int                                       channelCount,
+			final long                                      typeId      ,
+			final Predicate<? super StorageEntityData>      predicate   ,
+			final ToLongFunction<? super StorageEntityData> projection  ,
+			final StorageOperationController                controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.typeId         = typeId                 ;
+			this.predicate      = notNull(predicate)     ;
+			this.projection     = projection             ;
+			this.channelResults = new long[channelCount][];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final long[] internalProcessBy(final StorageChannel channel)
+		{
+			return channel.scanTypeEntities(this.typeId, this.predicate, this.projection);
+		}
+
+		@Override
+		protected synchronized void succeed(final StorageChannel channel, final long[] result)
+		{
+			this.channelResults[channel.channelIndex()] = result;
+		}
+
+		@Override
+		public synchronized long[] result()
+		{
+			if(this.result == null)
+			{
+				this.result = this.createResult();
+			}
+			return this.result;
+		}
+
+		private long[] createResult()
+		{
+			int length = 0;
+			for(final long[] channelResult : this.channelResults)
+			{
+				length += channelResult.length;
+			}
+
+			final long[] result = new long[length];
+			int          offset = 0;
+			for(final long[] channelResult : this.channelResults)
+			{
+				System.arraycopy(channelResult, 0, result, offset, channelResult.length);
+				offset += channelResult.length;
+			}
+
+			return result;
+		}
+
+	}
+
+}
@@ -23,8 +23,10 @@ package one.microstream.storage.types;
 import java.nio.ByteBuffer;
 
 import one.microstream.chars.VarString;
+import one.microstream.collections.BulkList;
 import one.microstream.meta.XDebug;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.Chunk;
 import one.microstream.typing.KeyValue;
 import one.microstream.util.UtilStackTrace;
 
@@ -43,9 +45,70 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 	 * "never touch a running system" proverb applies.
 	 */
 	
-	public final class Default
+	public abstract class Abstract
 	extends StorageChannelSynchronizingTask.AbstractCompletingTask<KeyValue<ByteBuffer[], long[]>>
 	implements StorageRequestTaskStoreEntities, StorageChannelTaskStoreEntities
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		protected Abstract(final long timestamp, final int channelCount, final StorageOperationController controller)
+		{
+			super(timestamp, channelCount, controller);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final void succeed(final StorageChannel channel, final KeyValue<ByteBuffer[], long[]> result)
+		{
+			// no storing operation of the other hash channels failed, so definitely commit the write here.
+			channel.commitChunkStorage();
+		}
+
+		@Override
+		protected final void postCompletionSuccess(
+			final StorageChannel                 channel,
+			final KeyValue<ByteBuffer[], long[]> result
+		)
+			throws InterruptedException
+		{
+			/* Post-completion logic that updates the storage channel's entity cache with the new entity data.
+			 * this MIGHT come "too late" in terms of an entity that just got sweeped by GC but would now be
+			 * referenced again.
+			 * If such a case should pose a problem in an application (i.e. first releasing the last reference to an
+			 * entity but at some later point wanting to reference it again without actually containing it in the data)
+			 * has to be considered a business logic error that does not have to be covered by storage-level logic.
+			 *
+			 * If entity cache update should fail (which should never do)
+			 * the problem has to (and can) be corrected (the necessary data has already been stored successfully).
+			 * The task itself has already been reported as successful and the thread that issued
+			 * and waited for the task already continued working.
+			 */
+			channel.postStoreUpdateEntityCache(result.key(), result.value());
+		}
+
+		@Override
+		protected final void fail(final StorageChannel channel, final KeyValue<ByteBuffer[], long[]> result)
+		{
+			channel.rollbackChunkStorage();
+		}
+
+		@Override
+		protected final void cleanUp(final StorageChannel channel)
+		{
+			// signal channel to clean up the current store, e.g. remove pending store updates to re-enable GC sweeping
+			channel.cleanupStore();
+		}
+
+	}
+	
+	public final class Default extends StorageRequestTaskStoreEntities.Abstract
 	{
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
@@ -114,46 +177,204 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 			XDebug.println(vs.toString(), 1);
 		}
 
-		@Override
-		protected final void succeed(final StorageChannel channel, final KeyValue<ByteBuffer[], long[]> result)
-		{
-			// no storing operation of the other hash channels failed, so definitely commit the write here.
-			channel.commitChunkStorage();
-		}
+	}
+	
+	/**
+	 * A store task that several store requests can be merged into as long as no channel has started processing it.
+	 * All merged stores are written with a single write and a single transactions entry per channel.
+	 * <p>
+	 * The task is held back from processing for the {@link StorageGroupCommitSetup#collectingWindowNs()} after
+	 * its creation, unless it is full before (see {@link #remainingHoldingNanoTime()}). The channels wait for it
+	 * like for any other task, so they keep on doing their housekeeping in the meantime.
+	 * 
+	 * @see StorageGroupCommitSetup
+	 */
+	public final class Grouped extends StorageRequestTaskStoreEntities.Abstract
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
 
-		@Override
-		protected final void postCompletionSuccess(
-			final StorageChannel                 channel,
-			final KeyValue<ByteBuffer[], long[]> result
+		private final StorageGroupCommitSetup setup             ;
+		private final long                    collectingDeadline;
+		private final BulkList<Binary>        data              ;
+		
+		// guarded by this instance's monitor
+		private long    totalLength;
+		private boolean sealed     ;
+		
+		// set when no further store fits into this group, ending the collecting window early
+		private volatile boolean full;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Grouped(
+			final long                       timestamp ,
+			final Binary                     data      ,
+			final StorageGroupCommitSetup    setup     ,
+			final StorageOperationController controller
 		)
-			throws InterruptedException
 		{
-			/* Post-completion logic that updates the storage channel's entity cache with the new entity data.
-			 * this MIGHT come "too late" in terms of an entity that just got sweeped by GC but would now be
-			 * referenced again.
-			 * If such a case should pose a problem in an application (i.e. first releasing the last reference to an
-			 * entity but at some later point wanting to reference it again without actually containing it in the data)
-			 * has to be considered a business logic error that does not have to be covered by storage-level logic.
-			 *
-			 * If entity cache update should fail (which should never do)
-			 * the problem has to (and can) be corrected (the necessary data has already been stored successfully).
-			 * The task itself has already been reported as successful and the thread that issued
-			 * and waited for the task already continued working.
-			 */
-			channel.postStoreUpdateEntityCache(result.key(), result.value());
+			super(timestamp, data.channelCount(), controller);
+			this.setup              = setup                                           ;
+			this.collectingDeadline = this.creationNanoTime() + setup.collectingWindowNs();
+			this.data               = BulkList.New(data)                              ;
+			this.totalLength        = data.totalLength()                              ;
+			this.full               = this.isFull()                                   ;
 		}
 
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		/**
+		 * Merges the passed store data into this group if no channel has started processing it yet and
+		 * the limits defined by the {@link StorageGroupCommitSetup} are not exceeded.
+		 * 
+		 * @param data the data to be stored.
+		 * 
+		 * @return whether the data has been merged into this group.
+		 * 
+		 * @see #isFull()
+		 */
+		final synchronized boolean tryAdd(final Binary data)
+		{
+			if(this.sealed
+				|| this.data.size() >= this.setup.maximumStoreCount()
+				|| this.totalLength + data.totalLength() > this.setup.maximumLength()
+			)
+			{
+				// a store that does not fit anymore starts a new group, so there is no point in collecting further.
+				this.full = true;
+				return false;
+			}
+			
+			this.data.add(data);
+			this.totalLength += data.totalLength();
+			this.full = this.isFull();
+			
+			return true;
+		}
+		
+		/**
+		 * Whether no further store can be merged into this group, in which case the task broker has to wake up
+		 * the channels waiting for it.
+		 * 
+		 * @return whether this group is full.
+		 */
+		final synchronized boolean isFull()
+		{
+			return this.data.size() >= this.setup.maximumStoreCount()
+				|| this.totalLength >= this.setup.maximumLength()
+			;
+		}
+		
+		/**
+		 * @return the number of stores merged into this group so far.
+		 */
+		public final synchronized long storeCount()
+		{
+			return this.data.size();
+		}
+		
 		@Override
-		protected final void fail(final StorageChannel channel, final KeyValue<ByteBuffer[], long[]> result)
+		public final long remainingHoldingNanoTime()
 		{
-			channel.rollbackChunkStorage();
+			return this.full
+				? 0
+				: this.collectingDeadline - System.nanoTime()
+			;
 		}
-
+		
+		private synchronized Binary[] seal()
+		{
+			// the first processing channel seals the group, all others get the same data.
+			this.sealed = true;
+			
+			return this.data.toArray(Binary.class);
+		}
+		
 		@Override
-		protected final void cleanUp(final StorageChannel channel)
+		protected final KeyValue<ByteBuffer[], long[]> internalProcessBy(final StorageChannel channel)
 		{
-			// signal channel to clean up the current store, e.g. remove pending store updates to re-enable GC sweeping
-			channel.cleanupStore();
+			final Binary[] data = this.seal();
+			if(data.length == 1)
+			{
+				return channel.storeEntities(this.timestamp(), data[0].channelChunk(channel.channelIndex()));
+			}
+			
+			// all stores' chunks are concatenated in order to be written as one.
+			final BulkList<ByteBuffer> buffers = BulkList.New();
+			for(final Binary store : data)
+			{
+				buffers.addAll(store.channelChunk(channel.channelIndex()).buffers());
+			}
+			
+			return channel.storeEntities(this.timestamp(), new GroupChunk(buffers.toArray(ByteBuffer.class)));
+		}
+		
+		static final class GroupChunk implements Chunk
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final ByteBuffer[] buffers;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			GroupChunk(final ByteBuffer[] buffers)
+			{
+				super();
+				this.buffers = buffers;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final ByteBuffer[] buffers()
+			{
+				return this.buffers;
+			}
+
+			@Override
+			public final void clear()
+			{
+				// the merged stores' chunks are cleared by their owners.
+			}
+
+			@Override
+			public final boolean isEmpty()
+			{
+				return this.totalLength() == 0;
+			}
+
+			@Override
+			public final long totalLength()
+			{
+				long totalLength = 0;
+				for(final ByteBuffer buffer : this.buffers)
+				{
+					totalLength += buffer.remaining();
+				}
+				
+				return totalLength;
+			}
+			
 		}
 
 	}
@@ -72,6 +72,13 @@ public interface StorageSystem extends StorageController
 	public boolean shutdown();
 
 	public StorageObjectIdRangeEvaluator objectIdRangeEvaluator();
+	
+	/**
+	 * Returns the metrics collected by the channels of this storage.
+	 * 
+	 * @return the storage's metrics.
+	 */
+	public StorageMetrics metrics();
 		
 
 
@@ -79,6 +86,9 @@ public interface StorageSystem extends StorageController
 	{
 		private final static Logger logger = Logging.getLogger(Default.class);
 		
+		// bounds the follow cycles to align the channels of a follower while the followed process keeps writing.
+		private static final int MAX_FOLLOWER_ALIGNMENT_ATTEMPTS = 100;
+		
 		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
@@ -110,6 +120,9 @@ public interface StorageSystem extends StorageController
 		private final StorageRootOidSelector.Provider            rootOidSelectorProvider       ;
 		private final StorageObjectIdMarkQueue.Creator           oidMarkQueueCreator           ;
 		private final StorageEntityMarkMonitor.Creator           entityMarkMonitorCreator      ;
+		private final StorageEntityCacheAllocator.Creator        cacheAllocatorCreator         ;
+		private final StorageLoadingSetup                        loadingSetup                  ;
+		private final StorageCheckpointSetup                     checkpointSetup               ;
 		private final StorageDataFileValidator.Creator           backupDataFileValidatorCreator;
 		private final StorageBackupSetup                         backupSetup                   ;
 		private final StorageLockFileSetup                       lockFileSetup                 ;
@@ -119,6 +132,7 @@ public interface StorageSystem extends StorageController
 		private final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry             ;
 		private final boolean                                    switchByteOrder               ;
 		private final StorageStructureValidator                  storageStructureValidator     ;
+		private final StorageMetrics                             metrics                       ;
 		
 		// state flags //
 		private final AtomicBoolean    isStartingUp       = new AtomicBoolean();
@@ -166,6 +180,9 @@ public interface StorageSystem extends StorageController
 			final StorageRootOidSelector.Provider            rootOidSelectorProvider       ,
 			final StorageObjectIdMarkQueue.Creator           oidMarkQueueCreator           ,
 			final StorageEntityMarkMonitor.Creator           entityMarkMonitorCreator      ,
+			final StorageEntityCacheAllocator.Creator        cacheAllocatorCreator         ,
+			final StorageLoadingSetup                        loadingSetup                  ,
+			final StorageCheckpointSetup                     checkpointSetup               ,
 			final boolean                                    switchByteOrder               ,
 			final StorageLockFileSetup                       lockFileSetup                 ,
 			final StorageLockFileManager.Creator             lockFileManagerCreator        ,
@@ -209,6 +226,9 @@ public interface StorageSystem extends StorageController
 			this.rootOidSelectorProvider        = notNull(rootOidSelectorProvider)             ;
 			this.oidMarkQueueCreator            = notNull(oidMarkQueueCreator)                 ;
 			this.entityMarkMonitorCreator       = notNull(entityMarkMonitorCreator)            ;
+			this.cacheAllocatorCreator          = notNull(cacheAllocatorCreator)               ;
+			this.loadingSetup                   = notNull(loadingSetup)                        ;
+			this.checkpointSetup                = notNull(checkpointSetup)                     ;
 			this.exceptionHandler               = notNull(exceptionHandler)                    ;
 			this.lockFileSetup                  = mayNull(lockFileSetup)                       ;
 			this.lockFileManagerCreator         = notNull(lockFileManagerCreator)              ;
@@ -219,6 +239,7 @@ public interface StorageSystem extends StorageController
 			this.refStorerRegistry              = notNull(refStorerRegistry)                   ;
 			this.switchByteOrder                =         switchByteOrder                      ;
 			this.storageStructureValidator      = notNull(storageStructureValidator)           ;
+			this.metrics                        = StorageMetrics.New(channelCount, this.housekeepingController);
 		}
 
 
@@ -327,14 +348,13 @@ public interface StorageSystem extends StorageController
 			throws InterruptedException
 		{
 			// (07.07.2016 TM)TODO: StorageThreadStarter instead of hardcoded call
-			synchronized(initializingTask)
+			for(final ChannelKeeper keeper : this.channelKeepers)
 			{
-				for(final ChannelKeeper keeper : this.channelKeepers)
-				{
-					keeper.channelThread.start();
-				}
-				initializingTask.waitOnCompletion();
+				keeper.channelThread.start();
 			}
+			
+			// must not hold the task's monitor while waiting, the channel threads need it to complete the task
+			initializingTask.waitOnCompletion();
 						
 			return initializingTask.idAnalysis();
 		}
@@ -348,7 +368,8 @@ public interface StorageSystem extends StorageController
 					this.operationController,
 					this.writeController,
 					this.backupDataFileValidatorCreator,
-					this.typeDictionary()
+					this.typeDictionary(),
+					this.configuration.ioThrottle()
 				);
 			}
 			
@@ -377,8 +398,65 @@ public interface StorageSystem extends StorageController
 			this.backupThread.start();
 		}
 		
+		private void validateFollowerSetup()
+		{
+			if(!this.configuration.followerSetup().isEnabled())
+			{
+				return;
+			}
+			
+			// a follower must never modify the files owned by the writing process it follows.
+			if(this.writeController.isWritable())
+			{
+				throw new StorageExceptionInitialization(
+					"A storage following another process' storage requires a read-only "
+					+ StorageWriteController.class.getSimpleName() + "."
+				);
+			}
+			if(this.backupSetup != null)
+			{
+				throw new StorageExceptionInitialization(
+					"A storage following another process' storage cannot have a "
+					+ StorageBackupSetup.class.getSimpleName() + "."
+				);
+			}
+		}
+		
+		private void alignFollowedChannels() throws InterruptedException
+		{
+			if(!this.configuration.followerSetup().isEnabled())
+			{
+				return;
+			}
+			
+			// the channels are initialized to slightly different states, see StorageChannelTaskInitialize.
+			for(int attempt = 1; attempt <= MAX_FOLLOWER_ALIGNMENT_ATTEMPTS; attempt++)
+			{
+				this.taskbroker.enqueueFollowTransactionsTask().waitOnCompletion();
+				
+				final StorageRequestTaskApplyTransactions task = this.taskbroker.enqueueApplyTransactionsTask();
+				task.waitOnCompletion();
+				if(task.isAligned())
+				{
+					return;
+				}
+				
+				Thread.sleep(this.configuration.followerSetup().followIntervalMs());
+			}
+			
+			throw new StorageExceptionInitialization(
+				"The channels could not be aligned to a common state of the followed storage."
+			);
+		}
+		
 		private void initializeLockFileManager()
 		{
+			if(this.configuration.followerSetup().isEnabled())
+			{
+				// the lock file is owned by the writing process that is followed.
+				return;
+			}
+			
 			if(this.lockFileSetup == null || this.lockFileSetup.updateInterval() == 0)
 			{
 				// no setup or no interval means lock file is not desired
@@ -468,6 +546,13 @@ public interface StorageSystem extends StorageController
 				this.provideBackupHandler()                ,
 				this.eventLogger                           ,
 				this.liveObjectIdChecker                   ,
+				this.cacheAllocatorCreator                 ,
+				this.loadingSetup                          ,
+				this.checkpointSetup                       ,
+				this.configuration.durabilityPolicy()      ,
+				this.configuration.ioThrottle()            ,
+				this.configuration.followerSetup()         ,
+				this.metrics                               ,
 				this.refStorerRegistry                     ,
 				this.switchByteOrder                       ,
 				this.rootTypeIdProvider.provideRootTypeId()
@@ -498,6 +583,8 @@ public interface StorageSystem extends StorageController
 
 		private void internalStartUp() throws InterruptedException
 		{
+			this.validateFollowerSetup();
+			
 			// first of all, the lock file needs to be obtained before any writing action may occur.
 			this.initializeLockFileManager();
 			
@@ -514,6 +601,7 @@ public interface StorageSystem extends StorageController
 			this.createChannels();
 
 			final StorageIdAnalysis idAnalysis = this.startThreads(task);
+			this.alignFollowedChannels();
 			final Long              maxOid     = idAnalysis.highestIdsPerType().get(Persistence.IdType.OID);
 
 			// only ObjectId is relevant at this point
@@ -543,11 +631,8 @@ public interface StorageSystem extends StorageController
 			
 			final StorageChannelTaskShutdown task = this.taskbroker.issueChannelShutdown(this.operationController);
 			
-			synchronized(task)
-			{
-				// (07.07.2016 TM)FIXME: OGS-23: shutdown doesn't wait for the shutdown to be completed.
-				task.waitOnCompletion();
-			}
+			// (07.07.2016 TM)FIXME: OGS-23: shutdown doesn't wait for the shutdown to be completed.
+			task.waitOnCompletion();
 			this.taskbroker = null;
 			
 			this.shutdownBackup();
@@ -686,6 +771,12 @@ public interface StorageSystem extends StorageController
 		{
 			return this.objectIdRangeEvaluator;
 		}
+		
+		@Override
+		public final StorageMetrics metrics()
+		{
+			return this.metrics;
+		}
 
 		@Override
 		public final StorageRequestAcceptor createRequestAcceptor()
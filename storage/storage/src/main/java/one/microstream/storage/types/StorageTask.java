@@ -20,14 +20,14 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.storage.exceptions.StorageException;
 
 public interface StorageTask
 {
 	public void setNext(StorageTask saveChunkEntry);
 
-	public StorageTask awaitNext(long ms) throws InterruptedException;
-
 	public StorageTask next();
 
 	public void processBy(StorageChannel storageChannel) throws InterruptedException;
@@ -36,6 +36,17 @@ public interface StorageTask
 
 	public void waitOnCompletion() throws InterruptedException;
 
+	/**
+	 * Returns a future that is completed by the channel thread that completes this task, either normally or,
+	 * if any channel reported a problem, exceptionally.
+	 * <p>
+	 * Note that dependent actions that are not explicitly executed asynchronously are executed by that
+	 * channel thread and must therefore never wait on other storage tasks.
+	 * 
+	 * @return a future representing the completion of this task.
+	 */
+	public CompletableFuture<Void> completion();
+
 	public boolean hasProblems();
 
 	public Throwable[] problems();
@@ -43,6 +54,26 @@ public interface StorageTask
 	public Throwable problemForChannel(StorageChannel channel);
 
 	public long timestamp();
+	
+	/**
+	 * The {@link System#nanoTime()} value at the creation of this task, which is immediately followed by
+	 * its enqueuing. Used to measure the time the task waits to be processed.
+	 * 
+	 * @return the creation time in nanoseconds.
+	 */
+	public long creationNanoTime();
+	
+	/**
+	 * The time in nanoseconds this task is still held back from processing, e.g. to collect further requests
+	 * to be merged into it. Waiting channels do not process the task before this time has elapsed, but keep on
+	 * doing their housekeeping.
+	 * 
+	 * @return the remaining holding time in nanoseconds, 0 or less if the task can be processed.
+	 */
+	public default long remainingHoldingNanoTime()
+	{
+		return 0;
+	}
 
 
 
@@ -55,6 +86,8 @@ public interface StorageTask
 		private volatile StorageTask next;
 
 		private final long timestamp;
+		
+		private final long creationNanoTime = System.nanoTime();
 
 
 
@@ -74,20 +107,6 @@ public interface StorageTask
 		// methods //
 		////////////
 
-		@Override
-		public final synchronized StorageTask awaitNext(final long ms) throws InterruptedException
-		{
-			final long targetTime = System.currentTimeMillis() + ms;
-
-			long waitTime;
-			// if no immediate next task is available, wait for it a little, but then switch back to do housekeeping
-			while(this.next == null && (waitTime = targetTime - System.currentTimeMillis()) > 0)
-			{
-				this.wait(waitTime);
-			}
-			return this.next;
-		}
-
 		@Override
 		public final StorageTask next()
 		{
@@ -109,6 +128,12 @@ public interface StorageTask
 		{
 			return this.timestamp;
 		}
+		
+		@Override
+		public final long creationNanoTime()
+		{
+			return this.creationNanoTime;
+		}
 
 	}
 
@@ -149,6 +174,12 @@ public interface StorageTask
 			// no-op, i.e. instantly complete
 		}
 
+		@Override
+		public final CompletableFuture<Void> completion()
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+
 		@Override
 		public void processBy(final StorageChannel storageChannel) throws InterruptedException
 		{
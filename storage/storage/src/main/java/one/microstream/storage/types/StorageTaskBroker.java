@@ -20,10 +20,19 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 import one.microstream.afs.types.AFile;
 import one.microstream.collections.types.XGettingEnum;
@@ -71,6 +80,9 @@ public interface StorageTaskBroker
 	)
 		throws InterruptedException;
 
+	public StorageRequestTaskBackupIncremental enqueueBackupIncrementalTask(StorageIncrementalBackup backup)
+		throws InterruptedException;
+
 	public StorageRequestTask enqueueImportFromFilesTask(XGettingEnum<AFile> importFiles)
 		throws InterruptedException;
 
@@ -80,6 +92,19 @@ public interface StorageTaskBroker
 	public StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask()
 		throws InterruptedException;
 
+	public StorageRequestTaskScanEntitiesByType enqueueScanTypeEntitiesTask(
+		long                                      typeId    ,
+		Predicate<? super StorageEntityData>      predicate ,
+		ToLongFunction<? super StorageEntityData> projection
+	)
+		throws InterruptedException;
+
+	public StorageRequestTaskFollowTransactions enqueueFollowTransactionsTask()
+		throws InterruptedException;
+
+	public StorageRequestTaskApplyTransactions enqueueApplyTransactionsTask()
+		throws InterruptedException;
+
 	public StorageChannelTaskInitialize issueChannelInitialization(
 		StorageOperationController operationController
 	)
@@ -101,6 +126,29 @@ public interface StorageTaskBroker
 		throws InterruptedException;
 
 	public StorageOperationController operationController();
+	
+	/**
+	 * Waits up to the passed time for the task following the passed processed task to be enqueued and for its
+	 * {@link StorageTask#remainingHoldingNanoTime()} to elapse.
+	 * Called by the channel with the passed index when it has no more tasks to process.
+	 * <p>
+	 * Implementations typically delegate to a {@link WaitingChannels} instance that they unpark after every
+	 * enqueued task.
+	 * 
+	 * @param channelIndex the index of the waiting channel.
+	 * @param processedTask the task last processed by the waiting channel.
+	 * @param ms the maximum time in milliseconds to wait.
+	 * 
+	 * @return the next task or {@code null} if none can be processed in time.
+	 * 
+	 * @throws InterruptedException if the waiting thread is interrupted.
+	 */
+	public StorageTask awaitNextTask(
+		int         channelIndex ,
+		StorageTask processedTask,
+		long        ms
+	)
+		throws InterruptedException;
 
 	public final class Default implements StorageTaskBroker
 	{
@@ -114,8 +162,16 @@ public interface StorageTaskBroker
 		private final StorageObjectIdRangeEvaluator objectIdRangeEvaluator;
 		private final StorageRequestTaskCreator     taskCreator           ;
 		private final int                           channelCount          ;
+		private final StorageGroupCommitSetup       groupCommitSetup      ;
+		private final WaitingChannels               waitingChannels       ;
+		
+		// an explicit lock instead of the monitor to not pin enqueuing virtual threads to their carrier threads
+		private final ReentrantLock lock = new ReentrantLock();
 
 		private volatile StorageTask currentHead;
+		
+		// the last enqueued grouped store task, guarded by the lock
+		private StorageRequestTaskStoreEntities.Grouped currentStoreGroup;
 
 
 
@@ -128,7 +184,8 @@ public interface StorageTaskBroker
 			final StorageOperationController    operationController   ,
 			final StorageDataFileEvaluator      fileEvaluator         ,
 			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
-			final int                           channelCount
+			final int                           channelCount          ,
+			final StorageGroupCommitSetup       groupCommitSetup
 		)
 		{
 			super();
@@ -137,6 +194,8 @@ public interface StorageTaskBroker
 			this.fileEvaluator          = notNull(fileEvaluator);
 			this.objectIdRangeEvaluator = notNull(objectIdRangeEvaluator);
 			this.channelCount           =         channelCount;
+			this.groupCommitSetup       = mayNull(groupCommitSetup);
+			this.waitingChannels        = new WaitingChannels(channelCount);
 			this.currentHead            = new StorageTask.DummyTask();
 		}
 
@@ -145,59 +204,72 @@ public interface StorageTaskBroker
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
 		////////////
+		
+		private <T extends StorageTask> T enqueueTaskAndNotifyAll(final Supplier<T> taskSupplier)
+		{
+			this.lock.lock();
+			try
+			{
+				// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
+				final T task = taskSupplier.get();
+				this.enqueueTask(task, task);
+				this.waitingChannels.unparkAll();
+				
+				return task;
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
 
-		private StorageRequestTaskGarbageCollection enqueueTaskPrependingFullGc(
+		private <T extends StorageTask> T enqueueTaskPrependingFullGc(
+			final Supplier<T> taskSupplier  ,
+			final long        nanoTimeBudget
+		)
+		{
+			this.lock.lock();
+			try
+			{
+				final T task = taskSupplier.get();
+				this.enqueueTasksAndNotifyAll(this.createFullGcTask(task, nanoTimeBudget), task);
+				
+				return task;
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+		
+		private StorageRequestTaskGarbageCollection createFullGcTask(
 			final StorageTask task          ,
 			final long        nanoTimeBudget
 		)
-			throws InterruptedException
 		{
-			final StorageRequestTaskGarbageCollection gcTask;
-			this.enqueueTasksAndNotifyAll(
-				gcTask = new StorageRequestTaskGarbageCollection.Default(
-					task.timestamp() - 1,
-					this.channelCount   ,
-					nanoTimeBudget      ,
-					task                ,
-					this.operationController
-				),
-				task
+			return new StorageRequestTaskGarbageCollection.Default(
+				task.timestamp() - 1,
+				this.channelCount   ,
+				nanoTimeBudget      ,
+				task                ,
+				this.operationController
 			);
-			return gcTask;
 		}
 
-		private synchronized void enqueueTasksAndNotifyAll(
+		private void enqueueTasksAndNotifyAll(
 			final StorageTask firstTask ,
 			final StorageTask secondTask
 		)
-			throws InterruptedException
 		{
 			/* The first task is the next task to be processed, the second task is the new head task, i.e.
 			 * the new last task that gets future tasks attached to.
 			 * It is the first task's responsibility to (eventually) lead to the second task in order to
 			 * close the task chain.
 			 */
-			final StorageTask currentHead = this.enqueueTask(firstTask, secondTask);
-
-			// notify waiting threads via current head
-			synchronized(currentHead)
-			{
-				currentHead.notifyAll();
-			}
-		}
-
-		private void enqueueTaskAndNotifyAll(final StorageTask task) throws InterruptedException
-		{
-			final StorageTask currentHead = this.enqueueTask(task);
-			synchronized(currentHead)
-			{
-				currentHead.notifyAll();
-			}
-		}
+			this.enqueueTask(firstTask, secondTask);
 
-		private StorageTask enqueueTask(final StorageTask task)
-		{
-			return this.enqueueTask(task, task);
+			// wake up waiting channel threads
+			this.waitingChannels.unparkAll();
 		}
 
 		private StorageTask enqueueTask(final StorageTask nextTask, final StorageTask newHeadTask)
@@ -224,6 +296,17 @@ public interface StorageTaskBroker
 			this.currentHead = newHeadTask;
 			return currentHead;
 		}
+		
+		@Override
+		public final StorageTask awaitNextTask(
+			final int         channelIndex ,
+			final StorageTask processedTask,
+			final long        ms
+		)
+			throws InterruptedException
+		{
+			return this.waitingChannels.awaitNext(channelIndex, processedTask, ms);
+		}
 
 		@Override
 		public final StorageTask currentTask()
@@ -232,64 +315,74 @@ public interface StorageTaskBroker
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskGarbageCollection issueGarbageCollection(
+		public final StorageRequestTaskGarbageCollection issueGarbageCollection(
 			final long nanoTimeBudget
 		)
 			throws InterruptedException
 		{
-			final StorageRequestTask dummy =
-				new StorageChannelSynchronizingTask.AbstractCompletingTask.Dummy(this.channelCount, this.operationController)
-			;
-			final StorageRequestTaskGarbageCollection gcTask =
-				this.enqueueTaskPrependingFullGc(dummy, nanoTimeBudget)
-			;
-			return gcTask;
+			this.lock.lock();
+			try
+			{
+				final StorageRequestTask dummy =
+					new StorageChannelSynchronizingTask.AbstractCompletingTask.Dummy(this.channelCount, this.operationController)
+				;
+				final StorageRequestTaskGarbageCollection gcTask = this.createFullGcTask(dummy, nanoTimeBudget);
+				this.enqueueTasksAndNotifyAll(gcTask, dummy);
+				
+				return gcTask;
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskCacheCheck issueCacheCheck(
+		public final StorageRequestTaskCacheCheck issueCacheCheck(
 			final long                        nanoTimeBudget ,
 			final StorageEntityCacheEvaluator entityEvaluator
 		)
 			throws InterruptedException
 		{
-			final StorageRequestTaskCacheCheck task = this.taskCreator.createFullCacheCheckTask(
-				this.channelCount,
-				nanoTimeBudget,
-				entityEvaluator,
-				this.operationController
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createFullCacheCheckTask(
+					this.channelCount,
+					nanoTimeBudget,
+					entityEvaluator,
+					this.operationController
+				)
 			);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskFileCheck issueFileCheck(
+		public final StorageRequestTaskFileCheck issueFileCheck(
 			final long nanoTimeBudget
 		)
 			throws InterruptedException
 		{
-			final StorageRequestTaskFileCheck task = this.taskCreator.createFullFileCheckTask(
-				this.channelCount,
-				nanoTimeBudget,
-				this.operationController
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createFullFileCheckTask(
+					this.channelCount,
+					nanoTimeBudget,
+					this.operationController
+				)
 			);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
 		}
 
 		@Override
-		public final synchronized StorageRequestTask enqueueExportChannelsTask(
+		public final StorageRequestTask enqueueExportChannelsTask(
 			final StorageLiveFileProvider fileProvider             ,
-			final boolean             performGarbageCollection
+			final boolean                 performGarbageCollection
 		)
 			throws InterruptedException
 		{
-			final StorageRequestTaskExportChannels task = this.taskCreator.createTaskExportChannels(
-				this.channelCount,
-				fileProvider,
-				this.operationController
-			);
+			final Supplier<StorageRequestTaskExportChannels> taskSupplier = () ->
+				this.taskCreator.createTaskExportChannels(
+					this.channelCount,
+					fileProvider,
+					this.operationController
+				)
+			;
 
 			/*
 			 * If the data shall "just" be exported as fast as possible and potential unreachable entities
@@ -298,24 +391,29 @@ public interface StorageTaskBroker
 			 * required time for a full GC is not an issue (e.g. nightly chronjob), then performing the GC
 			 * is preferable.
 			 * Both cases are equally viable depending on the situation. Hence, the required flag.
-			 */
-			if(performGarbageCollection)
-			{
-				// enqueue task with a prepended full GC
-				this.enqueueTaskPrependingFullGc(task, Long.MAX_VALUE); // must let GC complete to get viable results
-			}
-			else
-			{
-				// enqueue task directly
-				this.enqueueTaskAndNotifyAll(task);
-			}
-
-			/*
-			 * in both cases, the actual task is the last to be processed, so the calling thread
+			 * 
+			 * In both cases, the actual task is the last to be processed, so the calling thread
 			 * must always wait on the actual task.
 			 */
+			return performGarbageCollection
+				? this.enqueueTaskPrependingFullGc(taskSupplier, Long.MAX_VALUE) // must let GC complete
+				: this.enqueueTaskAndNotifyAll(taskSupplier)
+			;
+		}
 
-			return task;
+		@Override
+		public final StorageRequestTaskBackupIncremental enqueueBackupIncrementalTask(
+			final StorageIncrementalBackup backup
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createTaskBackupIncremental(
+					this.channelCount,
+					backup,
+					this.operationController
+				)
+			);
 		}
 
 		@Override
@@ -323,15 +421,15 @@ public interface StorageTaskBroker
 			throws InterruptedException
 		{
 			// always use the internal evaluator to match live operation
-			final StorageRequestTaskImportDataFiles task = this.taskCreator.createImportFromFilesTask(
-				this.channelCount          ,
-				this.fileEvaluator         ,
-				this.objectIdRangeEvaluator,
-				importFiles                ,
-				this.operationController
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createImportFromFilesTask(
+					this.channelCount          ,
+					this.fileEvaluator         ,
+					this.objectIdRangeEvaluator,
+					importFiles                ,
+					this.operationController
+				)
 			);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
 		}
 
 		@Override
@@ -339,47 +437,80 @@ public interface StorageTaskBroker
 			throws InterruptedException
 		{
 			// always use the internal evaluator to match live operation
-			final StorageRequestTaskImportDataByteBuffers task = this.taskCreator.createImportFromByteBuffersTask(
-				this.channelCount          ,
-				this.fileEvaluator         ,
-				this.objectIdRangeEvaluator,
-				importData                 ,
-				this.operationController
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createImportFromByteBuffersTask(
+					this.channelCount          ,
+					this.fileEvaluator         ,
+					this.objectIdRangeEvaluator,
+					importData                 ,
+					this.operationController
+				)
 			);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
 		}
 
 		@Override
 		public StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask() throws InterruptedException
 		{
-			final StorageRequestTaskCreateStatistics task = this.taskCreator.createCreateRawFileStatisticsTask(
-				this.channelCount, this.operationController
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createCreateRawFileStatisticsTask(this.channelCount, this.operationController)
 			);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
 		}
 
 
 		@Override
-		public final synchronized StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
-			final StorageEntityTypeExportFileProvider         exportFileProvider,
-			final Predicate<? super StorageEntityTypeHandler> isExportType
+		public final StorageRequestTaskScanEntitiesByType enqueueScanTypeEntitiesTask(
+			final long                                      typeId    ,
+			final Predicate<? super StorageEntityData>      predicate ,
+			final ToLongFunction<? super StorageEntityData> projection
 		)
 			throws InterruptedException
 		{
-			final StorageRequestTaskExportEntitiesByType task = this.taskCreator.createExportTypesTask(
-				this.channelCount ,
-				exportFileProvider,
-				isExportType,
-				this.operationController
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createScanTypeEntitiesTask(
+					this.channelCount,
+					typeId,
+					predicate,
+					projection,
+					this.operationController
+				)
 			);
+		}
+
+		@Override
+		public final StorageRequestTaskFollowTransactions enqueueFollowTransactionsTask()
+			throws InterruptedException
+		{
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createFollowTransactionsTask(this.channelCount, this.operationController)
+			);
+		}
 
-			// must let GC complete to get viable results
-			this.enqueueTaskPrependingFullGc(task, Long.MAX_VALUE);
+		@Override
+		public final StorageRequestTaskApplyTransactions enqueueApplyTransactionsTask()
+			throws InterruptedException
+		{
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createApplyTransactionsTask(this.channelCount, this.operationController)
+			);
+		}
 
-			// return actual task
-			return task;
+		@Override
+		public final StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
+			final StorageEntityTypeExportFileProvider         exportFileProvider,
+			final Predicate<? super StorageEntityTypeHandler> isExportType
+		)
+			throws InterruptedException
+		{
+			// must let GC complete to get viable results. Return actual task.
+			return this.enqueueTaskPrependingFullGc(
+				() -> this.taskCreator.createExportTypesTask(
+					this.channelCount ,
+					exportFileProvider,
+					isExportType,
+					this.operationController
+				),
+				Long.MAX_VALUE
+			);
 		}
 		
 		/**
@@ -399,93 +530,769 @@ public interface StorageTaskBroker
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
+		public final StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
 			throws InterruptedException
 		{
 			this.validateChannelCount(data.channelCount());
 			
-			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
-			final StorageRequestTaskStoreEntities task = this.taskCreator.createSaveTask(data, this.operationController);
+			if(this.groupCommitSetup != null)
+			{
+				return this.enqueueGroupedStoreTask(data);
+			}
 			
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createSaveTask(data, this.operationController)
+			);
+		}
+		
+		private StorageRequestTaskStoreEntities enqueueGroupedStoreTask(final Binary data)
+		{
+			this.lock.lock();
+			try
+			{
+				/*
+				 * Joining is only viable for the last enqueued task, otherwise the store would be processed before
+				 * tasks that have been enqueued before it. The group itself rejects joining once it is processed.
+				 */
+				final StorageRequestTaskStoreEntities.Grouped group = this.currentStoreGroup;
+				if(group != null && group == this.currentHead && group.tryAdd(data))
+				{
+					this.releaseIfFull(group);
+					return group;
+				}
+				
+				// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
+				final StorageRequestTaskStoreEntities.Grouped task = this.taskCreator.createGroupedSaveTask(
+					data                    ,
+					this.groupCommitSetup   ,
+					this.operationController
+				);
+				
+				this.enqueueTasksAndNotifyAll(task, task);
+				this.currentStoreGroup = task;
+				
+				return task;
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+		
+		private void releaseIfFull(final StorageRequestTaskStoreEntities.Grouped group)
+		{
+			// a full group is not held back for its collecting window anymore, so the waiting channels can process it.
+			if(group.isFull())
+			{
+				this.waitingChannels.unparkAll();
+			}
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskLoadByOids enqueueLoadTaskByOids(
+		public final StorageRequestTaskLoadByOids enqueueLoadTaskByOids(
 			final PersistenceIdSet[] loadOids
 		)
 			throws InterruptedException
 		{
 			this.validateChannelCount(loadOids.length);
 			
-			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
-			final StorageRequestTaskLoadByOids task = this.taskCreator.createLoadTaskByOids(loadOids, this.operationController);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createLoadTaskByOids(loadOids, this.operationController)
+			);
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskLoadRoots enqueueRootsLoadTask() throws InterruptedException
+		public final StorageRequestTaskLoadRoots enqueueRootsLoadTask() throws InterruptedException
 		{
-			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
-			final StorageRequestTaskLoadRoots task = this.taskCreator.createRootsLoadTask(this.channelCount, this.operationController);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createRootsLoadTask(this.channelCount, this.operationController)
+			);
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskLoadByTids enqueueLoadTaskByTids(
+		public final StorageRequestTaskLoadByTids enqueueLoadTaskByTids(
 			final PersistenceIdSet loadTids
 		)
 			throws InterruptedException
 		{
-			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
-			final StorageRequestTaskLoadByTids task = this.taskCreator.createLoadTaskByTids(loadTids, this.channelCount, this.operationController);
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createLoadTaskByTids(loadTids, this.channelCount, this.operationController)
+			);
 		}
 
 		@Override
-		public final synchronized StorageChannelTaskInitialize issueChannelInitialization(
+		public final StorageChannelTaskInitialize issueChannelInitialization(
 			final StorageOperationController operationController
 
 		)
 			throws InterruptedException
 		{
-			final StorageChannelTaskInitialize task = this.taskCreator.createInitializationTask(
-				this.channelCount  ,
-				operationController
+			this.lock.lock();
+			try
+			{
+				final StorageChannelTaskInitialize task = this.taskCreator.createInitializationTask(
+					this.channelCount  ,
+					operationController
+				);
+				
+				/* (12.06.2019 TM)NOTE:
+				 * Even more special case:
+				 * Cannot check for running storage in the initialization that will cause it to run.
+				 * Plus the old special case:
+				 * Cannot wait on the task before the channel threads are started
+				 */
+				this.uncheckedEnqueueTask(task, task);
+				this.waitingChannels.unparkAll();
+				
+				return task;
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+
+		@Override
+		public final StorageChannelTaskShutdown issueChannelShutdown(
+			final StorageOperationController operationController
+		)
+			throws InterruptedException
+		{
+			// special case: cannot wait on the task before the channel threads are started
+			return this.enqueueTaskAndNotifyAll(() ->
+				this.taskCreator.createShutdownTask(
+					this.channelCount  ,
+					operationController
+				)
 			);
+		}
+
+		@Override
+		public StorageOperationController operationController()
+		{
+			return this.operationController;
+		}
+
+	}
+
+	/**
+	 * Registry of channel threads waiting for the next task to be enqueued.
+	 * <p>
+	 * Waiting channel threads are parked and a task broker that enqueued a task unparks exactly the registered
+	 * threads. Unlike waiting on a task's monitor, this never blocks the enqueuing thread on a monitor, which would
+	 * pin it to its carrier thread if it is a virtual thread.
+	 */
+	public final class WaitingChannels
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AtomicReferenceArray<Thread> channelThreads;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		WaitingChannels(final int channelCount)
+		{
+			super();
+			this.channelThreads = new AtomicReferenceArray<>(channelCount);
+		}
+		
+		/**
+		 * Pseudo-constructor method to create a new {@link WaitingChannels} instance.
+		 * 
+		 * @param channelCount the number of channels that may wait.
+		 * 
+		 * @return a new {@link WaitingChannels} instance.
+		 */
+		public static WaitingChannels New(final int channelCount)
+		{
+			return new WaitingChannels(positive(channelCount));
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		/**
+		 * Waits up to the passed time for the task following the passed processed task and for that task's
+		 * {@link StorageTask#remainingHoldingNanoTime()} to elapse.
+		 * 
+		 * @param channelIndex the index of the waiting channel.
+		 * @param processedTask the task last processed by the waiting channel.
+		 * @param ms the maximum time in milliseconds to wait.
+		 * 
+		 * @return the next task or {@code null} if none can be processed in time.
+		 * 
+		 * @throws InterruptedException if the waiting thread is interrupted.
+		 */
+		public final StorageTask awaitNext(
+			final int         channelIndex ,
+			final StorageTask processedTask,
+			final long        ms
+		)
+			throws InterruptedException
+		{
+			StorageTask nextTask;
+			if((nextTask = processedTask.next()) != null && nextTask.remainingHoldingNanoTime() <= 0)
+			{
+				return nextTask;
+			}
 			
-			/* (12.06.2019 TM)NOTE:
-			 * Even more special case:
-			 * Cannot check for running storage in the initialization that will cause it to run.
-			 * Plus the old special case:
-			 * Cannot wait on the task before the channel threads are started
+			final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+			
+			/*
+			 * Registering before checking the next task again guarantees that a producer linking it
+			 * (or releasing a held task) in the meantime either is seen here or sees the registration
+			 * and unparks this thread.
+			 */
+			this.channelThreads.set(channelIndex, Thread.currentThread());
+			try
+			{
+				while(true)
+				{
+					long remainingTime = deadline - System.nanoTime();
+					if((nextTask = processedTask.next()) != null)
+					{
+						final long holdingTime = nextTask.remainingHoldingNanoTime();
+						if(holdingTime <= 0)
+						{
+							return nextTask;
+						}
+						remainingTime = Math.min(remainingTime, holdingTime);
+					}
+					if(remainingTime <= 0)
+					{
+						// the channel's housekeeping continues while the next task is still held back.
+						return null;
+					}
+					
+					LockSupport.parkNanos(this, remainingTime);
+					if(Thread.interrupted())
+					{
+						throw new InterruptedException();
+					}
+				}
+			}
+			finally
+			{
+				this.channelThreads.set(channelIndex, null);
+			}
+		}
+		
+		/**
+		 * Unparks all currently waiting channel threads. Must be called after linking a new task.
+		 */
+		public final void unparkAll()
+		{
+			final AtomicReferenceArray<Thread> channelThreads = this.channelThreads;
+			for(int i = 0; i < channelThreads.length(); i++)
+			{
+				final Thread channelThread = channelThreads.get(i);
+				if(channelThread != null)
+				{
+					LockSupport.unpark(channelThread);
+				}
+			}
+		}
+		
+	}
+
+	/**
+	 * A {@link StorageTaskBroker} implementation that enqueues tasks without acquiring a lock.
+	 * <p>
+	 * The task chain is a multi-producer linked queue whose tail is swapped by a compare-and-set operation.
+	 * Every channel thread follows the chain with its own cursor, so there is no single consumer to hand
+	 * tasks to. Instead, channel threads that ran out of tasks register themselves and park until a producer
+	 * links a new task, which then unparks exactly the registered threads (see {@link WaitingChannels}).
+	 * <p>
+	 * The ordering guarantees are the same as for {@link StorageTaskBroker.Default}: Tasks are processed in the
+	 * order of their timestamps. To ensure this, a task is created only after the tail it shall be appended to
+	 * has been read and is discarded and recreated if another task has been appended in the meantime.
+	 * Creating a task draws a timestamp from the {@link StorageTimestampProvider}, whose default implementation
+	 * is lock-free as well.
+	 */
+	public final class LockFree implements StorageTaskBroker
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		// can't have a strong reference to StorageManager since that would prevent automatic shutdown
+		private final StorageOperationController    operationController   ;
+		private final StorageDataFileEvaluator      fileEvaluator         ;
+		private final StorageObjectIdRangeEvaluator objectIdRangeEvaluator;
+		private final StorageRequestTaskCreator     taskCreator           ;
+		private final int                           channelCount          ;
+		private final StorageGroupCommitSetup       groupCommitSetup      ;
+
+		private final WaitingChannels               waitingChannels       ;
+		private final AtomicReference<StorageTask>  tail                  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		LockFree(
+			final StorageRequestTaskCreator     taskCreator           ,
+			final StorageOperationController    operationController   ,
+			final StorageDataFileEvaluator      fileEvaluator         ,
+			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
+			final int                           channelCount          ,
+			final StorageGroupCommitSetup       groupCommitSetup
+		)
+		{
+			super();
+			this.taskCreator            = notNull(taskCreator);
+			this.operationController    = notNull(operationController);
+			this.fileEvaluator          = notNull(fileEvaluator);
+			this.objectIdRangeEvaluator = notNull(objectIdRangeEvaluator);
+			this.channelCount           =         channelCount;
+			this.groupCommitSetup       = mayNull(groupCommitSetup);
+			this.waitingChannels        = new WaitingChannels(channelCount);
+			this.tail                   = new AtomicReference<>(new StorageTask.DummyTask());
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		private void checkProcessingEnabled()
+		{
+			// see StorageTaskBroker.Default#enqueueTask
+			if(!this.operationController.checkProcessingEnabled())
+			{
+				throw new StorageExceptionNotRunning("Storage is shut down.");
+			}
+		}
+		
+		private boolean tryEnqueue(
+			final StorageTask currentTail,
+			final StorageTask nextTask   ,
+			final StorageTask newTailTask
+		)
+		{
+			if(!this.tail.compareAndSet(currentTail, newTailTask))
+			{
+				return false;
+			}
+			
+			/*
+			 * Only the producer that swapped the tail can link it, so there is no competition here.
+			 * Until the link is set, channels waiting on the old tail simply keep waiting.
 			 */
-			final StorageTask currentHead = this.uncheckedEnqueueTask(task, task);
-			synchronized(currentHead)
+			currentTail.setNext(nextTask);
+			this.waitingChannels.unparkAll();
+			
+			return true;
+		}
+		
+		private <T extends StorageTask> T enqueueTask(final Supplier<T> taskSupplier)
+		{
+			this.checkProcessingEnabled();
+			
+			return this.uncheckedEnqueueTask(taskSupplier);
+		}
+		
+		private <T extends StorageTask> T uncheckedEnqueueTask(final Supplier<T> taskSupplier)
+		{
+			while(true)
+			{
+				// task creation must be called AFTER reading the tail to ensure temporal consistency in the task chain
+				final StorageTask currentTail = this.tail.get();
+				final T           task        = taskSupplier.get();
+				if(this.tryEnqueue(currentTail, task, task))
+				{
+					return task;
+				}
+			}
+		}
+		
+		private StorageRequestTaskGarbageCollection createFullGcTask(
+			final StorageTask task          ,
+			final long        nanoTimeBudget
+		)
+		{
+			// the GC task leads to the actual task, which becomes the new tail. See StorageTaskBroker.Default.
+			return new StorageRequestTaskGarbageCollection.Default(
+				task.timestamp() - 1,
+				this.channelCount   ,
+				nanoTimeBudget      ,
+				task                ,
+				this.operationController
+			);
+		}
+		
+		private <T extends StorageTask> T enqueueTaskPrependingFullGc(
+			final Supplier<T> taskSupplier  ,
+			final long        nanoTimeBudget
+		)
+		{
+			this.checkProcessingEnabled();
+			
+			while(true)
+			{
+				final StorageTask currentTail = this.tail.get();
+				final T           task        = taskSupplier.get();
+				if(this.tryEnqueue(currentTail, this.createFullGcTask(task, nanoTimeBudget), task))
+				{
+					return task;
+				}
+			}
+		}
+		
+		@Override
+		public final StorageTask awaitNextTask(
+			final int         channelIndex ,
+			final StorageTask processedTask,
+			final long        ms
+		)
+			throws InterruptedException
+		{
+			return this.waitingChannels.awaitNext(channelIndex, processedTask, ms);
+		}
+
+		@Override
+		public final StorageTask currentTask()
+		{
+			return this.tail.get();
+		}
+
+		@Override
+		public final StorageRequestTaskGarbageCollection issueGarbageCollection(
+			final long nanoTimeBudget
+		)
+			throws InterruptedException
+		{
+			this.checkProcessingEnabled();
+			
+			while(true)
+			{
+				final StorageTask currentTail = this.tail.get();
+				final StorageRequestTask dummy =
+					new StorageChannelSynchronizingTask.AbstractCompletingTask.Dummy(this.channelCount, this.operationController)
+				;
+				final StorageRequestTaskGarbageCollection gcTask = this.createFullGcTask(dummy, nanoTimeBudget);
+				if(this.tryEnqueue(currentTail, gcTask, dummy))
+				{
+					return gcTask;
+				}
+			}
+		}
+
+		@Override
+		public final StorageRequestTaskCacheCheck issueCacheCheck(
+			final long                        nanoTimeBudget ,
+			final StorageEntityCacheEvaluator entityEvaluator
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createFullCacheCheckTask(
+					this.channelCount,
+					nanoTimeBudget,
+					entityEvaluator,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskFileCheck issueFileCheck(
+			final long nanoTimeBudget
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createFullFileCheckTask(
+					this.channelCount,
+					nanoTimeBudget,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTask enqueueExportChannelsTask(
+			final StorageLiveFileProvider fileProvider             ,
+			final boolean                 performGarbageCollection
+		)
+			throws InterruptedException
+		{
+			final Supplier<StorageRequestTaskExportChannels> taskSupplier = () ->
+				this.taskCreator.createTaskExportChannels(
+					this.channelCount,
+					fileProvider,
+					this.operationController
+				)
+			;
+			
+			// see StorageTaskBroker.Default#enqueueExportChannelsTask
+			if(!performGarbageCollection)
 			{
-				currentHead.notifyAll();
+				return this.enqueueTask(taskSupplier);
 			}
 			
-			return task;
+			// must let GC complete to get viable results. The calling thread must wait on the actual task.
+			return this.enqueueTaskPrependingFullGc(taskSupplier, Long.MAX_VALUE);
+		}
+
+		@Override
+		public final StorageRequestTaskBackupIncremental enqueueBackupIncrementalTask(
+			final StorageIncrementalBackup backup
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createTaskBackupIncremental(
+					this.channelCount,
+					backup,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTask enqueueImportFromFilesTask(final XGettingEnum<AFile> importFiles)
+			throws InterruptedException
+		{
+			// always use the internal evaluator to match live operation
+			return this.enqueueTask(() ->
+				this.taskCreator.createImportFromFilesTask(
+					this.channelCount          ,
+					this.fileEvaluator         ,
+					this.objectIdRangeEvaluator,
+					importFiles                ,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTask enqueueImportFromByteBuffersTask(final XGettingEnum<ByteBuffer> importData)
+			throws InterruptedException
+		{
+			// always use the internal evaluator to match live operation
+			return this.enqueueTask(() ->
+				this.taskCreator.createImportFromByteBuffersTask(
+					this.channelCount          ,
+					this.fileEvaluator         ,
+					this.objectIdRangeEvaluator,
+					importData                 ,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask()
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createCreateRawFileStatisticsTask(this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskScanEntitiesByType enqueueScanTypeEntitiesTask(
+			final long                                      typeId    ,
+			final Predicate<? super StorageEntityData>      predicate ,
+			final ToLongFunction<? super StorageEntityData> projection
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createScanTypeEntitiesTask(
+					this.channelCount,
+					typeId,
+					predicate,
+					projection,
+					this.operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskFollowTransactions enqueueFollowTransactionsTask()
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createFollowTransactionsTask(this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskApplyTransactions enqueueApplyTransactionsTask()
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createApplyTransactionsTask(this.channelCount, this.operationController)
+			);
 		}
 
 		@Override
-		public final synchronized StorageChannelTaskShutdown issueChannelShutdown(
+		public final StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
+			final StorageEntityTypeExportFileProvider         exportFileProvider,
+			final Predicate<? super StorageEntityTypeHandler> isExportType
+		)
+			throws InterruptedException
+		{
+			// must let GC complete to get viable results. Return actual task.
+			return this.enqueueTaskPrependingFullGc(
+				() -> this.taskCreator.createExportTypesTask(
+					this.channelCount ,
+					exportFileProvider,
+					isExportType,
+					this.operationController
+				),
+				Long.MAX_VALUE
+			);
+		}
+		
+		/**
+		 * See {@link StorageTaskBroker.Default}.
+		 */
+		private void validateChannelCount(final int channelCount)
+		{
+			if(channelCount != this.channelCount)
+			{
+				throw UtilStackTrace.cutStacktraceByOne(new StorageException(
+					"Invalid channel count, given: " + channelCount +
+					", expected: " + this.channelCount
+				));
+			}
+		}
+
+		@Override
+		public final StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
+			throws InterruptedException
+		{
+			this.validateChannelCount(data.channelCount());
+			
+			if(this.groupCommitSetup != null)
+			{
+				return this.enqueueGroupedStoreTask(data);
+			}
+			
+			return this.enqueueTask(() ->
+				this.taskCreator.createSaveTask(data, this.operationController)
+			);
+		}
+		
+		private StorageRequestTaskStoreEntities enqueueGroupedStoreTask(final Binary data)
+		{
+			this.checkProcessingEnabled();
+			
+			while(true)
+			{
+				/*
+				 * Joining is only viable for the last enqueued task, otherwise the store would be processed before
+				 * tasks that have been enqueued before it. The group itself rejects joining once it is processed.
+				 */
+				final StorageTask currentTail = this.tail.get();
+				if(currentTail instanceof StorageRequestTaskStoreEntities.Grouped
+					&& ((StorageRequestTaskStoreEntities.Grouped)currentTail).tryAdd(data)
+				)
+				{
+					final StorageRequestTaskStoreEntities.Grouped group =
+						(StorageRequestTaskStoreEntities.Grouped)currentTail
+					;
+					this.releaseIfFull(group);
+					
+					return group;
+				}
+				
+				final StorageRequestTaskStoreEntities.Grouped task = this.taskCreator.createGroupedSaveTask(
+					data                    ,
+					this.groupCommitSetup   ,
+					this.operationController
+				);
+				if(this.tryEnqueue(currentTail, task, task))
+				{
+					return task;
+				}
+			}
+		}
+		
+		private void releaseIfFull(final StorageRequestTaskStoreEntities.Grouped group)
+		{
+			// a full group is not held back for its collecting window anymore, so the waiting channels can process it.
+			if(group.isFull())
+			{
+				this.waitingChannels.unparkAll();
+			}
+		}
+
+		@Override
+		public final StorageRequestTaskLoadByOids enqueueLoadTaskByOids(
+			final PersistenceIdSet[] loadOids
+		)
+			throws InterruptedException
+		{
+			this.validateChannelCount(loadOids.length);
+			
+			return this.enqueueTask(() ->
+				this.taskCreator.createLoadTaskByOids(loadOids, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskLoadRoots enqueueRootsLoadTask()
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createRootsLoadTask(this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageRequestTaskLoadByTids enqueueLoadTaskByTids(
+			final PersistenceIdSet loadTids
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createLoadTaskByTids(loadTids, this.channelCount, this.operationController)
+			);
+		}
+
+		@Override
+		public final StorageChannelTaskInitialize issueChannelInitialization(
 			final StorageOperationController operationController
 		)
 			throws InterruptedException
 		{
-			final StorageChannelTaskShutdown task = this.taskCreator.createShutdownTask(
-				this.channelCount  ,
-				operationController
+			// cannot check for running storage in the initialization that will cause it to run.
+			return this.uncheckedEnqueueTask(() ->
+				this.taskCreator.createInitializationTask(
+					this.channelCount  ,
+					operationController
+				)
+			);
+		}
+
+		@Override
+		public final StorageChannelTaskShutdown issueChannelShutdown(
+			final StorageOperationController operationController
+		)
+			throws InterruptedException
+		{
+			return this.enqueueTask(() ->
+				this.taskCreator.createShutdownTask(
+					this.channelCount  ,
+					operationController
+				)
 			);
-			// special case: cannot wait on the task before the channel threads are started
-			this.enqueueTaskAndNotifyAll(task);
-			return task;
 		}
 
 		@Override
@@ -507,10 +1314,40 @@ public interface StorageTaskBroker
 
 		public final class Default implements Creator
 		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final StorageGroupCommitSetup groupCommitSetup;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
 			public Default()
+			{
+				this(null);
+			}
+			
+			/**
+			 * Creates a task broker creator whose task brokers merge concurrent store requests into
+			 * groups as defined by the passed {@link StorageGroupCommitSetup}.
+			 * 
+			 * @param groupCommitSetup the group commit setup, {@code null} to disable group commit.
+			 */
+			public Default(final StorageGroupCommitSetup groupCommitSetup)
 			{
 				super();
+				this.groupCommitSetup = groupCommitSetup;
 			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
 			
 			@Override
 			public StorageTaskBroker createTaskBroker(
@@ -523,7 +1360,66 @@ public interface StorageTaskBroker
 					storageSystem.operationController(),
 					storageSystem.configuration().dataFileEvaluator(),
 					storageSystem.objectIdRangeEvaluator(),
-					storageSystem.channelCountProvider().getChannelCount()
+					storageSystem.channelCountProvider().getChannelCount(),
+					this.groupCommitSetup
+				);
+			}
+
+		}
+		
+		/**
+		 * Creates {@link StorageTaskBroker.LockFree} instances, optionally with group commit.
+		 */
+		public final class LockFree implements Creator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final StorageGroupCommitSetup groupCommitSetup;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			public LockFree()
+			{
+				this(null);
+			}
+			
+			/**
+			 * Creates a lock-free task broker creator whose task brokers merge concurrent store requests into
+			 * groups as defined by the passed {@link StorageGroupCommitSetup}.
+			 * 
+			 * @param groupCommitSetup the group commit setup, {@code null} to disable group commit.
+			 */
+			public LockFree(final StorageGroupCommitSetup groupCommitSetup)
+			{
+				super();
+				this.groupCommitSetup = groupCommitSetup;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public StorageTaskBroker createTaskBroker(
+				final StorageSystem             storageSystem,
+				final StorageRequestTaskCreator taskCreator
+			)
+			{
+				return new StorageTaskBroker.LockFree(
+					taskCreator,
+					storageSystem.operationController(),
+					storageSystem.configuration().dataFileEvaluator(),
+					storageSystem.objectIdRangeEvaluator(),
+					storageSystem.channelCountProvider().getChannelCount(),
+					this.groupCommitSetup
 				);
 			}
 
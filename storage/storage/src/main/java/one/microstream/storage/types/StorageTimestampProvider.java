@@ -20,6 +20,8 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public interface StorageTimestampProvider
 {
 	/**
@@ -31,24 +33,30 @@ public interface StorageTimestampProvider
 	public long currentNanoTimestamp();
 	
 	
+	/**
+	 * Lock-free implementation: the last provided timestamp is held in an {@link AtomicLong}, the next one is the
+	 * current time or, if that is not higher, the last one plus one.
+	 * This keeps enqueuing tasks, which creates a timestamp for every attempt, free of any monitor.
+	 */
 	public final class Default implements StorageTimestampProvider
 	{
-		private long lastTimeMillis, currentOffset;
+		private final AtomicLong lastTimestamp = new AtomicLong();
 
 		@Override
-		public synchronized long currentNanoTimestamp()
+		public long currentNanoTimestamp()
 		{
-			final long currentTimeMillis;
-			if((currentTimeMillis = System.currentTimeMillis()) == this.lastTimeMillis)
-			{
-				return Storage.millisecondsToNanoseconds(currentTimeMillis) + ++this.currentOffset;
-			}
-			// a read and check every time is faster than an (almost always unnecessary) write every time.
-			if(this.currentOffset != 0)
+			while(true)
 			{
-				this.currentOffset = 0;
+				final long lastTimestamp    = this.lastTimestamp.get();
+				final long currentTimestamp = Math.max(
+					Storage.millisecondsToNanoseconds(System.currentTimeMillis()),
+					lastTimestamp + 1
+				);
+				if(this.lastTimestamp.compareAndSet(lastTimestamp, currentTimestamp))
+				{
+					return currentTimestamp;
+				}
 			}
-			return Storage.millisecondsToNanoseconds(this.lastTimeMillis = currentTimeMillis);
 		}
 		
 	}